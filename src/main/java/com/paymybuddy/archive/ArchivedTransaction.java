@@ -0,0 +1,37 @@
+package com.paymybuddy.archive;
+
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction lue dans l'archive : les utilisateurs n'y sont connus que par leur identifiant.
+ *
+ * @param transactionId l'identifiant de la transaction
+ * @param senderId      l'identifiant de l'expéditeur
+ * @param receiverId    l'identifiant du destinataire
+ * @param description   la description de la transaction, éventuellement {@code null}
+ * @param amount        le montant, au centime près
+ * @param createdAt     la date de création, à la milliseconde près
+ */
+public record ArchivedTransaction(int transactionId, int senderId, int receiverId, String description,
+                                  double amount, LocalDateTime createdAt) {
+
+    /**
+     * Reconstitue l'entité, non rattachée au contexte de persistance.
+     *
+     * @param sender   l'expéditeur
+     * @param receiver le destinataire
+     */
+    public Transactions toEntity(User sender, User receiver) {
+        Transactions transaction = new Transactions();
+        transaction.setTransactionId(transactionId);
+        transaction.setSender(sender);
+        transaction.setReceiver(receiver);
+        transaction.setDescription(description);
+        transaction.setAmount(amount);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+}
@@ -0,0 +1,408 @@
+package com.paymybuddy.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segment d'archive : les transactions d'une tranche d'utilisateurs sur un mois, stockées par colonnes
+ * et compressées, dans un fichier immuable lu en mémoire mappée.
+ *
+ * Une transaction y figure une fois par utilisateur concerné de la tranche, son « propriétaire ». Les lignes
+ * sont triées par propriétaire puis par date et regroupées en blocs de {@value #BLOCK_ROWS} lignes ; dans un
+ * bloc, chaque colonne est écrite à la suite (propriétaires, dates et identifiants en deltas, entiers en
+ * varints, montants en centimes, descriptions en longueur puis octets UTF-8) et le tout est compressé par Deflate.
+ *
+ * Un index clairsemé en fin de fichier donne, pour chaque bloc, ses propriétaires et dates extrêmes et
+ * sa position : une recherche ne décompresse que les blocs pouvant contenir le propriétaire et la période.
+ *
+ * Format : blocs compressés, index ({@value #INDEX_ENTRY_BYTES} octets par bloc), puis nombre de blocs,
+ * position de l'index et nombre magique.
+ */
+public final class Segment {
+
+    /**
+     * Nombre de lignes par bloc, donc granularité de l'index clairsemé.
+     */
+    static final int BLOCK_ROWS = 1024;
+
+    private static final int MAGIC = 0x504D4231;
+    private static final int INDEX_ENTRY_BYTES = 44;
+    private static final int TRAILER_BYTES = 16;
+
+    private final MappedByteBuffer buffer;
+    private final int[] firstOwner;
+    private final int[] lastOwner;
+    private final long[] minMillis;
+    private final long[] maxMillis;
+    private final int[] offset;
+    private final int[] compressedLength;
+    private final int[] rawLength;
+    private final int[] rows;
+
+    private Segment(MappedByteBuffer buffer, int blocks) {
+        this.buffer = buffer;
+        this.firstOwner = new int[blocks];
+        this.lastOwner = new int[blocks];
+        this.minMillis = new long[blocks];
+        this.maxMillis = new long[blocks];
+        this.offset = new int[blocks];
+        this.compressedLength = new int[blocks];
+        this.rawLength = new int[blocks];
+        this.rows = new int[blocks];
+    }
+
+    /**
+     * Ligne à écrire : une transaction rangée sous l'un de ses utilisateurs.
+     */
+    record Row(int owner, ArchivedTransaction transaction) {
+    }
+
+    // --- Écriture ---
+
+    /**
+     * Écrit un segment. Le fichier ne doit pas exister ; il est synchronisé sur disque avant le retour.
+     */
+    static void write(Path file, List<Row> rows) throws IOException {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(ROW_ORDER);
+        try (Writer writer = new Writer(file)) {
+            for (Row row : sorted) {
+                writer.add(row);
+            }
+        }
+    }
+
+    /**
+     * Ordre des lignes dans un segment : propriétaire, date, identifiant.
+     */
+    static final Comparator<Row> ROW_ORDER = Comparator.comparingInt(Row::owner)
+            .thenComparing(row -> row.transaction().createdAt())
+            .thenComparingInt(row -> row.transaction().transactionId());
+
+    /**
+     * Écriture d'un segment au fil de lignes déjà triées ({@link #ROW_ORDER}) : seul le bloc en cours
+     * est en mémoire, quel que soit le nombre de lignes. Le fichier est créé à la première ligne ;
+     * {@link #close()} écrit l'index et le synchronise sur disque.
+     */
+    static final class Writer implements AutoCloseable {
+
+        private final Path file;
+        private final List<Row> block = new ArrayList<>(BLOCK_ROWS);
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private FileChannel channel;
+        private Row previous;
+        private long position;
+        private int blocks;
+
+        Writer(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Ajoute une ligne, qui doit suivre la précédente dans l'ordre du segment.
+         *
+         * @throws IllegalArgumentException si la ligne est hors d'ordre
+         */
+        void add(Row row) throws IOException {
+            if (previous != null && ROW_ORDER.compare(previous, row) > 0) {
+                throw new IllegalArgumentException("Ligne hors d'ordre : " + row + " après " + previous);
+            }
+            previous = row;
+            block.add(row);
+            if (block.size() == BLOCK_ROWS) {
+                flushBlock();
+            }
+        }
+
+        /**
+         * Indique si au moins une ligne a été ajoutée, donc si le fichier existe.
+         */
+        boolean isEmpty() {
+            return previous == null;
+        }
+
+        private void flushBlock() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            }
+            byte[] raw = encode(block);
+            byte[] compressed = deflate(deflater, raw);
+            writeFully(channel, ByteBuffer.wrap(compressed));
+
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (Row row : block) {
+                long millis = toMillis(row.transaction().createdAt());
+                min = Math.min(min, millis);
+                max = Math.max(max, millis);
+            }
+            index.writeBytes(ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+                    .putInt(block.getFirst().owner()).putInt(block.getLast().owner())
+                    .putLong(min).putLong(max).putLong(position)
+                    .putInt(compressed.length).putInt(raw.length).putInt(block.size())
+                    .array());
+            position += compressed.length;
+            blocks++;
+            block.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!block.isEmpty()) {
+                    flushBlock();
+                }
+                if (channel != null) {
+                    writeFully(channel, ByteBuffer.wrap(index.toByteArray()));
+                    writeFully(channel, ByteBuffer.allocate(TRAILER_BYTES).putInt(blocks).putLong(position).putInt(MAGIC).flip());
+                    channel.force(true);
+                }
+            } finally {
+                deflater.end();
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private static byte[] encode(List<Row> block) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(block.size() * 32);
+        int previousOwner = 0;
+        for (Row row : block) {
+            writeVarLong(out, row.owner() - previousOwner);
+            previousOwner = row.owner();
+        }
+        long previousMillis = 0;
+        for (Row row : block) {
+            long millis = toMillis(row.transaction().createdAt());
+            writeVarLong(out, zigZag(millis - previousMillis));
+            previousMillis = millis;
+        }
+        long previousId = 0;
+        for (Row row : block) {
+            writeVarLong(out, zigZag(row.transaction().transactionId() - previousId));
+            previousId = row.transaction().transactionId();
+        }
+        for (Row row : block) {
+            writeVarLong(out, row.transaction().senderId());
+        }
+        for (Row row : block) {
+            writeVarLong(out, row.transaction().receiverId());
+        }
+        for (Row row : block) {
+            writeVarLong(out, zigZag(Math.round(row.transaction().amount() * 100)));
+        }
+        List<byte[]> descriptions = new ArrayList<>(block.size());
+        for (Row row : block) {
+            String description = row.transaction().description();
+            byte[] bytes = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+            descriptions.add(bytes);
+            writeVarLong(out, bytes == null ? 0 : bytes.length + 1);
+        }
+        for (byte[] bytes : descriptions) {
+            if (bytes != null) {
+                out.writeBytes(bytes);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    // --- Lecture ---
+
+    /**
+     * Ouvre un segment en mémoire mappée et charge son index.
+     */
+    static Segment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < TRAILER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment d'archive invalide : " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.capacity();
+        if (buffer.getInt(size - 4) != MAGIC) {
+            throw new IOException("Segment d'archive invalide : " + file);
+        }
+        int blocks = buffer.getInt(size - TRAILER_BYTES);
+        int position = (int) buffer.getLong(size - 12);
+        Segment segment = new Segment(buffer, blocks);
+        for (int b = 0; b < blocks; b++, position += INDEX_ENTRY_BYTES) {
+            segment.firstOwner[b] = buffer.getInt(position);
+            segment.lastOwner[b] = buffer.getInt(position + 4);
+            segment.minMillis[b] = buffer.getLong(position + 8);
+            segment.maxMillis[b] = buffer.getLong(position + 16);
+            segment.offset[b] = (int) buffer.getLong(position + 24);
+            segment.compressedLength[b] = buffer.getInt(position + 32);
+            segment.rawLength[b] = buffer.getInt(position + 36);
+            segment.rows[b] = buffer.getInt(position + 40);
+        }
+        return segment;
+    }
+
+    /**
+     * Transactions d'un propriétaire créées dans {@code [from, to)}, dans l'ordre chronologique.
+     */
+    List<ArchivedTransaction> find(int owner, LocalDateTime from, LocalDateTime to) throws IOException {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (int b = firstBlock(owner); b < firstOwner.length && firstOwner[b] <= owner; b++) {
+            if (maxMillis[b] >= fromMillis && minMillis[b] < toMillis) {
+                decode(b, owner, fromMillis, toMillis, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Premier bloc dont le dernier propriétaire n'est pas inférieur à {@code owner}.
+     */
+    private int firstBlock(int owner) {
+        int low = 0;
+        int high = lastOwner.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastOwner[mid] < owner) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void decode(int b, int owner, long fromMillis, long toMillis, List<ArchivedTransaction> result) throws IOException {
+        ByteBuffer raw = ByteBuffer.wrap(inflate(b));
+        int n = rows[b];
+        int[] owners = new int[n];
+        long[] millis = new long[n];
+        int[] ids = new int[n];
+        int[] senders = new int[n];
+        int[] receivers = new int[n];
+        long[] cents = new long[n];
+        int[] lengths = new int[n];
+
+        int previousOwner = 0;
+        for (int i = 0; i < n; i++) {
+            owners[i] = previousOwner += (int) readVarLong(raw);
+        }
+        long previousMillis = 0;
+        for (int i = 0; i < n; i++) {
+            millis[i] = previousMillis += unZigZag(readVarLong(raw));
+        }
+        long previousId = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = (int) (previousId += unZigZag(readVarLong(raw)));
+        }
+        for (int i = 0; i < n; i++) {
+            senders[i] = (int) readVarLong(raw);
+        }
+        for (int i = 0; i < n; i++) {
+            receivers[i] = (int) readVarLong(raw);
+        }
+        for (int i = 0; i < n; i++) {
+            cents[i] = unZigZag(readVarLong(raw));
+        }
+        for (int i = 0; i < n; i++) {
+            lengths[i] = (int) readVarLong(raw);
+        }
+        for (int i = 0; i < n; i++) {
+            String description = null;
+            if (lengths[i] > 0) {
+                description = new String(raw.array(), raw.position(), lengths[i] - 1, StandardCharsets.UTF_8);
+                raw.position(raw.position() + lengths[i] - 1);
+            }
+            if (owners[i] == owner && millis[i] >= fromMillis && millis[i] < toMillis) {
+                result.add(new ArchivedTransaction(ids[i], senders[i], receivers[i], description, cents[i] / 100.0,
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(millis[i]), ZoneOffset.UTC)));
+            }
+        }
+    }
+
+    private byte[] inflate(int b) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset[b], compressedLength[b]));
+            byte[] raw = new byte[rawLength[b]];
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Bloc d'archive corrompu", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // --- Encodage ---
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,101 @@
+package com.paymybuddy.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Archive des transactions froides sur disque local : un répertoire par mois ({@code AAAAMM}),
+ * contenant un {@link Segment} par tranche de {@code archive.users-per-segment} utilisateurs.
+ *
+ * Un répertoire de mois n'apparaît qu'une fois tous ses segments écrits : sa présence signifie que
+ * le mois est archivé. Les segments sont immuables et restent mappés en mémoire une fois ouverts.
+ */
+@Component
+public class TransactionArchive {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Value("${archive.directory:archive}")
+    private Path directory = Path.of("archive");
+
+    @Value("${archive.users-per-segment:10000}")
+    private int usersPerSegment = 10_000;
+
+    private final ConcurrentHashMap<Path, Segment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Transactions archivées d'un utilisateur, créées dans {@code [from, to)}, dans l'ordre chronologique.
+     *
+     * @throws UncheckedIOException si un segment ne peut pas être lu
+     */
+    public List<ArchivedTransaction> find(int userId, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to); month = month.plusMonths(1)) {
+            Path file = segmentFile(monthDirectory(month), userId);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try {
+                result.addAll(segment(file).find(userId, from, to));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indique si le mois a été entièrement archivé.
+     */
+    public boolean isArchived(YearMonth month) {
+        return Files.isDirectory(monthDirectory(month));
+    }
+
+    Path monthDirectory(YearMonth month) {
+        return directory.resolve(month.format(MONTH));
+    }
+
+    /**
+     * Segment de la tranche de l'utilisateur dans le répertoire d'un mois.
+     */
+    Path segmentFile(Path monthDirectory, int userId) {
+        return monthDirectory.resolve("users-" + rangeStart(userId) + ".seg");
+    }
+
+    /**
+     * Premier identifiant de la tranche d'utilisateurs.
+     */
+    int rangeStart(int userId) {
+        return userId / usersPerSegment * usersPerSegment;
+    }
+
+    /**
+     * Dernier identifiant de la tranche d'utilisateurs.
+     */
+    int rangeEnd(int userId) {
+        return rangeStart(userId) + usersPerSegment - 1;
+    }
+
+    private Segment segment(Path file) throws IOException {
+        Segment segment = segments.get(file);
+        if (segment == null) {
+            segment = Segment.open(file);
+            Segment previous = segments.putIfAbsent(file, segment);
+            if (previous != null) {
+                segment = previous;
+            }
+        }
+        return segment;
+    }
+}
@@ -0,0 +1,196 @@
+package com.paymybuddy.archive;
+
+import com.paymybuddy.service.HistoryWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+/**
+ * Tâche d'archivage : déplace dans la {@link TransactionArchive} les mois de transactions entièrement
+ * antérieurs à la période d'historique ({@link HistoryWindow}), puis les supprime de la table.
+ *
+ * Un mois est lu tranche d'utilisateurs par tranche, dans l'ordre des segments (le tri est fait par la base) :
+ * seul le bloc de segment en cours d'écriture est en mémoire, quelle que soit la taille du mois. Les segments
+ * sont écrits dans un répertoire temporaire renommé atomiquement une fois complet, et les lignes ne sont supprimées qu'ensuite, par lots : après une
+ * interruption, un mois déjà archivé n'est pas réécrit et sa suppression reprend.
+ *
+ * Active uniquement si {@code archive.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class TransactionArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionArchive archive;
+
+    @Autowired
+    private HistoryWindow historyWindow;
+
+    /**
+     * Nombre de lignes supprimées par transaction.
+     */
+    @Value("${archive.delete-batch-size:10000}")
+    private int deleteBatchSize = 10_000;
+
+    /**
+     * Archive les mois froids, sans propager d'erreur : la tâche reprendra au passage suivant.
+     */
+    @Scheduled(initialDelayString = "${archive.initial-delay-ms:60000}", fixedDelayString = "${archive.interval-ms:86400000}")
+    public void run() {
+        try {
+            archiveColdMonths();
+        } catch (SQLException | IOException e) {
+            logger.warn("Échec de l'archivage des transactions, nouvelle tentative au prochain passage", e);
+        }
+    }
+
+    /**
+     * Archive tous les mois antérieurs au mois du début de la période d'historique.
+     *
+     * @return le nombre de mois archivés
+     */
+    public int archiveColdMonths() throws SQLException, IOException {
+        YearMonth cutoff = YearMonth.from(historyWindow.start());
+        int archived = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            YearMonth month;
+            while ((month = oldestMonth(connection)) != null && month.isBefore(cutoff)) {
+                long start = System.nanoTime();
+                int segments = archive.isArchived(month) ? 0 : writeMonth(connection, month);
+                long deleted = deleteMonth(connection, month);
+                logger.info("Transactions de {} archivées : {} segments, {} lignes supprimées en {} ms",
+                        month, segments, deleted, (System.nanoTime() - start) / 1_000_000);
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private static YearMonth oldestMonth(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(created_at) FROM transactions")) {
+            Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+            return oldest == null ? null : YearMonth.from(oldest.toLocalDateTime());
+        }
+    }
+
+    /**
+     * Écrit les segments d'un mois, une tranche d'utilisateurs après l'autre. Chaque transaction est rangée
+     * sous son expéditeur et sous son destinataire ; la base renvoie les lignes de la tranche dans l'ordre
+     * du segment, qui les écrit au fil de la lecture.
+     *
+     * @return le nombre de segments écrits
+     */
+    private int writeMonth(Connection connection, YearMonth month) throws SQLException, IOException {
+        Path target = archive.monthDirectory(month);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        FileSystemUtils.deleteRecursively(temporary);
+        Files.createDirectories(temporary);
+
+        int segments = 0;
+        int[] users = userBounds(connection, month);
+        if (users != null) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT owner, transaction_id, user_id_sender, user_id_receiver, description, amount, created_at FROM ("
+                            + "SELECT user_id_sender AS owner, transaction_id, user_id_sender, user_id_receiver, description, amount, created_at "
+                            + "FROM transactions WHERE created_at >= ? AND created_at < ? AND user_id_sender BETWEEN ? AND ? "
+                            + "UNION ALL "
+                            + "SELECT user_id_receiver AS owner, transaction_id, user_id_sender, user_id_receiver, description, amount, created_at "
+                            + "FROM transactions WHERE created_at >= ? AND created_at < ? AND user_id_receiver BETWEEN ? AND ? "
+                            + "AND user_id_receiver <> user_id_sender"
+                            + ") AS range_rows ORDER BY owner, created_at, transaction_id")) {
+                statement.setFetchSize(1000);
+                for (int rangeStart = archive.rangeStart(users[0]); rangeStart <= users[1]; rangeStart = archive.rangeEnd(rangeStart) + 1) {
+                    if (writeRange(statement, month, rangeStart, archive.segmentFile(temporary, rangeStart))) {
+                        segments++;
+                    }
+                }
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return segments;
+    }
+
+    /**
+     * Écrit le segment d'une tranche, s'il contient au moins une transaction.
+     */
+    private boolean writeRange(PreparedStatement statement, YearMonth month, int rangeStart, Path file) throws SQLException, IOException {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        int rangeEnd = archive.rangeEnd(rangeStart);
+        for (int offset : new int[]{0, 4}) {
+            statement.setTimestamp(offset + 1, from);
+            statement.setTimestamp(offset + 2, to);
+            statement.setInt(offset + 3, rangeStart);
+            statement.setInt(offset + 4, rangeEnd);
+        }
+        try (Segment.Writer writer = new Segment.Writer(file);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.add(new Segment.Row(rs.getInt(1), new ArchivedTransaction(rs.getInt(2), rs.getInt(3), rs.getInt(4),
+                        rs.getString(5), rs.getDouble(6), rs.getTimestamp(7).toLocalDateTime())));
+            }
+            return !writer.isEmpty();
+        }
+    }
+
+    /**
+     * Plus petit et plus grand identifiant d'utilisateur concerné par les transactions du mois, null si aucune.
+     */
+    private static int[] userBounds(Connection connection, YearMonth month) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT LEAST(MIN(user_id_sender), MIN(user_id_receiver)), GREATEST(MAX(user_id_sender), MAX(user_id_receiver)) "
+                        + "FROM transactions WHERE created_at >= ? AND created_at < ?")) {
+            bindMonth(statement, month);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                int min = rs.getInt(1);
+                return rs.wasNull() ? null : new int[]{min, rs.getInt(2)};
+            }
+        }
+    }
+
+    private long deleteMonth(Connection connection, YearMonth month) throws SQLException {
+        long deleted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM transactions WHERE created_at >= ? AND created_at < ? LIMIT " + deleteBatchSize)) {
+            bindMonth(statement, month);
+            int batch;
+            do {
+                batch = statement.executeUpdate();
+                deleted += batch;
+            } while (batch > 0);
+        }
+        return deleted;
+    }
+
+    private static void bindMonth(PreparedStatement statement, YearMonth month) throws SQLException {
+        statement.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+        statement.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.paymybuddy.assets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Étape de build : écrit à côté de chaque ressource statique textuelle sa variante gzip
+ * ({@code home.js} → {@code home.js.gz}), compressée une fois pour toutes au niveau maximal.
+ * {@link StaticAssetsHandler} sert cette variante aux navigateurs qui acceptent gzip, sans
+ * compression à la volée.
+ *
+ * Une variante qui ne serait pas plus petite que l'original n'est pas écrite.
+ * Lancée par Maven en phase {@code process-classes} sur {@code target/classes/static}.
+ *
+ * Usage : {@code java -cp target/classes com.paymybuddy.assets.PrecompressAssets target/classes/static}
+ */
+public final class PrecompressAssets {
+
+    /**
+     * Extensions des ressources compressées : les images et polices le sont déjà.
+     */
+    static final Set<String> EXTENSIONS = Set.of("css", "js", "html", "svg", "json", "txt");
+
+    private PrecompressAssets() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage : PrecompressAssets <répertoire>");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> written = precompress(root);
+        System.out.println(written.size() + " ressources statiques précompressées dans " + root);
+    }
+
+    /**
+     * Écrit la variante gzip des ressources textuelles du répertoire et de ses sous-répertoires.
+     *
+     * @param root le répertoire des ressources statiques
+     * @return les variantes écrites
+     */
+    static List<Path> precompress(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            List<Path> assets = files.filter(Files::isRegularFile).filter(PrecompressAssets::isCompressible).toList();
+            List<Path> written = new ArrayList<>();
+            for (Path asset : assets) {
+                Path gzip = asset.resolveSibling(asset.getFileName() + ".gz");
+                if (gzip(asset, gzip)) {
+                    written.add(gzip);
+                }
+            }
+            return written;
+        }
+    }
+
+    private static boolean isCompressible(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean gzip(Path source, Path target) throws IOException {
+        byte[] content = Files.readAllBytes(source);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = new BestGzipOutputStream(Files.newOutputStream(temporary))) {
+            out.write(content);
+        }
+        if (Files.size(temporary) >= content.length) {
+            Files.delete(temporary);
+            Files.deleteIfExists(target);
+            return false;
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        // Même date que l'original : Last-Modified ne dépend pas de la variante servie
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+        return true;
+    }
+
+    /**
+     * Flux gzip au niveau de compression maximal (celui de {@link GZIPOutputStream} est fixé par défaut).
+     */
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
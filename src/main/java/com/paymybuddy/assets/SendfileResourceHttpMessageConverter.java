@@ -0,0 +1,50 @@
+package com.paymybuddy.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Écrit une ressource stockée dans un fichier par l'appel système {@code sendfile} de Tomcat :
+ * le noyau copie le fichier vers la socket, sans passer par un tampon de la JVM.
+ *
+ * Le corps n'est pas écrit par l'application : le fichier et l'intervalle à envoyer sont transmis
+ * à Tomcat par des attributs de requête, lus au moment où la réponse est validée.
+ * Une ressource lue dans un jar, ou un connecteur sans sendfile, repasse par la copie habituelle.
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    static final String SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String START = "org.apache.tomcat.sendfile.start";
+    static final String END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        if (outputMessage instanceof ServletServerHttpResponse && request != null
+                && Boolean.TRUE.equals(request.getAttribute(SUPPORT)) && resource.isFile()) {
+            File file = resource.getFile().getCanonicalFile();
+            request.setAttribute(FILENAME, file.getPath());
+            request.setAttribute(START, 0L);
+            request.setAttribute(END, file.length());
+            // Écrit les en-têtes accumulés, sans corps : Tomcat envoie le fichier à la validation de la réponse
+            outputMessage.getBody();
+            return;
+        }
+        super.writeContent(resource, outputMessage);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
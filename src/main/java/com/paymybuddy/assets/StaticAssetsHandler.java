@@ -0,0 +1,48 @@
+package com.paymybuddy.assets;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Sert les ressources statiques (CSS, JS) avec une durée de cache qui dépend de l'URL demandée.
+ *
+ * Une URL empreinte ({@code /js/home-<md5>.js}, produite par les templates) désigne un contenu qui
+ * ne changera jamais : elle est mise en cache un an, sans revalidation ({@code immutable}).
+ * L'URL d'origine ({@code /js/home.js}) reste servie, mais doit être revalidée à chaque utilisation.
+ *
+ * Les variantes précompressées ({@link PrecompressAssets}) et le transfert sans copie
+ * ({@link SendfileResourceHttpMessageConverter}) sont branchés par {@code StaticAssetsConfig}.
+ */
+public class StaticAssetsHandler extends ResourceHttpRequestHandler {
+
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    /**
+     * Empreinte MD5 du contenu insérée dans le nom du fichier par {@code VersionResourceResolver}.
+     */
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        // Résolution mise en cache par la chaîne : l'en-tête n'est posé que pour une ressource existante
+        if (getResource(request) != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, isFingerprinted(request.getRequestURI())
+                    ? IMMUTABLE.getHeaderValue() : REVALIDATE.getHeaderValue());
+        }
+        super.handleRequest(request, response);
+    }
+
+    static boolean isFingerprinted(String path) {
+        return FINGERPRINTED.matcher(path).find();
+    }
+}
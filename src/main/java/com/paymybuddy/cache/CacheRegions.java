@@ -0,0 +1,43 @@
+package com.paymybuddy.cache;
+
+import java.util.List;
+
+/**
+ * Régions du cache de second niveau Hibernate. Chaque région est un cache JCache distinct,
+ * dimensionné et mesuré séparément.
+ */
+public final class CacheRegions {
+
+    /**
+     * Entités {@code User}, par identifiant.
+     */
+    public static final String USER = "user";
+
+    /**
+     * Identifiant d'utilisateur par email (cache d'identifiant naturel).
+     */
+    public static final String USER_BY_EMAIL = "user-by-email";
+
+    /**
+     * Entités {@code UserRelations}, par identifiant.
+     */
+    public static final String USER_RELATIONS = "user-relations";
+
+    /**
+     * Résultats de la requête des relations d'un utilisateur.
+     */
+    public static final String RELATIONS_BY_USER = "relations-by-user";
+
+    /**
+     * Régions propres à Hibernate : dates de dernière modification des tables, pour invalider
+     * les résultats de requêtes, et résultats des requêtes sans région dédiée.
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+
+    public static final List<String> ALL = List.of(
+            USER, USER_BY_EMAIL, USER_RELATIONS, RELATIONS_BY_USER, UPDATE_TIMESTAMPS, QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.paymybuddy.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compression gzip des réponses des points d'entrée auxquels le filtre est attaché.
+ *
+ * La décision est prise sur la réponse elle-même : le corps est retenu jusqu'à
+ * {@code minResponseSize} octets, puis compressé au fil de l'écriture si son type figure dans
+ * {@code mimeTypes} ; une réponse plus courte part telle quelle, la compression n'y gagnerait rien.
+ * Seules les requêtes {@code GET} des clients qui annoncent {@code gzip} dans {@code Accept-Encoding}
+ * sont concernées : les réponses aux écritures ({@code POST}...) sont courtes et partent telles quelles.
+ *
+ * Une réponse compressée n'est plus identique octet par octet à la représentation désignée par
+ * son ETag fort : l'ETag devient faible ({@code W/"..."}), ce que la comparaison faible de
+ * {@code If-None-Match} accepte toujours ({@link com.paymybuddy.etag.UserVersions#notModified}).
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final int level;
+
+    /**
+     * @param minResponseSize taille à partir de laquelle une réponse est compressée, en octets
+     * @param mimeTypes       types de contenu compressibles
+     * @param level           niveau de compression deflate, de 1 (le plus rapide) à 9
+     */
+    public CompressionFilter(int minResponseSize, List<MediaType> mimeTypes, int level) {
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+        this.level = level;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(response, minResponseSize, mimeTypes, level);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Vrai si {@code gzip} (ou {@code *}) figure dans l'en-tête sans être exclu par {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
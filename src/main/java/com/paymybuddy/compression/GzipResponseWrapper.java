@@ -0,0 +1,285 @@
+package com.paymybuddy.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponse dont le corps est retenu jusqu'au seuil de compression, puis écrit compressé
+ * ou tel quel selon son type ({@link CompressionFilter}).
+ *
+ * Tant que la décision n'est pas prise, rien n'est envoyé au client : la longueur annoncée
+ * par l'application est mise de côté (elle ne vaut plus une fois le corps compressé) et
+ * les vidages intermédiaires sont sans effet. L'écriture non bloquante ({@code setWriteListener})
+ * passe directement par le flux de la réponse, sans compression.
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State { BUFFERING, COMPRESSING, IDENTITY }
+
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final int level;
+
+    private State state = State.BUFFERING;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream target;
+    private long contentLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    GzipResponseWrapper(HttpServletResponse response, int minResponseSize, List<MediaType> mimeTypes, int level) {
+        super(response);
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+        this.level = level;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() a déjà été appelé");
+        }
+        if (outputStream == null) {
+            outputStream = new DecidingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() a déjà été appelé");
+        }
+        if (writer == null) {
+            outputStream = new DecidingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (state == State.BUFFERING) {
+            contentLength = length;
+        } else if (state == State.IDENTITY) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (state != State.BUFFERING) {
+            if (writer != null) {
+                writer.flush();
+            }
+            target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (state == State.BUFFERING) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (state == State.BUFFERING) {
+            buffer.reset();
+            contentLength = -1;
+        }
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        discard();
+        super.sendError(status, message);
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        discard();
+        super.sendError(status);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discard();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Termine la réponse : un corps resté sous le seuil est écrit tel quel, avec sa longueur exacte.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            if (buffer.size() > 0 || contentLength < 0) {
+                contentLength = buffer.size();
+            }
+            identity();
+        }
+        if (state == State.COMPRESSING) {
+            ((GZIPOutputStream) target).finish();
+        }
+    }
+
+    /**
+     * Le corps retenu n'est pas envoyé : l'erreur ou la redirection remplace la réponse.
+     */
+    private void discard() {
+        if (state == State.BUFFERING) {
+            buffer = new ByteArrayOutputStream();
+            state = State.IDENTITY;
+            target = OutputStream.nullOutputStream();
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (state == State.BUFFERING) {
+            buffer.write(bytes, offset, length);
+            if (buffer.size() >= minResponseSize) {
+                if (isCompressible()) {
+                    compress();
+                } else {
+                    identity();
+                }
+            }
+            return;
+        }
+        target.write(bytes, offset, length);
+    }
+
+    private boolean isCompressible() {
+        int status = getStatus();
+        if (isCommitted() || getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || status == HttpServletResponse.SC_NO_CONTENT || status == HttpServletResponse.SC_NOT_MODIFIED
+                || status == HttpServletResponse.SC_PARTIAL_CONTENT || getContentType() == null) {
+            return false;
+        }
+        MediaType contentType = MediaType.parseMediaType(getContentType());
+        return mimeTypes.stream().anyMatch(type -> type.includes(contentType));
+    }
+
+    private void compress() throws IOException {
+        state = State.COMPRESSING;
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        String etag = getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            super.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        target = new GZIPOutputStream(getResponse().getOutputStream(), 8192) {
+            {
+                def.setLevel(level);
+            }
+        };
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    private void identity() throws IOException {
+        state = State.IDENTITY;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+        target = getResponse().getOutputStream();
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    /**
+     * Flux d'écriture du corps, qui prend la décision de compression au passage du seuil.
+     */
+    private final class DecidingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            GzipResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            GzipResponseWrapper.this.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (state != State.BUFFERING) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (state != State.IDENTITY) {
+                return true;
+            }
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Le corps part alors tel quel : ce qui a été retenu est écrit avant l'enregistrement de l'écouteur,
+         * et la suite est confiée au flux de la réponse, seul à savoir quand il peut recevoir des octets.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (state == State.COMPRESSING) {
+                throw new IllegalStateException("Compression déjà engagée : écriture non bloquante impossible");
+            }
+            try {
+                if (state == State.BUFFERING) {
+                    identity();
+                }
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
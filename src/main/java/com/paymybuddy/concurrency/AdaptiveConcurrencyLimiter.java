@@ -0,0 +1,122 @@
+package com.paymybuddy.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limiteur de concurrence adaptatif de type AIMD (augmentation additive, diminution multiplicative).
+ *
+ * La limite représente le nombre de requêtes admises simultanément. Tant que la latence observée
+ * reste sous le seuil et que la limite est réellement utilisée, elle augmente d'une unité ; dès
+ * qu'une requête dépasse le seuil ou échoue, elle est multipliée par le facteur de recul.
+ * Les requêtes au-delà de la limite sont refusées immédiatement, ce qui évite de laisser
+ * grossir une file d'attente dont les clients seraient de toute façon partis.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private double limit;
+
+    /**
+     * @param name               nom du point d'entrée protégé, utilisé comme tag des métriques
+     * @param initialLimit       limite de départ
+     * @param minLimit           limite plancher
+     * @param maxLimit           limite plafond
+     * @param latencyThresholdMs latence au-delà de laquelle la limite est réduite, en millisecondes
+     * @param backoffRatio       facteur appliqué à la limite en cas de dépassement (entre 0 et 1)
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdMs, double backoffRatio) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Tente d'admettre une requête.
+     *
+     * @return true si la requête est admise ; elle doit alors être suivie d'un appel à {@link #onComplete}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Signale la fin d'une requête admise et ajuste la limite.
+     *
+     * @param latencyNanos la durée de traitement observée
+     * @param success      false si la requête a échoué côté serveur (erreur 5xx)
+     */
+    public void onComplete(long latencyNanos, boolean success) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (!success || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Limite actuelle, arrondie à l'entier inférieur.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Nombre de requêtes actuellement admises.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Nombre total de requêtes refusées.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("paymybuddy.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("endpoint", name)
+                .description("Limite de concurrence adaptative courante")
+                .register(registry);
+        Gauge.builder("paymybuddy.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("endpoint", name)
+                .description("Requêtes admises en cours de traitement")
+                .register(registry);
+        FunctionCounter.builder("paymybuddy.limiter.rejected", this, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tag("endpoint", name)
+                .description("Requêtes refusées par le limiteur")
+                .register(registry);
+    }
+}
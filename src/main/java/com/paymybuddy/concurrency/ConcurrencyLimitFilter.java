@@ -0,0 +1,61 @@
+package com.paymybuddy.concurrency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtre plaçant un {@link AdaptiveConcurrencyLimiter} devant un point d'entrée.
+ * Les requêtes refusées reçoivent immédiatement une réponse 503 avec l'en-tête {@code Retry-After}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY =
+            "{\"message\":\"Service momentanément saturé, réessayez plus tard.\",\"data\":null}".getBytes();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String method;
+
+    /**
+     * @param limiter le limiteur à appliquer
+     * @param method  la méthode HTTP concernée (les autres méthodes ne sont pas limitées)
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, String method) {
+        this.limiter = limiter;
+        this.method = method;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !method.equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            filterChain.doFilter(request, response);
+            success = response.getStatus() < 500;
+        } finally {
+            limiter.onComplete(System.nanoTime() - start, success);
+        }
+    }
+}
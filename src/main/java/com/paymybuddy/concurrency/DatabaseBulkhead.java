@@ -0,0 +1,114 @@
+package com.paymybuddy.concurrency;
+
+import com.paymybuddy.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cloison (bulkhead) limitant le nombre de traitements accédant simultanément à la base de données.
+ *
+ * Avec les threads virtuels, Tomcat n'a plus de plafond de threads : des milliers de requêtes
+ * peuvent arriver en même temps sur le pool de connexions. Le sémaphore, dimensionné sur la taille
+ * du pool, fait attendre les requêtes excédentaires de manière bornée et rejette celles qui
+ * attendent trop longtemps, au lieu de laisser le pool et MySQL s'effondrer.
+ *
+ * Activée par défaut lorsque {@code spring.threads.virtual.enabled=true}.
+ */
+@Component
+@ConditionalOnExpression("${bulkhead.database.enabled:${spring.threads.virtual.enabled:false}}")
+public class DatabaseBulkhead implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+
+    /**
+     * @param maxConcurrent    nombre maximal de traitements simultanés (par défaut la taille du pool Hikari)
+     * @param acquireTimeoutMs délai maximal d'attente d'une place, en millisecondes
+     */
+    public DatabaseBulkhead(
+            @Value("${bulkhead.database.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${bulkhead.database.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Réserve une place, en attendant au plus le délai configuré.
+     *
+     * @throws BulkheadFullException si aucune place ne s'est libérée à temps
+     */
+    public void acquire() {
+        acquirePermits(1);
+    }
+
+    /**
+     * Réserve plusieurs places d'un coup, en attendant au plus le délai configuré. Le nombre est
+     * ramené à la capacité de la cloison, pour qu'une petite cloison ne refuse pas tout.
+     *
+     * @return le nombre de places réservées, à rendre par {@link #releasePermits(int)}
+     * @throws BulkheadFullException si les places ne se sont pas libérées à temps
+     */
+    public int acquirePermits(int count) {
+        int reserved = Math.min(count, maxConcurrent);
+        try {
+            if (!permits.tryAcquire(reserved, acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new BulkheadFullException("Service momentanément saturé, réessayez plus tard.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Attente d'accès à la base de données interrompue.");
+        }
+        return reserved;
+    }
+
+    /**
+     * Libère une place précédemment réservée.
+     */
+    public void release() {
+        releasePermits(1);
+    }
+
+    /**
+     * Libère des places réservées par {@link #acquirePermits(int)}.
+     */
+    public void releasePermits(int count) {
+        permits.release(count);
+    }
+
+    /**
+     * Nombre de places actuellement libres.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Nombre de traitements en attente d'une place.
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("paymybuddy.bulkhead.available", this, DatabaseBulkhead::getAvailablePermits)
+                .description("Places libres de la cloison base de données")
+                .register(registry);
+        Gauge.builder("paymybuddy.bulkhead.waiting", this, DatabaseBulkhead::getQueueLength)
+                .description("Traitements en attente d'une place de la cloison base de données")
+                .register(registry);
+    }
+}
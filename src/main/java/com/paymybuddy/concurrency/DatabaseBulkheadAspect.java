@@ -0,0 +1,63 @@
+package com.paymybuddy.concurrency;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applique la {@link DatabaseBulkhead} autour des méthodes publiques des services.
+ *
+ * L'aspect est placé avant l'intercepteur transactionnel : la place est réservée avant
+ * qu'une connexion soit empruntée au pool. Les appels faits depuis une transaction déjà
+ * ouverte (pipeline par micro-lots) ou depuis un service qui détient déjà une place
+ * ne réservent pas de nouvelle place : ils ne doivent pas attendre une place qu'ils bloquent eux-mêmes.
+ * Une méthode annotée {@link DatabasePermits} réserve d'un coup autant de places que de connexions
+ * qu'elle occupe simultanément.
+ */
+@Aspect
+@Component
+@ConditionalOnExpression("${bulkhead.database.enabled:${spring.threads.virtual.enabled:false}}")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseBulkheadAspect {
+
+    /**
+     * Indique si le thread courant détient déjà une place.
+     */
+    private static final ThreadLocal<Boolean> HOLDING_PERMIT = new ThreadLocal<>();
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @Around("execution(public * com.paymybuddy.service.*Service.*(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (HOLDING_PERMIT.get() != null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        int reserved = databaseBulkhead.acquirePermits(permits(joinPoint));
+        HOLDING_PERMIT.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            HOLDING_PERMIT.remove();
+            databaseBulkhead.releasePermits(reserved);
+        }
+    }
+
+    private static int permits(ProceedingJoinPoint joinPoint) {
+        if (joinPoint.getSignature() instanceof MethodSignature signature) {
+            DatabasePermits annotation = AnnotationUtils.findAnnotation(signature.getMethod(), DatabasePermits.class);
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.paymybuddy.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre de places de la {@link DatabaseBulkhead} réservées par une méthode de service qui occupe
+ * plusieurs connexions à la fois (lectures parallèles). Sans cette annotation, une seule place.
+ *
+ * Les places sont réservées ensemble avant l'appel : un traitement ne détient jamais une place
+ * en attendant la suivante, ce qui bloquerait la cloison dès que tous en seraient au même point.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DatabasePermits {
+
+    int value();
+}
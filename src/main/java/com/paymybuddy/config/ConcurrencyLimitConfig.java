@@ -0,0 +1,38 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.concurrency.AdaptiveConcurrencyLimiter;
+import com.paymybuddy.concurrency.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration du limiteur de concurrence adaptatif placé devant la création de transactions.
+ * Quand MySQL ralentit, les requêtes excédentaires sont refusées en 503 au lieu de s'accumuler
+ * dans la file de Tomcat jusqu'à l'expiration côté client.
+ */
+@Configuration
+@ConditionalOnProperty(name = "limiter.transfer.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter transferConcurrencyLimiter(
+            @Value("${limiter.transfer.initial-limit:20}") int initialLimit,
+            @Value("${limiter.transfer.min-limit:2}") int minLimit,
+            @Value("${limiter.transfer.max-limit:200}") int maxLimit,
+            @Value("${limiter.transfer.latency-threshold-ms:250}") long latencyThresholdMs,
+            @Value("${limiter.transfer.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter("transfer", initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> transferConcurrencyLimitFilter(AdaptiveConcurrencyLimiter transferConcurrencyLimiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(transferConcurrencyLimiter, "POST"));
+        registration.addUrlPatterns("/transaction");
+        registration.setName("transferConcurrencyLimitFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.paymybuddy.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Démarrage rapide (profil Spring {@code fast-startup}) : les beans sont créés à leur première
+ * utilisation plutôt qu'au démarrage du contexte. Actuator, SSE, archivage, tableaux de bord...
+ * ne coûtent plus rien tant qu'aucune requête ne les sollicite.
+ *
+ * Restent créés au démarrage :
+ * <ul>
+ *     <li>la source de données et Hibernate, pour qu'une base injoignable ou un schéma invalide
+ *     fasse échouer le démarrage plutôt que la première requête ;</li>
+ *     <li>les beans qui travaillent d'eux-mêmes : tâches {@code @Scheduled} (outbox, partitions,
+ *     archivage, battements SSE...) et initialisation {@code @PostConstruct} (enregistrement JFR...).</li>
+ * </ul>
+ *
+ * Complété par le profil Maven {@code fast-startup} (traitement AOT, archive CDS), décrit dans le README.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    public static LazyInitializationBeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor() {
+        return new LazyInitializationBeanFactoryPostProcessor();
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeansFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (DataSource.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || hasAnnotatedMethod(beanType, Scheduled.class)
+                || hasAnnotatedMethod(beanType, PostConstruct.class));
+    }
+
+    private static boolean hasAnnotatedMethod(Class<?> type, Class<? extends Annotation> annotation) {
+        return !MethodIntrospector.selectMethods(type,
+                (MethodIntrospector.MetadataLookup<Annotation>) (Method method) ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, annotation)).isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.PayMyBuddyApplication;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+/**
+ * Étape de build du profil Maven {@code fast-startup} : démarrage d'entraînement de l'archive CDS
+ * contre une base jetable, dont le pilote JDBC n'est pas livré avec l'application.
+ *
+ * Le pilote est chargé par un chargeur de classes à part, installé comme chargeur de contexte du
+ * thread : Spring Boot et Hikari l'y trouvent, alors que le classpath reste celui du lancement
+ * par {@code -jar}. L'archive CDS, liée à ce classpath, reste ainsi valable en production, où
+ * le pilote d'entraînement est absent (une URL de base oubliée fait échouer le démarrage au lieu
+ * de basculer sur une base en mémoire).
+ *
+ * Usage : {@code java -cp PayMyBuddy.jar com.paymybuddy.config.FastStartupTraining <pilote.jar> [arguments]}
+ */
+public final class FastStartupTraining {
+
+    private FastStartupTraining() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage : FastStartupTraining <pilote.jar> [arguments de l'application]");
+            System.exit(2);
+        }
+        URL driver = Path.of(args[0]).toUri().toURL();
+        String[] applicationArgs = new String[args.length - 1];
+        System.arraycopy(args, 1, applicationArgs, 0, applicationArgs.length);
+
+        Thread thread = Thread.currentThread();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{driver}, thread.getContextClassLoader())) {
+            thread.setContextClassLoader(loader);
+            // Appel direct : Spring Boot retrouve PayMyBuddyApplication comme classe principale (initialiseur AOT)
+            PayMyBuddyApplication.main(applicationArgs);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.compression.CompressionFilter;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réglages du serveur HTTP activés par le profil {@code http2} ({@code application-http2.properties}).
+ *
+ * La compression des réponses est faite par {@link CompressionFilter} et non par Tomcat
+ * ({@code server.compression}) : Tomcat ne la restreint qu'au type de contenu, pas au chemin,
+ * et ne compresse pas les réponses à ETag fort, ce que sont l'historique et les relations.
+ */
+@Configuration
+public class HttpServerConfig {
+
+    /**
+     * Compression des lectures (GET) de l'historique et des relations, volumineuses et répétitives.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "http.compression.enabled", havingValue = "true")
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(
+            @Value("${http.compression.min-response-size:2048}") int minResponseSize,
+            @Value("${http.compression.mime-types:application/json}") List<String> mimeTypes,
+            @Value("${http.compression.level:1}") int level) {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(
+                new CompressionFilter(minResponseSize, mimeTypes.stream().map(MediaType::parseMediaType).toList(), level));
+        registration.addUrlPatterns("/transaction", "/user-relations");
+        registration.setName("compressionFilter");
+        // Avant la chaîne de sécurité, pour que les en-têtes qu'elle ajoute passent par la décision de compression
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Réglages des connexions HTTP/2 ajoutées par {@code server.http2.enabled=true} :
+     * en clair (h2c, par mise à niveau ou connaissance préalable), ou par ALPN si TLS est configuré.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+    public TomcatConnectorCustomizer http2ConnectorCustomizer(
+            @Value("${http2.keep-alive-timeout:30s}") Duration keepAliveTimeout,
+            @Value("${http2.max-concurrent-streams:200}") int maxConcurrentStreams) {
+        return connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+                }
+            }
+        };
+    }
+}
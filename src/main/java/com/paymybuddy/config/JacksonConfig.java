@@ -0,0 +1,23 @@
+package com.paymybuddy.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de la sérialisation JSON des réponses.
+ *
+ * Le module Blackbird remplace les appels réflexifs de Jackson aux accesseurs et constructeurs
+ * par des lambdas générées à la première utilisation ({@code LambdaMetafactory}), que le JIT
+ * peut ensuite intégrer. Spring Boot l'enregistre dans l'{@code ObjectMapper} partagé
+ * (réponses MVC, flux SSE, outbox).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,27 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.view.PrerenderedViewResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+/**
+ * Cache des pages HTML rendues par Thymeleaf.
+ *
+ * Inscription, connexion, accueil et relations ne contiennent aucune donnée de l'utilisateur :
+ * elles sont rendues une fois, puis servies depuis la mémoire après la vérification du token.
+ * La page de profil est rendue par utilisateur et resservie tant que ses données ne changent pas.
+ * {@code views.prerender.enabled=false} rétablit le rendu à chaque requête.
+ */
+@Configuration
+@ConditionalOnProperty(name = "views.prerender.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheConfig {
+
+    @Bean
+    public PrerenderedViewResolver prerenderedViewResolver(ThymeleafViewResolver thymeleafViewResolver,
+                                                           @Value("${views.profile.max-users:10000}") int maxProfiles) {
+        return new PrerenderedViewResolver(thymeleafViewResolver, maxProfiles);
+    }
+}
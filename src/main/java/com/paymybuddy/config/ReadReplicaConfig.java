@@ -0,0 +1,102 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.routing.ReadWriteRoutingDataSource;
+import com.paymybuddy.routing.ReadYourWritesAspect;
+import com.paymybuddy.routing.ReadYourWritesTracker;
+import com.paymybuddy.routing.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration du routage des lectures vers un réplica MySQL.
+ *
+ * Remplace la source de données unique de Spring Boot par deux pools, {@code primary}
+ * ({@code spring.datasource.*}) et {@code replica} ({@code datasource.replica.*}), derrière une
+ * source de routage : les transactions en lecture seule vont au réplica tant que son retard reste
+ * sous {@code datasource.replica.max-lag-ms}, sauf pour un utilisateur qui vient de transférer.
+ *
+ * Active uniquement si {@code datasource.replica.enabled=true}, et refusée au démarrage tant que
+ * {@code spring.jpa.open-in-view} n'est pas à {@code false} : l'EntityManager ouvert pour toute la
+ * requête garderait la connexion de la première transaction jusqu'à la fin de celle-ci, et avec
+ * elle la base choisie pour cette transaction. Une lecture suivie d'une écriture enverrait alors
+ * l'écriture au réplica, et une lecture seule après un accès hors transaction resterait sur la
+ * base principale.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datasource.replica.max-lag-ms:2000}") long maxLagMs) {
+        return new ReplicaLagMonitor(primary, replica, maxLagMs);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                                 @Qualifier("replicaDataSource") DataSource replica,
+                                                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor);
+    }
+
+    /**
+     * Source de données de l'application (JPA, Flyway, tâches JDBC).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Le routage vers le réplica (datasource.replica.enabled=true) "
+                    + "exige spring.jpa.open-in-view=false : la base est choisie par transaction, pas par requête");
+        }
+        return ReadWriteRoutingDataSource.lazy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${datasource.replica.read-your-writes-ms:5000}") long windowMs) {
+        return new ReadYourWritesTracker(windowMs);
+    }
+
+    @Bean
+    public ReadYourWritesAspect readYourWritesAspect(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesAspect(readYourWritesTracker);
+    }
+}
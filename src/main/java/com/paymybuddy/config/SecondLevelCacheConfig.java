@@ -0,0 +1,105 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.cache.CacheRegions;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration du cache de second niveau Hibernate : cache JCache en mémoire (Ehcache), une région
+ * par entité ou requête mise en cache ({@link CacheRegions}).
+ *
+ * Les entrées des utilisateurs et des relations expirent après {@code cache.second-level.ttl-seconds} :
+ * le cache est local à chaque instance, ce délai borne l'écart avec les écritures faites par une autre.
+ * La région des dates de modification des tables n'expire jamais, sans quoi un résultat de requête
+ * périmé pourrait être servi.
+ *
+ * Actif sauf si {@code cache.second-level.enabled=false}. Chaque région publie ses succès, échecs
+ * et évictions sous {@code cache_gets_total}, {@code cache_evictions_total}... (étiquette {@code cache}).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String ENABLED = "cache.second-level.enabled";
+
+    /**
+     * Gestionnaire JCache propre au contexte, transmis tel quel à Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public CacheManager secondLevelCacheManager(@Value("${cache.second-level.max-entries:100000}") long maxEntries,
+                                                @Value("${cache.second-level.ttl-seconds:300}") long ttlSeconds) {
+        CacheConfiguration<Object, Object> entities = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+        CacheConfiguration<Object, Object> timestamps = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                .build();
+
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (String region : CacheRegions.ALL) {
+            configuration = configuration.withCache(region, region.equals(CacheRegions.UPDATE_TIMESTAMPS) ? timestamps : entities);
+        }
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:paymybuddy:second-level:" + UUID.randomUUID()), configuration.build());
+        CacheRegions.ALL.forEach(region -> cacheManager.enableStatistics(region, true));
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // Une région absente de CacheRegions est une erreur de configuration, pas un cache à créer par défaut
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Désactivation explicite : sans elle, Hibernate détecte hibernate-jcache dans le classpath
+     * et met quand même les entités en cache, dans un gestionnaire JCache par défaut.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "false")
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    /**
+     * Succès, échecs, insertions et évictions de chaque région.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> CacheRegions.ALL.forEach(region ->
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(region)));
+    }
+}
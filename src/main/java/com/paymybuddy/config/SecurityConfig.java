@@ -1,7 +1,11 @@
 package com.paymybuddy.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -16,7 +20,14 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
     @Bean
-    public SecurityFilterChain configure(HttpSecurity http) throws Exception {
+    public SecurityFilterChain configure(HttpSecurity http, Environment environment) throws Exception {
+        // Actuator servi sur le port de l'application : seules les sondes de santé restent publiques,
+        // métriques et requêtes lentes ne sont lisibles que sur un port de management (management.server.port)
+        if (ManagementPortType.get(environment) == ManagementPortType.SAME) {
+            http.authorizeHttpRequests((requests) -> requests
+                    .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class)).denyAll()
+            );
+        }
         http
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers("/**")
@@ -30,4 +41,4 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+}
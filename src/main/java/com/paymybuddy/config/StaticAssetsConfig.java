@@ -0,0 +1,81 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.assets.SendfileResourceHttpMessageConverter;
+import com.paymybuddy.assets.StaticAssetsHandler;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chaîne de service des ressources statiques {@code /css/**} et {@code /js/**}.
+ *
+ * <ul>
+ *     <li>les URL générées par les templates ({@code th:href="@{/css/home.css}"}) reçoivent
+ *     l'empreinte MD5 du contenu ({@code /css/home-<md5>.css}), calculée une fois puis mise en cache ;</li>
+ *     <li>la variante gzip écrite au build ({@code home.css.gz}) est servie aux navigateurs qui l'acceptent ;</li>
+ *     <li>une URL empreinte est mise en cache un an sans revalidation ({@link StaticAssetsHandler}) ;</li>
+ *     <li>un fichier présent sur disque est envoyé par {@code sendfile} ({@link SendfileResourceHttpMessageConverter}).</li>
+ * </ul>
+ *
+ * {@code assets.location} désigne le répertoire servi : par défaut le classpath, lu dans le jar
+ * une fois l'application empaquetée ; un répertoire {@code file:} permet le transfert sans copie en production.
+ */
+@Configuration
+public class StaticAssetsConfig {
+
+    private static final List<String> DIRECTORIES = List.of("css", "js");
+
+    /**
+     * Placée avant le gestionnaire {@code /**} par défaut de Spring Boot, après les contrôleurs.
+     */
+    @Bean
+    public SimpleUrlHandlerMapping staticAssetsHandlerMapping(ApplicationContext applicationContext,
+                                                              ServletContext servletContext,
+                                                              @Value("${assets.location:classpath:/static/}") String location) throws Exception {
+        Map<String, Object> handlers = new LinkedHashMap<>();
+        for (String directory : DIRECTORIES) {
+            // Un cache par répertoire, ses clés étant les chemins relatifs au répertoire
+            CachingResourceResolver cache = new CachingResourceResolver(new ConcurrentMapCache("static-assets-" + directory));
+            VersionResourceResolver versions = new VersionResourceResolver().addContentVersionStrategy("/**");
+
+            StaticAssetsHandler handler = new StaticAssetsHandler();
+            handler.setApplicationContext(applicationContext);
+            handler.setServletContext(servletContext);
+            handler.setLocationValues(List.of(location + directory + "/"));
+            handler.setResourceResolvers(List.of(cache, new EncodedResourceResolver(), versions, new PathResourceResolver()));
+            handler.setResourceHttpMessageConverter(new SendfileResourceHttpMessageConverter());
+            handler.afterPropertiesSet();
+            handlers.put("/" + directory + "/**", handler);
+        }
+
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(handlers);
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return mapping;
+    }
+
+    /**
+     * Réécrit les URL des ressources générées par Thymeleaf vers leur nom empreint.
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration = new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        return registration;
+    }
+}
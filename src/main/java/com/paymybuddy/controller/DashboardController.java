@@ -0,0 +1,81 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.controller.TransactionController.ApiResponse;
+import com.paymybuddy.dto.DashboardDTO;
+import com.paymybuddy.etag.UserVersions;
+import com.paymybuddy.exception.BulkheadFullException;
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.DashboardService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Contrôleur de la page d'accueil : fournit en un seul appel tout ce que la page affiche.
+ */
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    /**
+     * Nombre maximal de transactions récentes qu'un client peut demander.
+     */
+    static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserVersions userVersions;
+
+    /**
+     * Récupère le solde, les relations et les dernières transactions de l'utilisateur connecté.
+     * Si le client présente l'ETag courant, la réponse est un 304 sans lecture en base.
+     *
+     * @param authorizationHeader l'en-tête contenant le token JWT
+     * @param limit               le nombre de transactions récentes souhaité (20 par défaut, 100 au plus)
+     * @param ifNoneMatch         l'ETag du tableau de bord déjà affiché par le client, s'il y en a un
+     * @return les données de la page d'accueil ou un message d'erreur
+     */
+    @GetMapping
+    public ResponseEntity<?> getDashboard(@RequestHeader("Authorization") String authorizationHeader,
+                                          @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String token = authorizationHeader.substring(7);
+            Claims claims = jwtTokenProvider.getClaimsFromToken(token);
+            String email = claims.getSubject();
+            int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+            String etag = userVersions.etag(email, "dashboard-" + boundedLimit);
+            if (UserVersions.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).build();
+            }
+
+            DashboardDTO dashboard = dashboardService.getDashboard(email, boundedLimit);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).body(dashboard);
+
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse("Token invalide ou expiré", null));
+        } catch (EmailNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(e.getMessage(), null));
+        } catch (BulkheadFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse(e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse("Erreur lors de la récupération du tableau de bord", null));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.User;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.service.UserService;
+import com.paymybuddy.view.ProfilePageView;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,9 @@ public class HomeController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserVersions userVersions;
+
     /**
      * Affiche la page d'inscription.
      *
@@ -108,7 +113,8 @@ public class HomeController {
 
     /**
      * Affiche la page du profil de l'utilisateur si le token JWT est valide.
-     * Les informations de l'utilisateur sont ajoutées au modèle.
+     * Les informations de l'utilisateur sont ajoutées au modèle, avec la version de ses données,
+     * lue avant elles, qui sert de clé au rendu mis en cache ({@link ProfilePageView}).
      *
      * @param jwtToken le token JWT récupéré depuis les cookies
      * @param model le modèle utilisé pour injecter les données dans la vue
@@ -123,6 +129,7 @@ public class HomeController {
         try {
             Claims claims = jwtTokenProvider.getClaimsFromToken(jwtToken);
             String email = claims.getSubject();
+            model.addAttribute(ProfilePageView.KEY, new ProfilePageView.Key(email, userVersions.etag(email, "profil")));
             User user = userService.findUserByEmail(email);
             model.addAttribute("user", user);
             return "profil";
@@ -1,5 +1,7 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.exception.ErrorResponse;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.service.LoginService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,14 +28,24 @@ public class LoginController {
      * @param email    L'email de l'utilisateur
      * @param password Le mot de passe de l'utilisateur
      * @param response L'objet HttpServletResponse pour ajouter le cookie à la réponse
-     * @return Une réponse HTTP avec le statut FOUND (302) pour rediriger vers la page d'accueil
+     * @return Une réponse HTTP avec le statut FOUND (302) pour rediriger vers la page d'accueil,
+     *         ou UNAUTHORIZED (401) si les identifiants sont invalides
      */
     @PostMapping("/login")
-    public ResponseEntity<Void> login(@RequestParam("email") String email,
-                                      @RequestParam("password") String password,
-                                      HttpServletResponse response) {
-        String token = loginService.authenticate(email, password);
+    public ResponseEntity<?> login(@RequestParam("email") String email,
+                                   @RequestParam("password") String password,
+                                   HttpServletResponse response) {
+        return switch (loginService.login(email, password)) {
+            case Result.Success<String> success -> redirectHome(success.value(), response);
+            case Result.Failure<String> failure -> ResponseEntity.status(failure.error().status())
+                    .body(new ErrorResponse(failure.error().status().value(), failure.error().message()));
+        };
+    }
 
+    /**
+     * Dépose le token JWT dans un cookie et redirige vers la page d'accueil.
+     */
+    private ResponseEntity<Void> redirectHome(String token, HttpServletResponse response) {
         Cookie cookie = new Cookie("JWT", token);
         cookie.setHttpOnly(false);
         cookie.setSecure(false);
@@ -1,10 +1,16 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.etag.UserVersions;
+import com.paymybuddy.model.UserRelations;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.service.RelationService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -24,14 +30,20 @@ public class RelationController {
     @Autowired
     private RelationService relationService;
 
+    @Autowired
+    private UserVersions userVersions;
+
     /**
      * Affiche la liste des relations de l'utilisateur connecté.
+     * Si le client présente l'ETag courant, la réponse est un 304 sans lecture en base.
      *
-     * @param jwtToken Le token JWT envoyé par le client
+     * @param jwtToken    Le token JWT envoyé par le client
+     * @param ifNoneMatch L'ETag de la liste déjà affichée par le client, s'il y en a un
      * @return La réponse contenant les relations de l'utilisateur ou un message d'erreur
      */
     @GetMapping("/user-relations")
-    public ResponseEntity<?> getUserRelations(@CookieValue(value = "JWT", defaultValue = "") String jwtToken) {
+    public ResponseEntity<?> getUserRelations(@CookieValue(value = "JWT", defaultValue = "") String jwtToken,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             if (jwtToken.isEmpty()) {
                 return ResponseEntity.status(401).body(new ApiResponse("Aucun token trouvé", null));
@@ -40,9 +52,15 @@ public class RelationController {
             Claims claims = jwtTokenProvider.getClaimsFromToken(jwtToken);
             String username = claims.getSubject();
 
+            String etag = userVersions.etag(username, "relations");
+            if (UserVersions.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).build();
+            }
+
             List<String> relations = relationService.getUserRelations(username);
 
-            return ResponseEntity.ok().body(new ApiResponse("Relations récupérées avec succès", relations));
+            return ResponseEntity.ok().eTag(etag).cacheControl(UserVersions.CACHE_CONTROL)
+                    .body(new ApiResponse("Relations récupérées avec succès", relations));
 
         } catch (JwtException e) {
             return ResponseEntity.status(401).body(new ApiResponse("Token invalide ou expiré", null));
@@ -69,13 +87,13 @@ public class RelationController {
             Claims claims = jwtTokenProvider.getClaimsFromToken(jwtToken);
             String currentUserEmail = claims.getSubject();
 
-            boolean success = relationService.addRelation(currentUserEmail, relationEmail);
-
-            if (success) {
-                model.addAttribute("message", "Relation ajoutée avec succès !");
-            } else {
-                model.addAttribute("message", "Échec de l'ajout de la relation (elle existe peut-être déjà).");
-            }
+            String message = switch (relationService.relate(currentUserEmail, relationEmail)) {
+                case Result.Success<UserRelations> success -> "Relation ajoutée avec succès !";
+                case Result.Failure<UserRelations> failure when failure.error() == BusinessFailure.RELATION_ALREADY_EXISTS ->
+                        "Échec de l'ajout de la relation (elle existe peut-être déjà).";
+                case Result.Failure<UserRelations> failure -> "Une erreur est survenue : " + failure.error().message();
+            };
+            model.addAttribute("message", message);
 
             return "relations";
 
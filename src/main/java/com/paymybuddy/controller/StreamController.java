@@ -0,0 +1,55 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.sse.UserStreamRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Contrôleur du flux d'événements temps réel (solde et transactions) de l'utilisateur connecté.
+ */
+@RestController
+public class StreamController {
+
+    @Autowired
+    private UserStreamRegistry userStreamRegistry;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Ouvre un flux Server-Sent Events pour l'utilisateur connecté.
+     * Le token est lu dans le cookie, {@code EventSource} ne permettant pas d'envoyer d'en-tête.
+     *
+     * @param jwtToken le token JWT de l'utilisateur
+     * @return le flux d'événements, 401 si le token est absent ou invalide, 503 si l'instance est saturée
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@CookieValue(value = "JWT", defaultValue = "") String jwtToken) {
+        if (jwtToken.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email;
+        try {
+            Claims claims = jwtTokenProvider.getClaimsFromToken(jwtToken);
+            email = claims.getSubject();
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SseEmitter emitter = userStreamRegistry.open(email);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
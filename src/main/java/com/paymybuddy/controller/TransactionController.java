@@ -1,18 +1,26 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.Transactions;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.service.TransactionService;
+import com.paymybuddy.service.TransferBatchProcessor;
 import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.exception.BulkheadFullException;
 import com.paymybuddy.exception.EmailNotFoundException;
-import com.paymybuddy.exception.InvalidAmountException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Contrôleur pour gérer les transactions des utilisateurs.
@@ -27,8 +35,21 @@ public class TransactionController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private UserVersions userVersions;
+
+    /**
+     * Pipeline de transferts par micro-lots, présent uniquement si {@code transfer.batch.enabled=true}.
+     */
+    @Autowired(required = false)
+    private TransferBatchProcessor transferBatchProcessor;
+
     /**
      * Crée une transaction entre l'utilisateur connecté et un destinataire.
+     * Si le pipeline par micro-lots est actif, la transaction est validée avec d'autres
+     * transferts concurrents dans un même commit. Un transfert refusé (montant, email,
+     * relation, solde) est renvoyé en 400 avec la raison du refus.
+     * La transaction créée est renvoyée sous sa forme compacte ({@link TransactionDTO}).
      */
     @PostMapping
     public ResponseEntity<?> createTransaction(
@@ -40,20 +61,29 @@ public class TransactionController {
             Claims claims = jwtTokenProvider.getClaimsFromToken(token);
             String currentUserEmail = claims.getSubject();
 
-            Transactions transaction = transactionService.addTransaction(
-                    currentUserEmail,
-                    transactionRequest.getReceiverEmail(),
-                    transactionRequest.getDescription(),
-                    transactionRequest.getAmount()
-            );
-
-            return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+            Result<Transactions> result = transferBatchProcessor != null
+                    ? transferBatchProcessor.transfer(
+                            currentUserEmail,
+                            transactionRequest.getReceiverEmail(),
+                            transactionRequest.getDescription(),
+                            transactionRequest.getAmount())
+                    : transactionService.transfer(
+                            currentUserEmail,
+                            transactionRequest.getReceiverEmail(),
+                            transactionRequest.getDescription(),
+                            transactionRequest.getAmount());
+
+            return switch (result) {
+                case Result.Success<Transactions> success -> new ResponseEntity<>(TransactionDTO.from(success.value()), HttpStatus.CREATED);
+                case Result.Failure<Transactions> failure -> ResponseEntity.status(failure.error().status())
+                        .body(new ApiResponse(failure.error().message(), null));
+            };
 
         } catch (JwtException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse("Token invalide ou expiré", null));
-        } catch (EmailNotFoundException | InvalidAmountException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        } catch (BulkheadFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(new ApiResponse(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -62,18 +92,34 @@ public class TransactionController {
     }
 
     /**
-     * Récupère toutes les transactions de l'utilisateur connecté.
+     * Récupère les transactions de l'utilisateur connecté, sur la période d'historique
+     * ou depuis la date {@code from} (format ISO), archives comprises.
+     * Chaque transaction est renvoyée sous sa forme compacte ({@link TransactionDTO}), sans les
+     * utilisateurs complets. Si le client présente l'ETag courant, la réponse est un 304 sans lecture en base.
      */
     @GetMapping
-    public ResponseEntity<?> getUserTransactions(@RequestHeader("Authorization") String authorizationHeader) {
+    public ResponseEntity<?> getUserTransactions(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             String token = authorizationHeader.substring(7);
             Claims claims = jwtTokenProvider.getClaimsFromToken(token);
             String currentUserEmail = claims.getSubject();
 
-            var transactions = transactionService.getUserTransactions(currentUserEmail);
+            String etag = userVersions.etag(currentUserEmail, from == null ? "transactions" : "transactions-" + from);
+            if (UserVersions.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).build();
+            }
+
+            List<TransactionDTO> transactions = (from == null
+                    ? transactionService.getUserTransactions(currentUserEmail)
+                    : transactionService.getUserTransactions(currentUserEmail, from))
+                    .stream()
+                    .map(TransactionDTO::from)
+                    .toList();
 
-            return ResponseEntity.ok()
+            return ResponseEntity.ok().eTag(etag).cacheControl(UserVersions.CACHE_CONTROL)
                     .body(Collections.singletonMap("data", Collections.singletonMap("transactions", transactions)));
 
         } catch (JwtException e) {
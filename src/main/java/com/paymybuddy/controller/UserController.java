@@ -1,10 +1,13 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.UserProfileDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.User;
 import com.paymybuddy.service.LoginService;
 import com.paymybuddy.service.UserService;
 import com.paymybuddy.dto.UserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -31,6 +34,9 @@ public class UserController {
     @Autowired
     private LoginService loginService;
 
+    @Autowired
+    private UserVersions userVersions;
+
     /**
      * Crée un utilisateur, l'authentifie immédiatement et stocke le token JWT dans un cookie.
      */
@@ -53,7 +59,7 @@ public class UserController {
     }
 
     /**
-     * Met à jour le profil de l'utilisateur connecté.
+     * Met à jour le profil de l'utilisateur connecté et renvoie le profil modifié, sans son mot de passe.
      */
     @PutMapping("/update")
     public ResponseEntity<?> updateUserProfile(
@@ -64,7 +70,7 @@ public class UserController {
             String currentUserEmail = jwtTokenProvider.getClaimsFromToken(token).getSubject();
 
             User updatedUser = userService.updateUser(currentUserEmail, userDTO);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(UserProfileDTO.from(updatedUser));
 
         } catch (JwtException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token invalide ou expiré");
@@ -74,16 +80,23 @@ public class UserController {
     }
 
     /**
-     * Récupère le profil de l'utilisateur connecté.
+     * Récupère le profil de l'utilisateur connecté, sans son mot de passe.
+     * Si le client présente l'ETag courant, la réponse est un 304 sans lecture en base.
      */
     @GetMapping("/user/profil")
-    public ResponseEntity<User> getUserProfile(@RequestHeader("Authorization") String authorizationHeader) {
+    public ResponseEntity<UserProfileDTO> getUserProfile(@RequestHeader("Authorization") String authorizationHeader,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             String token = authorizationHeader.substring(7);
             String currentUserEmail = jwtTokenProvider.getClaimsFromToken(token).getSubject();
 
+            String etag = userVersions.etag(currentUserEmail, "profile");
+            if (UserVersions.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).build();
+            }
+
             User user = userService.findUserByEmail(currentUserEmail);
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok().eTag(etag).cacheControl(UserVersions.CACHE_CONTROL).body(UserProfileDTO.from(user));
 
         } catch (JwtException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
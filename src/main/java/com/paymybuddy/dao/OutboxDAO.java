@@ -0,0 +1,79 @@
+package com.paymybuddy.dao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymybuddy.model.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DAO pour la table d'outbox des événements métier.
+ */
+@Repository
+public class OutboxDAO {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Ajoute un événement à l'outbox dans la transaction courante.
+     *
+     * @param aggregateType le type de l'agrégat concerné
+     * @param aggregateId   l'identifiant de l'agrégat concerné
+     * @param eventType     le type de l'événement
+     * @param payload       le contenu de l'événement, sérialisé en JSON
+     * @return l'événement persisté
+     */
+    public OutboxEvent append(String aggregateType, int aggregateId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setCreatedAt(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Événement non sérialisable : " + eventType, e);
+        }
+        entityManager.persist(event);
+        return event;
+    }
+
+    /**
+     * Verrouille et retourne les plus anciens événements en attente.
+     * Les lignes déjà verrouillées par un autre relais sont ignorées ({@code SKIP LOCKED}),
+     * ce qui permet de faire tourner plusieurs instances sans double publication simultanée.
+     * Doit être appelée dans une transaction.
+     *
+     * @param limit le nombre maximal d'événements à verrouiller
+     * @return les événements verrouillés, dans l'ordre d'écriture
+     */
+    @SuppressWarnings("unchecked")
+    public List<OutboxEvent> lockNextBatch(int limit) {
+        return entityManager.createNativeQuery(
+                        "SELECT * FROM outbox_event ORDER BY event_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                        OutboxEvent.class)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    /**
+     * Acquitte un lot d'événements publiés en les supprimant de l'outbox.
+     *
+     * @param eventIds les identifiants des événements publiés
+     * @return le nombre de lignes supprimées
+     */
+    public int deleteByIds(List<Long> eventIds) {
+        return entityManager.createQuery("DELETE FROM OutboxEvent e WHERE e.eventId IN :ids")
+                .setParameter("ids", eventIds)
+                .executeUpdate();
+    }
+}
@@ -8,10 +8,14 @@ import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * DAO pour gérer les opérations liées aux transactions dans la base de données.
+ *
+ * Les lectures d'historique portent toujours une borne basse sur {@code created_at} : la table
+ * étant partitionnée par mois en production, seules les partitions de la période sont lues.
  */
 @Repository
 public class TransactionDAO {
@@ -28,12 +32,40 @@ public class TransactionDAO {
     }
 
     /**
-     * Récupère les transactions où l'utilisateur est expéditeur ou destinataire.
+     * Récupère les transactions où l'utilisateur est expéditeur ou destinataire, depuis une date donnée.
+     * Les utilisateurs sont chargés dans la même requête : sans cela, les associations
+     * {@code sender}/{@code receiver} étant en chargement immédiat, Hibernate émettrait
+     * une requête par contrepartie distincte.
+     *
+     * @param user  l'utilisateur concerné
+     * @param since la date de création minimale (incluse)
      */
-    public List<Transactions> findBySenderOrReceiver(User user) {
-        String jpql = "SELECT t FROM Transactions t WHERE t.sender = :user OR t.receiver = :user";
+    public List<Transactions> findBySenderOrReceiver(User user, LocalDateTime since) {
+        String jpql = "SELECT t FROM Transactions t JOIN FETCH t.sender JOIN FETCH t.receiver "
+                + "WHERE (t.sender = :user OR t.receiver = :user) AND t.createdAt >= :since";
         TypedQuery<Transactions> query = entityManager.createQuery(jpql, Transactions.class);
         query.setParameter("user", user);
+        query.setParameter("since", since);
         return query.getResultList();
     }
+
+    /**
+     * Récupère les dernières transactions où l'utilisateur est expéditeur ou destinataire,
+     * de la plus récente à la plus ancienne. Les utilisateurs sont chargés dans la même requête.
+     *
+     * @param user  l'utilisateur concerné
+     * @param since la date de création minimale (incluse)
+     * @param limit le nombre maximal de transactions à retourner
+     * @return une page de transactions
+     */
+    public List<Transactions> findRecentBySenderOrReceiver(User user, LocalDateTime since, int limit) {
+        String jpql = "SELECT t FROM Transactions t JOIN FETCH t.sender JOIN FETCH t.receiver "
+                + "WHERE (t.sender = :user OR t.receiver = :user) AND t.createdAt >= :since "
+                + "ORDER BY t.createdAt DESC, t.transactionId DESC";
+        return entityManager.createQuery(jpql, Transactions.class)
+                .setParameter("user", user)
+                .setParameter("since", since)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 }
@@ -1,9 +1,15 @@
 package com.paymybuddy.dao;
 
 import com.paymybuddy.model.User;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.*;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Classe d'accès aux données (DAO) pour l'entité User.
  */
@@ -14,21 +20,37 @@ public class UserDAO {
     private EntityManager entityManager;
 
     /**
-     * Recherche un utilisateur par son adresse email.
+     * Recherche un utilisateur par son adresse email, identifiant naturel de l'entité :
+     * servi par le cache de second niveau lorsqu'il est actif.
+     * Hors transaction, la propagation {@code SUPPORTS} lie une session à l'appel sans ouvrir de transaction :
+     * sans elle, la session obtenue par {@code unwrap} serait déjà fermée.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User findByEmail(String email) {
         try {
-            return entityManager.createQuery("FROM User WHERE email = :email", User.class)
-                    .setParameter("email", email)
-                    .getSingleResult();
-        } catch (NoResultException e) {
-            return null;
+            return entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(User.class)
+                    .load(email);
         } catch (Exception e) {
             System.err.println("Error finding user by email: " + e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Recherche un utilisateur par son adresse email et verrouille sa ligne jusqu'à la fin de la transaction.
+     * La lecture va toujours en base, jamais dans le cache : le solde lu est celui que le transfert modifie.
+     */
+    public User findByEmailForUpdate(String email) {
+        return entityManager.createQuery("FROM User WHERE email = :email", User.class)
+                .setParameter("email", email)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Recherche un utilisateur par son nom d'utilisateur.
      */
@@ -45,6 +67,19 @@ public class UserDAO {
         }
     }
 
+    /**
+     * Recherche des utilisateurs par leurs identifiants, en une requête.
+     * Les identifiants inconnus sont ignorés.
+     */
+    public List<User> findByIds(Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery("FROM User WHERE userId IN :userIds", User.class)
+                .setParameter("userIds", userIds)
+                .getResultList();
+    }
+
     /**
      * Sauvegarde un utilisateur dans la base de données.
      */
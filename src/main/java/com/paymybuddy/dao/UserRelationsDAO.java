@@ -1,8 +1,11 @@
 package com.paymybuddy.dao;
 
+import com.paymybuddy.cache.CacheRegions;
 import com.paymybuddy.model.UserRelations;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,17 +30,37 @@ public class UserRelationsDAO {
 
     /**
      * Récupère toutes les relations d'un utilisateur en fonction de son identifiant.
+     * Les deux utilisateurs de chaque relation sont chargés dans la même requête.
+     *
+     * Lorsque le cache de requêtes est actif, le résultat est mis en cache ({@value CacheRegions#RELATIONS_BY_USER})
+     * et la requête ne joint pas les utilisateurs : la jointure rattacherait le résultat à la table {@code user},
+     * modifiée par chaque transfert, et l'invaliderait aussitôt. Les utilisateurs sont alors lus dans le cache
+     * de second niveau, les absents par lots ({@code @BatchSize} de {@code User}).
      *
      * @param userId l'identifiant de l'utilisateur.
      * @return une liste des relations où l'utilisateur est impliqué (soit en tant que user1, soit en tant que user2).
      */
     public List<UserRelations> getUserRelations(int userId) {
+        if (isQueryCacheEnabled()) {
+            return entityManager.createQuery(
+                            "FROM UserRelations ur WHERE ur.user1.id = :userId OR ur.user2.id = :userId", UserRelations.class)
+                    .setParameter("userId", userId)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.RELATIONS_BY_USER)
+                    .getResultList();
+        }
         return entityManager.createQuery(
-                        "FROM UserRelations ur WHERE ur.user1.id = :userId OR ur.user2.id = :userId", UserRelations.class)
+                        "FROM UserRelations ur JOIN FETCH ur.user1 JOIN FETCH ur.user2 "
+                                + "WHERE ur.user1.id = :userId OR ur.user2.id = :userId", UserRelations.class)
                 .setParameter("userId", userId)
                 .getResultList();
     }
 
+    private boolean isQueryCacheEnabled() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isQueryCacheEnabled();
+    }
+
     /**
      * Sauvegarde une nouvelle relation dans la base de données.
      *
@@ -56,6 +79,8 @@ public class UserRelationsDAO {
 
     /**
      * Recherche une relation entre deux utilisateurs en fonction de leurs identifiants.
+     * Les deux utilisateurs sont chargés dans la même requête. Si la relation est enregistrée
+     * dans les deux sens (comme dans {@code data.sql}), l'une des deux est retournée.
      *
      * @param userId1 l'identifiant du premier utilisateur.
      * @param userId2 l'identifiant du second utilisateur.
@@ -64,11 +89,15 @@ public class UserRelationsDAO {
     public UserRelations findRelationByIds(int userId1, int userId2) {
         try {
             return entityManager.createQuery(
-                            "FROM UserRelations ur WHERE (ur.user1.id = :userId1 AND ur.user2.id = :userId2) OR (ur.user1.id = :userId2 AND ur.user2.id = :userId1)",
+                            "FROM UserRelations ur JOIN FETCH ur.user1 JOIN FETCH ur.user2 "
+                                    + "WHERE (ur.user1.id = :userId1 AND ur.user2.id = :userId2) OR (ur.user1.id = :userId2 AND ur.user2.id = :userId1)",
                             UserRelations.class)
                     .setParameter("userId1", userId1)
                     .setParameter("userId2", userId2)
-                    .getSingleResult();
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
         } catch (Exception e) {
             return null;
         }
@@ -0,0 +1,321 @@
+package com.paymybuddy.dataset;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Générateur de jeux de données synthétiques pour les environnements de charge et de benchmark.
+ *
+ * Écrit le {@link DatasetModel} par lots JDBC, sur {@code threads} connexions en parallèle,
+ * avec un commit par lot. Les utilisateurs sont écrits d'abord avec des identifiants explicites,
+ * puis les relations et les transactions en même temps. Tous les utilisateurs partagent le même
+ * hash BCrypt, calculé une seule fois : ils peuvent se connecter avec le mot de passe du {@link DatasetSpec}.
+ *
+ * Les tables doivent exister (schéma créé par Hibernate ou par les migrations) ; les données
+ * existantes sont conservées, à condition que le domaine des emails ne soit pas déjà utilisé.
+ *
+ * En ligne de commande, contre une base MySQL :
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.paymybuddy.dataset.DatasetGenerator org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --url=jdbc:mysql://localhost:3306/paymybuddy --username=root --password=... \
+ *     --users=1000000 --relations=20000000 --transactions=100000000 --threads=8
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /**
+     * Nombre de transactions par tâche d'écriture. Chaque tâche a sa propre graine :
+     * le résultat ne dépend pas du nombre de threads.
+     */
+    private static final int TRANSACTION_CHUNK = 100_000;
+
+    private static final String INSERT_USER =
+            "INSERT INTO user (user_id, username, email, password, created_at, solde) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RELATION =
+            "INSERT INTO user_relations (user_id_1, user_id_2, relationship_status, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (user_id_sender, user_id_receiver, description, amount, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final DatasetModel model;
+
+    public DatasetGenerator(DataSource dataSource, DatasetSpec spec) {
+        this.dataSource = dataSource;
+        this.model = new DatasetModel(spec, LocalDateTime.now());
+    }
+
+    /**
+     * Modèle généré : emails des utilisateurs et tirage de paires en relation pour les tests de charge.
+     */
+    public DatasetModel model() {
+        return model;
+    }
+
+    /**
+     * Écrit le jeu de données.
+     *
+     * @return le bilan de la génération
+     */
+    public DatasetReport generate() throws SQLException, InterruptedException {
+        DatasetSpec spec = model.spec();
+        long start = System.nanoTime();
+        String passwordHash = new BCryptPasswordEncoder().encode(spec.password());
+        Timestamp origin = Timestamp.valueOf(LocalDateTime.now().minusDays(spec.days()));
+        int firstUserId = nextUserId();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(spec.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "dataset-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int usersPerTask = Math.max(1000, spec.users() / (spec.threads() * 4));
+            List<Callable<Long>> userTasks = new ArrayList<>();
+            List<Callable<Long>> dataTasks = new ArrayList<>();
+            for (int from = 0; from < spec.users(); from += usersPerTask) {
+                int to = Math.min(spec.users(), from + usersPerTask);
+                int first = from;
+                userTasks.add(() -> write(INSERT_USER, batch -> {
+                    for (int i = first; i < to; i++) {
+                        PreparedStatement statement = batch.statement();
+                        statement.setInt(1, firstUserId + i);
+                        statement.setString(2, model.username(i));
+                        statement.setString(3, model.email(i));
+                        statement.setString(4, passwordHash);
+                        statement.setTimestamp(5, origin);
+                        statement.setDouble(6, spec.solde());
+                        batch.add();
+                    }
+                }));
+                dataTasks.add(() -> write(INSERT_RELATION, batch -> {
+                    for (int i = first; i < to; i++) {
+                        for (int k = 0; k < model.degree(i); k++) {
+                            PreparedStatement statement = batch.statement();
+                            statement.setInt(1, firstUserId + i);
+                            statement.setInt(2, firstUserId + model.target(i, k));
+                            statement.setString(3, "ACCEPTEE");
+                            statement.setTimestamp(4, origin);
+                            batch.add();
+                        }
+                    }
+                }));
+            }
+            for (long from = 0; from < spec.transactions(); from += TRANSACTION_CHUNK) {
+                long count = Math.min(TRANSACTION_CHUNK, spec.transactions() - from);
+                SplittableRandom random = new SplittableRandom(spec.seed() + from);
+                dataTasks.add(() -> write(INSERT_TRANSACTION, batch -> {
+                    for (long row = 0; row < count; row++) {
+                        int[] pair = model.randomRelation(random);
+                        PreparedStatement statement = batch.statement();
+                        statement.setInt(1, firstUserId + pair[0]);
+                        statement.setInt(2, firstUserId + pair[1]);
+                        statement.setString(3, model.randomDescription(random));
+                        statement.setDouble(4, model.randomAmount(random));
+                        statement.setTimestamp(5, Timestamp.valueOf(model.randomDate(random)));
+                        batch.add();
+                    }
+                }));
+            }
+
+            long users = run(writers, userTasks);
+            restartUserIdentity(firstUserId + spec.users());
+            logger.info("{} utilisateurs écrits en {} s", users, seconds(start));
+            long written = run(writers, dataTasks);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            DatasetReport report = new DatasetReport(firstUserId, spec.users(), model.relationCount(),
+                    written - model.relationCount(), elapsed);
+            logger.info(report.describe());
+            return report;
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    /**
+     * Prochain identifiant d'utilisateur libre : les identifiants sont attribués explicitement
+     * pour que relations et transactions puissent les référencer sans relecture.
+     */
+    private int nextUserId() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(user_id), 0) FROM user")) {
+            resultSet.next();
+            return resultSet.getInt(1) + 1;
+        }
+    }
+
+    /**
+     * Avec H2, une colonne d'identité ne tient pas compte des identifiants insérés explicitement ;
+     * MySQL avance son {@code AUTO_INCREMENT} tout seul.
+     */
+    private void restartUserIdentity(int next) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if ("H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE user ALTER COLUMN user_id RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    private long run(ExecutorService writers, List<Callable<Long>> tasks) throws SQLException, InterruptedException {
+        long rows = 0;
+        for (Future<Long> future : writers.invokeAll(tasks)) {
+            try {
+                rows += future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SQLException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Échec de la génération du jeu de données", e.getCause());
+            }
+        }
+        return rows;
+    }
+
+    private long write(String sql, BatchWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                Batch batch = new Batch(connection, statement, model.spec().batchSize());
+                writer.write(batch);
+                batch.flush();
+                return batch.rows;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static long seconds(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toSeconds();
+    }
+
+    /**
+     * Lot JDBC en cours : exécuté et validé tous les {@code size} ajouts.
+     */
+    private static final class Batch {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int size;
+        private int pending;
+        private long rows;
+
+        Batch(Connection connection, PreparedStatement statement, int size) {
+            this.connection = connection;
+            this.statement = statement;
+            this.size = size;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending == size) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                rows += pending;
+                pending = 0;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(Batch batch) throws SQLException;
+    }
+
+    /**
+     * Bilan d'une génération.
+     */
+    public record DatasetReport(int firstUserId, int users, long relations, long transactions, Duration elapsed) {
+
+        public String describe() {
+            long rows = users + relations + transactions;
+            double seconds = Math.max(1, elapsed.toMillis()) / 1000.0;
+            return String.format("Jeu de données : %d utilisateurs, %d relations, %d transactions en %.1f s (%.0f lignes/s)",
+                    users, relations, transactions, seconds, rows / seconds);
+        }
+    }
+
+    /**
+     * Point d'entrée en ligne de commande ; options au format {@code --nom=valeur}.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Option invalide : " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        DatasetSpec defaults = DatasetSpec.of(
+                Integer.parseInt(options.getOrDefault("users", "10000")),
+                Long.parseLong(options.getOrDefault("relations", "200000")),
+                Long.parseLong(options.getOrDefault("transactions", "1000000")));
+        DatasetSpec spec = new DatasetSpec(defaults.users(), defaults.relations(), defaults.transactions(),
+                Integer.parseInt(options.getOrDefault("days", String.valueOf(defaults.days()))),
+                Double.parseDouble(options.getOrDefault("zipf", String.valueOf(defaults.zipfExponent()))),
+                options.getOrDefault("domain", defaults.emailDomain()),
+                options.getOrDefault("user-password", defaults.password()),
+                Double.parseDouble(options.getOrDefault("solde", String.valueOf(defaults.solde()))),
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(defaults.threads()))),
+                Integer.parseInt(options.getOrDefault("batch-size", String.valueOf(defaults.batchSize()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))));
+
+        String url = options.get("url");
+        if (url == null) {
+            throw new IllegalArgumentException("Option --url obligatoire");
+        }
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            // Sans cette option, le pilote MySQL envoie les lots ligne par ligne
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(options.get("username"));
+        config.setPassword(options.get("password"));
+        config.setMaximumPoolSize(spec.threads() + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            System.out.println(new DatasetGenerator(dataSource, spec).generate().describe());
+        }
+    }
+}
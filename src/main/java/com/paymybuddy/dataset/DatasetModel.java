@@ -0,0 +1,171 @@
+package com.paymybuddy.dataset;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Modèle déterministe d'un jeu de données : qui est en relation avec qui, qui paie qui et quand.
+ * Rien n'est stocké ligne par ligne, ce qui permet de générer des dizaines de millions de relations
+ * avec quelques octets par utilisateur.
+ *
+ * <ul>
+ *   <li>Le degré de chaque utilisateur suit une loi de Zipf ; les utilisateurs très connectés sont
+ *       dispersés dans l'espace des identifiants.</li>
+ *   <li>Les relations de l'utilisateur {@code i} vont vers {@code i + 1 + k * pas} (modulo le nombre
+ *       d'utilisateurs) : elles sont distinctes sans dédoublonnage, et {@code i} est toujours en
+ *       relation avec {@code i + 1}.</li>
+ *   <li>Une transaction correspond à une relation tirée uniformément, dans un sens ou dans l'autre :
+ *       l'activité d'un utilisateur est proportionnelle à son nombre de relations.</li>
+ *   <li>Les dates suivent une croissance linéaire du volume sur la période et un profil horaire diurne.</li>
+ * </ul>
+ */
+public final class DatasetModel {
+
+    /**
+     * Volume de la dernière journée par rapport à la première, moins un.
+     */
+    private static final double GROWTH = 2.0;
+
+    /**
+     * Poids relatif de chaque heure de la journée.
+     */
+    private static final double[] HOURLY = {1, 0.5, 0.3, 0.3, 0.3, 0.6, 1.5, 3, 5, 6, 6, 7, 9, 8, 6, 6, 6, 7, 9, 10, 9, 7, 4, 2};
+
+    private static final String[] DESCRIPTIONS = {
+            "Restaurant", "Courses", "Cinéma", "Loyer", "Remboursement", "Cadeau", "Voyage", "Concert", "Essence", "Sport"};
+
+    private final DatasetSpec spec;
+    private final int[] degrees;
+    private final long[] cumulativeDegrees;
+    private final double[] cumulativeHours;
+    private final LocalDateTime end;
+
+    public DatasetModel(DatasetSpec spec, LocalDateTime end) {
+        this.spec = spec;
+        this.end = end;
+        int n = spec.users();
+
+        double[] weights = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, spec.zipfExponent());
+            sum += weights[rank];
+        }
+        long multiplier = coprimeMultiplier(n);
+        degrees = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            long degree = Math.round(weights[rank] / sum * spec.relations());
+            degrees[(int) (rank * multiplier % n)] = (int) Math.max(1, Math.min(n - 1, degree));
+        }
+
+        cumulativeDegrees = new long[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += degrees[i];
+            cumulativeDegrees[i] = total;
+        }
+
+        cumulativeHours = new double[HOURLY.length];
+        double hours = 0;
+        for (int h = 0; h < HOURLY.length; h++) {
+            hours += HOURLY[h];
+            cumulativeHours[h] = hours;
+        }
+    }
+
+    public DatasetSpec spec() {
+        return spec;
+    }
+
+    /**
+     * Nombre réel de relations du modèle.
+     */
+    public long relationCount() {
+        return cumulativeDegrees[cumulativeDegrees.length - 1];
+    }
+
+    /**
+     * Nombre de relations dont l'utilisateur {@code i} est le premier membre.
+     */
+    public int degree(int user) {
+        return degrees[user];
+    }
+
+    /**
+     * Second membre de la {@code k}-ième relation de l'utilisateur {@code i}.
+     */
+    public int target(int user, int k) {
+        int n = spec.users();
+        long step = Math.max(1, (n - 1) / degrees[user]);
+        return (int) ((user + 1 + k * step) % n);
+    }
+
+    public String email(int user) {
+        return "user" + user + "@" + spec.emailDomain();
+    }
+
+    public String username(int user) {
+        return "user" + user;
+    }
+
+    /**
+     * Tire une paire d'utilisateurs en relation, dans un sens aléatoire.
+     *
+     * @return {@code {expéditeur, destinataire}}
+     */
+    public int[] randomRelation(RandomGenerator random) {
+        long index = random.nextLong(relationCount());
+        int user = Arrays.binarySearch(cumulativeDegrees, index + 1);
+        if (user < 0) {
+            user = -user - 1;
+        }
+        int k = (int) (index - (user == 0 ? 0 : cumulativeDegrees[user - 1]));
+        int other = target(user, k);
+        return random.nextBoolean() ? new int[]{user, other} : new int[]{other, user};
+    }
+
+    /**
+     * Tire une date de transaction dans la période, plus dense vers la fin et aux heures de journée.
+     * Les dates sont toutes antérieures au jour de fin.
+     */
+    public LocalDateTime randomDate(RandomGenerator random) {
+        double u = random.nextDouble();
+        double t = (-1 + Math.sqrt(1 + 2 * GROWTH * u * (1 + GROWTH / 2))) / GROWTH;
+        long dayOffset = Math.min(spec.days() - 1, (long) ((1 - t) * spec.days()));
+
+        double h = random.nextDouble() * cumulativeHours[cumulativeHours.length - 1];
+        int hour = 0;
+        while (cumulativeHours[hour] < h) {
+            hour++;
+        }
+        return end.toLocalDate().minusDays(dayOffset + 1).atTime(hour, random.nextInt(60), random.nextInt(60));
+    }
+
+    /**
+     * Tire un montant selon une loi log-normale (médiane d'environ 20), arrondi au centime.
+     */
+    public double randomAmount(RandomGenerator random) {
+        double amount = Math.exp(3 + random.nextGaussian());
+        return Math.round(Math.min(5000, Math.max(1, amount)) * 100) / 100.0;
+    }
+
+    public String randomDescription(RandomGenerator random) {
+        return DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+    }
+
+    /**
+     * Multiplicateur premier avec {@code n}, pour disperser les rangs de Zipf sur les identifiants.
+     */
+    private static long coprimeMultiplier(int n) {
+        long candidate = 1_000_003;
+        while (gcd(candidate, n) != 1) {
+            candidate += 2;
+        }
+        return candidate;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,57 @@
+package com.paymybuddy.dataset;
+
+/**
+ * Paramètres d'un jeu de données synthétique.
+ *
+ * @param users         nombre d'utilisateurs (au moins 2)
+ * @param relations     nombre de relations visé ; le nombre réel est arrondi par utilisateur
+ * @param transactions  nombre de transactions, toujours entre utilisateurs en relation
+ * @param days          profondeur de l'historique des transactions, en jours
+ * @param zipfExponent  exposant de la loi de puissance des degrés : plus il est élevé, plus les
+ *                      relations se concentrent sur quelques utilisateurs
+ * @param emailDomain   domaine des emails générés ({@code user<i>@<domaine>})
+ * @param password      mot de passe en clair de tous les utilisateurs
+ * @param solde         solde initial de chaque utilisateur
+ * @param threads       nombre de connexions d'écriture en parallèle
+ * @param batchSize     nombre de lignes par lot JDBC (et par commit)
+ * @param seed          graine : un même jeu de paramètres produit toujours les mêmes données
+ */
+public record DatasetSpec(int users, long relations, long transactions, int days, double zipfExponent,
+                          String emailDomain, String password, double solde, int threads, int batchSize, long seed) {
+
+    public static final String DEFAULT_PASSWORD = "password";
+
+    public DatasetSpec {
+        if (users < 2) {
+            throw new IllegalArgumentException("Au moins 2 utilisateurs sont nécessaires.");
+        }
+        if (relations < users || transactions < 0 || days < 1 || threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Paramètres de jeu de données invalides.");
+        }
+    }
+
+    /**
+     * Jeu de données avec les paramètres par défaut : un an d'historique, exposant 0,8,
+     * mot de passe {@value #DEFAULT_PASSWORD}, solde de 1 000 000.
+     */
+    public static DatasetSpec of(int users, long relations, long transactions) {
+        return new DatasetSpec(users, relations, transactions, 365, 0.8, "dataset.test", DEFAULT_PASSWORD,
+                1_000_000, Math.max(2, Runtime.getRuntime().availableProcessors()), 1000, 42);
+    }
+
+    public DatasetSpec withEmailDomain(String emailDomain) {
+        return new DatasetSpec(users, relations, transactions, days, zipfExponent, emailDomain, password, solde, threads, batchSize, seed);
+    }
+
+    public DatasetSpec withDays(int days) {
+        return new DatasetSpec(users, relations, transactions, days, zipfExponent, emailDomain, password, solde, threads, batchSize, seed);
+    }
+
+    public DatasetSpec withSolde(double solde) {
+        return new DatasetSpec(users, relations, transactions, days, zipfExponent, emailDomain, password, solde, threads, batchSize, seed);
+    }
+
+    public DatasetSpec withThreads(int threads) {
+        return new DatasetSpec(users, relations, transactions, days, zipfExponent, emailDomain, password, solde, threads, batchSize, seed);
+    }
+}
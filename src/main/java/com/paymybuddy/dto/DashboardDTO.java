@@ -0,0 +1,19 @@
+package com.paymybuddy.dto;
+
+import java.util.List;
+
+/**
+ * Données de la page d'accueil, renvoyées en une seule réponse.
+ *
+ * @param username     le nom de l'utilisateur connecté
+ * @param email        l'email de l'utilisateur connecté
+ * @param solde        le solde courant
+ * @param relations    les emails des relations, pour la liste de choix du destinataire
+ * @param transactions les dernières transactions, de la plus récente à la plus ancienne
+ */
+public record DashboardDTO(String username,
+                           String email,
+                           double solde,
+                           List<String> relations,
+                           List<TransactionDTO> transactions) {
+}
@@ -0,0 +1,47 @@
+package com.paymybuddy.dto;
+
+import com.paymybuddy.model.Transactions;
+
+import java.time.LocalDateTime;
+
+/**
+ * Représentation compacte d'une transaction renvoyée au client.
+ * Contrairement à l'entité {@link Transactions}, elle n'embarque pas les utilisateurs complets
+ * (et donc jamais leur mot de passe haché), seulement leur email et leur nom.
+ *
+ * @param transactionId    l'identifiant de la transaction
+ * @param senderEmail      l'email de l'expéditeur
+ * @param senderUsername   le nom de l'expéditeur
+ * @param receiverEmail    l'email du destinataire
+ * @param receiverUsername le nom du destinataire
+ * @param description      la description de la transaction
+ * @param amount           le montant de la transaction
+ * @param createdAt        la date et l'heure de la transaction
+ */
+public record TransactionDTO(int transactionId,
+                             String senderEmail,
+                             String senderUsername,
+                             String receiverEmail,
+                             String receiverUsername,
+                             String description,
+                             double amount,
+                             LocalDateTime createdAt) {
+
+    /**
+     * Construit le DTO à partir de l'entité.
+     *
+     * @param transaction la transaction à représenter
+     * @return le DTO correspondant
+     */
+    public static TransactionDTO from(Transactions transaction) {
+        return new TransactionDTO(
+                transaction.getTransactionId(),
+                transaction.getSender().getEmail(),
+                transaction.getSender().getUsername(),
+                transaction.getReceiver().getEmail(),
+                transaction.getReceiver().getUsername(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getCreatedAt());
+    }
+}
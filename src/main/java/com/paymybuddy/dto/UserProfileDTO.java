@@ -0,0 +1,32 @@
+package com.paymybuddy.dto;
+
+import com.paymybuddy.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Profil de l'utilisateur renvoyé au client.
+ * Contrairement à l'entité {@link User}, il n'expose jamais le mot de passe haché.
+ *
+ * @param userId    l'identifiant de l'utilisateur
+ * @param username  le nom de l'utilisateur
+ * @param email     l'email de l'utilisateur
+ * @param solde     le solde courant
+ * @param createdAt la date et l'heure de création du compte
+ */
+public record UserProfileDTO(int userId,
+                             String username,
+                             String email,
+                             double solde,
+                             LocalDateTime createdAt) {
+
+    /**
+     * Construit le DTO à partir de l'entité.
+     *
+     * @param user l'utilisateur à représenter
+     * @return le DTO correspondant
+     */
+    public static UserProfileDTO from(User user) {
+        return new UserProfileDTO(user.getUserId(), user.getUsername(), user.getEmail(), user.getSolde(), user.getCreatedAt());
+    }
+}
@@ -0,0 +1,149 @@
+package com.paymybuddy.etag;
+
+import com.paymybuddy.routing.ReadYourWritesTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Version en mémoire des données de chaque utilisateur (solde, relations, profil, historique),
+ * d'où sont tirés les ETag des lectures {@code GET}. Une requête portant l'ETag courant dans
+ * {@code If-None-Match} reçoit un 304 sans aucune lecture en base.
+ *
+ * La version est changée après le commit de chaque écriture (transfert, relation, profil) ; les
+ * contrôleurs lisent la version avant les données, si bien qu'un ETag ne désigne jamais des données
+ * plus anciennes que lui. Les versions sont tirées d'un compteur unique : une version ne revient
+ * jamais en arrière, même quand la table est vidée au-delà de {@code etag.max-users} utilisateurs
+ * (les utilisateurs absents prennent alors la valeur du compteur au moment du vidage).
+ *
+ * Les versions sont locales à l'instance. L'ETag porte donc un identifiant d'instance et la période
+ * de validité courante ({@code etag.max-age-seconds}) : il change au redémarrage et à chaque
+ * période, ce qui borne l'écart avec les écritures faites par une autre instance, ainsi que le
+ * glissement quotidien de la période d'historique.
+ */
+@Component
+public class UserVersions {
+
+    /**
+     * Réponses propres à l'utilisateur, à revalider à chaque affichage.
+     */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final String instance = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final AtomicLong counter = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    /**
+     * Version des utilisateurs absents de la table.
+     */
+    private volatile long floor;
+
+    @Value("${etag.max-age-seconds:300}")
+    private long maxAgeSeconds = 300;
+
+    @Value("${etag.max-users:100000}")
+    private int maxUsers = 100_000;
+
+    /**
+     * Épinglage des lectures sur la base principale, présent uniquement avec un réplica de lecture.
+     */
+    @Autowired(required = false)
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    public UserVersions() {
+        this(System::currentTimeMillis);
+    }
+
+    UserVersions(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Version courante des données d'un utilisateur.
+     */
+    public long version(String email) {
+        return versions.getOrDefault(key(email), floor);
+    }
+
+    /**
+     * ETag fort d'une vue des données de l'utilisateur.
+     *
+     * @param email l'email de l'utilisateur connecté
+     * @param view  la vue et ses paramètres (par exemple {@code "dashboard-20"})
+     * @return l'ETag, guillemets compris
+     */
+    public String etag(String email, String view) {
+        long period = clock.getAsLong() / (maxAgeSeconds * 1000);
+        return '"' + view + '-' + instance + '-' + Long.toString(period, 36) + '-' + Long.toString(version(email), 36)
+                + '-' + Integer.toHexString(key(email).hashCode()) + '"';
+    }
+
+    /**
+     * Indique si l'en-tête {@code If-None-Match} désigne l'ETag courant (comparaison faible, RFC 9110).
+     *
+     * @param ifNoneMatch la valeur de l'en-tête, ou {@code null}
+     * @param etag        l'ETag courant
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Change la version des utilisateurs concernés par une écriture, après son commit si une
+     * transaction est en cours, immédiatement sinon.
+     *
+     * @param emails les emails des utilisateurs dont les données changent
+     */
+    public void changed(String... emails) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(emails);
+                }
+            });
+        } else {
+            bump(emails);
+        }
+    }
+
+    private void bump(String... emails) {
+        if (versions.size() >= maxUsers) {
+            floor = counter.get();
+            versions.clear();
+        }
+        for (String email : emails) {
+            versions.put(key(email), counter.incrementAndGet());
+            if (readYourWritesTracker != null) {
+                // Le réplica n'a peut-être pas encore reçu l'écriture : la nouvelle version ne doit pas désigner ses données
+                readYourWritesTracker.recordWrite(email);
+            }
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
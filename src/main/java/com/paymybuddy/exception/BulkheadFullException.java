@@ -0,0 +1,18 @@
+package com.paymybuddy.exception;
+
+/**
+ * Exception levée lorsqu'une requête ne peut pas obtenir d'accès à la base de données
+ * dans le délai imparti parce que toutes les places de la cloison (bulkhead) sont occupées.
+ * Elle est traduite en réponse HTTP 503 afin que le client puisse réessayer plus tard.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    /**
+     * Construit une nouvelle exception avec le message d'erreur spécifié.
+     *
+     * @param message le message détaillant la raison de l'exception
+     */
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
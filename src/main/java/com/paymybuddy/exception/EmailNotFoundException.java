@@ -7,4 +7,15 @@ public class EmailNotFoundException extends RuntimeException {
     public EmailNotFoundException(String message) {
         super(message);
     }
+
+    private EmailNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static EmailNotFoundException preallocated(String message) {
+        return new EmailNotFoundException(message, false);
+    }
 }
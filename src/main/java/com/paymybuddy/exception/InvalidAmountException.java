@@ -16,4 +16,15 @@ public class InvalidAmountException extends RuntimeException {
     public InvalidAmountException(String message) {
         super(message);
     }
+
+    private InvalidAmountException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static InvalidAmountException preallocated(String message) {
+        return new InvalidAmountException(message, false);
+    }
 }
@@ -7,4 +7,15 @@ public class InvalidLoginException extends RuntimeException {
     public InvalidLoginException(String message) {
         super(message);
     }
+
+    private InvalidLoginException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static InvalidLoginException preallocated(String message) {
+        return new InvalidLoginException(message, false);
+    }
 }
@@ -0,0 +1,21 @@
+package com.paymybuddy.exception;
+
+/**
+ * Exception lancée lorsqu'un utilisateur tente d'ajouter une relation déjà existante.
+ */
+public class RelationAlreadyExistsException extends RuntimeException {
+    public RelationAlreadyExistsException(String message) {
+        super(message);
+    }
+
+    private RelationAlreadyExistsException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static RelationAlreadyExistsException preallocated(String message) {
+        return new RelationAlreadyExistsException(message, false);
+    }
+}
@@ -4,4 +4,15 @@ public class RelationNotFoundException extends RuntimeException {
     public RelationNotFoundException(String message) {
         super(message);
     }
+
+    private RelationNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static RelationNotFoundException preallocated(String message) {
+        return new RelationNotFoundException(message, false);
+    }
 }
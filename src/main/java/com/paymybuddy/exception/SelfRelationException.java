@@ -7,4 +7,15 @@ public class SelfRelationException extends RuntimeException {
     public SelfRelationException(String message) {
         super(message);
     }
+
+    private SelfRelationException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static SelfRelationException preallocated(String message) {
+        return new SelfRelationException(message, false);
+    }
 }
@@ -9,4 +9,15 @@ public class SoldeInvalidException extends RuntimeException {
     public SoldeInvalidException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    private SoldeInvalidException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Instance sans pile d'appel, allouée une fois et relancée à chaque échec (voir {@code BusinessFailure}).
+     */
+    public static SoldeInvalidException preallocated(String message) {
+        return new SoldeInvalidException(message, false);
+    }
 }
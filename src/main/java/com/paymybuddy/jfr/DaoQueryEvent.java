@@ -0,0 +1,35 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR couvrant l'exécution d'une méthode de DAO.
+ * La pile d'appel est conservée pour retrouver l'appelant d'une requête lente.
+ */
+@Name(DaoQueryEvent.NAME)
+@Label("Requête DAO")
+@Description("Durée d'une méthode de DAO")
+@Category({"PayMyBuddy", "Base de données"})
+public class DaoQueryEvent extends Event {
+
+    public static final String NAME = "com.paymybuddy.DaoQuery";
+
+    @Label("Requête")
+    @Description("DAO et méthode, par exemple UserDAO.findByEmail")
+    private String query;
+
+    @Label("Succès")
+    private boolean success;
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,136 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Analyseur hors ligne d'un enregistrement JFR de PayMyBuddy.
+ *
+ * Lit un fichier {@code .jfr} et affiche, pour chaque phase de transfert, la vérification JWT,
+ * la vérification BCrypt et chaque requête DAO : le nombre d'événements, les percentiles de durée
+ * et la part de chaque phase dans le temps total des transferts.
+ *
+ * Usage : {@code java -cp target/classes com.paymybuddy.jfr.JfrPhaseReport paymybuddy.jfr}
+ */
+public final class JfrPhaseReport {
+
+    private static final List<String> TRANSFER_PHASES = List.of(
+            TransferPhaseEvent.RESOLVE_USERS,
+            TransferPhaseEvent.RELATION_CHECK,
+            TransferPhaseEvent.BALANCE_CHECK,
+            TransferPhaseEvent.PERSIST,
+            TransferPhaseEvent.COMMIT);
+
+    private JfrPhaseReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage : JfrPhaseReport <fichier.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(analyze(Path.of(args[0]))));
+    }
+
+    /**
+     * Lit l'enregistrement et agrège les durées des événements PayMyBuddy.
+     *
+     * @param file le fichier {@code .jfr}
+     * @return les statistiques par clé ({@code transfer/<phase>}, {@code jwt}, {@code bcrypt},
+     *         {@code dao/<requête>}), phases de transfert d'abord dans l'ordre d'exécution
+     */
+    public static Map<String, PhaseStats> analyze(Path file) throws IOException {
+        Map<String, List<Long>> durations = new TreeMap<>(Comparator.comparing(JfrPhaseReport::sortKey));
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String key = keyOf(event);
+                if (key != null) {
+                    durations.computeIfAbsent(key, k -> new ArrayList<>()).add(event.getDuration().toNanos());
+                }
+            }
+        }
+
+        Map<String, PhaseStats> stats = new LinkedHashMap<>();
+        durations.forEach((key, values) -> stats.put(key, PhaseStats.of(values)));
+        return stats;
+    }
+
+    /**
+     * Met en forme les statistiques sous forme de tableau, durées en millisecondes.
+     */
+    public static String format(Map<String, PhaseStats> stats) {
+        long transferTotal = stats.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("transfer/"))
+                .mapToLong(e -> e.getValue().totalNanos())
+                .sum();
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-48s %8s %9s %9s %9s %9s %11s %7s%n",
+                "événement", "nombre", "p50", "p95", "p99", "max", "total", "part"));
+        stats.forEach((key, s) -> {
+            String share = key.startsWith("transfer/") && transferTotal > 0
+                    ? String.format(Locale.ROOT, "%6.1f%%", 100.0 * s.totalNanos() / transferTotal)
+                    : "";
+            out.append(String.format(Locale.ROOT, "%-48s %8d %9.3f %9.3f %9.3f %9.3f %11.1f %7s%n",
+                    key, s.count(), millis(s.p50Nanos()), millis(s.p95Nanos()), millis(s.p99Nanos()),
+                    millis(s.maxNanos()), millis(s.totalNanos()), share));
+        });
+        return out.toString();
+    }
+
+    private static String keyOf(RecordedEvent event) {
+        return switch (event.getEventType().getName()) {
+            case TransferPhaseEvent.NAME -> "transfer/" + event.getString("phase");
+            case JwtVerificationEvent.NAME -> "jwt";
+            case PasswordCheckEvent.NAME -> "bcrypt";
+            case DaoQueryEvent.NAME -> "dao/" + event.getString("query");
+            default -> null;
+        };
+    }
+
+    /**
+     * Ordre d'affichage : phases de transfert dans l'ordre d'exécution, puis le reste par ordre alphabétique.
+     */
+    private static String sortKey(String key) {
+        if (key.startsWith("transfer/")) {
+            int index = TRANSFER_PHASES.indexOf(key.substring("transfer/".length()));
+            return "0" + (index >= 0 ? index : 9) + key;
+        }
+        return "1" + key;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Statistiques de durée d'un type d'événement, en nanosecondes.
+     */
+    public record PhaseStats(int count, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos, long totalNanos) {
+
+        static PhaseStats of(List<Long> durations) {
+            long[] sorted = durations.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new PhaseStats(sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1], Arrays.stream(sorted).sum());
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.paymybuddy.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Enregistrement JFR continu démarré par l'application avec le profil {@code jfr/paymybuddy.jfc}.
+ *
+ * L'enregistrement garde une fenêtre glissante ({@code jfr.recording.max-age}) et est écrit
+ * dans {@code jfr.recording.file} à l'arrêt de l'application. Pour l'obtenir sans arrêter
+ * l'application : {@code jcmd <pid> JFR.dump name=paymybuddy filename=...}.
+ *
+ * Actif uniquement si {@code jfr.recording.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true")
+public class JfrRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecording.class);
+
+    static final String PROFILE = "/jfr/paymybuddy.jfc";
+
+    @Value("${jfr.recording.file:paymybuddy.jfr}")
+    private String file = "paymybuddy.jfr";
+
+    @Value("${jfr.recording.max-age:6h}")
+    private Duration maxAge = Duration.ofHours(6);
+
+    @Value("${jfr.recording.max-size-mb:250}")
+    private long maxSizeMb = 250;
+
+    private Recording recording;
+
+    /**
+     * Charge le profil et démarre l'enregistrement.
+     */
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(JfrRecording.class.getResourceAsStream(PROFILE), StandardCharsets.UTF_8)) {
+            recording = new Recording(Configuration.create(reader));
+        }
+        recording.setName("paymybuddy");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDestination(Path.of(file));
+        recording.setDumpOnExit(true);
+        recording.start();
+        logger.info("Enregistrement JFR démarré, écrit dans {} à l'arrêt", file);
+    }
+
+    /**
+     * Arrête l'enregistrement, ce qui l'écrit dans le fichier de destination.
+     */
+    @PreDestroy
+    void stop() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR couvrant la vérification de signature et la lecture d'un JWT.
+ */
+@Name(JwtVerificationEvent.NAME)
+@Label("Vérification JWT")
+@Description("Durée de vérification de la signature d'un JWT et de lecture de ses claims")
+@Category({"PayMyBuddy", "Authentification"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    public static final String NAME = "com.paymybuddy.JwtVerification";
+
+    @Label("Valide")
+    private boolean valid;
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
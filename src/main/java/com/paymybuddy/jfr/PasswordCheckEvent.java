@@ -0,0 +1,28 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR couvrant la comparaison BCrypt d'un mot de passe lors de la connexion.
+ */
+@Name(PasswordCheckEvent.NAME)
+@Label("Vérification BCrypt")
+@Description("Durée de comparaison d'un mot de passe avec son empreinte BCrypt")
+@Category({"PayMyBuddy", "Authentification"})
+@StackTrace(false)
+public class PasswordCheckEvent extends Event {
+
+    public static final String NAME = "com.paymybuddy.PasswordCheck";
+
+    @Label("Correspondance")
+    private boolean matched;
+
+    public void setMatched(boolean matched) {
+        this.matched = matched;
+    }
+}
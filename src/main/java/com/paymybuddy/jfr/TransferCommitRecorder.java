@@ -0,0 +1,56 @@
+package com.paymybuddy.jfr;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mesure la phase de commit des transferts.
+ *
+ * Le commit est fait par l'intercepteur transactionnel (ou par le pipeline par micro-lots),
+ * après le retour de {@code executeTransfer} : on s'accroche donc à la transaction courante.
+ * Un seul événement est émis par transaction, quel que soit le nombre de transferts qu'elle contient.
+ */
+public final class TransferCommitRecorder implements TransactionSynchronization {
+
+    private final TransferPhaseEvent event = new TransferPhaseEvent();
+    private int transfers;
+
+    private TransferCommitRecorder() {
+        event.phase = TransferPhaseEvent.COMMIT;
+    }
+
+    /**
+     * Compte un transfert dans la transaction courante et, pour le premier, programme la mesure du commit.
+     * Sans effet hors transaction ou si l'événement n'est pas activé dans l'enregistrement en cours.
+     */
+    public static void track() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || !isEnabled()) {
+            return;
+        }
+        TransferCommitRecorder recorder = (TransferCommitRecorder) TransactionSynchronizationManager.getResource(TransferCommitRecorder.class);
+        if (recorder == null) {
+            recorder = new TransferCommitRecorder();
+            TransactionSynchronizationManager.bindResource(TransferCommitRecorder.class, recorder);
+            TransactionSynchronizationManager.registerSynchronization(recorder);
+        }
+        recorder.transfers++;
+    }
+
+    private static boolean isEnabled() {
+        return new TransferPhaseEvent().isEnabled();
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        event.begin();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(TransferCommitRecorder.class);
+        if (status == STATUS_COMMITTED) {
+            event.transfers = transfers;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR couvrant une phase d'un transfert.
+ * Les phases d'un même transfert se suivent sur le même thread, ce qui permet de
+ * les regrouper dans JDK Mission Control ou avec {@link JfrPhaseReport}.
+ */
+@Name(TransferPhaseEvent.NAME)
+@Label("Phase de transfert")
+@Description("Durée d'une phase d'un transfert entre utilisateurs")
+@Category({"PayMyBuddy", "Transferts"})
+@StackTrace(false)
+public class TransferPhaseEvent extends Event {
+
+    public static final String NAME = "com.paymybuddy.TransferPhase";
+
+    public static final String RESOLVE_USERS = "resolve-users";
+    public static final String RELATION_CHECK = "relation-check";
+    public static final String BALANCE_CHECK = "balance-check";
+    public static final String PERSIST = "persist";
+    public static final String COMMIT = "commit";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Transferts")
+    @Description("Nombre de transferts couverts (plusieurs pour le commit d'un micro-lot)")
+    int transfers = 1;
+
+    /**
+     * Démarre la mesure d'une phase. L'événement est ensuite enregistré par {@link #commit()}.
+     *
+     * @param phase le nom de la phase
+     * @return l'événement démarré
+     */
+    public static TransferPhaseEvent start(String phase) {
+        TransferPhaseEvent event = new TransferPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+}
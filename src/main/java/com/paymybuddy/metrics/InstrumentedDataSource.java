@@ -0,0 +1,36 @@
+package com.paymybuddy.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Source de données qui chronomètre l'exécution des {@link PreparedStatement} et la transmet
+ * au {@link SlowQueryLog}, via des enveloppes qui délèguent directement à la connexion et aux
+ * statements du pool ({@link InstrumentedConnection}, {@link InstrumentedPreparedStatement}).
+ *
+ * Les types des paramètres liés sont retenus au fil des appels {@code set*} pour décrire
+ * une exécution lente ; leurs valeurs ne sont jamais conservées.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public InstrumentedDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new InstrumentedConnection(super.getConnection(), slowQueryLog);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new InstrumentedConnection(super.getConnection(username, password), slowQueryLog);
+    }
+}
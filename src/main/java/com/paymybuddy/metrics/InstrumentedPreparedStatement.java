@@ -0,0 +1,829 @@
+package com.paymybuddy.metrics;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+import java.math.BigDecimal;
+
+import java.net.URL;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Statement préparé qui chronomètre ses exécutions et les transmet au {@link SlowQueryLog}.
+ * La durée mesurée est celle de l'appel {@code execute*} : aller-retour base compris,
+ * lecture du {@code ResultSet} non comprise.
+ *
+ * Le type de chaque paramètre lié est retenu, jamais sa valeur, pour décrire une exécution lente.
+ * Les types des {@value #INLINE_PARAMETERS} premiers paramètres tiennent dans un {@code long}
+ * (un octet par paramètre) : seuls les statements plus larges allouent un tableau, une fois.
+ */
+final class InstrumentedPreparedStatement implements PreparedStatement, SlowQueryLog.ParameterShape {
+
+    private static final int INLINE_PARAMETERS = Long.BYTES;
+
+    private final PreparedStatement target;
+    private final String sql;
+    private final Connection connection;
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Types des premiers paramètres, {@link ParameterType#ordinal()} + 1 par octet (0 : non lié).
+     */
+    private long inlineTypes;
+    private byte[] overflowTypes;
+    private int parameterCount;
+    private int batches;
+
+    InstrumentedPreparedStatement(PreparedStatement target, String sql, Connection connection, SlowQueryLog slowQueryLog) {
+        this.target = target;
+        this.sql = sql;
+        this.connection = connection;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    // --- Exécutions chronométrées ---
+
+    @Override
+    public boolean execute() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute();
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeQuery();
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate();
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate();
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeBatch();
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeBatch();
+        } finally {
+            record(start);
+        }
+    }
+
+    private void record(long start) {
+        slowQueryLog.record(sql, System.nanoTime() - start, this);
+        batches = 0;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        batches++;
+        target.addBatch();
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        parameterCount = 0;
+        target.clearParameters();
+    }
+
+    // --- Forme des paramètres ---
+
+    private void bind(int index, Object value, ParameterType type) {
+        bind(index, value == null ? ParameterType.NULL : type);
+    }
+
+    private void bind(int index, ParameterType type) {
+        if (index < 1) {
+            return;
+        }
+        int code = type.ordinal() + 1;
+        if (index <= INLINE_PARAMETERS) {
+            int shift = (index - 1) * Byte.SIZE;
+            inlineTypes = (inlineTypes & ~(0xFFL << shift)) | ((long) code << shift);
+        } else {
+            int overflowIndex = index - INLINE_PARAMETERS - 1;
+            if (overflowTypes == null || overflowIndex >= overflowTypes.length) {
+                overflowTypes = Arrays.copyOf(overflowTypes == null ? new byte[0] : overflowTypes,
+                        Math.max(overflowIndex + 1, INLINE_PARAMETERS));
+            }
+            overflowTypes[overflowIndex] = (byte) code;
+        }
+        parameterCount = Math.max(parameterCount, index);
+    }
+
+    private ParameterType typeAt(int index) {
+        int code = index <= INLINE_PARAMETERS
+                ? (int) (inlineTypes >>> ((index - 1) * Byte.SIZE)) & 0xFF
+                : overflowTypes[index - INLINE_PARAMETERS - 1];
+        return code == 0 ? ParameterType.UNBOUND : ParameterType.values()[code - 1];
+    }
+
+    @Override
+    public String describe() {
+        StringBuilder shape = new StringBuilder("(");
+        for (int i = 1; i <= parameterCount; i++) {
+            if (i > 1) {
+                shape.append(", ");
+            }
+            shape.append(typeAt(i).label);
+        }
+        shape.append(')');
+        if (batches > 0) {
+            shape.append(" x ").append(batches).append(" lots");
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Type d'un paramètre lié, nommé d'après la méthode {@code set*} appelée
+     * ou, pour {@code setObject}, d'après la classe de la valeur.
+     */
+    enum ParameterType {
+        UNBOUND("?"), NULL("null"), OBJECT("Object"),
+        BOOLEAN("Boolean"), BYTE("Byte"), SHORT("Short"), INT("Int"), INTEGER("Integer"), LONG("Long"),
+        FLOAT("Float"), DOUBLE("Double"), BIG_DECIMAL("BigDecimal"), STRING("String"), N_STRING("NString"),
+        BYTES("Bytes"), DATE("Date"), TIME("Time"), TIMESTAMP("Timestamp"),
+        LOCAL_DATE("LocalDate"), LOCAL_TIME("LocalTime"), LOCAL_DATE_TIME("LocalDateTime"),
+        OFFSET_DATE_TIME("OffsetDateTime"), INSTANT("Instant"), UUID("UUID"),
+        URL("URL"), ARRAY("Array"), REF("Ref"), BLOB("Blob"), CLOB("Clob"), N_CLOB("NClob"), ROW_ID("RowId"), SQLXML("SQLXML"),
+        ASCII_STREAM("AsciiStream"), UNICODE_STREAM("UnicodeStream"), BINARY_STREAM("BinaryStream"),
+        CHARACTER_STREAM("CharacterStream"), N_CHARACTER_STREAM("NCharacterStream");
+
+        final String label;
+
+        ParameterType(String label) {
+            this.label = label;
+        }
+
+        static ParameterType of(Object value) {
+            return switch (value) {
+                case null -> NULL;
+                case String s -> STRING;
+                case Integer i -> INTEGER;
+                case Long l -> LONG;
+                case Short s -> SHORT;
+                case Byte b -> BYTE;
+                case Boolean b -> BOOLEAN;
+                case Double d -> DOUBLE;
+                case Float f -> FLOAT;
+                case BigDecimal d -> BIG_DECIMAL;
+                case byte[] bytes -> BYTES;
+                case Timestamp t -> TIMESTAMP;
+                case Date d -> DATE;
+                case Time t -> TIME;
+                case LocalDate d -> LOCAL_DATE;
+                case LocalTime t -> LOCAL_TIME;
+                case LocalDateTime t -> LOCAL_DATE_TIME;
+                case OffsetDateTime t -> OFFSET_DATE_TIME;
+                case Instant i -> INSTANT;
+                case java.util.UUID u -> UUID;
+                default -> OBJECT;
+            };
+        }
+    }
+
+    // --- Paramètres ---
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        bind(parameterIndex, ParameterType.BOOLEAN);
+        target.setBoolean(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        bind(parameterIndex, ParameterType.BYTE);
+        target.setByte(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        bind(parameterIndex, ParameterType.SHORT);
+        target.setShort(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        bind(parameterIndex, ParameterType.INT);
+        target.setInt(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        bind(parameterIndex, ParameterType.LONG);
+        target.setLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        bind(parameterIndex, ParameterType.FLOAT);
+        target.setFloat(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        bind(parameterIndex, ParameterType.DOUBLE);
+        target.setDouble(parameterIndex, x);
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.URL);
+        target.setURL(parameterIndex, x);
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.ARRAY);
+        target.setArray(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        bind(parameterIndex, x, ParameterType.TIME);
+        target.setTime(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.TIME);
+        target.setTime(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        bind(parameterIndex, x, ParameterType.DATE);
+        target.setDate(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.DATE);
+        target.setDate(parameterIndex, x);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        bind(parameterIndex, ParameterType.NULL);
+        target.setNull(parameterIndex, sqlType, typeName);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        bind(parameterIndex, ParameterType.NULL);
+        target.setNull(parameterIndex, sqlType);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        bind(parameterIndex, ParameterType.of(x));
+        target.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        bind(parameterIndex, ParameterType.of(x));
+        target.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        bind(parameterIndex, ParameterType.of(x));
+        target.setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        bind(parameterIndex, ParameterType.of(x));
+        target.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        bind(parameterIndex, ParameterType.of(x));
+        target.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BIG_DECIMAL);
+        target.setBigDecimal(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.STRING);
+        target.setString(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BYTES);
+        target.setBytes(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        bind(parameterIndex, x, ParameterType.TIMESTAMP);
+        target.setTimestamp(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.TIMESTAMP);
+        target.setTimestamp(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.ASCII_STREAM);
+        target.setAsciiStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.ASCII_STREAM);
+        target.setAsciiStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.ASCII_STREAM);
+        target.setAsciiStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.UNICODE_STREAM);
+        target.setUnicodeStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BINARY_STREAM);
+        target.setBinaryStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BINARY_STREAM);
+        target.setBinaryStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BINARY_STREAM);
+        target.setBinaryStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CHARACTER_STREAM);
+        target.setCharacterStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CHARACTER_STREAM);
+        target.setCharacterStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader x, int length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CHARACTER_STREAM);
+        target.setCharacterStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.REF);
+        target.setRef(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BLOB);
+        target.setBlob(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BLOB);
+        target.setBlob(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.BLOB);
+        target.setBlob(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CLOB);
+        target.setClob(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CLOB);
+        target.setClob(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.CLOB);
+        target.setClob(parameterIndex, x);
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.ROW_ID);
+        target.setRowId(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_STRING);
+        target.setNString(parameterIndex, x);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_CHARACTER_STREAM);
+        target.setNCharacterStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_CHARACTER_STREAM);
+        target.setNCharacterStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader x, long length) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_CLOB);
+        target.setNClob(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_CLOB);
+        target.setNClob(parameterIndex, x);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.N_CLOB);
+        target.setNClob(parameterIndex, x);
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException {
+        bind(parameterIndex, x, ParameterType.SQLXML);
+        target.setSQLXML(parameterIndex, x);
+    }
+
+    // --- Délégation ---
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return target.getMetaData();
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return target.getParameterMetaData();
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return target.execute(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return target.execute(sql, columnIndexes);
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return target.execute(sql, columnNames);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        return target.execute(sql);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        target.cancel();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        target.close();
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return target.executeQuery(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return target.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return target.executeUpdate(sql, columnIndexes);
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return target.executeUpdate(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return target.executeUpdate(sql, columnNames);
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        target.addBatch(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        return target.executeLargeUpdate(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        return target.executeLargeUpdate(sql, columnNames);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return target.executeLargeUpdate(sql, columnIndexes);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return target.executeLargeUpdate(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return target.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        target.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return target.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        target.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        target.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return target.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        target.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return target.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        target.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        target.setCursorName(name);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return target.getResultSet();
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return target.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return target.getMoreResults(current);
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return target.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        target.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return target.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        target.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return target.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return target.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return target.getResultSetType();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        target.clearBatch();
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return target.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return target.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return target.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        target.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return target.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        target.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return target.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return target.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        target.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return target.getLargeMaxRows();
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return target.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return target.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return target.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return target.enquoteNCharLiteral(val);
+    }
+}
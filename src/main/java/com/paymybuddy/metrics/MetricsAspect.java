@@ -0,0 +1,137 @@
+package com.paymybuddy.metrics;
+
+import com.paymybuddy.jfr.DaoQueryEvent;
+import com.paymybuddy.result.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chronomètre les chemins critiques de l'application : transferts, authentification,
+ * lecture des JWT et requêtes des DAO. Les requêtes des DAO émettent aussi un événement
+ * JFR {@link DaoQueryEvent}, avec la pile d'appel.
+ *
+ * Chaque appel est compté dans un timer tagué par son issue ({@code success} ou le nom simple
+ * de l'exception levée, par exemple {@code SoldeInvalidException}), avec un histogramme
+ * de latence exploitable par Prometheus ({@code histogram_quantile}). Un échec renvoyé comme
+ * {@link Result.Failure} est tagué par le nom de l'exception historique correspondante,
+ * pour que l'issue reste la même quelle que soit la méthode appelée.
+ *
+ * L'aspect est placé juste après la cloison base de données et avant l'intercepteur
+ * transactionnel : la durée mesurée inclut le commit, mais pas l'attente d'une place.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class MetricsAspect {
+
+    private static final String SUCCESS = "success";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Timers déjà enregistrés, pour ne pas reconstruire leur identifiant à chaque appel.
+     */
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Transferts : {@code transfer} et {@code addTransaction} pour le chemin direct,
+     * {@code applyTransfer} et {@code executeTransfer} pour les transferts appliqués
+     * par le pipeline par micro-lots.
+     */
+    @Around("execution(* com.paymybuddy.service.TransactionService.transfer(..))"
+            + " || execution(* com.paymybuddy.service.TransactionService.addTransaction(..))"
+            + " || execution(* com.paymybuddy.service.TransactionService.applyTransfer(..))"
+            + " || execution(* com.paymybuddy.service.TransactionService.executeTransfer(..))")
+    public Object timeTransfer(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "paymybuddy.transfer", "Durée des transferts, commit compris", "method", joinPoint.getSignature().getName());
+    }
+
+    /**
+     * Authentification (vérification BCrypt comprise).
+     */
+    @Around("execution(* com.paymybuddy.service.LoginService.login(..))"
+            + " || execution(* com.paymybuddy.service.LoginService.authenticate(..))")
+    public Object timeLogin(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "paymybuddy.login", "Durée des authentifications", null, null);
+    }
+
+    /**
+     * Vérification de la signature et lecture des claims d'un JWT.
+     */
+    @Around("execution(* com.paymybuddy.security.JwtTokenProvider.getClaimsFromToken(..))")
+    public Object timeJwtParse(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "paymybuddy.jwt.parse", "Durée de vérification des JWT", null, null);
+    }
+
+    /**
+     * Requêtes des DAO, taguées par DAO et par méthode. Le nom de la requête est aussi
+     * transmis au {@link SlowQueryLog} pour attribuer les exécutions JDBC au DAO appelant.
+     */
+    @Around("execution(public * com.paymybuddy.dao.*DAO.*(..))")
+    public Object timeDaoQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        String query = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        DaoQueryEvent event = new DaoQueryEvent();
+        event.begin();
+        String previousQuery = SlowQueryLog.enter(query);
+        try {
+            Object result = time(joinPoint, "paymybuddy.dao.query", "Durée des requêtes des DAO", "query", query);
+            event.setSuccess(true);
+            return result;
+        } finally {
+            SlowQueryLog.exit(previousQuery);
+            if (event.shouldCommit()) {
+                event.setQuery(query);
+                event.commit();
+            }
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String description,
+                        String tagKey, String tagValue) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof Result.Failure<?> failure) {
+                outcome = failure.error().exception().getClass().getSimpleName();
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(name, description, tagKey, tagValue, outcome).record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private Timer timer(String name, String description, String tagKey, String tagValue, String outcome) {
+        String key = name + '|' + tagValue + '|' + outcome;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> {
+                Timer.Builder builder = Timer.builder(name)
+                        .description(description)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10));
+                if (tagKey != null) {
+                    builder.tag(tagKey, tagValue);
+                }
+                return builder.register(meterRegistry);
+            });
+        }
+        return timer;
+    }
+}
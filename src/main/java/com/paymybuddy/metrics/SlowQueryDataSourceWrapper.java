@@ -0,0 +1,39 @@
+package com.paymybuddy.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Enveloppe la source de données de l'application dans une {@link InstrumentedDataSource}.
+ * Le pool reste accessible via {@code unwrap}, ce qui préserve ses métriques et son indicateur de santé.
+ * Les sources qui délèguent à d'autres (routage vers le réplica, proxy paresseux) ne sont pas
+ * enveloppées : leurs cibles le sont déjà.
+ *
+ * Actif sauf si {@code jdbc.slow-query.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "jdbc.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourceWrapper implements BeanPostProcessor {
+
+    /**
+     * Résolu à la demande : un post-processeur ne doit pas forcer la création anticipée de ses dépendances.
+     */
+    @Autowired
+    private ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                && !(bean instanceof AbstractRoutingDataSource)) {
+            return new InstrumentedDataSource(dataSource, slowQueryLog.getObject());
+        }
+        return bean;
+    }
+}
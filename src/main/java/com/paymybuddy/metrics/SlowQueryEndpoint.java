@@ -0,0 +1,48 @@
+package com.paymybuddy.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint d'administration {@code /actuator/slowqueries}.
+ *
+ * GET retourne les requêtes nommées au temps cumulé le plus élevé et les exécutions
+ * les plus lentes depuis le démarrage ; DELETE remet ces statistiques à zéro.
+ * L'endpoint est en lecture seule par défaut : DELETE n'est disponible qu'avec
+ * {@code management.endpoint.slowqueries.access=unrestricted}.
+ * Sur le port de l'application, il est refusé ({@link com.paymybuddy.config.SecurityConfig}) :
+ * il n'est lisible que sur le port de management ({@code management.server.port}), non public.
+ */
+@Component
+@Endpoint(id = "slowqueries", defaultAccess = Access.READ_ONLY)
+public class SlowQueryEndpoint {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Value("${jdbc.slow-query.top:20}")
+    private int top = 20;
+
+    @ReadOperation
+    public SlowQueriesReport slowQueries() {
+        return new SlowQueriesReport(slowQueryLog.topQueries(top), slowQueryLog.slowest());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+
+    /**
+     * Contenu de l'endpoint.
+     */
+    public record SlowQueriesReport(List<SlowQueryLog.QuerySummary> queries, List<SlowQueryLog.SlowQuery> slowest) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.paymybuddy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure des requêtes SQL au niveau JDBC, attribuées à la méthode de DAO qui les a émises.
+ *
+ * Chaque exécution alimente un timer {@code paymybuddy.jdbc.query} tagué par requête nommée
+ * ({@code UserDAO.findByEmail}...). Les requêtes émises hors d'un DAO, typiquement les écritures
+ * du flush Hibernate au commit, sont nommées d'après leur verbe et leur table ({@code flush:insert transactions}).
+ *
+ * Une exécution plus lente que {@code jdbc.slow-query.threshold-ms} est journalisée avec la forme
+ * de ses paramètres (types, jamais les valeurs) et conservée parmi les {@code jdbc.slow-query.top}
+ * plus lentes, consultables via l'endpoint {@code slowqueries}.
+ *
+ * Compteurs et timer sont résolus une fois par requête nommée, et la forme des paramètres n'est mise
+ * en texte que pour une exécution lente : l'instrumentation n'alloue que ses deux enveloppes,
+ * de connexion et de statement (voir {@code JdbcInstrumentationBenchmarkTest}).
+ */
+@Component
+public class SlowQueryLog implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    /**
+     * Nom de la requête en cours sur le thread, positionné par {@link MetricsAspect} autour des DAO.
+     */
+    private static final ThreadLocal<String> CURRENT_QUERY = new ThreadLocal<>();
+
+    /**
+     * Nombre maximal de requêtes SQL distinctes nommées d'après leur texte.
+     */
+    private static final int MAX_SQL_LABELS = 1000;
+
+    @Value("${jdbc.slow-query.threshold-ms:200}")
+    private long thresholdMs = 200;
+
+    @Value("${jdbc.slow-query.top:20}")
+    private int top = 20;
+
+    private final ConcurrentHashMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> sqlLabels = new ConcurrentHashMap<>();
+
+    /**
+     * Exécutions les plus lentes, la plus rapide en tête pour être évincée en premier.
+     */
+    private final PriorityQueue<SlowQuery> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowQuery::durationNanos));
+
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Déclare le nom de la requête exécutée par le thread courant.
+     *
+     * @param query le nom de la requête, par exemple {@code UserDAO.findByEmail}
+     * @return le nom précédent, à restaurer avec {@link #exit(String)}
+     */
+    public static String enter(String query) {
+        String previous = CURRENT_QUERY.get();
+        CURRENT_QUERY.set(query);
+        return previous;
+    }
+
+    /**
+     * Restaure le nom de requête précédent.
+     */
+    public static void exit(String previous) {
+        if (previous == null) {
+            CURRENT_QUERY.remove();
+        } else {
+            CURRENT_QUERY.set(previous);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Enregistre une exécution.
+     *
+     * @param sql        le texte SQL exécuté
+     * @param nanos      la durée d'exécution
+     * @param parameters la forme des paramètres, calculée uniquement si l'exécution est lente
+     */
+    void record(String sql, long nanos, ParameterShape parameters) {
+        String query = CURRENT_QUERY.get();
+        if (query == null) {
+            query = labelOf(sql);
+        }
+        QueryStats queryStats = stats.get(query);
+        if (queryStats == null) {
+            queryStats = stats.computeIfAbsent(query, this::newStats);
+        }
+        queryStats.record(nanos);
+
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(thresholdMs)) {
+            String shape = parameters.describe();
+            logger.warn("Requête lente {} : {} ms, paramètres {}, SQL : {}", query, TimeUnit.NANOSECONDS.toMillis(nanos), shape, sql);
+            keepSlowest(new SlowQuery(query, sql, shape, nanos, Instant.now()));
+        }
+    }
+
+    /**
+     * Requêtes nommées triées par temps cumulé décroissant.
+     *
+     * @param limit le nombre maximal de requêtes retournées
+     */
+    public List<QuerySummary> topQueries(int limit) {
+        return stats.entrySet().stream()
+                .map(e -> e.getValue().summary(e.getKey()))
+                .sorted(Comparator.comparingDouble(QuerySummary::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Exécutions lentes conservées, de la plus lente à la plus rapide.
+     */
+    public synchronized List<SlowQuery> slowest() {
+        List<SlowQuery> result = new ArrayList<>(slowest);
+        result.sort(Comparator.comparingLong(SlowQuery::durationNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Remet à zéro les statistiques et les exécutions lentes conservées.
+     */
+    public synchronized void reset() {
+        stats.values().forEach(QueryStats::reset);
+        slowest.clear();
+    }
+
+    private synchronized void keepSlowest(SlowQuery query) {
+        slowest.add(query);
+        if (slowest.size() > top) {
+            slowest.poll();
+        }
+    }
+
+    private QueryStats newStats(String query) {
+        MeterRegistry registry = meterRegistry;
+        Timer timer = registry == null ? null : Timer.builder("paymybuddy.jdbc.query")
+                .description("Durée d'exécution JDBC des requêtes, par requête nommée")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        return new QueryStats(timer);
+    }
+
+    /**
+     * Nom d'une requête émise hors d'un DAO : verbe et table, calculé une fois par texte SQL.
+     */
+    private String labelOf(String sql) {
+        String label = sqlLabels.get(sql);
+        if (label == null) {
+            label = sqlLabels.size() < MAX_SQL_LABELS
+                    ? sqlLabels.computeIfAbsent(sql, SlowQueryLog::describeSql)
+                    : describeSql(sql);
+        }
+        return label;
+    }
+
+    static String describeSql(String sql) {
+        String[] words = sql.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        String verb = words[0];
+        String marker = switch (verb) {
+            case "insert" -> "into";
+            case "select", "delete" -> "from";
+            default -> verb;
+        };
+        for (int i = 0; i < words.length - 1; i++) {
+            if (words[i].equals(marker)) {
+                return "flush:" + verb + " " + words[i + 1];
+            }
+        }
+        return "flush:" + verb;
+    }
+
+    /**
+     * Compteurs d'une requête nommée.
+     */
+    private static final class QueryStats {
+
+        private final Timer timer;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        QueryStats(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+
+        QuerySummary summary(String query) {
+            long n = count.sum();
+            long total = totalNanos.sum();
+            return new QuerySummary(query, n, millis(total), n == 0 ? 0 : millis(total / n), millis(maxNanos.get()));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Forme des paramètres d'une exécution, calculée à la demande.
+     */
+    @FunctionalInterface
+    interface ParameterShape {
+        String describe();
+    }
+
+    /**
+     * Statistiques cumulées d'une requête nommée, durées en millisecondes.
+     */
+    public record QuerySummary(String query, long count, double totalMs, double meanMs, double maxMs) {
+    }
+
+    /**
+     * Exécution lente : requête nommée, texte SQL et types des paramètres, sans leurs valeurs.
+     */
+    public record SlowQuery(String query, String sql, String parameters, long durationNanos, Instant at) {
+
+        public double durationMs() {
+            return millis(durationNanos);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.paymybuddy.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Représente un événement métier en attente de publication (pattern "transactional outbox").
+ * L'événement est écrit dans la même transaction que la donnée qu'il décrit, puis publié
+ * de manière asynchrone par le relais d'outbox vers les consommateurs internes.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    /**
+     * Identifiant unique de l'événement, croissant dans l'ordre d'écriture.
+     * Les consommateurs peuvent s'en servir pour dédupliquer les livraisons multiples.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private long eventId;
+
+    /**
+     * Type de l'agrégat concerné (par exemple "Transactions").
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 64)
+    private String aggregateType;
+
+    /**
+     * Identifiant de l'agrégat concerné.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private int aggregateId;
+
+    /**
+     * Type de l'événement (par exemple "TransferCompleted").
+     */
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    /**
+     * Contenu de l'événement au format JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Date et heure d'écriture de l'événement.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters et setters
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public int getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(int aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -7,9 +7,13 @@ import java.time.LocalDateTime;
  * Représente une transaction entre deux utilisateurs dans le système de gestion de transferts d'argent.
  * Cette entité contient des informations sur l'expéditeur, le destinataire, la description de la transaction,
  * le montant, et la date de création.
+ * Les index de l'historique sont créés par la migration V2 et déclarés ici pour les schémas générés.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_sender_date", columnList = "user_id_sender, created_at, transaction_id"),
+        @Index(name = "idx_transactions_receiver_date", columnList = "user_id_receiver, created_at, transaction_id")
+})
 public class Transactions {
 
     /**
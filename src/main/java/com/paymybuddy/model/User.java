@@ -1,6 +1,13 @@
 package com.paymybuddy.model;
 
+import com.paymybuddy.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 
 
@@ -8,8 +15,15 @@ import java.time.LocalDateTime;
  * Représente un utilisateur dans le système de gestion de transferts d'argent.
  * Cette entité contient des informations personnelles de l'utilisateur, telles que son nom d'utilisateur,
  * son email, son mot de passe, ainsi que la date de création de son compte.
+ *
+ * Mise en cache de second niveau en lecture-écriture, ainsi que la correspondance email → identifiant.
+ * Les transferts ne lisent pas le solde dans le cache : ils verrouillent les lignes en base
+ * ({@code UserDAO.findByEmailForUpdate}).
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
+@NaturalIdCache(region = CacheRegions.USER_BY_EMAIL)
+@BatchSize(size = 50)
 
 @Table(name = "user")
 public class User {
@@ -34,6 +48,7 @@ public class User {
      * Adresse email de l'utilisateur.
      * Ce champ ne peut pas être nul et doit être unique dans la base de données.
      */
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
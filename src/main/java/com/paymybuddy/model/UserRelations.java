@@ -1,6 +1,10 @@
 package com.paymybuddy.model;
 
+import com.paymybuddy.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 /**
@@ -9,7 +13,8 @@ import java.time.LocalDateTime;
  * ainsi que le statut de la relation et la date de création.
  */
 @Entity
-@Table(name = "user_relations")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_RELATIONS)
+@Table(name = "user_relations", indexes = @Index(name = "idx_user_relations_user2", columnList = "user_id_2, user_id_1"))
 public class UserRelations {
 
     /**
@@ -0,0 +1,26 @@
+package com.paymybuddy.outbox;
+
+import com.paymybuddy.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Destination par défaut : trace les événements publiés au niveau DEBUG.
+ */
+@Component
+public class LoggingOutboxEventSink implements OutboxEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxEventSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        if (logger.isDebugEnabled()) {
+            for (OutboxEvent event : events) {
+                logger.debug("Événement {} #{} : {}", event.getEventType(), event.getEventId(), event.getPayload());
+            }
+        }
+    }
+}
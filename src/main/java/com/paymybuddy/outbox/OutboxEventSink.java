@@ -0,0 +1,24 @@
+package com.paymybuddy.outbox;
+
+import com.paymybuddy.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination interne des événements de l'outbox (notifications, statistiques, détection de fraude...).
+ *
+ * Chaque bean implémentant cette interface reçoit tous les lots publiés par l'{@link OutboxRelay}.
+ * La livraison est "au moins une fois" : si une destination échoue, le lot entier est republié
+ * plus tard à toutes les destinations. Les implémentations doivent donc être idempotentes,
+ * par exemple en dédupliquant sur {@link OutboxEvent#getEventId()}.
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Publie un lot d'événements, dans l'ordre d'écriture.
+     * Lever une exception laisse le lot dans l'outbox pour une nouvelle tentative.
+     *
+     * @param events les événements à publier
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,96 @@
+package com.paymybuddy.outbox;
+
+import com.paymybuddy.dao.OutboxDAO;
+import com.paymybuddy.model.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relais de l'outbox : publie en arrière-plan les événements écrits par les services.
+ *
+ * À chaque passage, le relais verrouille un lot d'événements ({@code SKIP LOCKED}), le transmet
+ * à toutes les {@link OutboxEventSink}, puis acquitte le lot en le supprimant dans la même
+ * transaction. En cas d'échec d'une destination, la transaction est annulée et le lot sera
+ * republié au passage suivant (livraison au moins une fois).
+ *
+ * Les requêtes HTTP ne font qu'insérer une ligne dans l'outbox : leur latence ne dépend pas
+ * des traitements en aval.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxDAO outboxDAO;
+
+    @Autowired
+    private List<OutboxEventSink> sinks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Nombre maximal d'événements publiés par transaction.
+     */
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Vide l'outbox par lots successifs jusqu'à ce qu'un lot incomplet soit rencontré.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Échec de la publication d'un lot de l'outbox, nouvelle tentative au prochain passage", e);
+        }
+    }
+
+    /**
+     * Publie et acquitte un lot d'événements.
+     *
+     * @return le nombre d'événements publiés
+     */
+    int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxDAO.lockNextBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            for (OutboxEventSink sink : sinks) {
+                sink.publish(events);
+            }
+            List<Long> eventIds = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                eventIds.add(event.getEventId());
+            }
+            outboxDAO.deleteByIds(eventIds);
+            return events.size();
+        });
+        return published != null ? published : 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.paymybuddy.outbox;
+
+import com.paymybuddy.model.Transactions;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contenu de l'événement publié pour chaque transfert validé.
+ *
+ * @param transactionId l'identifiant de la transaction
+ * @param senderId      l'identifiant de l'expéditeur
+ * @param senderEmail   l'email de l'expéditeur
+ * @param receiverId    l'identifiant du destinataire
+ * @param receiverEmail l'email du destinataire
+ * @param description   la description du transfert
+ * @param amount        le montant transféré
+ * @param occurredAt    la date et l'heure du transfert
+ */
+public record TransferEvent(int transactionId,
+                            int senderId,
+                            String senderEmail,
+                            int receiverId,
+                            String receiverEmail,
+                            String description,
+                            double amount,
+                            LocalDateTime occurredAt) {
+
+    /**
+     * Type d'agrégat enregistré dans l'outbox.
+     */
+    public static final String AGGREGATE_TYPE = "Transactions";
+
+    /**
+     * Type d'événement enregistré dans l'outbox.
+     */
+    public static final String EVENT_TYPE = "TransferCompleted";
+
+    /**
+     * Construit l'événement à partir d'une transaction persistée.
+     *
+     * @param transaction la transaction validée
+     * @return l'événement correspondant
+     */
+    public static TransferEvent from(Transactions transaction) {
+        return new TransferEvent(
+                transaction.getTransactionId(),
+                transaction.getSender().getUserId(),
+                transaction.getSender().getEmail(),
+                transaction.getReceiver().getUserId(),
+                transaction.getReceiver().getEmail(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now());
+    }
+}
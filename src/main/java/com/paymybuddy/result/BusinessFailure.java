@@ -0,0 +1,66 @@
+package com.paymybuddy.result;
+
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.exception.InvalidAmountException;
+import com.paymybuddy.exception.InvalidLoginException;
+import com.paymybuddy.exception.RelationAlreadyExistsException;
+import com.paymybuddy.exception.RelationNotFoundException;
+import com.paymybuddy.exception.SelfRelationException;
+import com.paymybuddy.exception.SoldeInvalidException;
+import org.springframework.http.HttpStatus;
+
+import java.util.function.Function;
+
+/**
+ * Échecs métier attendus des services, avec le message présenté à l'utilisateur
+ * et le statut HTTP correspondant.
+ *
+ * Chaque échec porte une instance préallouée, sans pile d'appel, de l'exception historique :
+ * {@link Result#orElseThrow()} la lève pour les appelants qui attendent encore une exception,
+ * sans rien allouer ni parcourir la pile. Le message est donc fixe et ne contient aucune
+ * donnée propre à l'appel.
+ */
+public enum BusinessFailure {
+
+    INVALID_AMOUNT("Le montant doit être supérieur à zéro.", HttpStatus.BAD_REQUEST, InvalidAmountException::preallocated),
+    SENDER_NOT_FOUND("L'utilisateur expéditeur n'existe pas.", HttpStatus.BAD_REQUEST, EmailNotFoundException::preallocated),
+    RECEIVER_NOT_FOUND("L'utilisateur destinataire n'existe pas.", HttpStatus.BAD_REQUEST, EmailNotFoundException::preallocated),
+    RELATION_NOT_FOUND("Les utilisateurs ne sont pas en relation.", HttpStatus.BAD_REQUEST, RelationNotFoundException::preallocated),
+    INSUFFICIENT_SOLDE("Solde insuffisant.", HttpStatus.BAD_REQUEST, SoldeInvalidException::preallocated),
+    SELF_RELATION("Impossible d'ajouter votre propre adresse email.", HttpStatus.BAD_REQUEST, SelfRelationException::preallocated),
+    RELATION_EMAIL_NOT_FOUND("L'adresse email de la relation n'existe pas.", HttpStatus.BAD_REQUEST, EmailNotFoundException::preallocated),
+    USER_EMAIL_NOT_FOUND("L'adresse email de l'utilisateur n'existe pas.", HttpStatus.BAD_REQUEST, EmailNotFoundException::preallocated),
+    RELATION_ALREADY_EXISTS("Cette relation existe déjà.", HttpStatus.BAD_REQUEST, RelationAlreadyExistsException::preallocated),
+    INVALID_LOGIN("Email ou mot de passe invalide", HttpStatus.UNAUTHORIZED, InvalidLoginException::preallocated);
+
+    private final String message;
+    private final HttpStatus status;
+    private final RuntimeException exception;
+
+    BusinessFailure(String message, HttpStatus status, Function<String, RuntimeException> exception) {
+        this.message = message;
+        this.status = status;
+        this.exception = exception.apply(message);
+    }
+
+    /**
+     * Message destiné à l'utilisateur.
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Statut HTTP de la réponse.
+     */
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * Exception historique préallouée, partagée par tous les appels.
+     */
+    public RuntimeException exception() {
+        return exception;
+    }
+}
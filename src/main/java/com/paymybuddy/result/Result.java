@@ -0,0 +1,72 @@
+package com.paymybuddy.result;
+
+import java.util.function.Function;
+
+/**
+ * Issue d'une opération métier : la valeur produite, ou l'échec attendu qui l'a empêchée.
+ *
+ * Les échecs attendus (solde insuffisant, email inconnu, relation absente...) sont des réponses
+ * normales de l'application, que des clients abusifs peuvent provoquer en boucle. Les renvoyer
+ * comme une valeur évite de construire et de remonter une exception à chaque refus.
+ * L'appelant traite les deux cas avec un {@code switch} exhaustif, ou retrouve l'ancien
+ * comportement par exception avec {@link #orElseThrow()}.
+ *
+ * @param <T> le type de la valeur produite en cas de succès
+ */
+public sealed interface Result<T> permits Result.Success, Result.Failure {
+
+    /**
+     * Opération réussie.
+     *
+     * @param value la valeur produite
+     */
+    record Success<T>(T value) implements Result<T> {
+    }
+
+    /**
+     * Opération refusée pour une raison métier.
+     *
+     * @param error la raison du refus
+     */
+    record Failure<T>(BusinessFailure error) implements Result<T> {
+    }
+
+    static <T> Result<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> Result<T> failure(BusinessFailure error) {
+        return new Failure<>(error);
+    }
+
+    /**
+     * Indique si l'opération a réussi.
+     */
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+
+    /**
+     * Transforme la valeur en cas de succès ; un échec est propagé tel quel.
+     */
+    default <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+        return switch (this) {
+            case Success<T> success -> new Success<>(mapper.apply(success.value()));
+            case Failure<T> failure -> new Failure<>(failure.error());
+        };
+    }
+
+    /**
+     * Retourne la valeur, ou lève l'exception historique associée à l'échec,
+     * pour les appelants qui attendent encore une exception.
+     *
+     * @return la valeur produite
+     * @throws RuntimeException l'exception préallouée de {@link BusinessFailure#exception()}
+     */
+    default T orElseThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Failure<T> failure -> throw failure.error().exception();
+        };
+    }
+}
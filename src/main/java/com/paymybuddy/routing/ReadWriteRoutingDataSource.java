@@ -0,0 +1,109 @@
+package com.paymybuddy.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Source de données qui envoie les transactions en lecture seule
+ * ({@code @Transactional(readOnly = true)}) vers le réplica, et tout le reste vers la base principale.
+ *
+ * Les lectures restent sur la base principale lorsque le réplica est en retard ou injoignable
+ * ({@link ReplicaLagMonitor}), ou lorsque le thread courant a été épinglé pour lire ses propres
+ * écritures ({@link ReadYourWritesAspect}).
+ *
+ * Le choix est fait à l'emprunt de la connexion : la source doit être enveloppée dans une
+ * {@link LazyConnectionDataSourceProxy} ({@link #lazy}), sans quoi la connexion serait empruntée
+ * au début de la transaction, avant que son caractère « lecture seule » soit connu.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    /**
+     * Cible d'une connexion.
+     */
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    /**
+     * Indique si le thread courant doit lire sur la base principale.
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private Counter primaryReads;
+    private Counter replicaReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Enveloppe la source de routage pour que la connexion ne soit empruntée qu'à la première requête.
+     */
+    public static DataSource lazy(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (PRIMARY_PINNED.get() != null || !lagMonitor.isReplicaUsable()) {
+            count(primaryReads);
+            return Route.PRIMARY;
+        }
+        count(replicaReads);
+        return Route.REPLICA;
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Épingle le thread courant sur la base principale.
+     *
+     * @return {@code true} si le thread n'était pas déjà épinglé (il revient alors à l'appelant de le libérer)
+     */
+    static boolean pinToPrimary() {
+        if (PRIMARY_PINNED.get() != null) {
+            return false;
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Libère le thread courant épinglé par {@link #pinToPrimary()}.
+     */
+    static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        primaryReads = route(registry, Route.PRIMARY);
+        replicaReads = route(registry, Route.REPLICA);
+    }
+
+    private static Counter route(MeterRegistry registry, Route route) {
+        return Counter.builder("paymybuddy.datasource.reads")
+                .description("Connexions empruntées par des transactions en lecture seule, par base")
+                .tag("target", route.name().toLowerCase())
+                .register(registry);
+    }
+}
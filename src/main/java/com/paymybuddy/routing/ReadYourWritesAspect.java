@@ -0,0 +1,33 @@
+package com.paymybuddy.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Épingle sur la base principale les appels de service faits pour un utilisateur qui vient de
+ * transférer ({@link ReadYourWritesTracker}). Les services reçoivent l'email de l'utilisateur
+ * connecté en premier argument ; l'épinglage couvre tout l'appel, transactions imbriquées comprises,
+ * mais pas les lectures déléguées à d'autres threads.
+ */
+@Aspect
+public class ReadYourWritesAspect {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesAspect(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Around("execution(public * com.paymybuddy.service.*Service.*(String, ..)) && args(email, ..)")
+    public Object route(ProceedingJoinPoint joinPoint, String email) throws Throwable {
+        if (email == null || !tracker.isPinned(email) || !ReadWriteRoutingDataSource.pinToPrimary()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+        }
+    }
+}
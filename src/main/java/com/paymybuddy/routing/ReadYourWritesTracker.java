@@ -0,0 +1,72 @@
+package com.paymybuddy.routing;
+
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.sse.TransferCommittedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Retient les utilisateurs dont un transfert vient d'être validé : pendant {@code windowMs}
+ * millisecondes, leurs lectures sont servies par la base principale, pour qu'ils retrouvent
+ * immédiatement leur transfert et leur nouveau solde même si le réplica ne l'a pas encore reçu.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Fin de la période d'épinglage de chaque utilisateur, par email ({@link System#nanoTime()}).
+     */
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMs durée pendant laquelle un utilisateur lit sur la base principale après son transfert
+     */
+    public ReadYourWritesTracker(long windowMs) {
+        this(windowMs, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowMs, LongSupplier clock) {
+        this.windowNanos = windowMs * 1_000_000;
+        this.clock = clock;
+    }
+
+    /**
+     * Épingle l'expéditeur et le destinataire d'un transfert validé.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCommitted(TransferCommittedEvent event) {
+        TransactionDTO transaction = event.transaction();
+        recordWrite(transaction.senderEmail());
+        recordWrite(transaction.receiverEmail());
+    }
+
+    /**
+     * Épingle un utilisateur sur la base principale à partir de maintenant.
+     */
+    public void recordWrite(String email) {
+        pinnedUntil.put(email, clock.getAsLong() + windowNanos);
+    }
+
+    /**
+     * Indique si les lectures de l'utilisateur doivent encore aller sur la base principale.
+     */
+    public boolean isPinned(String email) {
+        Long until = pinnedUntil.get(email);
+        return until != null && clock.getAsLong() - until < 0;
+    }
+
+    /**
+     * Oublie les utilisateurs dont la période d'épinglage est terminée.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.read-your-writes-ms:5000}")
+    public void purge() {
+        long now = clock.getAsLong();
+        pinnedUntil.values().removeIf(until -> now - until >= 0);
+    }
+}
@@ -0,0 +1,122 @@
+package com.paymybuddy.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.LongSupplier;
+
+/**
+ * Mesure le retard du réplica à l'aide d'un battement : un horodatage écrit régulièrement sur la base
+ * principale (table {@code replication_heartbeat}) puis relu sur le réplica.
+ *
+ * Le réplica est relu avant chaque écriture : s'il a reçu le dernier battement écrit, son retard est nul ;
+ * sinon il vaut le temps écoulé depuis le battement qu'il a reçu, ce qui majore le retard réel.
+ * Un réplica injoignable, ou en retard de plus de {@code maxLagMs}, n'est plus utilisé pour les lectures
+ * jusqu'à la mesure suivante.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final LongSupplier clock;
+
+    private long lastBeat = -1;
+    private volatile long lagMs = Long.MAX_VALUE;
+
+    /**
+     * @param primary  la base principale, où le battement est écrit
+     * @param replica  le réplica, où il est relu
+     * @param maxLagMs retard au-delà duquel les lectures repassent sur la base principale
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs) {
+        this(primary, replica, maxLagMs, System::currentTimeMillis);
+    }
+
+    ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs, LongSupplier clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Relit le battement sur le réplica puis en écrit un nouveau sur la base principale.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:1000}")
+    public synchronized void probe() {
+        boolean wasUsable = isReplicaUsable();
+        try {
+            long replicated = readBeat();
+            long now = clock.getAsLong();
+            lagMs = lastBeat >= 0 && replicated >= lastBeat ? 0 : Math.max(0, now - replicated);
+        } catch (SQLException e) {
+            lagMs = Long.MAX_VALUE;
+            logger.debug("Réplica injoignable", e);
+        }
+        try {
+            lastBeat = writeBeat();
+        } catch (SQLException e) {
+            logger.warn("Battement de réplication non écrit sur la base principale", e);
+        }
+        if (wasUsable != isReplicaUsable()) {
+            logger.warn(isReplicaUsable()
+                    ? "Réplica de nouveau utilisé pour les lectures"
+                    : "Réplica en retard ou injoignable, lectures renvoyées vers la base principale (retard {} ms)", lagMs);
+        }
+    }
+
+    /**
+     * Indique si le retard mesuré permet de lire sur le réplica.
+     */
+    public boolean isReplicaUsable() {
+        return lagMs <= maxLagMs;
+    }
+
+    /**
+     * Dernier retard mesuré, en millisecondes ({@link Long#MAX_VALUE} si le réplica est injoignable).
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    private long readBeat() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT beat_ms FROM replication_heartbeat WHERE id = 1");
+             ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Battement de réplication absent du réplica");
+            }
+            return rs.getLong(1);
+        }
+    }
+
+    private long writeBeat() throws SQLException {
+        long beat = clock.getAsLong();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE replication_heartbeat SET beat_ms = ? WHERE id = 1")) {
+            statement.setLong(1, beat);
+            statement.executeUpdate();
+        }
+        return beat;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("paymybuddy.replica.lag", this, monitor -> monitor.lagMs == Long.MAX_VALUE ? Double.NaN : monitor.lagMs / 1000.0)
+                .description("Retard mesuré du réplica de lecture (NaN si injoignable)")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
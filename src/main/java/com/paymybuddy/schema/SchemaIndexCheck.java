@@ -0,0 +1,114 @@
+package com.paymybuddy.schema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Vérification au démarrage des index dont dépendent les requêtes clés de l'application.
+ *
+ * Chaque requête clé est passée à {@code EXPLAIN} ; les index que l'optimiseur peut utiliser
+ * (colonnes {@code possible_keys} et {@code key}) doivent inclure ceux attendus, sans quoi le
+ * démarrage échoue en listant les index manquants. L'index retenu n'est pas exigé : sur une table
+ * presque vide, l'optimiseur préfère légitimement un parcours complet.
+ *
+ * Le format de {@code EXPLAIN} étant propre à MySQL, la vérification est ignorée sur les autres bases.
+ * Désactivable avec {@code schema.index-check.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexCheck implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    /**
+     * Requêtes clés, dans la forme SQL émise par les DAO, et les index créés pour elles par les migrations.
+     */
+    static final List<KeyQuery> KEY_QUERIES = List.of(
+            new KeyQuery("TransactionDAO.findRecentBySenderOrReceiver",
+                    "SELECT * FROM transactions WHERE (user_id_sender = 0 OR user_id_receiver = 0) "
+                            + "AND created_at >= '2000-01-01' ORDER BY created_at DESC, transaction_id DESC LIMIT 20",
+                    Set.of("idx_transactions_sender_date", "idx_transactions_receiver_date")),
+            new KeyQuery("UserRelationsDAO.getUserRelations",
+                    "SELECT * FROM user_relations WHERE user_id_1 = 0 OR user_id_2 = 0",
+                    Set.of("idx_user_relations_user2")),
+            new KeyQuery("UserRelationsDAO.findRelationByIds",
+                    "SELECT * FROM user_relations WHERE (user_id_1 = 0 AND user_id_2 = 1) OR (user_id_1 = 1 AND user_id_2 = 0)",
+                    Set.of("idx_user_relations_user2")));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                logger.info("Vérification des index ignorée : EXPLAIN non pris en charge pour {}", product);
+                return;
+            }
+            List<String> problems = new ArrayList<>();
+            for (KeyQuery query : KEY_QUERIES) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet plan = statement.executeQuery("EXPLAIN " + query.sql())) {
+                    Set<String> missing = missingIndexes(query, plan);
+                    if (!missing.isEmpty()) {
+                        problems.add(query.name() + " n'a pas accès à " + missing);
+                    }
+                }
+            }
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Index manquants, migrations à appliquer (db/migration) : " + String.join(" ; ", problems));
+            }
+            logger.info("Index des {} requêtes clés vérifiés", KEY_QUERIES.size());
+        }
+    }
+
+    /**
+     * Index attendus par la requête absents du plan {@code EXPLAIN} au format MySQL.
+     */
+    static Set<String> missingIndexes(KeyQuery query, ResultSet plan) throws SQLException {
+        Set<String> available = new TreeSet<>();
+        while (plan.next()) {
+            addIndexNames(available, plan.getString("possible_keys"));
+            addIndexNames(available, plan.getString("key"));
+        }
+        Set<String> missing = new TreeSet<>(query.expectedIndexes());
+        missing.removeAll(available);
+        return missing;
+    }
+
+    private static void addIndexNames(Set<String> names, String column) {
+        if (column == null) {
+            return;
+        }
+        for (String name : column.split(",")) {
+            names.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Requête clé vérifiée au démarrage.
+     *
+     * @param name            le nom de la méthode de DAO correspondante
+     * @param sql             la requête passée à {@code EXPLAIN}
+     * @param expectedIndexes les index que l'optimiseur doit pouvoir utiliser
+     */
+    record KeyQuery(String name, String sql, Set<String> expectedIndexes) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.paymybuddy.schema;
+
+import com.paymybuddy.archive.TransactionArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance des partitions mensuelles de {@code transactions} (MySQL).
+ *
+ * À chaque passage, la partition {@code p_future} est découpée pour que chaque mois jusqu'à
+ * {@code transactions.partition.months-ahead} mois après le mois courant ait sa partition
+ * {@code pAAAAMM}, qui contient les transactions du mois. Au premier passage, le découpage part du mois
+ * de la plus ancienne transaction. La partition {@code p_future} reste normalement vide : la découper
+ * ne déplace aucune ligne.
+ *
+ * Avec {@code transactions.partition.retention-months} supérieur à 0, les partitions antérieures à
+ * cette rétention sont détachées, à condition que leur mois soit déjà dans l'archive de l'historique
+ * froid ({@link TransactionArchive#isArchived}) : rien ne lit les tables détachées, un mois non
+ * archivé disparaîtrait de l'historique. Les lignes sont échangées avec une table
+ * {@code transactions_archive_AAAAMM} vide (opération sur les métadonnées, sans copie), puis la
+ * partition vidée est supprimée. Par défaut (rétention à 0), rien n'est détaché.
+ *
+ * Sans effet hors MySQL ou si la migration V3 n'a pas partitionné la table.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.partition.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionMaintainer.class);
+
+    /**
+     * Partition recevant les transactions au-delà du dernier mois créé.
+     */
+    static final String FUTURE = "p_future";
+
+    private static final Pattern MONTHLY = Pattern.compile("p(\\d{6})");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    /**
+     * Nombre de mois à venir dont la partition est créée à l'avance.
+     */
+    @Value("${transactions.partition.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    /**
+     * Nombre de mois conservés dans la table, 0 pour ne jamais détacher.
+     */
+    @Value("${transactions.partition.retention-months:0}")
+    private int retentionMonths = 0;
+
+    /**
+     * Crée les partitions à venir et détache les plus anciennes.
+     */
+    @Scheduled(initialDelayString = "${transactions.partition.initial-delay-ms:10000}",
+            fixedDelayString = "${transactions.partition.interval-ms:21600000}")
+    public void maintain() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()) || !isPartitioned(connection)) {
+                return;
+            }
+            List<YearMonth> months = monthlyPartitions(connection);
+            YearMonth oldest = months.isEmpty() ? oldestTransactionMonth(connection) : null;
+            List<String> statements = plan(months, oldest, YearMonth.now(), monthsAhead, retentionMonths,
+                    month -> transactionArchive.isArchived(month));
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    logger.info("Partitions de transactions : {}", sql);
+                    statement.execute(sql);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Échec de la maintenance des partitions de transactions, nouvelle tentative au prochain passage", e);
+        }
+    }
+
+    /**
+     * Ordres DDL amenant les partitions mensuelles à l'état attendu.
+     *
+     * @param existing  les mois ayant déjà leur partition, dans l'ordre
+     * @param oldest    le mois de la plus ancienne transaction, utilisé s'il n'existe encore aucune partition mensuelle
+     * @param current   le mois courant
+     * @param ahead     le nombre de mois à venir à créer
+     * @param retention le nombre de mois conservés, 0 pour ne rien détacher
+     * @param archived  indique si un mois est archivé ; seuls ces mois sont détachés
+     */
+    static List<String> plan(List<YearMonth> existing, YearMonth oldest, YearMonth current, int ahead, int retention,
+                             Predicate<YearMonth> archived) {
+        List<String> statements = new ArrayList<>();
+        List<YearMonth> months = new ArrayList<>(existing);
+
+        YearMonth first = existing.isEmpty()
+                ? (oldest != null && oldest.isBefore(current) ? oldest : current)
+                : existing.getLast().plusMonths(1);
+        YearMonth last = current.plusMonths(ahead);
+        if (!first.isAfter(last)) {
+            StringJoiner partitions = new StringJoiner(", ");
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                partitions.add("PARTITION " + partitionName(month) + " VALUES LESS THAN (UNIX_TIMESTAMP('"
+                        + month.plusMonths(1).atDay(1) + " 00:00:00'))");
+                months.add(month);
+            }
+            partitions.add("PARTITION " + FUTURE + " VALUES LESS THAN MAXVALUE");
+            statements.add("ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE + " INTO (" + partitions + ")");
+        }
+
+        if (retention > 0) {
+            YearMonth cutoff = current.minusMonths(retention);
+            for (YearMonth month : months) {
+                if (month.isBefore(cutoff) && archived.test(month)) {
+                    String archive = "transactions_archive_" + month.format(MONTH);
+                    statements.add("CREATE TABLE " + archive + " LIKE transactions");
+                    statements.add("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+                    statements.add("ALTER TABLE transactions EXCHANGE PARTITION " + partitionName(month) + " WITH TABLE " + archive);
+                    statements.add("ALTER TABLE transactions DROP PARTITION " + partitionName(month));
+                }
+            }
+        }
+        return statements;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "p" + month.format(MONTH);
+    }
+
+    /**
+     * Indique si la table {@code transactions} est partitionnée.
+     */
+    static boolean isPartitioned(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM information_schema.PARTITIONS "
+                     + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL")) {
+            return rs.next() && rs.getInt(1) > 0;
+        }
+    }
+
+    private static List<YearMonth> monthlyPartitions(Connection connection) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                     + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' ORDER BY PARTITION_ORDINAL_POSITION")) {
+            while (rs.next()) {
+                Matcher matcher = MONTHLY.matcher(rs.getString(1));
+                if (matcher.matches()) {
+                    months.add(YearMonth.parse(matcher.group(1), MONTH));
+                }
+            }
+        }
+        return months;
+    }
+
+    private static YearMonth oldestTransactionMonth(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(created_at) FROM transactions")) {
+            Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+            return oldest == null ? null : YearMonth.from(oldest.toLocalDateTime());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.paymybuddy.schema;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migration V3 : partitionnement de {@code transactions} par plage de {@code created_at}.
+ *
+ * MySQL impose que la clé primaire contienne la colonne de partitionnement et interdit les clés
+ * étrangères sur une table partitionnée : les clés étrangères sont supprimées (leur nom dépend de
+ * l'outil qui a créé la base, d'où une migration Java) et la clé primaire devient
+ * {@code (transaction_id, created_at)}. La table est créée avec la seule partition {@code p_future} ;
+ * le {@link TransactionPartitionMaintainer} la découpe ensuite en partitions mensuelles.
+ *
+ * Sans objet hors MySQL : la migration n'y fait rien.
+ * Déclarée comme bean, elle est enregistrée auprès de Flyway par Spring Boot.
+ */
+@Component
+public class V3__PartitionTransactions extends BaseJavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(V3__PartitionTransactions.class);
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+            logger.info("Partitionnement de transactions ignoré hors MySQL");
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (TransactionPartitionMaintainer.isPartitioned(connection)) {
+                return;
+            }
+            for (String foreignKey : foreignKeys(connection)) {
+                statement.execute("ALTER TABLE transactions DROP FOREIGN KEY " + foreignKey);
+            }
+            statement.execute("UPDATE transactions SET created_at = "
+                    + "(SELECT oldest FROM (SELECT COALESCE(MIN(created_at), CURRENT_TIMESTAMP) AS oldest FROM transactions) AS bounds) "
+                    + "WHERE created_at IS NULL");
+            statement.execute("ALTER TABLE transactions "
+                    + "MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "DROP PRIMARY KEY, ADD PRIMARY KEY (transaction_id, created_at) "
+                    + "PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) "
+                    + "(PARTITION " + TransactionPartitionMaintainer.FUTURE + " VALUES LESS THAN MAXVALUE)");
+        }
+    }
+
+    private static List<String> foreignKeys(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS "
+                     + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND CONSTRAINT_TYPE = 'FOREIGN KEY'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+}
@@ -1,5 +1,6 @@
 package com.paymybuddy.security;
 
+import com.paymybuddy.jfr.JwtVerificationEvent;
 import com.paymybuddy.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -54,10 +55,18 @@ public class JwtTokenProvider {
      * @return les claims extraits du token
      */
     public Claims getClaimsFromToken(String token) {
-        JwtParser parser = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build();
-        return parser.parseClaimsJws(token).getBody();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            JwtParser parser = Jwts.parser()
+                    .setSigningKey(secretKey)
+                    .build();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            event.setValid(true);
+            return claims;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -0,0 +1,131 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.concurrency.DatabasePermits;
+import com.paymybuddy.dao.TransactionDAO;
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.dto.DashboardDTO;
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service de la page d'accueil.
+ *
+ * Regroupe en une seule réponse le solde, les relations et les dernières transactions,
+ * qui demandaient auparavant trois appels HTTP distincts (chacun re-vérifiant le JWT et
+ * re-chargeant l'utilisateur). L'utilisateur est résolu une seule fois, puis les relations
+ * et la page de transactions sont lues en parallèle, chacune dans sa propre transaction
+ * en lecture seule et donc sur sa propre connexion.
+ *
+ * Les relations sont lues sur un pool dédié, les transactions sur le thread appelant. Avec
+ * {@code spring.jpa.open-in-view=false} (exigé par la configuration), chaque lecture rend sa
+ * connexion à la fin de sa transaction : la recherche de l'utilisateur n'en garde aucune, une
+ * requête en occupe au plus deux et n'en garde aucune pendant qu'elle attend l'autre lecture.
+ * Le bulkhead base de données compte donc deux places par tableau de bord, réservées ensemble
+ * à l'entrée ({@link DatabasePermits}) ; les lectures parallèles passent directement par les DAO
+ * et non par d'autres services, pour ne pas réserver de place depuis un autre thread.
+ *
+ * Avec un réplica de lecture, les deux lectures y sont servies ; après un transfert, seule celle
+ * du thread appelant est ramenée sur la base principale, les relations n'étant pas modifiées par un transfert.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private TransactionDAO transactionDAO;
+
+    @Autowired
+    private HistoryWindow historyWindow;
+
+    @Autowired
+    private UserRelationsDAO userRelationsDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Nombre de threads du pool de lectures parallèles.
+     */
+    @Value("${dashboard.parallel-threads:8}")
+    private int parallelThreads = 8;
+
+    private TransactionTemplate readOnlyTemplate;
+    private ExecutorService executor;
+
+    /**
+     * Initialise le modèle de transaction en lecture seule et le pool de lectures parallèles.
+     */
+    @PostConstruct
+    void init() {
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-reader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Arrête le pool de lectures parallèles.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Construit les données de la page d'accueil de l'utilisateur.
+     *
+     * @param email l'adresse email de l'utilisateur connecté
+     * @param limit le nombre maximal de transactions récentes à retourner
+     * @return le solde, les relations et les dernières transactions de l'utilisateur
+     * @throws EmailNotFoundException si l'utilisateur n'est pas trouvé
+     */
+    @DatabasePermits(2)
+    public DashboardDTO getDashboard(String email, int limit) {
+        User user = userDAO.findByEmail(email);
+        if (user == null) {
+            throw new EmailNotFoundException("Utilisateur non trouvé.");
+        }
+
+        CompletableFuture<List<String>> relations = CompletableFuture.supplyAsync(
+                () -> readOnlyTemplate.execute(status ->
+                        RelationService.relationEmails(user, userRelationsDAO.getUserRelations(user.getUserId()))),
+                executor);
+
+        List<TransactionDTO> transactions = readOnlyTemplate.execute(status ->
+                transactionDAO.findRecentBySenderOrReceiver(user, historyWindow.start(), limit).stream()
+                        .map(TransactionDTO::from)
+                        .toList());
+
+        try {
+            return new DashboardDTO(user.getUsername(), user.getEmail(), user.getSolde(),
+                    relations.join(), transactions);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.paymybuddy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Période consultée par l'historique et le tableau de bord, passée en borne basse
+ * aux lectures de {@link com.paymybuddy.dao.TransactionDAO}.
+ */
+@Component
+public class HistoryWindow {
+
+    /**
+     * Profondeur de l'historique, en mois.
+     */
+    @Value("${transactions.history.months:12}")
+    private int months = 12;
+
+    /**
+     * Début de la période : minuit, {@code transactions.history.months} mois avant aujourd'hui.
+     * La borne ne change qu'une fois par jour.
+     */
+    public LocalDateTime start() {
+        return LocalDate.now().minusMonths(months).atStartOfDay();
+    }
+}
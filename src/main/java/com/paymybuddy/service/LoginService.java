@@ -1,7 +1,10 @@
 package com.paymybuddy.service;
 
 import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.jfr.PasswordCheckEvent;
 import com.paymybuddy.model.User;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -35,23 +38,42 @@ public class LoginService {
 
     /**
      * Authentifie un utilisateur via son email et mot de passe.
-     * Si les informations sont valides, un token JWT est généré.
+     * Si les informations sont valides, un token JWT est généré ; sinon l'échec est renvoyé
+     * sans exception, les tentatives répétées ne coûtant alors que la vérification du mot de passe.
      *
      * @param email    l'adresse email fournie par l'utilisateur
      * @param password le mot de passe fourni par l'utilisateur
-     * @return une chaîne représentant le token JWT généré
-     * @throws InvalidLoginException si l'email n'existe pas ou si le mot de passe est incorrect
+     * @return le token JWT généré, ou {@link BusinessFailure#INVALID_LOGIN}
      */
-    public String authenticate(String email, String password) {
+    public Result<String> login(String email, String password) {
         User user = userDAO.findByEmail(email);
         if (user == null) {
-            throw new InvalidLoginException("Email ou mot de passe invalide");
+            return Result.failure(BusinessFailure.INVALID_LOGIN);
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new InvalidLoginException("Email ou mot de passe invalide");
+        PasswordCheckEvent passwordCheck = new PasswordCheckEvent();
+        passwordCheck.begin();
+        boolean matched = passwordEncoder.matches(password, user.getPassword());
+        passwordCheck.setMatched(matched);
+        passwordCheck.commit();
+
+        if (!matched) {
+            return Result.failure(BusinessFailure.INVALID_LOGIN);
         }
 
-        return jwtTokenProvider.generateToken(user);
+        return Result.success(jwtTokenProvider.generateToken(user));
+    }
+
+    /**
+     * Authentifie un utilisateur via son email et mot de passe.
+     * Variante de {@link #login} pour les appelants qui attendent une exception.
+     *
+     * @param email    l'adresse email fournie par l'utilisateur
+     * @param password le mot de passe fourni par l'utilisateur
+     * @return une chaîne représentant le token JWT généré
+     * @throws InvalidLoginException si l'email n'existe pas ou si le mot de passe est incorrect
+     */
+    public String authenticate(String email, String password) {
+        return login(email, password).orElseThrow();
     }
 }
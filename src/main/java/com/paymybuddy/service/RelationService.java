@@ -1,12 +1,16 @@
 package com.paymybuddy.service;
 
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.exception.RelationAlreadyExistsException;
 import com.paymybuddy.exception.SelfRelationException;
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserRelations;
 import com.paymybuddy.dao.UserRelationsDAO;
 import com.paymybuddy.dao.UserDAO;
-import jakarta.transaction.Transactional;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -27,6 +31,9 @@ public class RelationService {
     @Autowired
     private UserRelationsDAO userRelationsDAO;
 
+    @Autowired
+    private UserVersions userVersions;
+
     /**
      * Récupère les adresses email des utilisateurs liés à un utilisateur donné.
      *
@@ -34,14 +41,25 @@ public class RelationService {
      * @return une liste d'adresses email correspondant aux relations de l'utilisateur
      * @throws EmailNotFoundException si l'utilisateur n'est pas trouvé
      */
+    @Transactional(readOnly = true)
     public List<String> getUserRelations(String email) {
         User user = userDAO.findByEmail(email);
         if (user == null) {
             throw new EmailNotFoundException("Utilisateur non trouvé.");
         }
 
-        List<UserRelations> userRelationsList = userRelationsDAO.getUserRelations(user.getUserId());
-        List<String> relationsEmails = new ArrayList<>();
+        return relationEmails(user, userRelationsDAO.getUserRelations(user.getUserId()));
+    }
+
+    /**
+     * Extrait les adresses email des relations d'un utilisateur.
+     *
+     * @param user              l'utilisateur dont on liste les relations
+     * @param userRelationsList les relations où l'utilisateur est impliqué
+     * @return l'email de l'autre utilisateur de chaque relation
+     */
+    public static List<String> relationEmails(User user, List<UserRelations> userRelationsList) {
+        List<String> relationsEmails = new ArrayList<>(userRelationsList.size());
 
         for (UserRelations relation : userRelationsList) {
             if (relation.getUser1().getUserId() == user.getUserId()) {
@@ -56,39 +74,55 @@ public class RelationService {
 
     /**
      * Ajoute une relation entre deux utilisateurs.
+     * Un refus (soi-même, email inconnu, relation existante) est renvoyé comme un échec, sans exception.
      *
      * @param userEmail      l'adresse email de l'utilisateur initiateur
      * @param relationEmail  l'adresse email de l'utilisateur à ajouter comme relation
-     * @return true si la relation est ajoutée avec succès
-     * @throws SelfRelationException si un utilisateur tente de se lier à lui-même
-     * @throws EmailNotFoundException si l'un des deux emails n'existe pas
-     * @throws RuntimeException si la relation existe déjà
+     * @return la relation créée, ou la raison du refus
      */
     @Transactional
-    public boolean addRelation(String userEmail, String relationEmail) {
+    public Result<UserRelations> relate(String userEmail, String relationEmail) {
         if (userEmail.equalsIgnoreCase(relationEmail)) {
-            throw new SelfRelationException("Impossible d'ajouter votre propre adresse email.");
+            return Result.failure(BusinessFailure.SELF_RELATION);
         }
 
         User relationUser = userDAO.findByEmail(relationEmail);
         if (relationUser == null) {
-            throw new EmailNotFoundException("L'adresse email de la relation n'existe pas.");
+            return Result.failure(BusinessFailure.RELATION_EMAIL_NOT_FOUND);
         }
 
         User user = userDAO.findByEmail(userEmail);
         if (user == null) {
-            throw new EmailNotFoundException("L'adresse email de l'utilisateur n'existe pas.");
+            return Result.failure(BusinessFailure.USER_EMAIL_NOT_FOUND);
         }
 
         if (userRelationsDAO.findRelationByIds(user.getUserId(), relationUser.getUserId()) != null) {
-            throw new RuntimeException("Cette relation existe déjà.");
+            return Result.failure(BusinessFailure.RELATION_ALREADY_EXISTS);
         }
 
         UserRelations userRelations = new UserRelations();
         userRelations.setUser1(user);
         userRelations.setUser2(relationUser);
         userRelationsDAO.save(userRelations);
+        userVersions.changed(userEmail, relationEmail);
+
+        return Result.success(userRelations);
+    }
 
+    /**
+     * Ajoute une relation entre deux utilisateurs.
+     * Variante de {@link #relate} pour les appelants qui attendent une exception.
+     *
+     * @param userEmail      l'adresse email de l'utilisateur initiateur
+     * @param relationEmail  l'adresse email de l'utilisateur à ajouter comme relation
+     * @return true si la relation est ajoutée avec succès
+     * @throws SelfRelationException si un utilisateur tente de se lier à lui-même
+     * @throws EmailNotFoundException si l'un des deux emails n'existe pas
+     * @throws RelationAlreadyExistsException si la relation existe déjà
+     */
+    @Transactional
+    public boolean addRelation(String userEmail, String relationEmail) {
+        relate(userEmail, relationEmail).orElseThrow();
         return true;
     }
 }
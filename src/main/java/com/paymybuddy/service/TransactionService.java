@@ -1,20 +1,40 @@
 package com.paymybuddy.service;
 
+import com.paymybuddy.archive.ArchivedTransaction;
+import com.paymybuddy.archive.TransactionArchive;
+import com.paymybuddy.dao.OutboxDAO;
 import com.paymybuddy.dao.TransactionDAO;
 import com.paymybuddy.dao.UserDAO;
 import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.RelationNotFoundException;
 import com.paymybuddy.exception.SoldeInvalidException;
+import com.paymybuddy.jfr.TransferCommitRecorder;
+import com.paymybuddy.jfr.TransferPhaseEvent;
 import com.paymybuddy.model.Transactions;
 import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserRelations;
 import com.paymybuddy.exception.EmailNotFoundException;
 import com.paymybuddy.exception.InvalidAmountException;
+import com.paymybuddy.outbox.TransferEvent;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import com.paymybuddy.sse.TransferCommittedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service de gestion des transactions entre utilisateurs.
@@ -30,11 +50,43 @@ public class TransactionService {
     @Autowired
     private TransactionDAO transactionDAO;
 
+    @Autowired
+    private HistoryWindow historyWindow;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
     @Autowired
     private UserRelationsDAO userRelationsDAO;
 
+    @Autowired
+    private OutboxDAO outboxDAO;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserVersions userVersions;
+
+    /**
+     * Ajoute une nouvelle transaction entre deux utilisateurs, dans sa propre transaction.
+     * Un refus (montant, email, relation, solde) est renvoyé comme un échec, sans exception.
+     *
+     * @param senderEmail    l'email de l'expéditeur
+     * @param receiverEmail  l'email du destinataire
+     * @param description    la description de la transaction
+     * @param amount         le montant de la transaction (doit être strictement positif)
+     * @return la transaction créée et sauvegardée, ou la raison du refus
+     */
+    @Transactional
+    public Result<Transactions> transfer(String senderEmail, String receiverEmail, String description, double amount) {
+        return applyTransfer(senderEmail, receiverEmail, description, amount);
+    }
+
     /**
      * Ajoute une nouvelle transaction entre deux utilisateurs.
+     * Variante de {@link #transfer} pour les appelants qui attendent une exception ;
+     * l'exception levée est préallouée et sans pile d'appel.
      *
      * @param senderEmail    l'email de l'expéditeur
      * @param receiverEmail  l'email du destinataire
@@ -43,32 +95,73 @@ public class TransactionService {
      * @return l’objet {@link Transactions} créé et sauvegardé
      * @throws InvalidAmountException si le montant est inférieur ou égal à zéro
      * @throws EmailNotFoundException si l'expéditeur ou le destinataire n'existe pas
+     * @throws RelationNotFoundException si les utilisateurs ne sont pas en relation
+     * @throws SoldeInvalidException si le solde de l'expéditeur est insuffisant
      */
     @Transactional
     public Transactions addTransaction(String senderEmail, String receiverEmail, String description, double amount) {
+        return applyTransfer(senderEmail, receiverEmail, description, amount).orElseThrow();
+    }
+
+    /**
+     * Applique un transfert dans la transaction déjà ouverte par l'appelant.
+     * Toutes les validations sont faites avant la moindre écriture : un transfert refusé
+     * ne modifie donc pas l'état de la transaction englobante, ce qui permet au
+     * {@link TransferBatchProcessor} d'en regrouper plusieurs dans un même commit.
+     *
+     * Les deux utilisateurs sont lus en base et verrouillés, hors cache de second niveau, dans l'ordre
+     * de leurs emails : deux transferts croisés ne peuvent pas s'interbloquer, et le solde vérifié
+     * est celui qui sera débité.
+     *
+     * @param senderEmail    l'email de l'expéditeur
+     * @param receiverEmail  l'email du destinataire
+     * @param description    la description de la transaction
+     * @param amount         le montant de la transaction (doit être strictement positif)
+     * @return la transaction créée et sauvegardée, ou la raison du refus
+     */
+    public Result<Transactions> applyTransfer(String senderEmail, String receiverEmail, String description, double amount) {
         if (amount <= 0) {
-            throw new InvalidAmountException("Le montant doit être supérieur à zéro.");
+            return Result.failure(BusinessFailure.INVALID_AMOUNT);
         }
 
-        User sender = userDAO.findByEmail(senderEmail);
-        if (sender == null) {
-            throw new EmailNotFoundException("L'utilisateur expéditeur n'existe pas.");
+        TransferPhaseEvent resolveUsers = TransferPhaseEvent.start(TransferPhaseEvent.RESOLVE_USERS);
+        User sender;
+        User receiver;
+        if (senderEmail.compareTo(receiverEmail) <= 0) {
+            sender = userDAO.findByEmailForUpdate(senderEmail);
+            receiver = sender != null ? userDAO.findByEmailForUpdate(receiverEmail) : null;
+        } else {
+            receiver = userDAO.findByEmailForUpdate(receiverEmail);
+            sender = userDAO.findByEmailForUpdate(senderEmail);
         }
+        resolveUsers.commit();
 
-        User receiver = userDAO.findByEmail(receiverEmail);
+        if (sender == null) {
+            return Result.failure(BusinessFailure.SENDER_NOT_FOUND);
+        }
         if (receiver == null) {
-            throw new EmailNotFoundException("L'utilisateur destinataire n'existe pas.");
+            return Result.failure(BusinessFailure.RECEIVER_NOT_FOUND);
         }
 
-        if (userRelationsDAO.findRelationByIds(sender.getUserId(), receiver.getUserId()) == null) {
-            throw new RelationNotFoundException("Les utilisateurs ne sont pas en relation.");
+        TransferPhaseEvent relationCheck = TransferPhaseEvent.start(TransferPhaseEvent.RELATION_CHECK);
+        UserRelations relation = userRelationsDAO.findRelationByIds(sender.getUserId(), receiver.getUserId());
+        relationCheck.commit();
+
+        if (relation == null) {
+            return Result.failure(BusinessFailure.RELATION_NOT_FOUND);
         }
 
         // Vérifier le solde de l'expéditeur
-        if (sender.getSolde() < amount) {
-            throw new SoldeInvalidException("Solde insuffisant. Solde actuel = " + sender.getSolde() + ", montant à débiter = " + amount);
+        TransferPhaseEvent balanceCheck = TransferPhaseEvent.start(TransferPhaseEvent.BALANCE_CHECK);
+        boolean soldeSuffisant = sender.getSolde() >= amount;
+        balanceCheck.commit();
+
+        if (!soldeSuffisant) {
+            return Result.failure(BusinessFailure.INSUFFICIENT_SOLDE);
         }
 
+        TransferPhaseEvent persist = TransferPhaseEvent.start(TransferPhaseEvent.PERSIST);
+
         // Mettre à jour les soldes
         sender.setSolde(sender.getSolde() - amount);
         receiver.setSolde(receiver.getSolde() + amount);
@@ -83,26 +176,95 @@ public class TransactionService {
         transaction.setReceiver(receiver);
         transaction.setDescription(description);
         transaction.setAmount(amount);
+        transaction.setCreatedAt(LocalDateTime.now());
 
         transactionDAO.save(transaction);
-        return transaction;
+
+        // Événement publié en aval par le relais d'outbox, dans la même transaction que le transfert
+        outboxDAO.append(TransferEvent.AGGREGATE_TYPE, transaction.getTransactionId(),
+                TransferEvent.EVENT_TYPE, TransferEvent.from(transaction));
+        persist.commit();
+        TransferCommitRecorder.track();
+
+        // Diffusé aux flux temps réel des deux utilisateurs une fois la transaction validée
+        eventPublisher.publishEvent(new TransferCommittedEvent(
+                TransactionDTO.from(transaction), sender.getSolde(), receiver.getSolde()));
+        userVersions.changed(senderEmail, receiverEmail);
+        return Result.success(transaction);
+    }
+
+    /**
+     * Applique un transfert dans la transaction déjà ouverte par l'appelant.
+     * Variante de {@link #applyTransfer} pour les appelants qui attendent une exception.
+     *
+     * @throws InvalidAmountException si le montant est inférieur ou égal à zéro
+     * @throws EmailNotFoundException si l'expéditeur ou le destinataire n'existe pas
+     * @throws RelationNotFoundException si les utilisateurs ne sont pas en relation
+     * @throws SoldeInvalidException si le solde de l'expéditeur est insuffisant
+     */
+    public Transactions executeTransfer(String senderEmail, String receiverEmail, String description, double amount) {
+        return applyTransfer(senderEmail, receiverEmail, description, amount).orElseThrow();
     }
 
 
     /**
-     * Récupère toutes les transactions associées à un utilisateur donné,
-     * en tant qu’expéditeur ou destinataire.
+     * Récupère les transactions associées à un utilisateur donné, en tant qu’expéditeur
+     * ou destinataire, sur la période d'historique ({@code transactions.history.months}).
      *
      * @param userEmail l'adresse email de l'utilisateur concerné
      * @return une liste de transactions impliquant cet utilisateur
      * @throws EmailNotFoundException si l'utilisateur n'existe pas
      */
+    @Transactional(readOnly = true)
     public List<Transactions> getUserTransactions(String userEmail) {
+        return getUserTransactions(userEmail, null);
+    }
+
+    /**
+     * Récupère les transactions associées à un utilisateur donné depuis une date.
+     * Lorsque la date précède la période d'historique, les transactions encore en base sont
+     * complétées par celles de l'archive, en dédoublonnant celles d'un mois en cours d'archivage.
+     *
+     * @param userEmail l'adresse email de l'utilisateur concerné
+     * @param from      la date de début incluse, ou {@code null} pour la période d'historique
+     * @return une liste de transactions impliquant cet utilisateur
+     * @throws EmailNotFoundException si l'utilisateur n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public List<Transactions> getUserTransactions(String userEmail, LocalDate from) {
         User user = userDAO.findByEmail(userEmail);
         if (user == null) {
             throw new EmailNotFoundException("L'utilisateur n'existe pas.");
         }
 
-        return transactionDAO.findBySenderOrReceiver(user);
+        LocalDateTime hotStart = historyWindow.start();
+        if (from == null || !from.atStartOfDay().isBefore(hotStart)) {
+            return transactionDAO.findBySenderOrReceiver(user, from == null ? hotStart : from.atStartOfDay());
+        }
+
+        List<Transactions> transactions = new ArrayList<>(transactionDAO.findBySenderOrReceiver(user, from.atStartOfDay()));
+        Set<Integer> known = transactions.stream().map(Transactions::getTransactionId).collect(Collectors.toSet());
+        List<ArchivedTransaction> archived = transactionArchive.find(user.getUserId(), from.atStartOfDay(), hotStart).stream()
+                .filter(transaction -> !known.contains(transaction.transactionId()))
+                .toList();
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+
+        Set<Integer> userIds = new HashSet<>();
+        archived.forEach(transaction -> {
+            userIds.add(transaction.senderId());
+            userIds.add(transaction.receiverId());
+        });
+        Map<Integer, User> users = userDAO.findByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        for (ArchivedTransaction transaction : archived) {
+            User sender = users.get(transaction.senderId());
+            User receiver = users.get(transaction.receiverId());
+            if (sender != null && receiver != null) {
+                transactions.add(transaction.toEntity(sender, receiver));
+            }
+        }
+        return transactions;
     }
 }
@@ -0,0 +1,243 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.result.Result;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline de transferts par micro-lots ("group commit").
+ *
+ * Les demandes de transfert sont placées dans une file puis regroupées par un thread dédié,
+ * soit jusqu'à {@code transfer.batch.max-size} demandes, soit pendant au plus
+ * {@code transfer.batch.window-ms} millisecondes. Chaque lot est validé et appliqué dans une
+ * seule transaction base de données : le coût du commit est partagé par tout le lot.
+ *
+ * Un transfert refusé (montant, solde, relation...) est isolé : son futur est complété avec
+ * l'échec, sans exception, et les autres transferts du lot sont tout de même validés. Si le commit
+ * du lot échoue, chaque demande est rejouée individuellement afin de n'attribuer l'erreur
+ * qu'à la demande fautive.
+ *
+ * Le pipeline n'est actif que si {@code transfer.batch.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "transfer.batch.enabled", havingValue = "true")
+public class TransferBatchProcessor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferBatchProcessor.class);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Nombre maximal de transferts appliqués dans un même commit.
+     */
+    @Value("${transfer.batch.max-size:64}")
+    private int maxBatchSize = 64;
+
+    /**
+     * Durée maximale d'attente pour compléter un lot, en millisecondes.
+     */
+    @Value("${transfer.batch.window-ms:2}")
+    private long windowMs = 2;
+
+    /**
+     * Nombre maximal de demandes en attente avant rejet.
+     */
+    @Value("${transfer.batch.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    private BlockingQueue<PendingTransfer> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Démarre le thread de regroupement des transferts.
+     */
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        worker = new Thread(this::drainLoop, "transfer-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Arrête le thread de regroupement après avoir traité les demandes déjà en file.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Soumet un transfert au pipeline.
+     *
+     * @param senderEmail    l'email de l'expéditeur
+     * @param receiverEmail  l'email du destinataire
+     * @param description    la description de la transaction
+     * @param amount         le montant de la transaction
+     * @return un futur complété avec la transaction créée ou la raison du refus, en erreur
+     *         uniquement si la file est saturée ou si le transfert n'a pas pu être appliqué
+     */
+    public CompletableFuture<Result<Transactions>> submit(String senderEmail, String receiverEmail, String description, double amount) {
+        PendingTransfer pending = new PendingTransfer(senderEmail, receiverEmail, description, amount, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.result().completeExceptionally(new IllegalStateException("File de transferts saturée, réessayez plus tard."));
+        }
+        return pending.result();
+    }
+
+    /**
+     * Soumet un transfert et attend son résultat, comme {@link TransactionService#transfer}.
+     * Les erreurs techniques sont relancées telles quelles.
+     */
+    public Result<Transactions> transfer(String senderEmail, String receiverEmail, String description, double amount) {
+        try {
+            return submit(senderEmail, receiverEmail, description, amount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Boucle du thread de regroupement : attend une première demande, complète le lot
+     * pendant la fenêtre configurée puis l'applique.
+     */
+    private void drainLoop() {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Interruption utilisée uniquement par stop() : on traite ce qui est déjà en file
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                processBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applique un lot de transferts dans une seule transaction.
+     *
+     * @param batch les demandes à appliquer
+     */
+    @SuppressWarnings("unchecked")
+    void processBatch(List<PendingTransfer> batch) {
+        List<Object> outcomes = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                outcomes.clear();
+                for (PendingTransfer pending : batch) {
+                    try {
+                        outcomes.add(transactionService.applyTransfer(
+                                pending.senderEmail(), pending.receiverEmail(), pending.description(), pending.amount()));
+                    } catch (RuntimeException e) {
+                        outcomes.add(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Échec du commit d'un lot de {} transferts, rejeu individuel", batch.size(), e);
+            replayIndividually(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Result<?> result) {
+                batch.get(i).result().complete((Result<Transactions>) result);
+            } else {
+                batch.get(i).result().completeExceptionally((RuntimeException) outcome);
+            }
+        }
+    }
+
+    /**
+     * Rejoue chaque demande dans sa propre transaction, comme le chemin non groupé.
+     */
+    private void replayIndividually(List<PendingTransfer> batch) {
+        for (PendingTransfer pending : batch) {
+            try {
+                pending.result().complete(transactionService.transfer(
+                        pending.senderEmail(), pending.receiverEmail(), pending.description(), pending.amount()));
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Nombre de demandes en attente dans la file.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("paymybuddy.transfer.batch.queue", this, TransferBatchProcessor::getQueueSize)
+                .description("Transferts en attente dans la file du pipeline par micro-lots")
+                .register(registry);
+    }
+
+    /**
+     * Demande de transfert en attente dans la file.
+     */
+    record PendingTransfer(String senderEmail, String receiverEmail, String description, double amount,
+                           CompletableFuture<Result<Transactions>> result) {
+    }
+}
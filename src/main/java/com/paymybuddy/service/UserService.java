@@ -2,10 +2,11 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.dto.UserDTO;
 import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.EmailAlreadyExistsException;
 import com.paymybuddy.exception.UserNotFoundException;
 import com.paymybuddy.model.User;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,16 +21,19 @@ import java.time.LocalDateTime;
 public class UserService {
 
     private final UserDAO userDAO;
+    private final UserVersions userVersions;
     private final BCryptPasswordEncoder passwordEncoder;
 
     /**
      * Constructeur avec injection de dépendances.
      *
-     * @param userDAO DAO permettant d'accéder aux données des utilisateurs
+     * @param userDAO      DAO permettant d'accéder aux données des utilisateurs
+     * @param userVersions versions des données des utilisateurs, changées à chaque mise à jour du profil
      */
 
-    public UserService(UserDAO userDAO) {
+    public UserService(UserDAO userDAO, UserVersions userVersions) {
         this.userDAO = userDAO;
+        this.userVersions = userVersions;
         this.passwordEncoder = new BCryptPasswordEncoder();
     }
 
@@ -89,9 +93,12 @@ public class UserService {
             existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         }
 
-        return userDAO.save(existingUser);
+        User savedUser = userDAO.save(existingUser);
+        userVersions.changed(currentUserEmail, userDTO.getEmail());
+        return savedUser;
     }
 
+    @Transactional(readOnly = true)
     public User findUserByEmail(String email) {
         return userDAO.findByEmail(email);
     }
@@ -0,0 +1,14 @@
+package com.paymybuddy.sse;
+
+import com.paymybuddy.dto.TransactionDTO;
+
+/**
+ * Événement applicatif publié par chaque transfert, et traité seulement une fois
+ * la transaction base de données validée.
+ *
+ * @param transaction  la transaction créée
+ * @param senderSolde  le solde de l'expéditeur après le transfert
+ * @param receiverSolde le solde du destinataire après le transfert
+ */
+public record TransferCommittedEvent(TransactionDTO transaction, double senderSolde, double receiverSolde) {
+}
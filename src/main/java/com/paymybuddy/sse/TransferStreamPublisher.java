@@ -0,0 +1,72 @@
+package com.paymybuddy.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymybuddy.dto.TransactionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Pousse les transferts validés vers les flux SSE de l'expéditeur et du destinataire.
+ * Appelé après le commit : un transfert annulé n'est jamais annoncé, et un lot de
+ * transferts groupés n'est annoncé qu'une fois le lot entier validé.
+ */
+@Component
+public class TransferStreamPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferStreamPublisher.class);
+
+    /**
+     * Nom de l'événement SSE portant le nouveau solde.
+     */
+    public static final String SOLDE_EVENT = "solde";
+
+    /**
+     * Nom de l'événement SSE portant la transaction créée.
+     */
+    public static final String TRANSACTION_EVENT = "transaction";
+
+    @Autowired
+    private UserStreamRegistry userStreamRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Diffuse le transfert validé aux deux utilisateurs concernés.
+     *
+     * @param event le transfert validé
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCommitted(TransferCommittedEvent event) {
+        TransactionDTO transaction = event.transaction();
+        boolean notifySender = userStreamRegistry.hasStreams(transaction.senderEmail());
+        boolean notifyReceiver = userStreamRegistry.hasStreams(transaction.receiverEmail());
+        if (!notifySender && !notifyReceiver) {
+            return;
+        }
+
+        try {
+            String transactionJson = objectMapper.writeValueAsString(transaction);
+            if (notifySender) {
+                publish(transaction.senderEmail(), event.senderSolde(), transactionJson);
+            }
+            if (notifyReceiver) {
+                publish(transaction.receiverEmail(), event.receiverSolde(), transactionJson);
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("Transfert #{} non diffusé sur les flux SSE", transaction.transactionId(), e);
+        }
+    }
+
+    private void publish(String email, double solde, String transactionJson) throws JsonProcessingException {
+        userStreamRegistry.publish(email, SOLDE_EVENT, objectMapper.writeValueAsString(Map.of("solde", solde)));
+        userStreamRegistry.publish(email, TRANSACTION_EVENT, transactionJson);
+    }
+}
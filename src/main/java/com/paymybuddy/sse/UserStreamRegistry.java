@@ -0,0 +1,305 @@
+package com.paymybuddy.sse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registre des flux Server-Sent Events ouverts, indexés par email d'utilisateur.
+ *
+ * Chaque flux possède un petit tampon borné. Publier un événement ne fait que le déposer
+ * dans le tampon des flux concernés ; l'écriture réseau est faite par un pool dédié, de sorte
+ * qu'un client lent ne ralentit jamais la requête qui a produit l'événement. Un client dont
+ * le tampon est plein est considéré comme trop lent : son flux est fermé et le navigateur
+ * se reconnecte puis recharge l'état complet.
+ *
+ * Le nombre de flux est borné globalement ({@code sse.max-streams}) et par utilisateur
+ * ({@code sse.max-streams-per-user}, le plus ancien flux étant fermé au-delà).
+ */
+@Component
+public class UserStreamRegistry implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStreamRegistry.class);
+
+    /**
+     * Délai de reconnexion indiqué au navigateur après une coupure ou une éviction.
+     */
+    private static final long RECONNECT_MS = 3000;
+
+    /**
+     * Nombre maximal de flux ouverts sur l'instance.
+     */
+    @Value("${sse.max-streams:20000}")
+    private int maxStreams = 20000;
+
+    /**
+     * Nombre maximal de flux ouverts par utilisateur (onglets, appareils).
+     */
+    @Value("${sse.max-streams-per-user:5}")
+    private int maxStreamsPerUser = 5;
+
+    /**
+     * Nombre d'événements en attente d'écriture au-delà duquel un client est évincé.
+     */
+    @Value("${sse.buffer-size:32}")
+    private int bufferSize = 32;
+
+    /**
+     * Durée de vie d'un flux, après laquelle le navigateur se reconnecte.
+     */
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    /**
+     * Nombre de threads qui écrivent les événements sur les connexions.
+     */
+    @Value("${sse.dispatcher-threads:4}")
+    private int dispatcherThreads = 4;
+
+    private final ConcurrentHashMap<String, List<Stream>> streamsByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger streamCount = new AtomicInteger();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private ExecutorService dispatcher;
+
+    /**
+     * Démarre le pool d'écriture des événements.
+     */
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatcher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ferme tous les flux et arrête le pool d'écriture.
+     */
+    @PreDestroy
+    void stop() {
+        streamsByEmail.values().forEach(streams -> streams.forEach(this::evict));
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Ouvre un flux pour un utilisateur.
+     *
+     * @param email l'email de l'utilisateur connecté
+     * @return le flux à renvoyer au client, ou {@code null} si l'instance a atteint son nombre maximal de flux
+     */
+    public SseEmitter open(String email) {
+        if (streamCount.incrementAndGet() > maxStreams) {
+            streamCount.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            // Mis en attente par l'émetteur puis écrit par le thread de la requête à son initialisation :
+            // les en-têtes de la réponse sont ainsi envoyés tout de suite, et jamais depuis un autre thread
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MS));
+        } catch (IOException e) {
+            streamCount.decrementAndGet();
+            throw new IllegalStateException("Ouverture du flux impossible", e);
+        }
+        Stream stream = new Stream(email, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        List<Stream> streams = streamsByEmail.compute(email, (key, existing) -> {
+            List<Stream> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(stream);
+            return list;
+        });
+        if (streams.size() > maxStreamsPerUser) {
+            evict(streams.get(0));
+        }
+        return emitter;
+    }
+
+    /**
+     * Indique si l'utilisateur a au moins un flux ouvert.
+     */
+    public boolean hasStreams(String email) {
+        return streamsByEmail.containsKey(email);
+    }
+
+    /**
+     * Envoie un événement nommé à tous les flux d'un utilisateur.
+     * L'événement est encodé une seule fois, quel que soit le nombre de flux.
+     *
+     * @param email     l'email du destinataire
+     * @param eventName le nom de l'événement SSE
+     * @param json      le contenu de l'événement, déjà sérialisé en JSON
+     */
+    public void publish(String email, String eventName, String json) {
+        List<Stream> streams = streamsByEmail.get(email);
+        if (streams == null) {
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .name(eventName)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        for (Stream stream : streams) {
+            enqueue(stream, message);
+        }
+    }
+
+    /**
+     * Envoie un commentaire à tous les flux pour maintenir les connexions ouvertes
+     * à travers les proxys et détecter les clients partis.
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> message = SseEmitter.event().comment("ping").build();
+        for (List<Stream> streams : streamsByEmail.values()) {
+            for (Stream stream : streams) {
+                enqueue(stream, message);
+            }
+        }
+    }
+
+    private void enqueue(Stream stream, Set<DataWithMediaType> message) {
+        if (stream.closed) {
+            return;
+        }
+        if (!stream.buffer.offer(message)) {
+            logger.debug("Flux SSE de {} évincé : client trop lent", stream.email);
+            evict(stream);
+            return;
+        }
+        schedule(stream);
+    }
+
+    private void schedule(Stream stream) {
+        if (stream.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(stream));
+            } catch (RejectedExecutionException e) {
+                stream.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Écrit les événements en attente d'un flux. Un seul thread à la fois draine un flux donné,
+     * ce qui préserve l'ordre des événements.
+     */
+    private void drain(Stream stream) {
+        do {
+            Set<DataWithMediaType> message;
+            while ((message = stream.buffer.poll()) != null) {
+                try {
+                    stream.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // Connexion fermée par le client : le conteneur termine la requête de son côté
+                    remove(stream);
+                    stream.buffer.clear();
+                    stream.scheduled.set(false);
+                    return;
+                }
+            }
+            stream.scheduled.set(false);
+        } while (!stream.buffer.isEmpty() && stream.scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * Ferme un flux côté serveur et le retire du registre.
+     */
+    private void evict(Stream stream) {
+        if (remove(stream)) {
+            evictedCount.incrementAndGet();
+            stream.emitter.complete();
+        }
+    }
+
+    /**
+     * Retire un flux du registre.
+     *
+     * @return {@code true} si le flux était encore enregistré
+     */
+    private boolean remove(Stream stream) {
+        synchronized (stream) {
+            if (stream.closed) {
+                return false;
+            }
+            stream.closed = true;
+        }
+        streamsByEmail.computeIfPresent(stream.email, (key, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+        streamCount.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Nombre de flux actuellement ouverts.
+     */
+    public int getStreamCount() {
+        return streamCount.get();
+    }
+
+    /**
+     * Nombre de flux fermés par le serveur (client trop lent ou trop de flux pour un utilisateur).
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("paymybuddy.sse.streams", this, UserStreamRegistry::getStreamCount)
+                .description("Flux SSE ouverts")
+                .register(registry);
+        FunctionCounter.builder("paymybuddy.sse.evicted", this, UserStreamRegistry::getEvictedCount)
+                .description("Flux SSE fermés par le serveur (client trop lent ou trop de flux)")
+                .register(registry);
+    }
+
+    /**
+     * Flux ouvert et son tampon d'événements en attente d'écriture.
+     */
+    private static final class Stream {
+        private final String email;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Stream(String email, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.email = email;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.paymybuddy.view;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.web.servlet.View;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.Map;
+
+/**
+ * Vue dont le rendu ne dépend d'aucune donnée de l'utilisateur : le template est rendu une fois,
+ * puis la page est servie telle quelle depuis un tableau d'octets, sans moteur de templates.
+ *
+ * Le premier rendu a lieu à la première requête, qui fournit le chemin de contexte et la réécriture
+ * des URL des ressources statiques. Un rendu avec un modèle non vide (par exemple {@code relations}
+ * avec le message d'un ajout de relation) reste dynamique.
+ */
+public class PrerenderedView implements View {
+
+    private final View delegate;
+
+    private volatile byte[] page;
+
+    public PrerenderedView(View delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (model != null && !model.isEmpty()) {
+            delegate.render(model, request, response);
+            return;
+        }
+        byte[] content = page;
+        if (content == null) {
+            content = renderOnce(delegate, model, request, response);
+            page = content;
+        }
+        write(content, getContentType(), response);
+    }
+
+    /**
+     * Rend la vue dans un tampon, sans rien écrire dans la réponse, et renvoie la page produite.
+     * Le jeton CSRF de la requête est masqué : il ne doit pas être figé dans une page partagée.
+     */
+    static byte[] renderOnce(View view, Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        ContentCachingResponseWrapper buffer = new ContentCachingResponseWrapper(response);
+        view.render(model, new WithoutCsrfToken(request), buffer);
+        return buffer.getContentAsByteArray();
+    }
+
+    static void write(byte[] content, String contentType, HttpServletResponse response) throws Exception {
+        response.setContentType(contentType);
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    /**
+     * Requête dont le jeton CSRF n'est pas visible du moteur de templates.
+     */
+    private static final class WithoutCsrfToken extends HttpServletRequestWrapper {
+
+        WithoutCsrfToken(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            Object value = super.getAttribute(name);
+            return value instanceof CsrfToken ? null : value;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.paymybuddy.view;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résout les pages de l'application vers leur rendu mis en cache, avant le résolveur Thymeleaf :
+ * les pages sans donnée utilisateur sont servies par {@link PrerenderedView}, la page de profil
+ * par {@link ProfilePageView}. Les autres noms de vue sont laissés au résolveur suivant.
+ *
+ * Les templates ne sont pas traduits : la locale n'entre pas dans la clé des vues.
+ */
+public class PrerenderedViewResolver implements ViewResolver, Ordered {
+
+    static final Set<String> STATIC_VIEWS = Set.of("inscription", "connexion", "home", "relations");
+    static final String PROFILE_VIEW = "profil";
+
+    private final ViewResolver delegate;
+    private final int maxProfiles;
+    private final ConcurrentHashMap<String, View> views = new ConcurrentHashMap<>();
+
+    public PrerenderedViewResolver(ViewResolver delegate, int maxProfiles) {
+        this.delegate = delegate;
+        this.maxProfiles = maxProfiles;
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (!STATIC_VIEWS.contains(viewName) && !PROFILE_VIEW.equals(viewName)) {
+            return null;
+        }
+        View view = views.get(viewName);
+        if (view == null) {
+            View template = delegate.resolveViewName(viewName, locale);
+            if (template == null) {
+                return null;
+            }
+            View cached = PROFILE_VIEW.equals(viewName) ? new ProfilePageView(template, maxProfiles) : new PrerenderedView(template);
+            view = views.putIfAbsent(viewName, cached);
+            if (view == null) {
+                view = cached;
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Avant le résolveur Thymeleaf de Spring Boot ({@code LOWEST_PRECEDENCE - 5}).
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.paymybuddy.view;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vue de la page de profil, seule page qui dépend de l'utilisateur : le rendu de chaque utilisateur
+ * est conservé avec la version de ses données ({@link com.paymybuddy.etag.UserVersions}) et resservi
+ * tant que cette version ne change pas.
+ *
+ * Le contrôleur place la clé ({@link #KEY}) dans le modèle en lisant la version avant les données,
+ * si bien qu'un rendu n'est jamais associé à une version plus récente que ses données.
+ * Un seul rendu est gardé par utilisateur, et la table est vidée au-delà de {@code maxUsers} utilisateurs.
+ */
+public class ProfilePageView implements View {
+
+    /**
+     * Attribut du modèle portant la clé du rendu.
+     */
+    public static final String KEY = "profilePageKey";
+
+    private final View delegate;
+    private final int maxUsers;
+    private final ConcurrentHashMap<String, Page> pages = new ConcurrentHashMap<>();
+
+    public ProfilePageView(View delegate, int maxUsers) {
+        this.delegate = delegate;
+        this.maxUsers = maxUsers;
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (model == null || !(model.get(KEY) instanceof Key key)) {
+            delegate.render(model, request, response);
+            return;
+        }
+        String email = key.email().toLowerCase(Locale.ROOT);
+        Page page = pages.get(email);
+        if (page == null || !page.version().equals(key.version())) {
+            page = new Page(key.version(), PrerenderedView.renderOnce(delegate, model, request, response));
+            if (pages.size() >= maxUsers) {
+                pages.clear();
+            }
+            pages.put(email, page);
+        }
+        PrerenderedView.write(page.content(), getContentType(), response);
+    }
+
+    /**
+     * Clé du rendu : l'utilisateur et la version de ses données.
+     */
+    public record Key(String email, String version) {
+    }
+
+    private record Page(String version, byte[] content) {
+    }
+}
@@ -0,0 +1,348 @@
+package com.paymybuddy.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymybuddy.dao.TransactionDAO;
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.dto.DashboardDTO;
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.dto.UserProfileDTO;
+import com.paymybuddy.model.User;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.DashboardService;
+import com.paymybuddy.service.HistoryWindow;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mise en température de l'instance avant qu'elle ne reçoive du trafic.
+ *
+ * Exécutée avant la fin du démarrage : Spring Boot ne passe l'état de disponibilité à
+ * {@code ACCEPTING_TRAFFIC} (sonde {@code /actuator/health/readiness}) qu'une fois les
+ * {@link ApplicationRunner} terminés. Le pool de connexions est d'abord rempli, puis des tours
+ * répètent les chemins chauds sur des données fictives :
+ * <ul>
+ *     <li>signature et vérification d'un JWT ;</li>
+ *     <li>sérialisation JSON des DTO de réponse (tableau de bord, historique, profil) ;</li>
+ *     <li>lectures des DAO en transaction en lecture seule (utilisateur, relations, historique),
+ *     et tableau de bord complet de {@code warmup.sample-email} s'il est renseigné ;</li>
+ *     <li>vérification BCrypt d'un mot de passe ;</li>
+ *     <li>pages HTML demandées au serveur local, ce qui les place dans le cache des pages.</li>
+ * </ul>
+ * Les trois premières étapes sont répétées {@code warmup.iterations-per-round} fois par tour : le JIT
+ * ne compile une méthode qu'après des centaines (C1) puis des milliers (C2) d'appels, et la stabilité
+ * des tours ne mesure ainsi que du code compilé. BCrypt, coûteux par construction, et les pages, mises
+ * en cache dès le premier appel, ne sont exécutés qu'une fois par tour.
+ * La mise en température s'arrête quand la durée des {@code warmup.stable-rounds} derniers tours
+ * ne s'écarte plus de leur médiane de plus de {@code warmup.tolerance}, ou au bout de
+ * {@code warmup.max-duration}. Une étape en échec est journalisée sans bloquer le démarrage.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    /**
+     * Compte fictif : aucun utilisateur réel ne peut porter une adresse en {@code .invalid}.
+     */
+    static final String SYNTHETIC_EMAIL = "warmup@paymybuddy.invalid";
+    private static final String SYNTHETIC_PASSWORD = "warm-up-password";
+    private static final List<String> PAGES = List.of("/connexion", "/inscription", "/home", "/relations");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private UserRelationsDAO userRelationsDAO;
+
+    @Autowired
+    private TransactionDAO transactionDAO;
+
+    @Autowired
+    private HistoryWindow historyWindow;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${warmup.min-rounds:5}")
+    private int minRounds = 5;
+
+    @Value("${warmup.iterations-per-round:1000}")
+    private int iterationsPerRound = 1000;
+
+    @Value("${warmup.stable-rounds:3}")
+    private int stableRounds = 3;
+
+    @Value("${warmup.tolerance:0.2}")
+    private double tolerance = 0.2;
+
+    @Value("${warmup.max-duration:60s}")
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    @Value("${warmup.sample-email:}")
+    private String sampleEmail = "";
+
+    private volatile Report report;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        int connections = fillConnectionPools();
+
+        Round round = new Round();
+        List<Long> durations = new ArrayList<>();
+        long deadline = start + maxDuration.toNanos();
+        boolean stable = false;
+        while (!stable && System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            round.run();
+            durations.add(System.nanoTime() - roundStart);
+            stable = durations.size() >= minRounds && isStable(durations, stableRounds, tolerance);
+        }
+
+        report = new Report(durations.size(), stable, connections, round.failures, Collections.unmodifiableList(durations),
+                Duration.ofNanos(System.nanoTime() - start));
+        if (stable) {
+            logger.info("Mise en température terminée en {} ms : {} tours, dernier tour {} ms, {} connexions ouvertes",
+                    report.elapsed().toMillis(), report.rounds(), durations.get(durations.size() - 1) / 1_000_000, connections);
+        } else {
+            logger.warn("Mise en température interrompue après {} ms sans stabilisation : {} tours",
+                    report.elapsed().toMillis(), report.rounds());
+        }
+    }
+
+    /**
+     * Résultat de la dernière mise en température, {@code null} avant son exécution.
+     */
+    public Report getReport() {
+        return report;
+    }
+
+    /**
+     * Vrai si chacun des {@code window} derniers tours s'écarte de moins de {@code tolerance}
+     * (en proportion) de la médiane de ces tours.
+     */
+    static boolean isStable(List<Long> durations, int window, double tolerance) {
+        if (durations.size() < window) {
+            return false;
+        }
+        List<Long> last = new ArrayList<>(durations.subList(durations.size() - window, durations.size()));
+        Collections.sort(last);
+        double median = last.get(window / 2);
+        for (long duration : last) {
+            if (Math.abs(duration - median) > tolerance * median) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ouvre simultanément {@code minimumIdle} connexions de chaque pool, puis les rend :
+     * elles restent ouvertes dans le pool. Retourne le nombre de connexions ouvertes.
+     */
+    private int fillConnectionPools() {
+        int opened = 0;
+        for (Map.Entry<String, HikariDataSource> pool : connectionPools().entrySet()) {
+            HikariDataSource dataSource = pool.getValue();
+            int target = Math.min(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize());
+            List<Connection> connections = new ArrayList<>(target);
+            try {
+                for (int i = 0; i < target; i++) {
+                    connections.add(dataSource.getConnection());
+                }
+            } catch (Exception e) {
+                logger.warn("Pool {} rempli partiellement ({} connexions) : {}", pool.getKey(), connections.size(), e.getMessage());
+            } finally {
+                opened += connections.size();
+                for (Connection connection : connections) {
+                    try {
+                        connection.close();
+                    } catch (Exception e) {
+                        logger.debug("Connexion non rendue au pool", e);
+                    }
+                }
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Pools Hikari du contexte, y compris sous l'instrumentation des requêtes lentes.
+     * Les sources de routage principal/réplica sont ignorées : leurs cibles sont des beans à part entière.
+     */
+    private Map<String, HikariDataSource> connectionPools() {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        applicationContext.getBeansOfType(DataSource.class).forEach((name, dataSource) -> {
+            try {
+                if (!(dataSource instanceof AbstractRoutingDataSource) && dataSource.isWrapperFor(HikariDataSource.class)) {
+                    pools.putIfAbsent(name, dataSource.unwrap(HikariDataSource.class));
+                }
+            } catch (SQLException e) {
+                logger.debug("Source de données {} ignorée", name, e);
+            }
+        });
+        return pools;
+    }
+
+    /**
+     * Un tour de mise en température. Les objets fictifs sont construits une seule fois.
+     */
+    private final class Round {
+
+        private final User user = syntheticUser();
+        private final String passwordHash = passwordEncoder.encode(SYNTHETIC_PASSWORD);
+        private final String token = jwtTokenProvider.generateToken(user);
+        private final List<TransactionDTO> transactions = syntheticTransactions();
+        private final TransactionTemplate readOnly = readOnlyTemplate();
+        private final HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        private int failures;
+
+        void run() {
+            repeatedStep("JWT", () -> jwtTokenProvider.getClaimsFromToken(jwtTokenProvider.generateToken(user)));
+            repeatedStep("JSON", () -> {
+                objectMapper.writeValueAsBytes(new DashboardDTO(user.getUsername(), user.getEmail(), user.getSolde(),
+                        List.of("relation@paymybuddy.invalid"), transactions));
+                objectMapper.writeValueAsBytes(transactions);
+                objectMapper.writeValueAsBytes(UserProfileDTO.from(user));
+            });
+            repeatedStep("DAO", () -> readOnly.executeWithoutResult(status -> {
+                userDAO.findByEmail(SYNTHETIC_EMAIL);
+                userRelationsDAO.getUserRelations(user.getUserId());
+                transactionDAO.findRecentBySenderOrReceiver(user, historyWindow.start(), 20);
+            }));
+            if (!sampleEmail.isBlank()) {
+                repeatedStep("tableau de bord", () -> dashboardService.getDashboard(sampleEmail, 20));
+            }
+            step("BCrypt", () -> passwordEncoder.matches(SYNTHETIC_PASSWORD, passwordHash));
+            step("pages", () -> {
+                for (String page : PAGES) {
+                    client.send(pageRequest(page), HttpResponse.BodyHandlers.discarding());
+                }
+            });
+        }
+
+        /**
+         * Étape répétée {@code iterationsPerRound} fois ; la première erreur interrompt l'étape pour ce tour.
+         */
+        private void repeatedStep(String name, Step step) {
+            step(name, () -> {
+                for (int i = 0; i < iterationsPerRound; i++) {
+                    step.run();
+                }
+            });
+        }
+
+        private void step(String name, Step step) {
+            try {
+                step.run();
+            } catch (Exception e) {
+                failures++;
+                logger.warn("Étape {} de la mise en température en échec : {}", name, e.toString());
+            }
+        }
+
+        private HttpRequest pageRequest(String page) {
+            int port = applicationContext instanceof WebServerApplicationContext web ? web.getWebServer().getPort() : -1;
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + page))
+                    .header("Cookie", "JWT=" + token)
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        private User syntheticUser() {
+            User synthetic = new User();
+            synthetic.setUserId(-1);
+            synthetic.setUsername("warmup");
+            synthetic.setEmail(SYNTHETIC_EMAIL);
+            synthetic.setCreatedAt(LocalDateTime.now());
+            return synthetic;
+        }
+
+        private List<TransactionDTO> syntheticTransactions() {
+            List<TransactionDTO> list = new ArrayList<>(20);
+            for (int i = 0; i < 20; i++) {
+                list.add(new TransactionDTO(i, SYNTHETIC_EMAIL, "warmup", "relation@paymybuddy.invalid", "relation",
+                        "Mise en température " + i, i + 0.5, LocalDateTime.now()));
+            }
+            return list;
+        }
+
+        private TransactionTemplate readOnlyTemplate() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Bilan de la mise en température.
+     *
+     * @param rounds      nombre de tours exécutés
+     * @param stable      vrai si la durée des tours s'est stabilisée avant {@code warmup.max-duration}
+     * @param connections connexions ouvertes dans les pools
+     * @param failures    étapes en échec, tous tours confondus
+     * @param durations   durée de chaque tour, en nanosecondes
+     * @param elapsed     durée totale
+     */
+    public record Report(int rounds, boolean stable, int connections, int failures, List<Long> durations, Duration elapsed) {
+    }
+}
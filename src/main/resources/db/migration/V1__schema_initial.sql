@@ -1,14 +1,17 @@
--- Création de la base de données
-CREATE DATABASE IF NOT EXISTS paymybuddy;
-USE paymybuddy;
+-- Schéma initial, tel que mappé par les entités d'origine (utilisateurs, relations, transactions).
+-- Une base existante créée par ddl-auto=update est déjà dans cet état : elle est marquée
+-- en version 1 sans rejouer ce script (spring.flyway.baseline-on-migrate).
+-- Ce script ne doit plus changer : toute table ajoutée depuis a sa propre migration.
 
 -- Table User
 CREATE TABLE IF NOT EXISTS user (
     user_id INT AUTO_INCREMENT PRIMARY KEY,
     username VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    solde DOUBLE NOT NULL DEFAULT 100,
+    CONSTRAINT uk_user_email UNIQUE (email)
 );
 
 -- Table User_relations
@@ -18,7 +21,7 @@ CREATE TABLE IF NOT EXISTS user_relations (
     user_id_2 INT NOT NULL,
     relationship_status VARCHAR(255) NOT NULL DEFAULT 'ACCEPTEE',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    UNIQUE (user_id_1, user_id_2),
+    CONSTRAINT uk_user_relations_users UNIQUE (user_id_1, user_id_2),
     FOREIGN KEY (user_id_1) REFERENCES user(user_id) ON DELETE CASCADE,
     FOREIGN KEY (user_id_2) REFERENCES user(user_id) ON DELETE CASCADE
 );
@@ -0,0 +1,12 @@
+-- Index composites des requêtes d'historique et de relations.
+-- Les index créés par MySQL pour les clés étrangères ne couvrent qu'une colonne : l'historique
+-- (WHERE sender = ? OR receiver = ? ORDER BY created_at DESC, transaction_id DESC LIMIT n)
+-- devait lire puis trier toutes les transactions de l'utilisateur.
+-- Vérifiés au démarrage par SchemaIndexCheck.
+
+-- Historique, côté émetteur puis côté destinataire : lecture dans l'ordre d'affichage
+CREATE INDEX idx_transactions_sender_date ON transactions (user_id_sender, created_at, transaction_id);
+CREATE INDEX idx_transactions_receiver_date ON transactions (user_id_receiver, created_at, transaction_id);
+
+-- Relations d'un utilisateur lorsqu'il est le second membre (le premier est couvert par l'unicité)
+CREATE INDEX idx_user_relations_user2 ON user_relations (user_id_2, user_id_1);
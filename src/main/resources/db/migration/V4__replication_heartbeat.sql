@@ -0,0 +1,8 @@
+-- Battement écrit sur la base principale et relu sur le réplica pour mesurer le retard de réplication.
+-- Une seule ligne, mise à jour par ReplicaLagMonitor lorsque le routage vers un réplica est activé.
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_ms BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_ms) VALUES (1, 0);
@@ -0,0 +1,11 @@
+-- Table Outbox_event (événements publiés en aval par le relais d'outbox).
+-- Absente du schéma initial : une base marquée en version 1 la reçoit ici. Elle existe déjà
+-- si la base a été mise à jour par ddl-auto=update après l'introduction de l'outbox.
+CREATE TABLE IF NOT EXISTS outbox_event (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id INT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -6,69 +6,7 @@ function getCookie(name) {
     return null;
 }
 
-function loadSolde() {
-    const token = getCookie("JWT");
-    if (!token) {
-        showError("Token JWT manquant ou invalide.");
-        return;
-    }
-
-    fetch("http://localhost:8080/user/user/profil", {
-        method: "GET",
-        headers: {
-            "Authorization": "Bearer " + token
-        }
-    })
-    .then(response => {
-        if (!response.ok) {
-            throw new Error("Erreur lors de la récupération du solde");
-        }
-        return response.json();
-    })
-    .then(data => {
-        const solde = data.solde || 0;
-        document.getElementById("soldeValue").textContent = solde.toFixed(2);
-    })
-    .catch(error => {
-        console.error("Erreur :", error);
-        document.getElementById("soldeValue").textContent = "Erreur";
-    });
-}
-
-
 document.addEventListener("DOMContentLoaded", function () {
-    // Charger les relations de l'utilisateur connecté
-    fetch("/user-relations", {
-        method: "GET",
-        credentials: "include",
-    })
-    .then(response => {
-        if (!response.ok) {
-            throw new Error("Erreur lors de la récupération des relations");
-        }
-        return response.json();
-    })
-    .then(data => {
-        const select = document.getElementById("relationSelect");
-        const relations = data.data || [];
-
-        if (relations.length === 0) {
-            console.log("Aucune relation disponible.");
-            return;
-        }
-
-        relations.forEach(email => {
-            const option = document.createElement("option");
-            option.value = email;
-            option.textContent = email;
-            select.appendChild(option);
-        });
-    })
-    .catch(error => {
-        console.error("Erreur :", error);
-        showError("Impossible de charger les relations.");
-    });
-
     // Soumission d'une transaction
     const payButton = document.getElementById("payButton");
 
@@ -123,8 +61,10 @@ document.addEventListener("DOMContentLoaded", function () {
         })
         .then(data => {
             showError("");
-            loadTransactions();
-            loadSolde();
+            // Le flux temps réel pousse déjà le nouveau solde et la transaction
+            if (!stream || stream.readyState !== EventSource.OPEN) {
+                loadDashboard();
+            }
         })
         .catch(error => {
             console.error("Erreur :", error);
@@ -138,57 +78,125 @@ document.addEventListener("DOMContentLoaded", function () {
         errorContainer.textContent = message;
     }
 
-    // Charge les transactions et les affiche dans le tableau
-    function loadTransactions() {
+    // Charge le solde, les relations et les dernières transactions en un seul appel
+    function loadDashboard() {
         const token = getCookie("JWT");
         if (!token) {
             showError("Token JWT manquant ou invalide.");
             return;
         }
 
-        fetch("http://localhost:8080/transaction", {
+        fetch("http://localhost:8080/dashboard", {
             method: "GET",
             headers: {
                 "Authorization": "Bearer " + token
             }
         })
-        .then(response => response.json())
-        .then(data => {
-            if (!data || !data.data || !data.data.transactions) {
-                console.error("La réponse ne contient pas les transactions sous 'data.transactions'.");
-                return;
+        .then(response => {
+            if (!response.ok) {
+                throw new Error("Erreur lors de la récupération du tableau de bord");
             }
+            return response.json();
+        })
+        .then(data => {
+            renderSolde(data.solde || 0);
+            renderRelations(data.relations || []);
+            renderTransactions(data.transactions || []);
+        })
+        .catch(error => {
+            console.error("Erreur :", error);
+            document.getElementById("soldeValue").textContent = "Erreur";
+            showError("Impossible de charger le tableau de bord.");
+        });
+    }
 
-            const transactionsTable = document.getElementById("transactionsTableBody");
-            transactionsTable.innerHTML = "";
+    // Affiche le solde
+    function renderSolde(solde) {
+        document.getElementById("soldeValue").textContent = solde.toFixed(2);
+    }
 
-            const userTransactions = data.data.transactions.filter(
-                transaction => transaction.sender.email !== "userEmail@example.com"
-            );
+    // Remplit la liste des relations, en conservant la sélection courante
+    function renderRelations(relations) {
+        const select = document.getElementById("relationSelect");
+        const selected = select.value;
 
-            userTransactions.forEach(transaction => {
-                const row = document.createElement("tr");
+        select.querySelectorAll("option[value]:not([value=''])").forEach(option => option.remove());
 
-                const relationCell = document.createElement("td");
-                relationCell.textContent = transaction.receiver.username || "N/A";
+        if (relations.length === 0) {
+            console.log("Aucune relation disponible.");
+            return;
+        }
 
-                const descriptionCell = document.createElement("td");
-                descriptionCell.textContent = transaction.description || "Aucune description";
+        relations.forEach(email => {
+            const option = document.createElement("option");
+            option.value = email;
+            option.textContent = email;
+            select.appendChild(option);
+        });
+        select.value = selected;
+    }
 
-                const amountCell = document.createElement("td");
-                amountCell.textContent = `${transaction.amount} €`;
+    // Affiche les transactions dans le tableau
+    function renderTransactions(transactions) {
+        const transactionsTable = document.getElementById("transactionsTableBody");
+        transactionsTable.innerHTML = "";
 
-                row.appendChild(relationCell);
-                row.appendChild(descriptionCell);
-                row.appendChild(amountCell);
-                transactionsTable.appendChild(row);
-            });
-        })
-        .catch(error => {
-            console.error("Erreur lors du chargement des transactions:", error);
-            showError("Impossible de charger les transactions.");
+        transactions.forEach(transaction => {
+            transactionsTable.appendChild(createTransactionRow(transaction));
         });
     }
-loadSolde();
-    loadTransactions(); // Charger les transactions au démarrage
+
+    // Construit la ligne du tableau correspondant à une transaction
+    function createTransactionRow(transaction) {
+        const row = document.createElement("tr");
+
+        const relationCell = document.createElement("td");
+        relationCell.textContent = transaction.receiverUsername || "N/A";
+
+        const descriptionCell = document.createElement("td");
+        descriptionCell.textContent = transaction.description || "Aucune description";
+
+        const amountCell = document.createElement("td");
+        amountCell.textContent = `${transaction.amount} €`;
+
+        row.appendChild(relationCell);
+        row.appendChild(descriptionCell);
+        row.appendChild(amountCell);
+        return row;
+    }
+
+    // Ouvre le flux temps réel : solde et nouvelles transactions sans rechargement
+    let stream = null;
+
+    function openStream() {
+        if (!window.EventSource) {
+            return;
+        }
+
+        stream = new EventSource("/stream");
+
+        stream.addEventListener("solde", event => {
+            renderSolde(JSON.parse(event.data).solde || 0);
+        });
+
+        stream.addEventListener("transaction", event => {
+            const transactionsTable = document.getElementById("transactionsTableBody");
+            transactionsTable.prepend(createTransactionRow(JSON.parse(event.data)));
+        });
+
+        // Après une coupure (ou une éviction), le navigateur se reconnecte : on recharge l'état complet
+        let reconnecting = false;
+        stream.addEventListener("error", () => {
+            reconnecting = true;
+        });
+        stream.addEventListener("open", () => {
+            if (reconnecting) {
+                reconnecting = false;
+                loadDashboard();
+            }
+        });
+    }
+
+    loadDashboard();
+    openStream();
 });
@@ -0,0 +1,97 @@
+package com.paymybuddy.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de l'écriture et de la relecture d'un {@link Segment} d'archive.
+ */
+public class SegmentTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Vérifie qu'un propriétaire retrouve exactement ses transactions, à travers plusieurs blocs,
+     * champs compris (description absente ou accentuée, centimes, millisecondes).
+     */
+    @Test
+    void find_ShouldReturnOwnerTransactionsAcrossBlocks() throws Exception {
+        List<Segment.Row> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int sender = 100 + i % 50;
+            int receiver = 100 + (i * 7 + 1) % 50;
+            ArchivedTransaction transaction = new ArchivedTransaction(i + 1, sender, receiver,
+                    i % 10 == 0 ? null : "Dîner n°" + i, i + 0.25, MONTH_START.plusMinutes(i).plusNanos(123_000_000));
+            rows.add(new Segment.Row(sender, transaction));
+            rows.add(new Segment.Row(receiver, transaction));
+        }
+        Path file = directory.resolve("users-0.seg");
+        Segment.write(file, rows);
+
+        Segment segment = Segment.open(file);
+        List<ArchivedTransaction> found = segment.find(120, MONTH_START, MONTH_START.plusMonths(1));
+
+        List<ArchivedTransaction> expected = rows.stream()
+                .filter(row -> row.owner() == 120)
+                .map(Segment.Row::transaction)
+                .toList();
+        assertEquals(expected.size(), found.size());
+        assertTrue(found.containsAll(expected));
+        for (int i = 1; i < found.size(); i++) {
+            assertFalse(found.get(i).createdAt().isBefore(found.get(i - 1).createdAt()));
+        }
+        assertTrue(Files.size(file) < 5000 * 2 * 20, "taille " + Files.size(file));
+    }
+
+    /**
+     * Vérifie le filtrage par période et l'absence de résultat pour un propriétaire inconnu.
+     */
+    @Test
+    void find_ShouldFilterByPeriodAndOwner() throws Exception {
+        List<Segment.Row> rows = new ArrayList<>();
+        for (int day = 0; day < 28; day++) {
+            rows.add(new Segment.Row(7, new ArchivedTransaction(day, 7, 8, "jour " + day, 1, MONTH_START.plusDays(day))));
+        }
+        Path file = directory.resolve("users-0.seg");
+        Segment.write(file, rows);
+        Segment segment = Segment.open(file);
+
+        List<ArchivedTransaction> week = segment.find(7, MONTH_START.plusDays(7), MONTH_START.plusDays(14));
+
+        assertEquals(List.of(7, 8, 9, 10, 11, 12, 13), week.stream().map(ArchivedTransaction::transactionId).toList());
+        assertEquals(List.of(), segment.find(8, MONTH_START, MONTH_START.plusMonths(1)));
+        assertEquals(List.of(), segment.find(6, MONTH_START, MONTH_START.plusMonths(1)));
+    }
+
+    /**
+     * Vérifie que l'écriture au fil des lignes refuse une ligne hors d'ordre et ne crée pas de fichier sans ligne.
+     */
+    @Test
+    void writer_ShouldRequireSortedRows() throws Exception {
+        Path file = directory.resolve("users-2.seg");
+        try (Segment.Writer writer = new Segment.Writer(file)) {
+            assertTrue(writer.isEmpty());
+            writer.add(new Segment.Row(3, new ArchivedTransaction(2, 3, 4, null, 1, MONTH_START.plusDays(2))));
+            assertThrows(IllegalArgumentException.class, () ->
+                    writer.add(new Segment.Row(3, new ArchivedTransaction(1, 3, 4, null, 1, MONTH_START.plusDays(1)))));
+        }
+        assertEquals(1, Segment.open(file).find(3, MONTH_START, MONTH_START.plusMonths(1)).size());
+
+        Path empty = directory.resolve("users-4.seg");
+        try (Segment.Writer writer = new Segment.Writer(empty)) {
+            assertTrue(writer.isEmpty());
+        }
+        assertFalse(Files.exists(empty));
+    }
+}
@@ -0,0 +1,102 @@
+package com.paymybuddy.archive;
+
+import com.paymybuddy.service.HistoryWindow;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test du {@link TransactionArchiver} sur une base H2 au schéma des migrations.
+ */
+public class TransactionArchiverTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbc;
+    private TransactionArchive archive;
+    private TransactionArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:archive;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        archive = new TransactionArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory);
+        ReflectionTestUtils.setField(archive, "usersPerSegment", 2);
+        archiver = new TransactionArchiver();
+        ReflectionTestUtils.setField(archiver, "dataSource", dataSource);
+        ReflectionTestUtils.setField(archiver, "archive", archive);
+        ReflectionTestUtils.setField(archiver, "historyWindow", new HistoryWindow());
+        ReflectionTestUtils.setField(archiver, "deleteBatchSize", 7);
+
+        for (int i = 1; i <= 3; i++) {
+            jdbc.update("INSERT INTO user (user_id, username, email, password) VALUES (?, ?, ?, 'x')", i, "u" + i, "u" + i + "@example.com");
+        }
+    }
+
+    /**
+     * Vérifie que seuls les mois antérieurs à la période d'historique sont archivés puis supprimés,
+     * et que chaque utilisateur retrouve ses transactions dans l'archive.
+     */
+    @Test
+    void archiveColdMonths_ShouldMoveOldMonthsToSegments() throws Exception {
+        LocalDateTime old = LocalDate.now().minusMonths(20).withDayOfMonth(10).atTime(12, 30);
+        for (int i = 0; i < 30; i++) {
+            insert(1 + i % 3, 1 + (i + 1) % 3, old.plusMonths(i % 3).plusMinutes(i));
+        }
+        insert(1, 2, LocalDateTime.now().minusDays(1));
+
+        assertEquals(3, archiver.archiveColdMonths());
+
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+        assertTrue(archive.isArchived(YearMonth.from(old)));
+        assertTrue(Files.exists(archive.segmentFile(archive.monthDirectory(YearMonth.from(old)), 1)));
+
+        List<ArchivedTransaction> user3 = archive.find(3, old.minusMonths(1), LocalDateTime.now());
+        assertEquals(20, user3.size());
+        assertTrue(user3.stream().allMatch(t -> t.senderId() == 3 || t.receiverId() == 3));
+        assertEquals(10, archive.find(3, old.plusMonths(1).minusDays(1), old.plusMonths(1).plusDays(1)).size());
+
+        assertEquals(0, archiver.archiveColdMonths());
+    }
+
+    /**
+     * Vérifie qu'un mois déjà archivé n'est pas réécrit : ses lignes restantes sont seulement supprimées.
+     */
+    @Test
+    void archiveColdMonths_ShouldOnlyDeleteAlreadyArchivedMonth() throws Exception {
+        LocalDateTime old = LocalDate.now().minusMonths(20).withDayOfMonth(10).atStartOfDay();
+        insert(1, 2, old);
+        archiver.archiveColdMonths();
+
+        insert(2, 1, old.plusHours(1));
+        assertEquals(1, archiver.archiveColdMonths());
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+        assertEquals(1, archive.find(1, old.minusDays(1), old.plusDays(1)).size());
+    }
+
+    private void insert(int sender, int receiver, LocalDateTime createdAt) {
+        jdbc.update("INSERT INTO transactions (user_id_sender, user_id_receiver, description, amount, created_at) VALUES (?, ?, ?, ?, ?)",
+                sender, receiver, "Transfert", 12.5, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,102 @@
+package com.paymybuddy.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'étape de précompression et de l'envoi des fichiers par sendfile.
+ */
+class PrecompressAssetsTest {
+
+    @TempDir
+    Path root;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Vérifie que seules les ressources textuelles reçoivent une variante gzip, fidèle à l'original.
+     */
+    @Test
+    void precompress_ShouldWriteGzipVariantOfTextAssets() throws Exception {
+        Path script = Files.createDirectories(root.resolve("js")).resolve("app.js");
+        Files.writeString(script, "console.log('PayMyBuddy');\n".repeat(50));
+        Files.write(root.resolve("logo.png"), new byte[]{1, 2, 3});
+
+        List<Path> written = PrecompressAssets.precompress(root);
+
+        assertEquals(List.of(root.resolve("js/app.js.gz")), written);
+        assertFalse(Files.exists(root.resolve("logo.png.gz")));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(Files.readAllBytes(written.get(0))))) {
+            assertArrayEquals(Files.readAllBytes(script), in.readAllBytes());
+        }
+        assertEquals(Files.getLastModifiedTime(script), Files.getLastModifiedTime(written.get(0)));
+    }
+
+    /**
+     * Vérifie qu'une variante qui ne réduit pas la taille n'est pas écrite.
+     */
+    @Test
+    void precompress_ShouldSkipVariantThatIsNotSmaller() throws Exception {
+        Files.writeString(root.resolve("tiny.css"), "a{}");
+
+        assertTrue(PrecompressAssets.precompress(root).isEmpty());
+        assertFalse(Files.exists(root.resolve("tiny.css.gz")));
+    }
+
+    /**
+     * Vérifie que, si le connecteur le permet, le fichier est confié à Tomcat au lieu d'être copié.
+     */
+    @Test
+    void sendfile_ShouldDelegateFileToConnector_WhenSupported() throws Exception {
+        Path file = Files.writeString(root.resolve("app.css"), "body { margin: 0; }");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(SendfileResourceHttpMessageConverter.SUPPORT, Boolean.TRUE);
+        MockHttpServletResponse response = write(request, file);
+
+        assertEquals(file.toFile().getCanonicalPath(), request.getAttribute(SendfileResourceHttpMessageConverter.FILENAME));
+        assertEquals(0L, request.getAttribute(SendfileResourceHttpMessageConverter.START));
+        assertEquals(Files.size(file), request.getAttribute(SendfileResourceHttpMessageConverter.END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    /**
+     * Vérifie que, sans sendfile, le fichier est copié dans la réponse.
+     */
+    @Test
+    void sendfile_ShouldCopyContent_WhenNotSupported() throws Exception {
+        Path file = Files.writeString(root.resolve("app.css"), "body { margin: 0; }");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = write(request, file);
+
+        assertNull(request.getAttribute(SendfileResourceHttpMessageConverter.FILENAME));
+        assertEquals("body { margin: 0; }", response.getContentAsString());
+    }
+
+    private static MockHttpServletResponse write(HttpServletRequest request, Path file) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new SendfileResourceHttpMessageConverter().write(new FileSystemResource(file), MediaType.TEXT_PLAIN,
+                new ServletServerHttpResponse(response));
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.paymybuddy.assets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration de la chaîne des ressources statiques, à travers Tomcat :
+ * URL empreintes dans les pages, variante gzip précompressée et en-têtes de cache.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StaticAssetsTest {
+
+    private static final Pattern SCRIPT = Pattern.compile("src=\"(/js/connexion-[0-9a-f]{32}\\.js)\"");
+    private static final Pattern STYLESHEET = Pattern.compile("href=\"(/css/connexion-[0-9a-f]{32}\\.css)\"");
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Vérifie que la page référence les ressources par leur nom empreint, et que celles-ci sont
+     * servies compressées et mises en cache sans revalidation.
+     */
+    @Test
+    void page_ShouldReferenceFingerprintedAssets_ServedPrecompressedAndImmutable() throws Exception {
+        String page = get("/connexion", null).body();
+        Matcher script = SCRIPT.matcher(page);
+        assertTrue(script.find(), page);
+        assertTrue(STYLESHEET.matcher(page).find(), page);
+
+        HttpResponse<String> identity = get(script.group(1), null);
+        HttpResponse<byte[]> gzip = client.send(request(script.group(1)).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        byte[] original = Files.readAllBytes(Path.of("src/main/resources/static/js/connexion.js"));
+        assertEquals(200, gzip.statusCode());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzip.headers().firstValue("Vary").orElse("").contains("Accept-Encoding"));
+        assertTrue(gzip.body().length < original.length);
+        assertArrayEquals(original, gunzip(gzip.body()));
+        assertEquals("max-age=31536000, public, immutable", gzip.headers().firstValue("Cache-Control").orElse(null));
+
+        assertEquals(200, identity.statusCode());
+        assertTrue(identity.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(new String(original), identity.body());
+    }
+
+    /**
+     * Vérifie que l'URL d'origine reste servie, mais doit être revalidée.
+     */
+    @Test
+    void originalUrl_ShouldBeServedWithRevalidation() throws Exception {
+        HttpResponse<String> response = get("/css/home.css", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(Files.readString(Path.of("src/main/resources/static/css/home.css")), response.body());
+        assertEquals("no-cache", response.headers().firstValue("Cache-Control").orElse(null));
+    }
+
+    /**
+     * Vérifie qu'une ressource inconnue renvoie 404 sans en-tête de cache long.
+     */
+    @Test
+    void unknownAsset_ShouldReturnNotFound() throws Exception {
+        HttpResponse<String> response = get("/js/absent-0123456789abcdef0123456789abcdef.js", null);
+
+        assertEquals(404, response.statusCode());
+        assertFalse(response.headers().firstValue("Cache-Control").orElse("").contains("immutable"));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    private HttpResponse<String> get(String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = request(path);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
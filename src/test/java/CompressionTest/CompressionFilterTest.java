@@ -0,0 +1,207 @@
+package com.paymybuddy.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de la compression adaptative des réponses.
+ */
+class CompressionFilterTest {
+
+    private static final String LARGE_JSON = "[" + "{\"description\":\"Remboursement\",\"amount\":12.5},".repeat(100) + "{}]";
+
+    private final CompressionFilter filter = new CompressionFilter(2048, List.of(MediaType.APPLICATION_JSON), 1);
+
+    /**
+     * Vérifie qu'une réponse JSON au-delà du seuil est compressée, avec un ETag devenu faible.
+     */
+    @Test
+    void largeJson_ShouldBeCompressed() throws Exception {
+        MockHttpServletResponse response = filter("gzip, deflate, br", MediaType.APPLICATION_JSON_VALUE, LARGE_JSON);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"history-1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertTrue(response.getContentAsByteArray().length < LARGE_JSON.length() / 4);
+        assertEquals(LARGE_JSON, gunzip(response.getContentAsByteArray()));
+    }
+
+    /**
+     * Vérifie qu'une réponse sous le seuil part telle quelle, avec sa longueur.
+     */
+    @Test
+    void smallJson_ShouldBeSentAsIs() throws Exception {
+        MockHttpServletResponse response = filter("gzip", MediaType.APPLICATION_JSON_VALUE, "{\"message\":\"ok\"}");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"history-1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(16, response.getContentLength());
+        assertEquals("{\"message\":\"ok\"}", response.getContentAsString());
+    }
+
+    /**
+     * Vérifie qu'un type absent de la liste n'est pas compressé, même volumineux.
+     */
+    @Test
+    void largeHtml_ShouldBeSentAsIs() throws Exception {
+        MockHttpServletResponse response = filter("gzip", MediaType.TEXT_HTML_VALUE, LARGE_JSON);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, response.getContentAsString());
+    }
+
+    /**
+     * Vérifie que, sans gzip annoncé par le client, la réponse n'est pas compressée mais varie selon l'en-tête.
+     */
+    @Test
+    void clientWithoutGzip_ShouldReceiveIdentity() throws Exception {
+        MockHttpServletResponse response = filter(null, MediaType.APPLICATION_JSON_VALUE, LARGE_JSON);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE_JSON, response.getContentAsString());
+    }
+
+    /**
+     * Vérifie que la réponse à un POST n'est pas compressée, même volumineuse.
+     */
+    @Test
+    void post_ShouldNotBeCompressed() throws Exception {
+        MockHttpServletResponse response = filter("POST", "gzip", MediaType.APPLICATION_JSON_VALUE, LARGE_JSON);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE_JSON, response.getContentAsString());
+    }
+
+    /**
+     * Vérifie que l'écriture non bloquante est confiée au flux de la réponse, corps retenu compris, sans compression.
+     */
+    @Test
+    void writeListener_ShouldBeDelegatedWithoutCompression() throws Exception {
+        MockHttpServletResponse mock = new MockHttpServletResponse();
+        RecordingOutputStream stream = new RecordingOutputStream(mock.getOutputStream());
+        HttpServletResponse response = new HttpServletResponseWrapper(mock) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return stream;
+            }
+        };
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(response, 2048, List.of(MediaType.APPLICATION_JSON), 1);
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        wrapper.getOutputStream().write("[{}".getBytes(StandardCharsets.UTF_8));
+
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+        };
+        wrapper.getOutputStream().setWriteListener(listener);
+        stream.ready = false;
+        assertFalse(wrapper.getOutputStream().isReady());
+
+        wrapper.getOutputStream().write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+        wrapper.finish();
+
+        assertSame(listener, stream.listener);
+        assertNull(mock.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("[{}" + LARGE_JSON, mock.getContentAsString());
+    }
+
+    /**
+     * Vérifie la lecture de l'en-tête Accept-Encoding, y compris les exclusions par q=0.
+     */
+    @Test
+    void acceptsGzip_ShouldHonourQualityValues() {
+        assertTrue(CompressionFilter.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(CompressionFilter.acceptsGzip("*"));
+        assertFalse(CompressionFilter.acceptsGzip("gzip;q=0, br"));
+        assertFalse(CompressionFilter.acceptsGzip("identity"));
+        assertFalse(CompressionFilter.acceptsGzip(null));
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding, String contentType, String body) throws Exception {
+        return filter("GET", acceptEncoding, contentType, body);
+    }
+
+    private MockHttpServletResponse filter(String method, String acceptEncoding, String contentType, String body)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/transaction");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.setHeader(HttpHeaders.ETAG, "\"history-1\"");
+                resp.setContentLength(bytes.length);
+                resp.getOutputStream().write(bytes);
+                resp.getOutputStream().flush();
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    /**
+     * Flux de réponse qui retient l'écouteur enregistré et dont la disponibilité est pilotée par le test.
+     */
+    private static final class RecordingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private WriteListener listener;
+        private boolean ready = true;
+
+        RecordingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
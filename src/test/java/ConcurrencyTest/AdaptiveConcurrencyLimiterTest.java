@@ -0,0 +1,118 @@
+package com.paymybuddy.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour l'{@link AdaptiveConcurrencyLimiter} et le {@link ConcurrencyLimitFilter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * Vérifie que les requêtes au-delà de la limite sont refusées et comptées.
+     */
+    @Test
+    void tryAcquire_ShouldReject_WhenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 100, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    /**
+     * Vérifie que la limite diminue de manière multiplicative lorsque la latence dépasse le seuil.
+     */
+    @Test
+    void onComplete_ShouldDecreaseLimit_WhenLatencyAboveThreshold() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 100, 100, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onComplete(SLOW, true);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onComplete(SLOW, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    /**
+     * Vérifie que la limite augmente de manière additive tant qu'elle est utilisée et que la latence est bonne.
+     */
+    @Test
+    void onComplete_ShouldIncreaseLimit_WhenLatencyIsGoodAndLimitUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 3, 100, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onComplete(FAST, true);
+        assertEquals(3, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.onComplete(FAST, true);
+        assertEquals(3, limiter.getLimit(), "la limite ne dépasse pas le plafond");
+    }
+
+    /**
+     * Vérifie que la limite courante et les refus sont exposés comme métriques.
+     */
+    @Test
+    void bindTo_ShouldExposeLimitAndRejections() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("transfer", 1, 1, 10, 100, 0.5);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        assertEquals(1.0, registry.get("paymybuddy.limiter.limit").tag("endpoint", "transfer").gauge().value());
+        assertEquals(1.0, registry.get("paymybuddy.limiter.rejected").functionCounter().count());
+    }
+
+    /**
+     * Vérifie que le filtre répond 503 sans appeler le contrôleur lorsque la limite est atteinte.
+     */
+    @Test
+    void filter_ShouldReturnServiceUnavailable_WhenRejected() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("transfer", 1, 1, 10, 100, 0.5);
+        limiter.tryAcquire();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, "POST");
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/transaction"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verifyNoInteractions(chain);
+    }
+
+    /**
+     * Vérifie que le filtre ignore les méthodes non protégées.
+     */
+    @Test
+    void filter_ShouldIgnoreOtherMethods() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("transfer", 1, 1, 10, 100, 0.5);
+        limiter.tryAcquire();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, "POST");
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/transaction"), new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(any(), any());
+    }
+}
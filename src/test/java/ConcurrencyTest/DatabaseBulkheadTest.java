@@ -0,0 +1,108 @@
+package com.paymybuddy.concurrency;
+
+import com.paymybuddy.exception.BulkheadFullException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour la {@link DatabaseBulkhead} et son aspect.
+ */
+class DatabaseBulkheadTest {
+
+    private DatabaseBulkhead bulkhead;
+    private DatabaseBulkheadAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new DatabaseBulkhead(2, 50);
+        aspect = new DatabaseBulkheadAspect();
+        ReflectionTestUtils.setField(aspect, "databaseBulkhead", bulkhead);
+    }
+
+    /**
+     * Vérifie qu'une place est refusée une fois la capacité atteinte.
+     */
+    @Test
+    void acquire_ShouldThrowBulkheadFullException_WhenNoPermitAvailable() {
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+
+        bulkhead.release();
+        assertDoesNotThrow(bulkhead::acquire);
+    }
+
+    /**
+     * Vérifie que l'aspect libère sa place même si le service lève une exception.
+     */
+    @Test
+    void guard_ShouldReleasePermit_WhenServiceThrows() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("échec"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.guard(joinPoint));
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    /**
+     * Vérifie qu'un appel imbriqué ne réserve pas une seconde place.
+     */
+    @Test
+    void guard_ShouldNotReacquire_WhenNested() throws Throwable {
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenAnswer(invocation -> bulkhead.getAvailablePermits());
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> aspect.guard(inner));
+
+        Object availableInside = aspect.guard(outer);
+
+        assertEquals(1, availableInside);
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    /**
+     * Vérifie qu'une méthode annotée réserve ses places ensemble et les rend toutes.
+     */
+    @Test
+    void guard_ShouldReserveDeclaredPermits() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("twoConnections");
+        when(joinPoint.proceed()).thenAnswer(invocation -> bulkhead.getAvailablePermits());
+
+        assertEquals(0, aspect.guard(joinPoint));
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    /**
+     * Vérifie qu'une demande de places supérieure à la capacité est ramenée à celle-ci.
+     */
+    @Test
+    void acquire_ShouldCapPermitsToCapacity() {
+        assertEquals(2, bulkhead.acquirePermits(3));
+        assertEquals(0, bulkhead.getAvailablePermits());
+
+        bulkhead.releasePermits(2);
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    private static ProceedingJoinPoint joinPoint(String method) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Services.class.getDeclaredMethod(method));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+
+    static class Services {
+
+        @DatabasePermits(2)
+        void twoConnections() {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.dto.DashboardDTO;
+import com.paymybuddy.etag.UserVersions;
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.DashboardService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de test pour le contrôleur {@link DashboardController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private Claims claims;
+
+    @Spy
+    private UserVersions userVersions = new UserVersions();
+
+    /**
+     * Vérifie que le tableau de bord est renvoyé pour un token valide.
+     */
+    @Test
+    void getDashboard_ShouldReturnOk_WhenTokenIsValid() {
+        DashboardDTO dashboard = new DashboardDTO("user", "user@example.com", 100.0, List.of(), List.of());
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        when(dashboardService.getDashboard("user@example.com", 20)).thenReturn(dashboard);
+
+        ResponseEntity<?> response = dashboardController.getDashboard("Bearer valid-token", 20, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(dashboard, response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    /**
+     * Vérifie qu'un client présentant l'ETag courant reçoit un 304 sans lecture en base.
+     */
+    @Test
+    void getDashboard_ShouldReturnNotModified_WhenEtagMatches() {
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        String etag = userVersions.etag("user@example.com", "dashboard-20");
+
+        ResponseEntity<?> response = dashboardController.getDashboard("Bearer valid-token", 20, etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(dashboardService);
+    }
+
+    /**
+     * Vérifie qu'un ETag devient obsolète après une écriture concernant l'utilisateur.
+     */
+    @Test
+    void getDashboard_ShouldReturnOk_WhenUserChangedSinceEtag() {
+        DashboardDTO dashboard = new DashboardDTO("user", "user@example.com", 90.0, List.of(), List.of());
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        when(dashboardService.getDashboard("user@example.com", 20)).thenReturn(dashboard);
+        String etag = userVersions.etag("user@example.com", "dashboard-20");
+
+        userVersions.changed("user@example.com");
+        ResponseEntity<?> response = dashboardController.getDashboard("Bearer valid-token", 20, etag);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertSame(dashboard, response.getBody());
+    }
+
+    /**
+     * Vérifie que la taille de page demandée est bornée.
+     */
+    @Test
+    void getDashboard_ShouldCapLimit() {
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+
+        dashboardController.getDashboard("Bearer valid-token", 10_000, null);
+
+        verify(dashboardService).getDashboard("user@example.com", DashboardController.MAX_LIMIT);
+    }
+
+    /**
+     * Vérifie qu'un token invalide renvoie une erreur 401.
+     */
+    @Test
+    void getDashboard_ShouldReturnUnauthorized_WhenTokenIsInvalid() {
+        when(jwtTokenProvider.getClaimsFromToken("invalid-token")).thenThrow(new JwtException("Token invalide"));
+
+        ResponseEntity<?> response = dashboardController.getDashboard("Bearer invalid-token", 20, null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(dashboardService);
+    }
+
+    /**
+     * Vérifie qu'un utilisateur inconnu renvoie une erreur 400.
+     */
+    @Test
+    void getDashboard_ShouldReturnBadRequest_WhenUserNotFound() {
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("unknown@example.com");
+        when(dashboardService.getDashboard("unknown@example.com", 20))
+                .thenThrow(new EmailNotFoundException("Utilisateur non trouvé."));
+
+        ResponseEntity<?> response = dashboardController.getDashboard("Bearer valid-token", 20, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
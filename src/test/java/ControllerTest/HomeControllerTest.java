@@ -1,8 +1,10 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.User;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.service.UserService;
+import com.paymybuddy.view.ProfilePageView;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +33,9 @@ class HomeControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserVersions userVersions;
+
     @Mock
     private Claims claims;
 
@@ -134,6 +139,24 @@ class HomeControllerTest {
         assertEquals("profil", result);
     }
 
+    /**
+     * Vérifie que la version des données est lue avant l'utilisateur et sert de clé au rendu.
+     */
+    @Test
+    void showProfilPage_WithValidToken_AddsRenderKeyBeforeReadingUser() {
+        User user = new User();
+        when(userVersions.etag("test@example.com", "profil")).thenReturn("\"profil-v1\"");
+        when(userService.findUserByEmail("test@example.com")).thenReturn(user);
+
+        homeController.showProfilPage(validToken, model);
+
+        var order = inOrder(userVersions, userService, model);
+        order.verify(userVersions).etag("test@example.com", "profil");
+        order.verify(model).addAttribute(ProfilePageView.KEY, new ProfilePageView.Key("test@example.com", "\"profil-v1\""));
+        order.verify(userService).findUserByEmail("test@example.com");
+        order.verify(model).addAttribute("user", user);
+    }
+
     /**
      * Vérifie que la page de profil redirige vers "connexion" si le token est invalide.
      */
@@ -2,6 +2,9 @@ package com.paymybuddy.controller;
 
 import com.paymybuddy.controller.LoginController;
 import com.paymybuddy.dto.LoginDTO;
+import com.paymybuddy.exception.ErrorResponse;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.service.LoginService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -50,9 +53,9 @@ public class LoginControllerTest {
     @Test
     void login_ShouldReturnRedirectAndSetCookie_WhenCredentialsAreValid() {
         String token = "valid-jwt-token";
-        when(loginService.authenticate(loginDTO.getEmail(), loginDTO.getPassword())).thenReturn(token);
+        when(loginService.login(loginDTO.getEmail(), loginDTO.getPassword())).thenReturn(Result.success(token));
 
-        ResponseEntity<Void> responseEntity = loginController.login(loginDTO.getEmail(), loginDTO.getPassword(), response);
+        ResponseEntity<?> responseEntity = loginController.login(loginDTO.getEmail(), loginDTO.getPassword(), response);
 
         // Vérifie que la réponse a un statut HTTP 302 FOUND
         assertEquals(HttpStatus.FOUND, responseEntity.getStatusCode());
@@ -72,58 +75,53 @@ public class LoginControllerTest {
 
     /**
      * Test pour la connexion échouée d'un utilisateur avec des identifiants incorrects.
-     * Vérifie que le contrôleur gère correctement l'exception d'authentification.
+     * Vérifie que le contrôleur répond 401 avec le message d'erreur, sans déposer de cookie.
      */
     @Test
     void login_ShouldReturnUnauthorized_WhenCredentialsAreInvalid() {
-        when(loginService.authenticate(loginDTO.getEmail(), loginDTO.getPassword()))
-                .thenThrow(new IllegalArgumentException("Invalid credentials"));
+        when(loginService.login(loginDTO.getEmail(), loginDTO.getPassword()))
+                .thenReturn(Result.failure(BusinessFailure.INVALID_LOGIN));
 
-        // Test de la méthode pour les credentials incorrects
-        try {
-            loginController.login(loginDTO.getEmail(), loginDTO.getPassword(), response);
-            fail("Expected an exception to be thrown");
-        } catch (IllegalArgumentException e) {
-            // Vérifie que l'exception est bien lancée
-            assertEquals("Invalid credentials", e.getMessage());
-        }
+        ResponseEntity<?> responseEntity = loginController.login(loginDTO.getEmail(), loginDTO.getPassword(), response);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        ErrorResponse body = (ErrorResponse) responseEntity.getBody();
+        assertEquals(401, body.getStatus());
+        assertEquals("Email ou mot de passe invalide", body.getMessage());
+        verify(response, never()).addCookie(any());
     }
 
     /**
      * Test pour la connexion échouée d'un utilisateur avec un email invalide.
-     * Vérifie que le contrôleur gère correctement une exception spécifique.
+     * Vérifie que le contrôleur répond 401, comme pour un mot de passe incorrect.
      */
     @Test
-    void login_ShouldReturnBadRequest_WhenEmailIsInvalid() {
+    void login_ShouldReturnUnauthorized_WhenEmailIsInvalid() {
         // Simuler l'échec de l'authentification avec un email invalide
         String invalidEmail = "invalid-email@example.com";
-        when(loginService.authenticate(invalidEmail, loginDTO.getPassword()))
-                .thenThrow(new IllegalArgumentException("Email not found"));
+        when(loginService.login(invalidEmail, loginDTO.getPassword()))
+                .thenReturn(Result.failure(BusinessFailure.INVALID_LOGIN));
 
-        try {
-            loginController.login(invalidEmail, loginDTO.getPassword(), response);
-            fail("Expected an exception to be thrown");
-        } catch (IllegalArgumentException e) {
-            // Vérifie que l'exception a été lancée pour email invalide
-            assertEquals("Email not found", e.getMessage());
-        }
+        ResponseEntity<?> responseEntity = loginController.login(invalidEmail, loginDTO.getPassword(), response);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(response, never()).addCookie(any());
     }
 
     /**
-     * Test pour la connexion échouée d'un utilisateur avec un mot de passe incorrect.
-     * Vérifie que le contrôleur gère correctement une exception d'authentification.
+     * Test pour une erreur inattendue pendant l'authentification.
+     * Vérifie que l'exception est propagée au gestionnaire global d'exceptions.
      */
     @Test
-    void login_ShouldReturnBadRequest_WhenPasswordIsIncorrect() {
-        // Simuler l'échec de l'authentification avec un mot de passe incorrect
-        when(loginService.authenticate(loginDTO.getEmail(), loginDTO.getPassword()))
+    void login_ShouldPropagateException_WhenUnexpectedErrorOccurs() {
+        when(loginService.login(loginDTO.getEmail(), loginDTO.getPassword()))
                 .thenThrow(new IllegalArgumentException("Incorrect password"));
 
         try {
             loginController.login(loginDTO.getEmail(), loginDTO.getPassword(), response);
             fail("Expected an exception to be thrown");
         } catch (IllegalArgumentException e) {
-            // Vérifie que l'exception a été lancée pour mot de passe incorrect
+            // Vérifie que l'exception a bien été propagée
             assertEquals("Incorrect password", e.getMessage());
         }
     }
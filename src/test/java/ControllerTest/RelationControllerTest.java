@@ -1,5 +1,9 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.etag.UserVersions;
+import com.paymybuddy.model.UserRelations;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.service.RelationService;
 import com.paymybuddy.security.JwtTokenProvider;
 import io.jsonwebtoken.Claims;
@@ -9,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +45,9 @@ class RelationControllerTest {
     @Mock
     private Claims claims;
 
+    @Spy
+    private UserVersions userVersions = new UserVersions();
+
     @Mock
     private Model model;
 
@@ -65,7 +73,7 @@ class RelationControllerTest {
     void addRelation_ShouldReturnSuccess_WhenRelationAdded() {
         when(jwtTokenProvider.getClaimsFromToken(bearerToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(relationService.addRelation(currentUserEmail, addRelationRequest.getRelationEmail())).thenReturn(true);
+        when(relationService.relate(currentUserEmail, addRelationRequest.getRelationEmail())).thenReturn(Result.success(new UserRelations()));
 
         String result = relationController.addRelation(bearerToken, addRelationRequest.getRelationEmail(), model);
 
@@ -81,7 +89,8 @@ class RelationControllerTest {
     void addRelation_ShouldReturnFailure_WhenRelationExists() {
         when(jwtTokenProvider.getClaimsFromToken(bearerToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(relationService.addRelation(currentUserEmail, addRelationRequest.getRelationEmail())).thenReturn(false);
+        when(relationService.relate(currentUserEmail, addRelationRequest.getRelationEmail()))
+                .thenReturn(Result.failure(BusinessFailure.RELATION_ALREADY_EXISTS));
 
         String result = relationController.addRelation(bearerToken, addRelationRequest.getRelationEmail(), model);
 
@@ -89,6 +98,22 @@ class RelationControllerTest {
         verify(model).addAttribute("message", "Échec de l'ajout de la relation (elle existe peut-être déjà).");
     }
 
+    /**
+     * Vérifie que la raison d'un refus est affichée lorsque l'email de la relation est inconnu.
+     */
+    @Test
+    void addRelation_ShouldReturnReason_WhenRelationEmailNotFound() {
+        when(jwtTokenProvider.getClaimsFromToken(bearerToken)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(currentUserEmail);
+        when(relationService.relate(currentUserEmail, addRelationRequest.getRelationEmail()))
+                .thenReturn(Result.failure(BusinessFailure.RELATION_EMAIL_NOT_FOUND));
+
+        String result = relationController.addRelation(bearerToken, addRelationRequest.getRelationEmail(), model);
+
+        assertEquals("relations", result);
+        verify(model).addAttribute("message", "Une erreur est survenue : L'adresse email de la relation n'existe pas.");
+    }
+
     /**
      * Vérifie que l'utilisateur est redirigé vers la page de connexion
      * si le token JWT est invalide.
@@ -110,7 +135,7 @@ class RelationControllerTest {
     void addRelation_ShouldReturnError_WhenExceptionOccurs() {
         when(jwtTokenProvider.getClaimsFromToken(bearerToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(relationService.addRelation(currentUserEmail, addRelationRequest.getRelationEmail()))
+        when(relationService.relate(currentUserEmail, addRelationRequest.getRelationEmail()))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         String result = relationController.addRelation(bearerToken, addRelationRequest.getRelationEmail(), model);
@@ -131,7 +156,7 @@ class RelationControllerTest {
         List<String> relations = Arrays.asList("friend@example.com", "anotherfriend@example.com");
         when(relationService.getUserRelations(currentUserEmail)).thenReturn(relations);
 
-        ResponseEntity<?> response = relationController.getUserRelations(validToken);
+        ResponseEntity<?> response = relationController.getUserRelations(validToken, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         RelationController.ApiResponse apiResponse = (RelationController.ApiResponse) response.getBody();
@@ -151,7 +176,7 @@ class RelationControllerTest {
         List<String> relations = Arrays.asList(); // liste vide
         when(relationService.getUserRelations(currentUserEmail)).thenReturn(relations);
 
-        ResponseEntity<?> response = relationController.getUserRelations(validToken);
+        ResponseEntity<?> response = relationController.getUserRelations(validToken, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         RelationController.ApiResponse apiResponse = (RelationController.ApiResponse) response.getBody();
@@ -165,7 +190,7 @@ class RelationControllerTest {
      */
     @Test
     void getUserRelations_ShouldReturnUnauthorized_WhenTokenIsEmpty() {
-        ResponseEntity<?> response = relationController.getUserRelations("");
+        ResponseEntity<?> response = relationController.getUserRelations("", null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         RelationController.ApiResponse apiResponse = (RelationController.ApiResponse) response.getBody();
@@ -180,7 +205,7 @@ class RelationControllerTest {
     void getUserRelations_ShouldReturnUnauthorized_WhenTokenIsExpired() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenThrow(new JwtException("Token expired"));
 
-        ResponseEntity<?> response = relationController.getUserRelations(validToken);
+        ResponseEntity<?> response = relationController.getUserRelations(validToken, null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         RelationController.ApiResponse apiResponse = (RelationController.ApiResponse) response.getBody();
@@ -195,7 +220,7 @@ class RelationControllerTest {
     void getUserRelations_ShouldReturnUnauthorized_WhenTokenIsInvalid() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenThrow(new JwtException("Invalid token"));
 
-        ResponseEntity<?> response = relationController.getUserRelations(validToken);
+        ResponseEntity<?> response = relationController.getUserRelations(validToken, null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         RelationController.ApiResponse apiResponse = (RelationController.ApiResponse) response.getBody();
@@ -0,0 +1,76 @@
+package com.paymybuddy.controller;
+
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.sse.UserStreamRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de test pour le contrôleur {@link StreamController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class StreamControllerTest {
+
+    @InjectMocks
+    private StreamController streamController;
+
+    @Mock
+    private UserStreamRegistry userStreamRegistry;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private Claims claims;
+
+    /**
+     * Vérifie qu'un flux est ouvert pour un token valide.
+     */
+    @Test
+    void stream_ShouldOpenStream_WhenTokenIsValid() {
+        SseEmitter emitter = new SseEmitter();
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        when(userStreamRegistry.open("user@example.com")).thenReturn(emitter);
+
+        ResponseEntity<SseEmitter> response = streamController.stream("valid-token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    /**
+     * Vérifie qu'aucun flux n'est ouvert sans token ou avec un token invalide.
+     */
+    @Test
+    void stream_ShouldReturnUnauthorized_WhenTokenIsMissingOrInvalid() {
+        when(jwtTokenProvider.getClaimsFromToken("invalid-token")).thenThrow(new JwtException("Token invalide"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, streamController.stream("").getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, streamController.stream("invalid-token").getStatusCode());
+        verifyNoInteractions(userStreamRegistry);
+    }
+
+    /**
+     * Vérifie qu'une instance saturée renvoie une erreur 503.
+     */
+    @Test
+    void stream_ShouldReturnServiceUnavailable_WhenRegistryIsFull() {
+        when(jwtTokenProvider.getClaimsFromToken("valid-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        when(userStreamRegistry.open("user@example.com")).thenReturn(null);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, streamController.stream("valid-token").getStatusCode());
+    }
+}
@@ -1,10 +1,14 @@
 package com.paymybuddy.controller;
 
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.service.TransactionService;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.exception.EmailNotFoundException;
-import com.paymybuddy.exception.InvalidAmountException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +47,9 @@ class TransactionControllerTest {
     @Mock
     private Claims claims;
 
+    @Spy
+    private UserVersions userVersions = new UserVersions();
+
     private String validToken = "valid-token";
 
 
@@ -65,6 +73,24 @@ class TransactionControllerTest {
         transactionRequest.setAmount(100.0);
     }
 
+    private Transactions transaction(String description, double amount) {
+        User sender = new User();
+        sender.setEmail(currentUserEmail);
+        sender.setUsername("sender");
+        sender.setPassword("$2a$10$hash");
+        User receiver = new User();
+        receiver.setEmail("receiver@example.com");
+        receiver.setUsername("receiver");
+        receiver.setPassword("$2a$10$hash");
+
+        Transactions transaction = new Transactions();
+        transaction.setSender(sender);
+        transaction.setReceiver(receiver);
+        transaction.setDescription(description);
+        transaction.setAmount(amount);
+        return transaction;
+    }
+
     /**
      * Teste la création d'une transaction avec des données valides.
      * Vérifie que la transaction est correctement créée et que la réponse est "Created".
@@ -74,17 +100,15 @@ class TransactionControllerTest {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
 
-        Transactions expectedTransaction = new Transactions();
-        expectedTransaction.setDescription(transactionRequest.getDescription());
-        expectedTransaction.setAmount(transactionRequest.getAmount());
+        Transactions expectedTransaction = transaction(transactionRequest.getDescription(), transactionRequest.getAmount());
 
-        when(transactionService.addTransaction(any(), any(), any(), anyDouble()))
-                .thenReturn(expectedTransaction);
+        when(transactionService.transfer(any(), any(), any(), anyDouble()))
+                .thenReturn(Result.success(expectedTransaction));
 
         ResponseEntity<?> response = transactionController.createTransaction(bearerToken, transactionRequest);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertEquals(expectedTransaction, response.getBody());
+        assertEquals(TransactionDTO.from(expectedTransaction), response.getBody());
     }
 
     /**
@@ -111,14 +135,14 @@ class TransactionControllerTest {
     void createTransaction_ShouldReturnBadRequest_WhenEmailNotFound() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(transactionService.addTransaction(any(), any(), any(), anyDouble()))
-                .thenThrow(new EmailNotFoundException("Email not found"));
+        when(transactionService.transfer(any(), any(), any(), anyDouble()))
+                .thenReturn(Result.failure(BusinessFailure.RECEIVER_NOT_FOUND));
 
         ResponseEntity<?> response = transactionController.createTransaction(bearerToken, transactionRequest);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
-        assertEquals("Email not found", body.getMessage());
+        assertEquals("L'utilisateur destinataire n'existe pas.", body.getMessage());
     }
 
     /**
@@ -129,14 +153,32 @@ class TransactionControllerTest {
     void createTransaction_ShouldReturnBadRequest_WhenInvalidAmount() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(transactionService.addTransaction(any(), any(), any(), anyDouble()))
-                .thenThrow(new InvalidAmountException("Invalid amount"));
+        when(transactionService.transfer(any(), any(), any(), anyDouble()))
+                .thenReturn(Result.failure(BusinessFailure.INVALID_AMOUNT));
+
+        ResponseEntity<?> response = transactionController.createTransaction(bearerToken, transactionRequest);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
+        assertEquals("Le montant doit être supérieur à zéro.", body.getMessage());
+    }
+
+    /**
+     * Teste la création d'une transaction avec un solde insuffisant.
+     * Vérifie que la réponse retournée est "BadRequest" avec la raison du refus.
+     */
+    @Test
+    void createTransaction_ShouldReturnBadRequest_WhenSoldeInsufficient() {
+        when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(currentUserEmail);
+        when(transactionService.transfer(any(), any(), any(), anyDouble()))
+                .thenReturn(Result.failure(BusinessFailure.INSUFFICIENT_SOLDE));
 
         ResponseEntity<?> response = transactionController.createTransaction(bearerToken, transactionRequest);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
-        assertEquals("Invalid amount", body.getMessage());
+        assertEquals("Solde insuffisant.", body.getMessage());
     }
 
     /**
@@ -147,7 +189,7 @@ class TransactionControllerTest {
     void createTransaction_ShouldReturnBadRequest_WhenGeneralError() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
-        when(transactionService.addTransaction(any(), any(), any(), anyDouble()))
+        when(transactionService.transfer(any(), any(), any(), anyDouble()))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         ResponseEntity<?> response = transactionController.createTransaction(bearerToken, transactionRequest);
@@ -166,17 +208,17 @@ class TransactionControllerTest {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
         when(claims.getSubject()).thenReturn(currentUserEmail);
 
-        List<Transactions> transactions = List.of(new Transactions());
+        List<Transactions> transactions = List.of(transaction("Test transaction", 100.0));
 
         when(transactionService.getUserTransactions(currentUserEmail)).thenReturn(transactions);
 
-        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken);
+        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, Object> outerMap = (Map<String, Object>) response.getBody();
         Map<String, Object> dataMap = (Map<String, Object>) outerMap.get("data");
 
-        assertEquals(transactions, dataMap.get("transactions"));
+        assertEquals(List.of(TransactionDTO.from(transactions.get(0))), dataMap.get("transactions"));
     }
 
     /**
@@ -187,7 +229,7 @@ class TransactionControllerTest {
     void getUserTransactions_ShouldReturnUnauthorized_WhenTokenInvalid() {
         when(jwtTokenProvider.getClaimsFromToken(validToken)).thenThrow(new JwtException("Invalid token"));
 
-        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken);
+        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken, null, null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
@@ -205,7 +247,7 @@ class TransactionControllerTest {
         when(transactionService.getUserTransactions(currentUserEmail))
                 .thenThrow(new EmailNotFoundException("Email not found"));
 
-        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken);
+        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
@@ -223,7 +265,7 @@ class TransactionControllerTest {
         when(transactionService.getUserTransactions(currentUserEmail))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
-        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken);
+        ResponseEntity<?> response = transactionController.getUserTransactions(bearerToken, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         TransactionController.ApiResponse body = (TransactionController.ApiResponse) response.getBody();
@@ -1,11 +1,14 @@
 package com.paymybuddy.controller;
 
 import com.paymybuddy.dto.UserDTO;
+import com.paymybuddy.dto.UserProfileDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.model.User;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.service.UserService;
 import com.paymybuddy.service.LoginService;
 import com.paymybuddy.exception.EmailAlreadyExistsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletResponse;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,6 +47,9 @@ public class UserControllerTest {
     @Mock
     private Claims claims;
 
+    @Spy
+    private UserVersions userVersions = new UserVersions();
+
     @Mock
     private HttpServletResponse response;
     private UserDTO userDTO;
@@ -94,8 +101,8 @@ public class UserControllerTest {
         ResponseEntity<?> response = userController.updateUserProfile("Bearer " + validToken, userDTO);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody() instanceof User);
-        assertEquals("johnDoeUpdated", ((User) response.getBody()).getUsername());
+        assertTrue(response.getBody() instanceof UserProfileDTO);
+        assertEquals("johnDoeUpdated", ((UserProfileDTO) response.getBody()).username());
     }
 
     /**
@@ -149,10 +156,35 @@ public class UserControllerTest {
         when(claims.getSubject()).thenReturn(currentUserEmail);
         when(userService.findUserByEmail(currentUserEmail)).thenReturn(user);
 
-        ResponseEntity<User> response = userController.getUserProfile("Bearer " + validToken);
+        ResponseEntity<UserProfileDTO> response = userController.getUserProfile("Bearer " + validToken, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(currentUserEmail, response.getBody().getEmail());
+        assertEquals(currentUserEmail, response.getBody().email());
+    }
+
+    /**
+     * Vérifie que le profil renvoyé, une fois sérialisé en JSON, ne contient pas le mot de passe haché.
+     */
+    @Test
+    void getUserProfile_DoesNotSerializePassword() throws Exception {
+        String validToken = "valid.jwt.token";
+        String currentUserEmail = "john.doe@example.com";
+
+        User user = new User();
+        user.setEmail(currentUserEmail);
+        user.setUsername("johnDoe");
+        user.setPassword("$2a$10$hashedPassword");
+
+        when(jwtTokenProvider.getClaimsFromToken(validToken)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(currentUserEmail);
+        when(userService.findUserByEmail(currentUserEmail)).thenReturn(user);
+
+        ResponseEntity<UserProfileDTO> response = userController.getUserProfile("Bearer " + validToken, null);
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(response.getBody());
+
+        assertTrue(json.contains("\"email\":\"" + currentUserEmail + "\""));
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("hashedPassword"));
     }
 
     /**
@@ -164,7 +196,7 @@ public class UserControllerTest {
 
         when(jwtTokenProvider.getClaimsFromToken(invalidToken)).thenThrow(new JwtException("Invalid token"));
 
-        ResponseEntity<User> response = userController.getUserProfile("Bearer " + invalidToken);
+        ResponseEntity<UserProfileDTO> response = userController.getUserProfile("Bearer " + invalidToken, null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         assertNull(response.getBody());
@@ -182,7 +214,7 @@ public class UserControllerTest {
         when(claims.getSubject()).thenReturn(currentUserEmail);
         when(userService.findUserByEmail(currentUserEmail)).thenThrow(new RuntimeException("Unexpected error"));
 
-        ResponseEntity<User> response = userController.getUserProfile("Bearer " + validToken);
+        ResponseEntity<UserProfileDTO> response = userController.getUserProfile("Bearer " + validToken, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNull(response.getBody());
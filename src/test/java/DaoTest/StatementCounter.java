@@ -0,0 +1,50 @@
+package com.paymybuddy.dao;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compteur des requêtes SQL émises par Hibernate sur le thread courant.
+ * Branché via {@code hibernate.session_factory.statement_inspector} dans les tests d'intégration
+ * des DAO, il fait échouer le build lorsqu'une modification introduit des requêtes N+1.
+ */
+public class StatementCounter implements StatementInspector {
+
+    static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.paymybuddy.dao.StatementCounter";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Remet le compteur à zéro pour le thread courant.
+     */
+    static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Nombre de requêtes émises depuis le dernier {@link #reset()}.
+     */
+    static int count() {
+        return STATEMENTS.get().size();
+    }
+
+    /**
+     * Vérifie qu'au plus {@code max} requêtes ont été émises, en listant les requêtes en cas d'échec.
+     */
+    static void assertAtMost(int max) {
+        List<String> statements = STATEMENTS.get();
+        assertTrue(statements.size() <= max, () -> "Attendu au plus " + max + " requêtes, " + statements.size()
+                + " émises :\n" + String.join("\n", statements));
+    }
+}
@@ -0,0 +1,112 @@
+package com.paymybuddy.dao;
+
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration du {@link TransactionDAO} sur la base H2 embarquée.
+ * Vérifie le nombre de requêtes émises : les associations {@code sender}/{@code receiver}
+ * étant en chargement immédiat, une régression N+1 ferait exploser ce nombre.
+ */
+@DataJpaTest(properties = StatementCounter.PROPERTY)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({UserDAO.class, TransactionDAO.class, UserRelationsDAO.class})
+public class TransactionDAOTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private TransactionDAO transactionDAO;
+
+    /**
+     * Crée un utilisateur ayant échangé {@value #ROWS} transactions avec autant de contreparties distinctes,
+     * puis vide le contexte de persistance pour que les lectures partent de la base.
+     */
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("owner@example.com");
+        for (int i = 0; i < ROWS; i++) {
+            User other = persistUser("user" + i + "@example.com");
+            Transactions transaction = new Transactions();
+            transaction.setSender(i % 2 == 0 ? owner : other);
+            transaction.setReceiver(i % 2 == 0 ? other : owner);
+            transaction.setDescription("Transfert " + i);
+            transaction.setAmount(1);
+            transaction.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+    }
+
+    /**
+     * Vérifie que l'historique complet d'un utilisateur (chemin de {@code getUserTransactions})
+     * est lu en au plus 2 requêtes pour {@value #ROWS} lignes.
+     */
+    @Test
+    void findBySenderOrReceiver_ShouldNotIssueOneQueryPerCounterparty() {
+        User owner = userDAO.findByEmail("owner@example.com");
+        List<Transactions> transactions = transactionDAO.findBySenderOrReceiver(owner, LocalDateTime.now().minusDays(1));
+
+        assertEquals(ROWS, transactions.size());
+        transactions.forEach(t -> assertNotNull(t.getSender().getEmail() + t.getReceiver().getEmail()));
+        StatementCounter.assertAtMost(2);
+    }
+
+    /**
+     * Vérifie que les transactions antérieures à la borne basse ne sont pas lues.
+     */
+    @Test
+    void findBySenderOrReceiver_ShouldExcludeTransactionsBeforeBound() {
+        User owner = userDAO.findByEmail("owner@example.com");
+
+        List<Transactions> transactions = transactionDAO.findBySenderOrReceiver(owner, LocalDateTime.now().minusSeconds(99 * 60 + 30));
+
+        assertEquals(100, transactions.size());
+    }
+
+    /**
+     * Vérifie que la page de transactions récentes est lue en une seule requête.
+     */
+    @Test
+    void findRecentBySenderOrReceiver_ShouldIssueSingleQuery() {
+        User owner = userDAO.findByEmail("owner@example.com");
+        StatementCounter.reset();
+
+        List<Transactions> transactions = transactionDAO.findRecentBySenderOrReceiver(owner, LocalDateTime.now().minusDays(1), 100);
+
+        assertEquals(100, transactions.size());
+        assertEquals("user0@example.com", transactions.get(0).getReceiver().getEmail());
+        StatementCounter.assertAtMost(1);
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername(email.substring(0, email.indexOf('@')));
+        user.setPassword("hash");
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+package com.paymybuddy.dao;
+
+import com.paymybuddy.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration du {@link UserDAO} sur la base H2 embarquée.
+ * Vérifie le nombre de requêtes émises par les recherches d'utilisateur, appelées à chaque requête HTTP.
+ */
+@DataJpaTest(properties = StatementCounter.PROPERTY)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({UserDAO.class, TransactionDAO.class, UserRelationsDAO.class})
+public class UserDAOTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    /**
+     * Vérifie que les recherches par email et par nom d'utilisateur émettent une requête chacune.
+     */
+    @Test
+    void findByEmailAndUsername_ShouldIssueOneQueryEach() {
+        User user = new User();
+        user.setEmail("alice@example.com");
+        user.setUsername("alice");
+        user.setPassword("hash");
+        userDAO.save(user);
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+
+        assertEquals("alice", userDAO.findByEmail("alice@example.com").getUsername());
+        assertEquals("alice@example.com", userDAO.findByUsername("alice").getEmail());
+        assertNull(userDAO.findByEmail("bob@example.com"));
+        assertEquals(3, StatementCounter.count());
+    }
+}
@@ -0,0 +1,114 @@
+package com.paymybuddy.dao;
+
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserRelations;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration du {@link UserRelationsDAO} sur la base H2 embarquée.
+ * Vérifie que les utilisateurs des relations ne sont pas chargés requête par requête.
+ */
+@DataJpaTest(properties = StatementCounter.PROPERTY)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({UserDAO.class, TransactionDAO.class, UserRelationsDAO.class})
+public class UserRelationsDAOTest {
+
+    private static final int RELATIONS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRelationsDAO userRelationsDAO;
+
+    private int ownerId;
+    private int firstFriendId;
+
+    /**
+     * Crée un utilisateur ayant {@value #RELATIONS} relations, dans les deux sens,
+     * puis vide le contexte de persistance.
+     */
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("owner@example.com");
+        for (int i = 0; i < RELATIONS; i++) {
+            User friend = persistUser("friend" + i + "@example.com");
+            if (i == 0) {
+                firstFriendId = friend.getUserId();
+            }
+            UserRelations relation = new UserRelations();
+            relation.setUser1(i % 2 == 0 ? owner : friend);
+            relation.setUser2(i % 2 == 0 ? friend : owner);
+            relation.setRelationshipStatus("friend");
+            relation.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(relation);
+        }
+        ownerId = owner.getUserId();
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+    }
+
+    /**
+     * Vérifie que toutes les relations et leurs utilisateurs sont lus en une seule requête.
+     */
+    @Test
+    void getUserRelations_ShouldIssueSingleQuery() {
+        List<UserRelations> relations = userRelationsDAO.getUserRelations(ownerId);
+
+        assertEquals(RELATIONS, relations.size());
+        relations.forEach(r -> assertNotNull(r.getUser1().getEmail() + r.getUser2().getEmail()));
+        StatementCounter.assertAtMost(1);
+    }
+
+    /**
+     * Vérifie que la recherche d'une relation, dans un sens ou dans l'autre, se fait en une seule requête.
+     */
+    @Test
+    void findRelationByIds_ShouldIssueSingleQuery() {
+        UserRelations relation = userRelationsDAO.findRelationByIds(firstFriendId, ownerId);
+
+        assertNotNull(relation);
+        assertEquals("friend0@example.com", relation.getUser2().getEmail());
+        StatementCounter.assertAtMost(1);
+    }
+
+    /**
+     * Vérifie qu'une relation enregistrée dans les deux sens est bien trouvée.
+     */
+    @Test
+    void findRelationByIds_ShouldFindBidirectionalRelation() {
+        UserRelations reverse = new UserRelations();
+        reverse.setUser1(entityManager.find(User.class, firstFriendId));
+        reverse.setUser2(entityManager.find(User.class, ownerId));
+        reverse.setRelationshipStatus("friend");
+        entityManager.persist(reverse);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNotNull(userRelationsDAO.findRelationByIds(ownerId, firstFriendId));
+        assertNotNull(userRelationsDAO.findRelationByIds(firstFriendId, ownerId));
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername(email.substring(0, email.indexOf('@')));
+        user.setPassword("hash");
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,109 @@
+package com.paymybuddy.dataset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test du {@link DatasetGenerator} sur une base H2 en mémoire au schéma de l'application.
+ */
+public class DatasetGeneratorTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:dataset;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE user (user_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, username VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, created_at TIMESTAMP, solde DOUBLE NOT NULL)");
+        jdbc.execute("CREATE TABLE user_relations (relation_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "user_id_1 INT NOT NULL REFERENCES user(user_id), user_id_2 INT NOT NULL REFERENCES user(user_id), "
+                + "relationship_status VARCHAR(255) NOT NULL, created_at TIMESTAMP, UNIQUE (user_id_1, user_id_2))");
+        jdbc.execute("CREATE TABLE transactions (transaction_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "user_id_sender INT NOT NULL REFERENCES user(user_id), user_id_receiver INT NOT NULL REFERENCES user(user_id), "
+                + "description VARCHAR(255), amount DOUBLE NOT NULL, created_at TIMESTAMP)");
+    }
+
+    /**
+     * Vérifie les volumes écrits, l'absence de relation en double ou réflexive, et que chaque
+     * transaction relie deux utilisateurs en relation, à une date passée dans la période.
+     */
+    @Test
+    void generate_ShouldWriteConsistentDataset() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(dataSource, DatasetSpec.of(1_000, 10_000, 20_000).withThreads(4));
+
+        DatasetGenerator.DatasetReport report = generator.generate();
+
+        assertEquals(1_000, count("SELECT COUNT(*) FROM user"));
+        assertEquals(report.relations(), count("SELECT COUNT(*) FROM user_relations"));
+        assertEquals(10_000, report.relations(), 1_000);
+        assertEquals(20_000, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_relations WHERE user_id_1 = user_id_2"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions t "
+                + "WHERE NOT EXISTS (SELECT 1 FROM user_relations r WHERE r.user_id_1 = t.user_id_sender AND r.user_id_2 = t.user_id_receiver) "
+                + "AND NOT EXISTS (SELECT 1 FROM user_relations r WHERE r.user_id_1 = t.user_id_receiver AND r.user_id_2 = t.user_id_sender)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions WHERE created_at > CURRENT_TIMESTAMP "
+                + "OR created_at < DATEADD('DAY', -366, CURRENT_TIMESTAMP)"));
+    }
+
+    /**
+     * Vérifie que les degrés suivent une loi de puissance, que chaque utilisateur est en relation
+     * avec le suivant et que le hash partagé correspond au mot de passe du jeu de données.
+     */
+    @Test
+    void generate_ShouldProducePowerLawDegreesAndUsableAccounts() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(dataSource, DatasetSpec.of(2_000, 20_000, 0));
+
+        generator.generate();
+
+        long maxDegree = count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM user_relations GROUP BY user_id_1)");
+        assertTrue(maxDegree > 20 * 10, "degré maximal : " + maxDegree);
+        assertEquals(2_000, count("SELECT COUNT(*) FROM user u JOIN user_relations r ON r.user_id_1 = u.user_id "
+                + "AND r.user_id_2 = CASE WHEN u.user_id = 2000 THEN 1 ELSE u.user_id + 1 END"));
+        String hash = jdbc.queryForObject("SELECT password FROM user WHERE email = ?", String.class, generator.model().email(7));
+        assertTrue(new BCryptPasswordEncoder().matches(DatasetSpec.DEFAULT_PASSWORD, hash));
+
+        // L'identité a été recalée : une insertion sans identifiant ne doit pas entrer en conflit
+        jdbc.update("INSERT INTO user (username, email, password, solde) VALUES ('new', 'new@example.com', 'x', 0)");
+        assertEquals(2_001, count("SELECT user_id FROM user WHERE email = 'new@example.com'"));
+    }
+
+    /**
+     * Vérifie que le modèle est déterministe et que les paires tirées sont bien en relation.
+     */
+    @Test
+    void model_ShouldBeDeterministic() {
+        DatasetModel model = new DatasetModel(DatasetSpec.of(500, 5_000, 0), LocalDateTime.now());
+        SplittableRandom first = new SplittableRandom(1);
+        SplittableRandom second = new SplittableRandom(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            int[] pair = model.randomRelation(first);
+            assertArrayEquals(pair, model.randomRelation(second));
+            assertTrue(isRelated(model, pair[0], pair[1]) || isRelated(model, pair[1], pair[0]));
+        }
+    }
+
+    private static boolean isRelated(DatasetModel model, int user, int other) {
+        for (int k = 0; k < model.degree(user); k++) {
+            if (model.target(user, k) == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long count(String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.paymybuddy.etag;
+
+import com.paymybuddy.routing.ReadYourWritesTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de {@link UserVersions}.
+ */
+class UserVersionsTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final UserVersions userVersions = new UserVersions(now::get);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Vérifie que l'ETag ne change que pour l'utilisateur concerné par l'écriture.
+     */
+    @Test
+    void changed_ShouldOnlyChangeEtagOfGivenUsers() {
+        String alice = userVersions.etag("alice@example.com", "dashboard-20");
+        String bob = userVersions.etag("bob@example.com", "dashboard-20");
+
+        userVersions.changed("Alice@Example.com");
+
+        assertNotEquals(alice, userVersions.etag("alice@example.com", "dashboard-20"));
+        assertEquals(bob, userVersions.etag("bob@example.com", "dashboard-20"));
+        assertNotEquals(userVersions.etag("alice@example.com", "profile"), userVersions.etag("alice@example.com", "dashboard-20"));
+    }
+
+    /**
+     * Vérifie que deux utilisateurs sans écriture n'ont pas le même ETag.
+     */
+    @Test
+    void etag_ShouldDifferBetweenUsers() {
+        assertNotEquals(userVersions.etag("alice@example.com", "profile"), userVersions.etag("bob@example.com", "profile"));
+    }
+
+    /**
+     * Vérifie que, dans une transaction, la version ne change qu'au commit.
+     */
+    @Test
+    void changed_ShouldWaitForCommit_WhenTransactionActive() {
+        long before = userVersions.version("alice@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        userVersions.changed("alice@example.com");
+        assertEquals(before, userVersions.version("alice@example.com"));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNotEquals(before, userVersions.version("alice@example.com"));
+    }
+
+    /**
+     * Vérifie que l'ETag change à chaque période de validité.
+     */
+    @Test
+    void etag_ShouldChangeAfterMaxAge() {
+        String etag = userVersions.etag("alice@example.com", "profile");
+
+        now.addAndGet(300_000);
+
+        assertNotEquals(etag, userVersions.etag("alice@example.com", "profile"));
+    }
+
+    /**
+     * Vérifie qu'après le vidage de la table, aucune version ne revient à une valeur déjà servie.
+     */
+    @Test
+    void changed_ShouldNeverReuseVersion_WhenTableIsCleared() {
+        ReflectionTestUtils.setField(userVersions, "maxUsers", 2);
+        userVersions.changed("alice@example.com");
+        userVersions.changed("bob@example.com");
+        long alice = userVersions.version("alice@example.com");
+        long bob = userVersions.version("bob@example.com");
+
+        userVersions.changed("carol@example.com");
+
+        assertTrue(userVersions.version("alice@example.com") > alice);
+        assertTrue(userVersions.version("bob@example.com") >= bob);
+        assertTrue(userVersions.version("carol@example.com") > bob);
+    }
+
+    /**
+     * Vérifie qu'une écriture épingle l'utilisateur sur la base principale quand un réplica est configuré.
+     */
+    @Test
+    void changed_ShouldPinUserOnPrimary_WhenReplicaConfigured() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000);
+        ReflectionTestUtils.setField(userVersions, "readYourWritesTracker", tracker);
+
+        userVersions.changed("alice@example.com");
+
+        assertTrue(tracker.isPinned("alice@example.com"));
+    }
+
+    /**
+     * Vérifie la comparaison de l'en-tête If-None-Match.
+     */
+    @Test
+    void notModified_ShouldMatchCurrentEtag() {
+        String etag = "\"profile-1\"";
+
+        assertTrue(UserVersions.notModified(etag, etag));
+        assertTrue(UserVersions.notModified("W/" + etag, etag));
+        assertTrue(UserVersions.notModified("\"autre\", " + etag, etag));
+        assertTrue(UserVersions.notModified("*", etag));
+        assertFalse(UserVersions.notModified("\"profile-0\"", etag));
+        assertFalse(UserVersions.notModified(null, etag));
+    }
+}
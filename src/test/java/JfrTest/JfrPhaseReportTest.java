@@ -0,0 +1,84 @@
+package com.paymybuddy.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de bout en bout des événements JFR : enregistrement, écriture du fichier puis
+ * agrégation par {@link JfrPhaseReport}.
+ */
+public class JfrPhaseReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Vérifie que les événements émis sont regroupés par phase, dans l'ordre d'exécution,
+     * et qu'un seul événement de commit est émis pour une transaction contenant deux transferts.
+     */
+    @Test
+    void analyze_ShouldGroupEventsByPhase() throws Exception {
+        Path recorded = tempDir.resolve("recorded.jfr");
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of(TransferPhaseEvent.NAME, JwtVerificationEvent.NAME, DaoQueryEvent.NAME)) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                TransferPhaseEvent.start(TransferPhaseEvent.PERSIST).commit();
+                TransferPhaseEvent.start(TransferPhaseEvent.RESOLVE_USERS).commit();
+            }
+            JwtVerificationEvent jwt = new JwtVerificationEvent();
+            jwt.begin();
+            jwt.setValid(true);
+            jwt.commit();
+            DaoQueryEvent query = new DaoQueryEvent();
+            query.begin();
+            query.setQuery("UserDAO.findByEmail");
+            query.setSuccess(true);
+            query.commit();
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                TransferCommitRecorder.track();
+                TransferCommitRecorder.track();
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                assertEquals(1, synchronizations.size());
+                synchronizations.get(0).beforeCommit(false);
+                synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            recording.stop();
+            recording.dump(recorded);
+        }
+        // L'enregistrement couvre toute la JVM : les contextes Spring d'autres tests (relais d'outbox...) y émettent aussi
+        String thread = Thread.currentThread().getName();
+        try (RecordingFile recordingFile = new RecordingFile(recorded)) {
+            recordingFile.write(file, event -> event.getThread() != null && thread.equals(event.getThread().getJavaName()));
+        }
+
+        Map<String, JfrPhaseReport.PhaseStats> stats = JfrPhaseReport.analyze(file);
+
+        assertEquals(List.of("transfer/resolve-users", "transfer/persist", "transfer/commit", "dao/UserDAO.findByEmail", "jwt"),
+                List.copyOf(stats.keySet()));
+        assertEquals(3, stats.get("transfer/persist").count());
+        assertEquals(1, stats.get("transfer/commit").count());
+        assertFalse(TransactionSynchronizationManager.hasResource(TransferCommitRecorder.class));
+        assertTrue(JfrPhaseReport.format(stats).contains("transfer/commit"));
+    }
+}
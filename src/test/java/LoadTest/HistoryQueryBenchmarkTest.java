@@ -0,0 +1,145 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetSpec;
+import com.paymybuddy.schema.TransactionPartitionMaintainer;
+import com.paymybuddy.schema.V3__PartitionTransactions;
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Banc de latence des requêtes d'historique, avec et sans borne basse sur {@code created_at}.
+ *
+ * Le schéma est créé par les migrations ; sur MySQL, la table est partitionnée par mois et la borne
+ * limite la lecture aux partitions de la période. Par défaut le banc tourne sur H2 en mémoire
+ * (500 000 transactions sur 3 ans, sans partitions) ; pour 100 millions de lignes, le lancer
+ * contre une base MySQL locale vide, générée une fois puis réutilisée :
+ * <pre>
+ * mvn test -Pload-tests -Dtest=HistoryQueryBenchmarkTest \
+ *     -Dbench.url=jdbc:mysql://localhost:3306/paymybuddy_bench?rewriteBatchedStatements=true \
+ *     -Dbench.username=root -Dbench.password=... -Dbench.users=1000000 -Dbench.transactions=100000000
+ * </pre>
+ * Les résultats sont écrits dans {@code target/load-results/history-query.json}.
+ */
+@Tag("load")
+class HistoryQueryBenchmarkTest {
+
+    private static final String URL = System.getProperty("bench.url",
+            "jdbc:h2:mem:history-bench;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+    private static final String USERNAME = System.getProperty("bench.username", "sa");
+    private static final String PASSWORD = System.getProperty("bench.password", "");
+    private static final int USERS = Integer.getInteger("bench.users", 10_000);
+    private static final long TRANSACTIONS = Long.getLong("bench.transactions", 500_000L);
+    private static final int QUERIES = Integer.getInteger("bench.queries", 200);
+    private static final int HISTORY_MONTHS = 12;
+
+    private static final String COLUMNS = "SELECT transaction_id, user_id_sender, user_id_receiver, description, amount, created_at "
+            + "FROM transactions WHERE (user_id_sender = ? OR user_id_receiver = ?)";
+    private static final String ORDER = " ORDER BY created_at DESC, transaction_id DESC";
+    private static final String BOUND = " AND created_at >= ?";
+
+    @Test
+    void compareBoundedAndUnboundedHistory() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, USERNAME, PASSWORD);
+        Flyway.configure().dataSource(dataSource).javaMigrations(new V3__PartitionTransactions()).load().migrate();
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long existing = jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        if (existing < TRANSACTIONS) {
+            DatasetSpec spec = DatasetSpec.of(USERS, USERS * 10L, TRANSACTIONS - existing)
+                    .withDays(3 * 365)
+                    .withEmailDomain("history.bench." + existing);
+            System.out.println(new DatasetGenerator(dataSource, spec).generate().describe());
+        }
+
+        TransactionPartitionMaintainer maintainer = new TransactionPartitionMaintainer();
+        ReflectionTestUtils.setField(maintainer, "dataSource", dataSource);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 0);
+        maintainer.maintain();
+        boolean mysql = URL.startsWith("jdbc:mysql:");
+        Long partitions = mysql ? jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL", Long.class) : 0L;
+
+        int minUser = jdbc.queryForObject("SELECT MIN(user_id) FROM user", Integer.class);
+        int maxUser = jdbc.queryForObject("SELECT MAX(user_id) FROM user", Integer.class);
+        Timestamp since = Timestamp.valueOf(LocalDate.now().minusMonths(HISTORY_MONTHS).atStartOfDay());
+
+        List<ScenarioResult> results = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            results.add(measure(connection, "recent", COLUMNS + ORDER + " LIMIT 20", null, minUser, maxUser));
+            results.add(measure(connection, "recent-12m", COLUMNS + BOUND + ORDER + " LIMIT 20", since, minUser, maxUser));
+            results.add(measure(connection, "full", COLUMNS, null, minUser, maxUser));
+            results.add(measure(connection, "full-12m", COLUMNS + BOUND, since, minUser, maxUser));
+        }
+        results.forEach(result -> System.out.println(result.summary()));
+
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("database", URL.replaceAll("\\?.*", ""));
+        dataset.put("users", maxUser - minUser + 1);
+        dataset.put("transactions", jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class));
+        dataset.put("partitions", partitions);
+        dataset.put("historyMonths", HISTORY_MONTHS);
+        System.out.println("Rapport : " + new LoadReport("history-query", Instant.now(), LoadReport.currentEnvironment(), dataset, results).write());
+
+        results.forEach(result -> assertEquals(QUERIES, result.requests(), result.scenario()));
+    }
+
+    /**
+     * Exécute la requête pour des utilisateurs tirés au hasard, en lisant toutes les lignes,
+     * après un échauffement d'un cinquième du nombre de requêtes.
+     */
+    private static ScenarioResult measure(Connection connection, String name, String sql, Timestamp since,
+                                          int minUser, int maxUser) throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        Histogram micros = new Histogram(3);
+        long rows = 0;
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = -QUERIES / 5; i < QUERIES; i++) {
+                if (i == 0) {
+                    rows = 0;
+                    start = System.nanoTime();
+                }
+                int user = random.nextInt(minUser, maxUser + 1);
+                statement.setInt(1, user);
+                statement.setInt(2, user);
+                if (since != null) {
+                    statement.setTimestamp(3, since);
+                }
+                long queryStart = System.nanoTime();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rows++;
+                    }
+                }
+                if (i >= 0) {
+                    micros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - queryStart));
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new ScenarioResult(name, "closed", 1, null, seconds, micros.getTotalCount(), 0, 0,
+                micros.getTotalCount() / seconds, ScenarioResult.Latency.of(micros), Map.of("rows", rows));
+    }
+}
@@ -0,0 +1,183 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetModel;
+import com.paymybuddy.dataset.DatasetSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare, pour {@code GET /transaction} et {@code GET /user-relations}, les octets échangés sur le réseau
+ * et la latence entre la configuration par défaut (HTTP/1.1, sans compression) et le profil {@code http2}
+ * (h2c, compression gzip, connexions persistantes). Les octets sont comptés par un relais TCP placé
+ * entre le pilote de charge et Tomcat : en-têtes, trames HTTP/2 et corps compris.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=Http2CompressionLoadTest}.
+ */
+@Tag("load")
+class Http2CompressionLoadTest {
+
+    private static final int USERS = 200;
+    private static final int SESSIONS = 50;
+    private static final Workload WARMUP = new Workload.Closed(16, Duration.ofSeconds(5));
+    private static final Workload MEASURE = new Workload.Closed(16, Duration.ofSeconds(15));
+
+    @Test
+    void compareBytesOnTheWireAndLatency() throws Exception {
+        Map<String, Measure> baseline = run("défaut", HttpClient.Version.HTTP_1_1, "test");
+        Map<String, Measure> tuned = run("http2", HttpClient.Version.HTTP_2, "test", "http2");
+
+        for (String name : baseline.keySet()) {
+            Measure before = baseline.get(name);
+            Measure after = tuned.get(name);
+            System.out.printf("%-12s %6d -> %6d octets/requête (%.0f %%), p50 %.2f -> %.2f ms, p99 %.2f -> %.2f ms%n",
+                    name, before.bytesPerRequest(), after.bytesPerRequest(),
+                    100.0 * after.bytesPerRequest() / before.bytesPerRequest(),
+                    before.result().latencyMs().p50(), after.result().latencyMs().p50(),
+                    before.result().latencyMs().p99(), after.result().latencyMs().p99());
+            assertEquals(0, after.result().errors(), name);
+        }
+        // L'historique (50 transactions par utilisateur) est bien au-dessus du seuil de compression
+        assertTrue(tuned.get("historique").bytesPerRequest() * 2 < baseline.get("historique").bytesPerRequest(),
+                tuned.get("historique").bytesPerRequest() + " octets compressés, " + baseline.get("historique").bytesPerRequest());
+    }
+
+    private Map<String, Measure> run(String label, HttpClient.Version version, String... profiles) throws Exception {
+        DatasetSpec spec = DatasetSpec.of(USERS, USERS * 20L, USERS * 50L).withEmailDomain("http2.load.test");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PayMyBuddyApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0")
+                .run();
+             CountingProxy proxy = new CountingProxy(((WebServerApplicationContext) context).getWebServer().getPort());
+             HttpLoadDriver driver = new HttpLoadDriver(URI.create("http://localhost:" + proxy.port()), version)) {
+            DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class), spec);
+            generator.generate();
+            DatasetModel dataset = generator.model();
+            List<Scenario.Session> sessions = new ArrayList<>(SESSIONS);
+            for (int i = 0; i < SESSIONS; i++) {
+                String token = driver.login(dataset.email(i), spec.password());
+                sessions.add(new Scenario.Session(dataset.email(i), spec.password(), dataset.email(i + 1), token));
+            }
+
+            List<Scenario> scenarios = List.of(
+                    new Scenario("historique", 200, session -> driver.request("/transaction")
+                            .header("Authorization", "Bearer " + session.token())
+                            .header("Accept-Encoding", "gzip")
+                            .build()),
+                    new Scenario("relations", 200, session -> driver.request("/user-relations")
+                            .header("Cookie", "JWT=" + session.token())
+                            .header("Accept-Encoding", "gzip")
+                            .build()));
+
+            System.out.println("--- " + label);
+            Map<String, Measure> measures = new LinkedHashMap<>();
+            for (Scenario scenario : scenarios) {
+                driver.run(scenario, WARMUP, sessions);
+                long before = proxy.bytes();
+                ScenarioResult result = driver.run(scenario, MEASURE, sessions);
+                long requests = Math.max(1, result.requests());
+                measures.put(scenario.name(), new Measure(result, (proxy.bytes() - before) / requests));
+                System.out.println(result.summary() + ", " + (proxy.bytes() - before) / requests + " octets/requête");
+            }
+            return measures;
+        }
+    }
+
+    private record Measure(ScenarioResult result, long bytesPerRequest) {
+    }
+
+    /**
+     * Relais TCP qui compte les octets échangés dans les deux sens.
+     */
+    private static final class CountingProxy implements AutoCloseable {
+
+        private final ServerSocket server = new ServerSocket(0);
+        private final LongAdder bytes = new LongAdder();
+        private final int targetPort;
+        private final List<Socket> sockets = new ArrayList<>();
+
+        CountingProxy(int targetPort) throws IOException {
+            this.targetPort = targetPort;
+            Thread.ofVirtual().start(this::accept);
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        long bytes() {
+            return bytes.sum();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket client = server.accept();
+                    Socket target = new Socket("localhost", targetPort);
+                    client.setTcpNoDelay(true);
+                    target.setTcpNoDelay(true);
+                    synchronized (sockets) {
+                        sockets.add(client);
+                        sockets.add(target);
+                    }
+                    Thread.ofVirtual().start(() -> relay(client, target));
+                    Thread.ofVirtual().start(() -> relay(target, client));
+                }
+            } catch (IOException e) {
+                // Relais fermé
+            }
+        }
+
+        private void relay(Socket from, Socket to) {
+            byte[] chunk = new byte[16 * 1024];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    bytes.add(read);
+                    out.write(chunk, 0, read);
+                }
+            } catch (IOException e) {
+                // Connexion fermée par l'un des côtés
+            } finally {
+                close(from);
+                close(to);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            synchronized (sockets) {
+                sockets.forEach(CountingProxy::close);
+            }
+        }
+
+        private static void close(Socket socket) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Déjà fermée
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.paymybuddy.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pilote de charge HTTP : rejoue des {@link Scenario} contre l'application avec {@link HttpClient}
+ * sur des threads virtuels, en modèle fermé ou ouvert ({@link Workload}), et mesure les latences
+ * dans un histogramme HdrHistogram (résolution de la microseconde, 3 chiffres significatifs).
+ */
+public class HttpLoadDriver implements AutoCloseable {
+
+    /**
+     * Requêtes en vol au-delà desquelles le modèle ouvert abandonne les nouvelles arrivées
+     * (comptées comme {@code dropped}) plutôt que d'épuiser la mémoire du pilote.
+     */
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public HttpLoadDriver(URI baseUri) {
+        this(baseUri, HttpClient.Version.HTTP_1_1);
+    }
+
+    /**
+     * @param version version du protocole ; {@code HTTP_2} en clair passe par la mise à niveau h2c
+     */
+    public HttpLoadDriver(URI baseUri, HttpClient.Version version) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(httpExecutor)
+                .build();
+    }
+
+    // --- Construction des requêtes ---
+
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Requête de connexion par formulaire ({@code POST /auth/login}).
+     */
+    public HttpRequest loginRequest(String email, String password) {
+        String form = "email=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        return request("/auth/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    /**
+     * Se connecte et retourne le JWT déposé dans le cookie {@code JWT}.
+     */
+    public String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(loginRequest(email, password), HttpResponse.BodyHandlers.discarding());
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JWT="))
+                .map(cookie -> cookie.substring(4, cookie.indexOf(';') > 0 ? cookie.indexOf(';') : cookie.length()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Connexion refusée pour " + email + " : " + response.statusCode()));
+    }
+
+    // --- Exécution ---
+
+    /**
+     * Rejoue un scénario selon le modèle de charge, les clients virtuels étant pris à tour de rôle.
+     */
+    public ScenarioResult run(Scenario scenario, Workload workload, List<Scenario.Session> sessions) throws InterruptedException {
+        Measurement measurement = new Measurement();
+        long start = System.nanoTime();
+        long deadline = start + workload.duration().toNanos();
+        AtomicLong next = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            switch (workload) {
+                case Workload.Closed closed -> {
+                    for (int c = 0; c < closed.concurrency(); c++) {
+                        clients.execute(() -> {
+                            while (System.nanoTime() < deadline) {
+                                Scenario.Session session = sessions.get((int) (next.getAndIncrement() % sessions.size()));
+                                send(scenario, session, System.nanoTime(), measurement);
+                            }
+                        });
+                    }
+                }
+                case Workload.Open open -> {
+                    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / open.ratePerSecond());
+                    Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+                    for (long i = 0; ; i++) {
+                        long intended = start + i * intervalNanos;
+                        if (intended >= deadline) {
+                            break;
+                        }
+                        LockSupport.parkNanos(intended - System.nanoTime());
+                        if (!inFlight.tryAcquire()) {
+                            measurement.dropped.increment();
+                            continue;
+                        }
+                        Scenario.Session session = sessions.get((int) (i % sessions.size()));
+                        clients.execute(() -> {
+                            try {
+                                send(scenario, session, intended, measurement);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    }
+                }
+            }
+        }
+        long end = System.nanoTime();
+        return measurement.result(scenario, workload, (end - start) / 1e9);
+    }
+
+    /**
+     * Envoie une requête et mesure sa latence depuis {@code intendedStart}.
+     */
+    private void send(Scenario scenario, Scenario.Session session, long intendedStart, Measurement measurement) {
+        String status;
+        try {
+            HttpResponse<Void> response = client.send(scenario.request().apply(session), HttpResponse.BodyHandlers.discarding());
+            status = String.valueOf(response.statusCode());
+            if (response.statusCode() == scenario.expectedStatus()) {
+                measurement.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+            } else {
+                measurement.errors.increment();
+            }
+        } catch (IOException e) {
+            status = e.getClass().getSimpleName();
+            measurement.errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        measurement.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        httpExecutor.close();
+    }
+
+    /**
+     * Mesures d'une exécution, alimentées par tous les clients en parallèle.
+     */
+    private static final class Measurement {
+
+        private final Recorder latencies = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        ScenarioResult result(Scenario scenario, Workload workload, double seconds) {
+            Histogram histogram = latencies.getIntervalHistogram();
+            Map<String, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            return new ScenarioResult(scenario.name(),
+                    workload instanceof Workload.Closed ? "closed" : "open",
+                    workload instanceof Workload.Closed closed ? closed.concurrency() : null,
+                    workload instanceof Workload.Open open ? open.ratePerSecond() : null,
+                    seconds, histogram.getTotalCount() + errors.sum(), errors.sum(), dropped.sum(),
+                    histogram.getTotalCount() / seconds, ScenarioResult.Latency.of(histogram), statusCounts);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetModel;
+import com.paymybuddy.dataset.DatasetSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Campagne de charge de bout en bout : démarre l'application sur la base embarquée, génère
+ * un jeu de données, puis rejoue les scénarios connexion, tableau de bord, transfert et historique
+ * en modèle fermé puis ouvert. Les résultats sont écrits dans {@code target/load-results/http-load.json}.
+ *
+ * Lancement : {@code mvn test -Pload-tests -Dtest=HttpLoadTest}. Paramètres optionnels (propriétés système) :
+ * {@code load.duration} et {@code load.warmup} en secondes, {@code load.concurrency}, {@code load.rate}
+ * (requêtes/s en modèle ouvert), {@code load.login-rate} (la connexion coûte un hash BCrypt),
+ * {@code load.sessions}, {@code load.users}.
+ */
+@Tag("load")
+class HttpLoadTest {
+
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 10));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 3));
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 8);
+    private static final int RATE = Integer.getInteger("load.rate", 20);
+    private static final int LOGIN_RATE = Integer.getInteger("load.login-rate", 5);
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 50);
+    private static final int USERS = Integer.getInteger("load.users", 1_000);
+
+    @Test
+    void replayScenarios() throws Exception {
+        DatasetSpec spec = DatasetSpec.of(USERS, USERS * 20L, USERS * 50L).withEmailDomain("http.load.test");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PayMyBuddyApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run()) {
+            DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class), spec);
+            generator.generate();
+            DatasetModel dataset = generator.model();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            try (HttpLoadDriver driver = new HttpLoadDriver(URI.create("http://localhost:" + port))) {
+                List<Scenario.Session> sessions = new ArrayList<>(SESSIONS);
+                for (int i = 0; i < SESSIONS; i++) {
+                    String token = driver.login(dataset.email(i), spec.password());
+                    sessions.add(new Scenario.Session(dataset.email(i), spec.password(), dataset.email(i + 1), token));
+                }
+
+                List<ScenarioResult> results = new ArrayList<>();
+                for (Scenario scenario : scenarios(driver)) {
+                    boolean login = scenario.name().equals("login");
+                    driver.run(scenario, new Workload.Closed(login ? 1 : CONCURRENCY, WARMUP), sessions);
+                    results.add(driver.run(scenario, new Workload.Closed(login ? 2 : CONCURRENCY, DURATION), sessions));
+                    results.add(driver.run(scenario, new Workload.Open(login ? LOGIN_RATE : RATE, DURATION), sessions));
+                }
+                results.forEach(result -> System.out.println(result.summary()));
+
+                Map<String, Object> datasetInfo = new LinkedHashMap<>();
+                datasetInfo.put("users", spec.users());
+                datasetInfo.put("relations", dataset.relationCount());
+                datasetInfo.put("transactions", spec.transactions());
+                Path file = new LoadReport("http-load", Instant.now(), LoadReport.currentEnvironment(), datasetInfo, results).write();
+                System.out.println("Rapport : " + file.toAbsolutePath());
+
+                for (ScenarioResult result : results) {
+                    assertTrue(result.requests() > 0, result.scenario());
+                    assertTrue(result.errors() <= result.requests() / 100, result.summary());
+                }
+            }
+        }
+    }
+
+    /**
+     * Scénarios rejoués, chacun pour le client virtuel courant.
+     */
+    private static List<Scenario> scenarios(HttpLoadDriver driver) {
+        return List.of(
+                new Scenario("login", 302, session -> driver.loginRequest(session.email(), session.password())),
+                new Scenario("dashboard", 200, session -> driver.request("/dashboard?limit=20")
+                        .header("Authorization", "Bearer " + session.token())
+                        .GET()
+                        .build()),
+                new Scenario("transfer", 201, session -> driver.request("/transaction")
+                        .header("Authorization", "Bearer " + session.token())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"receiverEmail\":\"" + session.receiverEmail() + "\",\"description\":\"charge\",\"amount\":1}"))
+                        .build()),
+                new Scenario("history", 200, session -> driver.request("/transaction")
+                        .header("Authorization", "Bearer " + session.token())
+                        .GET()
+                        .build()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.metrics.InstrumentedDataSource;
+import com.paymybuddy.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Microbenchmark JMH du coût de l'instrumentation JDBC ({@link InstrumentedDataSource}) : temps et octets
+ * alloués par requête, connexion obtenue, statement préparé, deux paramètres liés, exécution et lecture,
+ * comparés à la même séquence sur la source de données nue. Base H2 en mémoire, connexion unique.
+ *
+ * Lancement : {@code mvn test -Pload-tests -Dtest=JdbcInstrumentationBenchmarkTest}.
+ */
+@Tag("load")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class JdbcInstrumentationBenchmarkTest {
+
+    private static final String SQL = "SELECT id FROM account WHERE email = ? AND id > ?";
+
+    private SingleConnectionDataSource pool;
+    private DataSource instrumented;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        pool = new SingleConnectionDataSource("jdbc:h2:mem:jdbcbench;DB_CLOSE_DELAY=-1", "sa", "", true);
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS account (id INT PRIMARY KEY, email VARCHAR(100))");
+            statement.execute("MERGE INTO account KEY (id) VALUES (1, 'alice@example.com')");
+        }
+        SlowQueryLog slowQueryLog = new SlowQueryLog();
+        slowQueryLog.bindTo(new SimpleMeterRegistry());
+        instrumented = new InstrumentedDataSource(pool, slowQueryLog);
+        SlowQueryLog.enter("UserDAO.findByEmail");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.destroy();
+    }
+
+    @Benchmark
+    public int plain() throws SQLException {
+        return query(pool);
+    }
+
+    @Benchmark
+    public int instrumented() throws SQLException {
+        return query(instrumented);
+    }
+
+    private static int query(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setString(1, "alice@example.com");
+            statement.setInt(2, 0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : -1;
+            }
+        }
+    }
+
+    @Test
+    void benchmark() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JdbcInstrumentationBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        Map<String, double[]> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            String name = run.getParams().getBenchmark().substring(run.getParams().getBenchmark().lastIndexOf('.') + 1);
+            Result<?> allocated = run.getSecondaryResults().get("gc.alloc.rate.norm");
+            scores.put(name, new double[]{run.getPrimaryResult().getScore(), allocated == null ? Double.NaN : allocated.getScore()});
+        }
+        scores.forEach((name, score) -> System.out.printf("%-14s %10.1f ns/op %10.1f octets/op%n", name, score[0], score[1]));
+
+        // Deux enveloppes par requête (connexion, statement) : quelques dizaines d'octets, rien par appel JDBC
+        double extraBytes = scores.get("instrumented")[1] - scores.get("plain")[1];
+        assertTrue(extraBytes < 128, extraBytes + " octets alloués en plus par requête");
+    }
+}
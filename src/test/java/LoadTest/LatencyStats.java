@@ -0,0 +1,75 @@
+package com.paymybuddy.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collecte des latences pour les tests de charge et calcul des percentiles.
+ * Chaque requête écrit dans sa propre case : aucune synchronisation n'est nécessaire.
+ */
+public class LatencyStats {
+
+    private final long[] latenciesNanos;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private long startNanos;
+    private long endNanos;
+
+    public LatencyStats(int capacity) {
+        this.latenciesNanos = new long[capacity];
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    public void record(long latencyNanos) {
+        latenciesNanos[count.getAndIncrement()] = latencyNanos;
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    public int getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Retourne le percentile demandé en millisecondes.
+     *
+     * @param percentile valeur entre 0 et 100
+     */
+    public double percentileMillis(double percentile) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count.get());
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Débit observé en opérations par seconde.
+     */
+    public double throughput() {
+        return count.get() / ((endNanos - startNanos) / 1_000_000_000.0);
+    }
+
+    /**
+     * Résumé lisible des mesures.
+     */
+    public String summary(String label) {
+        return String.format("%-24s ops=%d errors=%d p50=%.2fms p99=%.2fms throughput=%.0f ops/s",
+                label, getCount(), getErrors(), percentileMillis(50), percentileMillis(99), throughput());
+    }
+}
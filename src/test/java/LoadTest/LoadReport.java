@@ -0,0 +1,55 @@
+package com.paymybuddy.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapport d'une campagne de charge, écrit en JSON sous {@code target/load-results/} avec un nom
+ * stable pour pouvoir comparer deux builds avec un simple diff.
+ *
+ * @param name        nom de la campagne, utilisé comme nom de fichier
+ * @param generatedAt date de la campagne
+ * @param environment version de Java, nombre de processeurs...
+ * @param dataset     volumes du jeu de données
+ * @param results     résultats par scénario et modèle de charge
+ */
+public record LoadReport(String name, Instant generatedAt, Map<String, Object> environment,
+                         Map<String, Object> dataset, List<ScenarioResult> results) {
+
+    public static final Path DIRECTORY = Path.of("target", "load-results");
+
+    /**
+     * Description de la machine et de la JVM qui ont exécuté la campagne.
+     */
+    public static Map<String, Object> currentEnvironment() {
+        return Map.of(
+                "java", System.getProperty("java.version"),
+                "cpus", Runtime.getRuntime().availableProcessors(),
+                "maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024),
+                "os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+    }
+
+    /**
+     * Écrit le rapport dans {@code target/load-results/<name>.json}.
+     *
+     * @return le chemin du fichier écrit
+     */
+    public Path write() throws IOException {
+        Files.createDirectories(DIRECTORY);
+        Path file = DIRECTORY.resolve(name + ".json");
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), this);
+        return file;
+    }
+}
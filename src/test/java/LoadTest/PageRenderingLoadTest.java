@@ -0,0 +1,84 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare le débit des pages HTML rendues par Thymeleaf à chaque requête et servies depuis le cache
+ * ({@code views.prerender.enabled}), à travers Tomcat, la chaîne de sécurité et la vérification du JWT.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=PageRenderingLoadTest}.
+ */
+@Tag("load")
+class PageRenderingLoadTest {
+
+    private static final int USERS = 50;
+    private static final Workload WARMUP = new Workload.Closed(8, Duration.ofSeconds(5));
+    private static final Workload MEASURE = new Workload.Closed(8, Duration.ofSeconds(15));
+    private static final List<String> PAGES = List.of("/connexion", "/home", "/relations", "/profil");
+
+    @Test
+    void compareDynamicAndPrerenderedPages() throws Exception {
+        Map<String, ScenarioResult> dynamic = run(false);
+        Map<String, ScenarioResult> prerendered = run(true);
+
+        System.out.println("--- rendu à chaque requête");
+        dynamic.values().forEach(result -> System.out.println(result.summary()));
+        System.out.println("--- pages en cache");
+        prerendered.values().forEach(result -> System.out.println(result.summary()));
+
+        for (String page : PAGES) {
+            assertEquals(0, prerendered.get(page).errors(), page);
+        }
+        assertTrue(prerendered.get("/home").throughput() > dynamic.get("/home").throughput(),
+                prerendered.get("/home").throughput() + " req/s en cache, " + dynamic.get("/home").throughput() + " rendue");
+    }
+
+    private Map<String, ScenarioResult> run(boolean prerender) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PayMyBuddyApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "views.prerender.enabled=" + prerender)
+                .run();
+             HttpLoadDriver driver = new HttpLoadDriver(URI.create("http://localhost:"
+                     + ((WebServerApplicationContext) context).getWebServer().getPort()))) {
+            List<Scenario.Session> sessions = sessions(context);
+            Map<String, ScenarioResult> results = new LinkedHashMap<>();
+            for (String page : PAGES) {
+                Scenario scenario = new Scenario(page, 200,
+                        session -> driver.request(page).header("Cookie", "JWT=" + session.token()).build());
+                driver.run(scenario, WARMUP, sessions);
+                results.put(page, driver.run(scenario, MEASURE, sessions));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Crée les utilisateurs et leur JWT, sans passer par la connexion HTTP (hachage BCrypt hors mesure).
+     */
+    private static List<Scenario.Session> sessions(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        List<Scenario.Session> sessions = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@pages.load.test";
+            String token = jwtTokenProvider.generateToken(userService.createUser("user" + i, email, "password"));
+            sessions.add(new Scenario.Session(email, "password", null, token));
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,165 @@
+package com.paymybuddy.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.dto.UserProfileDTO;
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Microbenchmark JMH de la sérialisation des réponses chaudes : historique ({@code GET /transaction})
+ * et profil ({@code GET /user/user/profil}).
+ *
+ * Trois variantes sont comparées pour un même contenu :
+ * <ul>
+ *     <li>{@code entity} : l'ancienne réponse, les entités avec leurs utilisateurs complets ;</li>
+ *     <li>{@code dto} : les records {@link TransactionDTO} et {@link UserProfileDTO}, accesseurs appelés par réflexion ;</li>
+ *     <li>{@code dtoBlackbird} : les mêmes records avec le module Blackbird de l'application.</li>
+ * </ul>
+ * La taille des corps JSON est affichée avant le lancement des mesures.
+ *
+ * Lancement : {@code mvn test -Pload-tests -Dtest=ResponseSerializationBenchmarkTest}.
+ */
+@Tag("load")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class ResponseSerializationBenchmarkTest {
+
+    private static final int TRANSACTIONS = 50;
+
+    @Param({"transactions", "profile"})
+    public String payload;
+
+    private ObjectMapper reflection;
+    private ObjectMapper blackbird;
+    private Object entity;
+    private Object dto;
+
+    @Setup
+    public void setUp() {
+        reflection = mapper();
+        blackbird = mapper().registerModule(new BlackbirdModule());
+        entity = payload.equals("profile") ? user(1) : transactions();
+        dto = payload.equals("profile") ? UserProfileDTO.from(user(1)) : transactions().stream().map(TransactionDTO::from).toList();
+    }
+
+    /**
+     * Configuration de l'{@code ObjectMapper} de Spring Boot : dates ISO plutôt qu'horodatages.
+     */
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static User user(int id) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername("utilisateur" + id);
+        user.setEmail("utilisateur" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1QnLYcAF6AaAP6RZgy.wjGe");
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setSolde(1250.5);
+        return user;
+    }
+
+    private static List<Transactions> transactions() {
+        User self = user(1);
+        List<Transactions> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            User other = user(i + 2);
+            Transactions transaction = new Transactions();
+            transaction.setTransactionId(i + 1);
+            transaction.setSender(i % 2 == 0 ? self : other);
+            transaction.setReceiver(i % 2 == 0 ? other : self);
+            transaction.setDescription("Remboursement " + i);
+            transaction.setAmount(10 + i);
+            transaction.setCreatedAt(LocalDateTime.of(2024, 6, 1, 12, 0).plusHours(i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    @Benchmark
+    public byte[] entity() throws Exception {
+        return reflection.writeValueAsBytes(entity);
+    }
+
+    @Benchmark
+    public byte[] dto() throws Exception {
+        return reflection.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] dtoBlackbird() throws Exception {
+        return blackbird.writeValueAsBytes(dto);
+    }
+
+    /**
+     * Affiche la taille des corps JSON, lance les benchmarks dans une JVM dédiée et vérifie que
+     * les DTO sont plus petits que les entités, et l'historique plus rapide à sérialiser.
+     */
+    @Test
+    void benchmark() throws Exception {
+        for (String name : new String[]{"transactions", "profile"}) {
+            ResponseSerializationBenchmarkTest state = new ResponseSerializationBenchmarkTest();
+            state.payload = name;
+            state.setUp();
+            int entityBytes = state.entity().length;
+            int dtoBytes = state.dto().length;
+            System.out.printf("%-14s entité %6d octets, DTO %6d octets (%.0f %%)%n",
+                    name, entityBytes, dtoBytes, 100.0 * dtoBytes / entityBytes);
+            assertTrue(dtoBytes < entityBytes, name + " : le DTO devrait être plus petit que l'entité");
+            assertFalse(new String(state.dto()).contains("password"), name + " : le DTO ne doit pas exposer le mot de passe");
+        }
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ResponseSerializationBenchmarkTest.class.getName() + "\\.")
+                .build()).run();
+
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            String key = run.getParams().getParam("payload") + " "
+                    + run.getParams().getBenchmark().substring(run.getParams().getBenchmark().lastIndexOf('.') + 1);
+            scores.put(key, run.getPrimaryResult().getScore());
+        }
+        scores.forEach((key, score) -> System.out.printf("%-30s %12.1f ops/ms%n", key, score));
+
+        // Le profil ne perd qu'un champ : l'écart de débit reste dans le bruit de mesure
+        assertTrue(scores.get("transactions dtoBlackbird") > scores.get("transactions entity"),
+                "l'historique en DTO avec Blackbird devrait être plus rapide à sérialiser que les entités");
+    }
+}
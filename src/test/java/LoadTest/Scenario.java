@@ -0,0 +1,26 @@
+package com.paymybuddy.load;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * Scénario rejoué par le {@link HttpLoadDriver} : une requête construite pour un client virtuel,
+ * considérée comme réussie si le serveur répond avec le statut attendu.
+ *
+ * @param name           nom du scénario dans le rapport
+ * @param expectedStatus statut HTTP attendu
+ * @param request        construit la requête pour un client virtuel
+ */
+public record Scenario(String name, int expectedStatus, Function<Session, HttpRequest> request) {
+
+    /**
+     * Client virtuel : un utilisateur du jeu de données et son JWT.
+     *
+     * @param email         email de l'utilisateur
+     * @param password      mot de passe en clair
+     * @param receiverEmail email d'un utilisateur en relation, destinataire des transferts
+     * @param token         JWT obtenu à la connexion
+     */
+    public record Session(String email, String password, String receiverEmail, String token) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.paymybuddy.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Résultat d'un scénario sous un modèle de charge, tel qu'écrit dans le rapport JSON.
+ * Le débit et les latences ne portent que sur les requêtes réussies ; les latences sont en millisecondes.
+ */
+public record ScenarioResult(String scenario, String workload, Integer concurrency, Double targetRate,
+                             double durationSeconds, long requests, long errors, long dropped,
+                             double throughput, Latency latencyMs, Map<String, Long> statuses) {
+
+    /**
+     * Percentiles de latence en millisecondes.
+     */
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(micros.getMean() / 1000, millis(micros, 50), millis(micros, 90),
+                    millis(micros, 99), millis(micros, 99.9), micros.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram micros, double percentile) {
+            return micros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /**
+     * Résumé lisible sur une ligne.
+     */
+    public String summary() {
+        String load = concurrency != null ? "fermé c=" + concurrency : String.format("ouvert %.0f/s", targetRate);
+        return String.format("%-10s %-16s req=%-7d err=%-5d drop=%-5d %7.0f req/s  p50=%8.2fms p99=%8.2fms p999=%8.2fms",
+                scenario, load, requests, errors, dropped, throughput, latencyMs.p50(), latencyMs.p99(), latencyMs.p999());
+    }
+}
@@ -0,0 +1,165 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetModel;
+import com.paymybuddy.dataset.DatasetSpec;
+import com.paymybuddy.service.DashboardService;
+import com.paymybuddy.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure les lectures base de données du chemin du tableau de bord, sans puis avec le cache de second niveau.
+ * Un transfert est intercalé tous les {@value #TRANSFER_EVERY} tableaux de bord, pour que les
+ * invalidations dues aux écritures soient comptées. Les appels sont faits sur un seul thread :
+ * le compteur de statistiques Hibernate attribue ainsi chaque requête au bon appel.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=SecondLevelCacheBenchmarkTest}.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SecondLevelCacheBenchmarkTest {
+
+    private static final String STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private static final int USERS = 1_000;
+    private static final int ACTIVE_USERS = 200;
+    private static final int DASHBOARDS = 1_000;
+    private static final int TRANSFER_EVERY = 10;
+
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+
+    @Nested
+    @ActiveProfiles("test")
+    @SpringBootTest(properties = {STATISTICS, "cache.second-level.enabled=false"})
+    @Import(Bench.class)
+    class WithoutCache {
+
+        @Autowired
+        private Bench bench;
+
+        @Test
+        void dashboard() throws Exception {
+            results.put("sans cache", bench.run());
+        }
+    }
+
+    @Nested
+    @ActiveProfiles("test")
+    @SpringBootTest(properties = STATISTICS)
+    @Import(Bench.class)
+    class WithCache {
+
+        @Autowired
+        private Bench bench;
+
+        @Test
+        void dashboard() throws Exception {
+            results.put("avec cache", bench.run());
+        }
+    }
+
+    @AfterAll
+    void compare() {
+        results.forEach((label, result) -> System.out.println(result.summary(label)));
+        Result without = results.get("sans cache");
+        Result with = results.get("avec cache");
+        if (without != null && with != null) {
+            assertTrue(with.statementsPerDashboard() < without.statementsPerDashboard(),
+                    with.statementsPerDashboard() + " requêtes par tableau de bord avec cache, "
+                            + without.statementsPerDashboard() + " sans");
+        }
+    }
+
+    /**
+     * Résultat d'une série de tableaux de bord.
+     */
+    record Result(LatencyStats latency, long statements, long secondLevelHits, long secondLevelMisses,
+                  long naturalIdHits, long queryCacheHits) {
+
+        double statementsPerDashboard() {
+            return (double) statements / latency.getCount();
+        }
+
+        String summary(String label) {
+            return String.format("%s%n  requêtes SQL par tableau de bord : %.2f%n  cache entités : %d succès, %d échecs"
+                            + " ; identifiants naturels : %d succès ; requêtes : %d succès",
+                    latency.summary(label), statementsPerDashboard(), secondLevelHits, secondLevelMisses,
+                    naturalIdHits, queryCacheHits);
+        }
+    }
+
+    /**
+     * Génère le jeu de données et exécute la série dans le contexte Spring de la classe imbriquée.
+     */
+    static class Bench {
+
+        @Autowired
+        private DashboardService dashboardService;
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private UserDAO userDAO;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        Result run() throws Exception {
+            DatasetGenerator generator = new DatasetGenerator(dataSource,
+                    DatasetSpec.of(USERS, USERS * 10L, USERS * 50L).withEmailDomain("cache.test").withSolde(1_000_000_000));
+            DatasetModel dataset = generator.model();
+            if (userDAO.findByEmail(dataset.email(0)) == null) {
+                generator.generate();
+            }
+
+            SplittableRandom random = new SplittableRandom(42);
+            for (int user = 0; user < ACTIVE_USERS; user++) {
+                dashboardService.getDashboard(dataset.email(user), 20);
+            }
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            long statements = 0;
+            LatencyStats latency = new LatencyStats(DASHBOARDS);
+            latency.start();
+            for (int i = 0; i < DASHBOARDS; i++) {
+                if (i % TRANSFER_EVERY == 0) {
+                    int[] pair = dataset.randomRelation(random);
+                    transactionService.addTransaction(dataset.email(pair[0]), dataset.email(pair[1]), "cache", 1);
+                }
+                String email = dataset.email(random.nextInt(ACTIVE_USERS));
+                long before = statistics.getPrepareStatementCount();
+                long start = System.nanoTime();
+                dashboardService.getDashboard(email, 20);
+                latency.record(System.nanoTime() - start);
+                statements += statistics.getPrepareStatementCount() - before;
+            }
+            latency.stop();
+            return new Result(latency, statements, statistics.getSecondLevelCacheHitCount(),
+                    statistics.getSecondLevelCacheMissCount(), statistics.getNaturalIdCacheHitCount(),
+                    statistics.getQueryCacheHitCount());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.concurrency.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simule une base de données ralentie (10 connexions, 20 ms par requête, soit 500 req/s au maximum)
+ * soumise à 800 req/s, avec des clients qui abandonnent après 200 ms.
+ * Sans limiteur, la file grossit sans fin et presque toutes les réponses arrivent trop tard ;
+ * avec le limiteur, l'excédent est refusé tôt et le débit utile reste proche de la capacité.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=SlowDatabaseGoodputLoadTest}.
+ */
+@Tag("load")
+class SlowDatabaseGoodputLoadTest {
+
+    private static final int CONNECTIONS = 10;
+    private static final long SERVICE_TIME_MS = 20;
+    private static final int ARRIVAL_RATE = 800;
+    private static final int DURATION_SECONDS = 4;
+    private static final long CLIENT_TIMEOUT_MS = 200;
+
+    @Test
+    void limiterKeepsGoodputStable() throws InterruptedException {
+        Outcome unprotected = simulate(null);
+        Outcome limited = simulate(new AdaptiveConcurrencyLimiter("transfer", 20, 2, 200, 100, 0.9));
+
+        System.out.println(unprotected.describe("sans limiteur"));
+        System.out.println(limited.describe("limiteur AIMD"));
+
+        assertTrue(limited.goodput() > unprotected.goodput());
+    }
+
+    private Outcome simulate(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore database = new Semaphore(CONNECTIONS, true);
+        AtomicInteger onTime = new AtomicInteger();
+        AtomicInteger late = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ARRIVAL_RATE;
+
+        ExecutorService server = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        for (long i = 0; i < (long) ARRIVAL_RATE * DURATION_SECONDS; i++) {
+            long due = start + i * intervalNanos;
+            LockSupport.parkNanos(due - System.nanoTime());
+            server.execute(() -> {
+                if (limiter != null && !limiter.tryAcquire()) {
+                    rejected.incrementAndGet();
+                    return;
+                }
+                long begin = System.nanoTime();
+                database.acquireUninterruptibly();
+                try {
+                    Thread.sleep(SERVICE_TIME_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    database.release();
+                }
+                long latency = System.nanoTime() - begin;
+                if (limiter != null) {
+                    limiter.onComplete(latency, true);
+                }
+                if (latency <= TimeUnit.MILLISECONDS.toNanos(CLIENT_TIMEOUT_MS)) {
+                    onTime.incrementAndGet();
+                } else {
+                    late.incrementAndGet();
+                }
+            });
+        }
+        long sendDuration = System.nanoTime() - start;
+        server.shutdown();
+        assertTrue(server.awaitTermination(5, TimeUnit.MINUTES));
+        return new Outcome(onTime.get(), late.get(), rejected.get(), sendDuration,
+                limiter != null ? limiter.getLimit() : -1);
+    }
+
+    private record Outcome(int onTime, int late, int rejected, long durationNanos, int finalLimit) {
+
+        double goodput() {
+            return onTime / (durationNanos / 1_000_000_000.0);
+        }
+
+        String describe(String label) {
+            return String.format("%-16s goodput=%.0f req/s onTime=%d late=%d rejected=%d finalLimit=%d",
+                    label, goodput(), onTime, late, rejected, finalLimit);
+        }
+    }
+}
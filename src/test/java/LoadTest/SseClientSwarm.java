@@ -0,0 +1,123 @@
+package com.paymybuddy.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clients SSE lancés dans une JVM séparée par {@link SseStreamsLoadTest}, afin que les sockets
+ * côté client ne comptent pas dans la limite de descripteurs de fichiers du serveur.
+ *
+ * Arguments : port, fichier de tokens (un par ligne), nombre de flux par token.
+ * Affiche périodiquement {@code OPEN n}, {@code FAILED n} et {@code EVENTS n} sur la sortie
+ * standard, et s'arrête lorsque son entrée standard est fermée.
+ */
+public class SseClientSwarm {
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        List<String> tokens = Files.readAllLines(Path.of(args[1]));
+        int streamsPerToken = Integer.parseInt(args[2]);
+
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong events = new AtomicLong();
+        // Limite les connexions en cours d'établissement pour ne pas saturer la file d'acceptation
+        Semaphore connecting = new Semaphore(500);
+
+        ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .build();
+
+        Thread reporter = Thread.ofPlatform().daemon().start(() -> {
+            while (true) {
+                System.out.println("OPEN " + open.get());
+                System.out.println("FAILED " + failed.get());
+                System.out.println("EVENTS " + events.get());
+                System.out.flush();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        URI uri = URI.create("http://localhost:" + port + "/stream");
+        for (String token : tokens) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Accept", "text/event-stream")
+                    .header("Cookie", "JWT=" + token)
+                    .timeout(Duration.ofMinutes(10))
+                    .build();
+            for (int i = 0; i < streamsPerToken; i++) {
+                connecting.acquire();
+                AtomicBoolean connected = new AtomicBoolean();
+                client.sendAsync(request, responseInfo -> {
+                    connected.set(true);
+                    connecting.release();
+                    if (responseInfo.statusCode() == 200) {
+                        open.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                        System.err.println("Statut " + responseInfo.statusCode());
+                    }
+                    return HttpResponse.BodySubscribers.fromLineSubscriber(new EventCounter(events));
+                }).whenComplete((response, error) -> {
+                    if (error != null && !connected.get()) {
+                        connecting.release();
+                        failed.incrementAndGet();
+                        System.err.println("Connexion impossible : " + error);
+                    }
+                });
+            }
+        }
+
+        // Attend la fermeture de l'entrée standard par le test
+        while (System.in.read() != -1) {
+            // rien
+        }
+        reporter.interrupt();
+        System.exit(0);
+    }
+
+    /**
+     * Compte les événements nommés reçus sur un flux.
+     */
+    private record EventCounter(AtomicLong events) implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                events.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
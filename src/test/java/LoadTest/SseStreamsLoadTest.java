@@ -0,0 +1,183 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetModel;
+import com.paymybuddy.dataset.DatasetSpec;
+import com.paymybuddy.model.User;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.TransactionService;
+import com.paymybuddy.sse.UserStreamRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ouvre 10 000 flux SSE sur une seule instance, mesure la mémoire consommée par flux,
+ * puis vérifie que les transferts sont bien poussés à tous les flux des utilisateurs concernés.
+ * Les clients tournent dans une JVM séparée ({@link SseClientSwarm}).
+ * Lancement : {@code mvn test -Pload-tests -Dtest=SseStreamsLoadTest}.
+ */
+@Tag("load")
+class SseStreamsLoadTest {
+
+    private static final int USERS = 2_000;
+    private static final int STREAMS_PER_USER = 5;
+    private static final int STREAMS = USERS * STREAMS_PER_USER;
+    private static final int TRANSFERS = 200;
+
+    /**
+     * Mémoire maximale tolérée par flux ouvert. L'essentiel (environ 120 Ko mesurés) correspond aux
+     * tampons que Tomcat garde pour toute connexion asynchrone ; le registre ajoute moins d'1 Ko par flux.
+     */
+    private static final long MAX_BYTES_PER_STREAM = 160 * 1024;
+
+    private DatasetModel dataset;
+
+    @Test
+    void holdTenThousandStreams() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PayMyBuddyApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "server.tomcat.max-connections=" + (STREAMS + 500),
+                        "server.tomcat.accept-count=1000",
+                        "sse.max-streams=" + (STREAMS + 500),
+                        "sse.max-streams-per-user=" + STREAMS_PER_USER)
+                .run()) {
+            Path tokens = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            UserStreamRegistry registry = context.getBean(UserStreamRegistry.class);
+
+            long heapBefore = usedHeapAfterGc();
+            Process swarm = startSwarm(port, tokens);
+            SwarmOutput output = new SwarmOutput(swarm);
+            try {
+                long connectStart = System.nanoTime();
+                await(() -> registry.getStreamCount() >= STREAMS || output.failed.get() > 0, 5);
+                long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+                assertEquals(0, output.failed.get(), "flux refusés");
+                assertEquals(STREAMS, registry.getStreamCount());
+
+                long bytesPerStream = (usedHeapAfterGc() - heapBefore) / STREAMS;
+
+                TransactionService transactionService = context.getBean(TransactionService.class);
+                long publishStart = System.nanoTime();
+                for (int i = 0; i < TRANSFERS; i++) {
+                    transactionService.addTransaction(email(i), email(i + 1), "sse", 1);
+                }
+                // Chaque transfert : solde + transaction, vers les flux de l'expéditeur et du destinataire
+                long expected = (long) TRANSFERS * 2 * 2 * STREAMS_PER_USER;
+                await(() -> output.events.get() >= expected, 2);
+                long deliverMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - publishStart);
+
+                System.out.printf("SSE streams=%d connect=%dms heapPerStream=%dB threads=%d events=%d delivered=%dms evicted=%d%n",
+                        registry.getStreamCount(), connectMillis, bytesPerStream,
+                        ManagementFactory.getThreadMXBean().getThreadCount(),
+                        output.events.get(), deliverMillis, registry.getEvictedCount());
+
+                assertEquals(expected, output.events.get());
+                assertEquals(0, registry.getEvictedCount());
+                assertTrue(bytesPerStream < MAX_BYTES_PER_STREAM, "mémoire par flux : " + bytesPerStream + " octets");
+            } finally {
+                swarm.getOutputStream().close();
+                if (!swarm.waitFor(30, TimeUnit.SECONDS)) {
+                    swarm.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private Path seed(ConfigurableApplicationContext context) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class),
+                DatasetSpec.of(USERS, USERS * 5L, USERS * 20L).withEmailDomain("sse.load.test").withSolde(1_000_000));
+        generator.generate();
+        dataset = generator.model();
+
+        JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail(email(i));
+            tokens.add(jwtTokenProvider.generateToken(user));
+        }
+
+        Path file = Files.createTempFile("sse-tokens", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, tokens);
+        return file;
+    }
+
+    private Process startSwarm(int port, Path tokens) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        return new ProcessBuilder(java, "-Xmx512m",
+                "-cp", System.getProperty("java.class.path"),
+                SseClientSwarm.class.getName(),
+                String.valueOf(port), tokens.toString(), String.valueOf(STREAMS_PER_USER))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void await(BooleanSupplier condition, int minutes) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "délai dépassé");
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * L'utilisateur {@code i} est toujours en relation avec {@code i + 1} dans un jeu de données généré.
+     */
+    private String email(int i) {
+        return dataset.email(i);
+    }
+
+    /**
+     * Lit en continu les compteurs affichés par la JVM cliente.
+     */
+    private static final class SwarmOutput {
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+
+        private SwarmOutput(Process process) {
+            Thread.ofPlatform().daemon().start(() -> {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith("FAILED ")) {
+                            failed.set(Long.parseLong(line.substring(7)));
+                        } else if (line.startsWith("EVENTS ")) {
+                            events.set(Long.parseLong(line.substring(7)));
+                        }
+                    }
+                } catch (Exception e) {
+                    // JVM cliente terminée
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplicationAotProcessor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure le temps entre le lancement d'une JVM neuve et le premier transfert réussi : création de deux
+ * comptes, ajout de la relation, puis {@code POST /transaction} jusqu'au 201. Chaque mode est lancé
+ * {@code startup.runs} fois (3 par défaut), la médiane est retenue :
+ * <ul>
+ *     <li>démarrage standard ;</li>
+ *     <li>profil Spring {@code fast-startup} (initialisation paresseuse) ;</li>
+ *     <li>même profil avec les définitions de beans générées par le traitement AOT ;</li>
+ *     <li>même chose avec l'archive CDS écrite par un démarrage d'entraînement.</li>
+ * </ul>
+ * Le traitement AOT et l'entraînement CDS sont refaits ici avec la configuration des tests (H2) :
+ * l'AOT fige les conditions de configuration, celles du profil Maven valent pour la base de production.
+ * {@code -Dstartup.budget-ms=...} fait échouer le test si le mode le plus rapide dépasse ce budget.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=StartupBenchmarkTest}.
+ */
+@Tag("load")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+    private static final long BUDGET_MS = Long.getLong("startup.budget-ms", Long.MAX_VALUE);
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+    private static final String PROFILES = "--spring.profiles.active=test,fast-startup";
+
+    private final Path work = Path.of("target", "startup-benchmark");
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private String classPath;
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    @Test
+    void timeToFirstTransfer() throws Exception {
+        Files.createDirectories(work);
+        classPath = jarClassPath(System.getProperty("java.class.path"));
+        String aotClassPath = jar(processAot()) + File.pathSeparator + classPath;
+        Path archive = trainCds(aotClassPath);
+
+        Map<String, Long> medians = new LinkedHashMap<>();
+        medians.put("standard", median("standard", List.of(), classPath, "--spring.profiles.active=test"));
+        medians.put("lazy", median("lazy", List.of(), classPath, PROFILES));
+        medians.put("lazy + AOT", median("aot", List.of("-Dspring.aot.enabled=true"), aotClassPath, PROFILES));
+        medians.put("lazy + AOT + CDS", median("cds", List.of("-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + archive), aotClassPath, PROFILES));
+
+        medians.forEach((mode, millis) -> System.out.printf("%-18s premier transfert après %6d ms%n", mode, millis));
+        long fastest = medians.get("lazy + AOT + CDS");
+        assertTrue(fastest < medians.get("standard"), medians.toString());
+        assertTrue(fastest <= BUDGET_MS, fastest + " ms, budget " + BUDGET_MS + " ms");
+    }
+
+    /**
+     * Génère et compile les définitions de beans AOT pour les profils {@code test,fast-startup}.
+     * Retourne le répertoire des classes générées.
+     */
+    private Path processAot() throws Exception {
+        Path sources = work.resolve("aot-sources");
+        Path resources = work.resolve("aot-resources");
+        Path classes = work.resolve("aot-classes");
+        run("aot-processing", List.of(SpringApplicationAotProcessor.class.getName(), PayMyBuddyApplication.class.getName(),
+                sources.toString(), resources.toString(), classes.toString(), "com.paymybuddy", "PayMyBuddy", PROFILES), classPath);
+
+        // Les sous-classes CGLIB des classes @Configuration sont écrites directement dans le répertoire des classes
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(),
+                "-cp", classes + File.pathSeparator + classPath, "-parameters", "-nowarn"));
+        try (Stream<Path> files = Files.walk(sources)) {
+            files.filter(file -> file.toString().endsWith(".java")).forEach(file -> arguments.add(file.toString()));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(String[]::new)), "compilation des sources AOT");
+        return classes;
+    }
+
+    /**
+     * Démarrage d'entraînement : le contexte est rafraîchi puis arrêté, les classes chargées sont archivées.
+     */
+    private Path trainCds(String aotClassPath) throws Exception {
+        Path archive = work.resolve("application.jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        run("cds-training", List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh", PayMyBuddyApplication.class.getName(), PROFILES), aotClassPath);
+        assertTrue(Files.exists(archive), "archive CDS absente");
+        return archive;
+    }
+
+    /**
+     * Remplace les répertoires du classpath par des jars : CDS n'archive pas les classes lues dans un répertoire.
+     * Tous les modes utilisent ce même classpath.
+     */
+    private String jarClassPath(String directories) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : directories.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            entries.add(Files.isDirectory(path) ? jar(path).toString() : entry);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private Path jar(Path directory) throws IOException {
+        Path jar = work.resolve(directory.getFileName() + ".jar").toAbsolutePath();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(directory)) {
+            // Les entrées des répertoires sont nécessaires au scan des composants et à la recherche des templates
+            for (Path file : (Iterable<Path>) files.filter(file -> !file.equals(directory))::iterator) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean isDirectory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(isDirectory ? name + "/" : name));
+                if (!isDirectory) {
+                    Files.copy(file, out);
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private long median(String mode, List<String> jvmArguments, String modeClassPath, String profiles) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = firstTransfer(mode + "-" + i, jvmArguments, modeClassPath, profiles);
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+
+    private long firstTransfer(String name, List<String> jvmArguments, String modeClassPath, String profiles) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(jvmArguments);
+        arguments.addAll(List.of(PayMyBuddyApplication.class.getName(), profiles, "--server.port=" + port));
+
+        long start = System.nanoTime();
+        Process process = start(name, arguments, modeClassPath);
+        try {
+            String base = "http://localhost:" + port;
+            String alice = createUser(base, "alice", start);
+            createUser(base, "bob", start);
+            send(HttpRequest.newBuilder(URI.create(base + "/user/relation/add"))
+                    .header("Cookie", "JWT=" + alice)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("email=bob%40startup.test")), 200);
+            send(HttpRequest.newBuilder(URI.create(base + "/transaction"))
+                    .header("Authorization", "Bearer " + alice)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"receiverEmail\":\"bob@startup.test\",\"description\":\"démarrage\",\"amount\":1}")), 201);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Crée un compte, en réessayant tant que le serveur n'écoute pas encore. Retourne son JWT.
+     */
+    private String createUser(String base, String name, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/user/create"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + name + "&email=" + name + "%40startup.test&password=password"))
+                .build();
+        while (true) {
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                assertEquals(302, response.statusCode(), "création de " + name);
+                return response.headers().allValues("Set-Cookie").stream()
+                        .filter(cookie -> cookie.startsWith("JWT="))
+                        .map(cookie -> cookie.substring(4, cookie.indexOf(';')))
+                        .findFirst()
+                        .orElseThrow();
+            } catch (ConnectException e) {
+                assertTrue(System.nanoTime() - start < TIMEOUT.toNanos(), "serveur non démarré");
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private void send(HttpRequest.Builder request, int expectedStatus) throws Exception {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+    }
+
+    /**
+     * Lance une JVM jusqu'à son arrêt, en échouant si elle se termine en erreur.
+     */
+    private void run(String name, List<String> arguments, String modeClassPath) throws Exception {
+        Process process = start(name, arguments, modeClassPath);
+        assertTrue(process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS), name + " : délai dépassé");
+        assertEquals(0, process.exitValue(), name + " : voir " + work.resolve(name + ".log"));
+    }
+
+    private Process start(String name, List<String> arguments, String modeClassPath) throws IOException {
+        List<String> command = new ArrayList<>(List.of(java, "-Xmx512m", "-cp", modeClassPath));
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(work.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
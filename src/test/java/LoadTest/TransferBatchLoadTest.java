@@ -0,0 +1,104 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetModel;
+import com.paymybuddy.dataset.DatasetSpec;
+import com.paymybuddy.service.TransactionService;
+import com.paymybuddy.service.TransferBatchProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge comparant le chemin "un commit par transfert" au pipeline par micro-lots.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=TransferBatchLoadTest}.
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "transfer.batch.enabled=true")
+class TransferBatchLoadTest {
+
+    private static final int USERS = 200;
+    private static final int CLIENTS = 64;
+    private static final int TRANSFERS_PER_CLIENT = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferBatchProcessor transferBatchProcessor;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private DatasetModel dataset;
+
+    /**
+     * Génère {@value #USERS} utilisateurs au solde confortable, leurs relations et un historique de transactions.
+     */
+    @BeforeEach
+    void seed() throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(dataSource,
+                DatasetSpec.of(USERS, USERS * 10L, USERS * 100L).withEmailDomain("load.test").withSolde(1_000_000_000));
+        dataset = generator.model();
+        if (userDAO.findByEmail(dataset.email(0)) == null) {
+            generator.generate();
+        }
+    }
+
+    @Test
+    void compareCommitPerRequestWithGroupCommit() throws InterruptedException {
+        LatencyStats perRequest = run(transactionService::addTransaction);
+        LatencyStats batched = run(transferBatchProcessor::transfer);
+
+        System.out.println(perRequest.summary("commit par requête"));
+        System.out.println(batched.summary("micro-lots"));
+
+        assertEquals(CLIENTS * TRANSFERS_PER_CLIENT, batched.getCount());
+        assertEquals(0, batched.getErrors());
+    }
+
+    private LatencyStats run(Transfer transfer) throws InterruptedException {
+        LatencyStats stats = new LatencyStats(CLIENTS * TRANSFERS_PER_CLIENT);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        stats.start();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                for (int i = 0; i < TRANSFERS_PER_CLIENT; i++) {
+                    int[] pair = dataset.randomRelation(ThreadLocalRandom.current());
+                    long start = System.nanoTime();
+                    try {
+                        transfer.apply(dataset.email(pair[0]), dataset.email(pair[1]), "charge", 1);
+                        stats.record(System.nanoTime() - start);
+                    } catch (RuntimeException e) {
+                        stats.recordError();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(5, TimeUnit.MINUTES));
+        stats.stop();
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface Transfer {
+        Object apply(String sender, String receiver, String description, double amount);
+    }
+}
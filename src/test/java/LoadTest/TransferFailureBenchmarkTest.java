@@ -0,0 +1,170 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.exception.SoldeInvalidException;
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserRelations;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import com.paymybuddy.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Microbenchmark JMH des chemins d'échec d'un transfert : solde insuffisant et expéditeur inconnu.
+ *
+ * Trois variantes sont comparées pour un même refus :
+ * <ul>
+ *     <li>{@code result} : {@link TransactionService#transfer} renvoie l'échec comme une valeur ;</li>
+ *     <li>{@code preallocatedException} : {@link TransactionService#addTransaction} lève l'exception
+ *     préallouée, sans pile d'appel ;</li>
+ *     <li>{@code stackTraceException} : l'ancien comportement, une nouvelle exception avec son message
+ *     calculé et sa pile d'appel.</li>
+ * </ul>
+ * Le service est appelé sous {@code depth} cadres de pile, pour tenir compte de la profondeur réelle
+ * d'une requête (Tomcat, filtres, proxys Spring) dans le coût de capture de la pile.
+ * Les DAO sont remplacés par des bouchons en mémoire : seul le coût du refus est mesuré.
+ *
+ * Lancement : {@code mvn test -Pload-tests -Dtest=TransferFailureBenchmarkTest}.
+ */
+@Tag("load")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class TransferFailureBenchmarkTest {
+
+    private static final String KNOWN = "alice@example.com";
+    private static final String UNKNOWN = "inconnu@example.com";
+    private static final String RECEIVER = "bob@example.com";
+
+    @Param({"INSUFFICIENT_SOLDE", "SENDER_NOT_FOUND"})
+    public String failure;
+
+    @Param({"10", "150"})
+    public int depth;
+
+    private TransactionService transactionService;
+    private String senderEmail;
+    private double amount;
+
+    @Setup
+    public void setUp() {
+        User alice = user(1, KNOWN, 10);
+        User bob = user(2, RECEIVER, 0);
+        UserDAO userDAO = new UserDAO() {
+            @Override
+            public User findByEmailForUpdate(String email) {
+                return email.equals(KNOWN) ? alice : email.equals(RECEIVER) ? bob : null;
+            }
+        };
+        UserRelationsDAO userRelationsDAO = new UserRelationsDAO(null) {
+            @Override
+            public UserRelations findRelationByIds(int userId1, int userId2) {
+                return new UserRelations();
+            }
+        };
+        transactionService = new TransactionService();
+        ReflectionTestUtils.setField(transactionService, "userDAO", userDAO);
+        ReflectionTestUtils.setField(transactionService, "userRelationsDAO", userRelationsDAO);
+
+        senderEmail = failure.equals("SENDER_NOT_FOUND") ? UNKNOWN : KNOWN;
+        amount = 100;
+    }
+
+    private static User user(int id, String email, double solde) {
+        User user = new User();
+        user.setUserId(id);
+        user.setEmail(email);
+        user.setSolde(solde);
+        return user;
+    }
+
+    @Benchmark
+    public Object result() {
+        return atDepth(depth, () -> transactionService.transfer(senderEmail, RECEIVER, "bench", amount));
+    }
+
+    @Benchmark
+    public Object preallocatedException() {
+        try {
+            return atDepth(depth, () -> transactionService.addTransaction(senderEmail, RECEIVER, "bench", amount));
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stackTraceException() {
+        try {
+            return atDepth(depth, () -> {
+                Result<Transactions> result = transactionService.transfer(senderEmail, RECEIVER, "bench", amount);
+                if (result instanceof Result.Failure<Transactions>(BusinessFailure error)) {
+                    throw error == BusinessFailure.INSUFFICIENT_SOLDE
+                            ? new SoldeInvalidException("Solde insuffisant. Solde actuel = " + 10.0 + ", montant à débiter = " + amount)
+                            : new EmailNotFoundException("L'utilisateur expéditeur n'existe pas.");
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static <T> T atDepth(int depth, Supplier<T> call) {
+        return depth == 0 ? call.get() : atDepth(depth - 1, call);
+    }
+
+    /**
+     * Lance les benchmarks dans une JVM dédiée et vérifie que le résultat sans exception
+     * est le plus rapide à la profondeur la plus grande.
+     */
+    @Test
+    void benchmark() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TransferFailureBenchmarkTest.class.getName() + "\\.")
+                .build()).run();
+
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            String key = run.getParams().getParam("failure") + " depth=" + run.getParams().getParam("depth")
+                    + " " + run.getParams().getBenchmark().substring(run.getParams().getBenchmark().lastIndexOf('.') + 1);
+            scores.put(key, run.getPrimaryResult().getScore());
+        }
+        scores.forEach((key, score) -> System.out.printf("%-60s %10.1f ns/op%n", key, score));
+
+        for (String failure : new String[]{"INSUFFICIENT_SOLDE", "SENDER_NOT_FOUND"}) {
+            String prefix = failure + " depth=150 ";
+            assertTrue(scores.get(prefix + "result") < scores.get(prefix + "stackTraceException"),
+                    failure + " : le résultat devrait être plus rapide que l'exception avec pile d'appel");
+        }
+    }
+}
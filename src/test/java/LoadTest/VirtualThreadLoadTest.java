@@ -0,0 +1,137 @@
+package com.paymybuddy.load;
+
+import com.paymybuddy.PayMyBuddyApplication;
+import com.paymybuddy.dataset.DatasetGenerator;
+import com.paymybuddy.dataset.DatasetSpec;
+import com.paymybuddy.model.User;
+import com.paymybuddy.security.JwtTokenProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare le débit et la mémoire du tiers web avec le pool de threads Tomcat classique
+ * et avec les threads virtuels (+ cloison base de données), pour 5 000 clients simultanés.
+ * Lancement : {@code mvn test -Pload-tests -Dtest=VirtualThreadLoadTest}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 5_000;
+    private static final int REQUESTS_PER_CLIENT = 4;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println(platform.describe("threads plateforme"));
+        System.out.println(virtual.describe("threads virtuels"));
+
+        assertTrue(virtual.stats().getCount() > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PayMyBuddyApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + (CLIENTS + 500),
+                        "server.tomcat.accept-count=" + CLIENTS)
+                .run()) {
+            String token = seedUser(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return load(port, token);
+        }
+    }
+
+    /**
+     * Génère le jeu de données et retourne le JWT du premier utilisateur, le plus connecté.
+     */
+    private String seedUser(ConfigurableApplicationContext context) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator(context.getBean(DataSource.class),
+                DatasetSpec.of(1_000, 10_000, 50_000).withEmailDomain("vt.load.test"));
+        generator.generate();
+        User user = new User();
+        user.setEmail(generator.model().email(0));
+        return context.getBean(JwtTokenProvider.class).generateToken(user);
+    }
+
+    private Result load(int port, String token) throws InterruptedException {
+        LatencyStats stats = new LatencyStats(CLIENTS * REQUESTS_PER_CLIENT);
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicLong peakThreads = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/user/user/profil"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        System.gc();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(httpExecutor)
+                     .build()) {
+            stats.start();
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.execute(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                stats.record(System.nanoTime() - start);
+                            } else {
+                                stats.recordError();
+                            }
+                        } catch (Exception e) {
+                            stats.recordError();
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES));
+            stats.stop();
+        }
+        sampler.interrupt();
+        return new Result(stats, peakHeap.get(), peakThreads.get());
+    }
+
+    private record Result(LatencyStats stats, long peakHeapBytes, long peakThreads) {
+
+        String describe(String label) {
+            return stats.summary(label) + String.format(" peakHeap=%dMB peakThreads=%d",
+                    peakHeapBytes / (1024 * 1024), peakThreads);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.paymybuddy.load;
+
+import java.time.Duration;
+
+/**
+ * Modèle de charge d'une campagne.
+ */
+public sealed interface Workload {
+
+    Duration duration();
+
+    /**
+     * Modèle fermé : {@code concurrency} clients enchaînent les requêtes sans temps de réflexion.
+     * Le débit s'adapte à la latence du serveur.
+     */
+    record Closed(int concurrency, Duration duration) implements Workload {
+    }
+
+    /**
+     * Modèle ouvert : les requêtes arrivent à débit constant, quelle que soit la latence du serveur.
+     * La latence est mesurée depuis l'instant d'arrivée prévu, ce qui évite l'omission coordonnée.
+     */
+    record Open(double ratePerSecond, Duration duration) implements Workload {
+    }
+}
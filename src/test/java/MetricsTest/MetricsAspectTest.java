@@ -0,0 +1,133 @@
+package com.paymybuddy.metrics;
+
+import com.paymybuddy.dao.TransactionDAO;
+import com.paymybuddy.exception.SoldeInvalidException;
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import com.paymybuddy.service.TransactionService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitaire pour le {@link MetricsAspect}.
+ * Vérifie que les appels sont chronométrés et tagués par issue.
+ */
+public class MetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricsAspect metricsAspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsAspect = new MetricsAspect();
+        ReflectionTestUtils.setField(metricsAspect, "meterRegistry", meterRegistry);
+    }
+
+    /**
+     * Vérifie qu'un transfert réussi est compté avec l'issue "success" et un histogramme de latence.
+     */
+    @Test
+    void timeTransfer_ShouldRecordSuccess() {
+        TransactionService target = mock(TransactionService.class);
+        when(target.addTransaction("a@example.com", "b@example.com", "Test", 10)).thenReturn(new Transactions());
+        TransactionService transactionService = proxy(target);
+
+        transactionService.addTransaction("a@example.com", "b@example.com", "Test", 10);
+
+        Timer timer = meterRegistry.get("paymybuddy.transfer")
+                .tag("method", "addTransaction")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    /**
+     * Vérifie que l'histogramme de latence est exporté au format Prometheus.
+     */
+    @Test
+    void timeTransfer_ShouldExposeHistogramToPrometheus() {
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ReflectionTestUtils.setField(metricsAspect, "meterRegistry", prometheusRegistry);
+        TransactionService transactionService = proxy(mock(TransactionService.class));
+
+        transactionService.addTransaction("a@example.com", "b@example.com", "Test", 10);
+
+        String scrape = prometheusRegistry.scrape();
+        assertTrue(scrape.contains("paymybuddy_transfer_seconds_bucket{"));
+        assertTrue(scrape.contains("outcome=\"success\""));
+    }
+
+    /**
+     * Vérifie qu'un transfert refusé est compté avec le nom de l'exception et que celle-ci est relancée.
+     */
+    @Test
+    void timeTransfer_ShouldRecordExceptionOutcome() {
+        TransactionService target = mock(TransactionService.class);
+        when(target.addTransaction(any(), any(), any(), anyDouble())).thenThrow(new SoldeInvalidException("Solde insuffisant."));
+        TransactionService transactionService = proxy(target);
+
+        assertThrows(SoldeInvalidException.class,
+                () -> transactionService.addTransaction("a@example.com", "b@example.com", "Test", 1000));
+
+        assertEquals(1, meterRegistry.get("paymybuddy.transfer")
+                .tag("outcome", "SoldeInvalidException")
+                .timer().count());
+    }
+
+    /**
+     * Vérifie qu'un échec renvoyé comme résultat est tagué comme l'exception historique, sans rien lever.
+     */
+    @Test
+    void timeTransfer_ShouldTagFailureResultWithExceptionName() {
+        TransactionService target = mock(TransactionService.class);
+        when(target.transfer(any(), any(), any(), anyDouble())).thenReturn(Result.failure(BusinessFailure.INSUFFICIENT_SOLDE));
+        TransactionService transactionService = proxy(target);
+
+        Result<Transactions> result = transactionService.transfer("a@example.com", "b@example.com", "Test", 1000);
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, meterRegistry.get("paymybuddy.transfer")
+                .tag("method", "transfer")
+                .tag("outcome", "SoldeInvalidException")
+                .timer().count());
+    }
+
+    /**
+     * Vérifie que chaque requête de DAO a son propre timer.
+     */
+    @Test
+    void timeDaoQuery_ShouldTagQueryName() {
+        TransactionDAO target = mock(TransactionDAO.class);
+        when(target.findBySenderOrReceiver(any(), any())).thenReturn(List.of());
+        TransactionDAO transactionDAO = proxy(target);
+
+        transactionDAO.findBySenderOrReceiver(null, null);
+        transactionDAO.findBySenderOrReceiver(null, null);
+
+        assertEquals(2, meterRegistry.get("paymybuddy.dao.query")
+                .tag("query", "TransactionDAO.findBySenderOrReceiver")
+                .tag("outcome", "success")
+                .timer().count());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(metricsAspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,95 @@
+package com.paymybuddy.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test unitaire pour le {@link SlowQueryLog} et l'{@link InstrumentedDataSource},
+ * sur une base H2 en mémoire.
+ */
+public class SlowQueryLogTest {
+
+    private SimpleMeterRegistry registry;
+    private SlowQueryLog slowQueryLog;
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        slowQueryLog = new SlowQueryLog();
+        slowQueryLog.bindTo(registry);
+        ReflectionTestUtils.setField(slowQueryLog, "thresholdMs", 0L);
+        ReflectionTestUtils.setField(slowQueryLog, "top", 2);
+        dataSource = new InstrumentedDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:slowquerylog;DB_CLOSE_DELAY=-1", "sa", ""), slowQueryLog);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS account (id INT PRIMARY KEY, email VARCHAR(100))");
+            statement.execute("MERGE INTO account KEY (id) VALUES (1, 'alice@example.com')");
+        }
+    }
+
+    /**
+     * Vérifie que l'exécution est attribuée au DAO en cours, chronométrée dans un timer
+     * et journalisée avec le type de ses paramètres mais pas leurs valeurs.
+     */
+    @Test
+    void record_ShouldAttributeExecutionToCurrentDaoMethod() throws Exception {
+        String previous = SlowQueryLog.enter("UserDAO.findByEmail");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM account WHERE email = ? AND id > ?")) {
+            statement.setString(1, "alice@example.com");
+            statement.setInt(2, 0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+            }
+        } finally {
+            SlowQueryLog.exit(previous);
+        }
+
+        assertEquals(1, registry.get("paymybuddy.jdbc.query").tag("query", "UserDAO.findByEmail").timer().count());
+        List<SlowQueryLog.SlowQuery> slowest = slowQueryLog.slowest();
+        assertEquals(1, slowest.size());
+        assertEquals("(String, Int)", slowest.get(0).parameters());
+        assertFalse(slowest.get(0).toString().contains("alice@example.com"));
+    }
+
+    /**
+     * Vérifie qu'une écriture hors DAO est nommée d'après son verbe et sa table,
+     * et que seules les exécutions les plus lentes sont conservées.
+     */
+    @Test
+    void record_ShouldNameUnattributedStatementsAndKeepTopN() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE account SET email = ? WHERE id = ?")) {
+            for (int i = 0; i < 3; i++) {
+                statement.setNull(1, java.sql.Types.VARCHAR);
+                statement.setLong(2, 1L);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            statement.setObject(1, "bob@example.com");
+            statement.setObject(2, 1);
+            statement.executeUpdate();
+            statement.executeUpdate();
+        }
+
+        List<SlowQueryLog.QuerySummary> queries = slowQueryLog.topQueries(10);
+        assertEquals(1, queries.size());
+        assertEquals("flush:update account", queries.get(0).query());
+        assertEquals(3, queries.get(0).count());
+        assertEquals(2, slowQueryLog.slowest().size());
+        assertTrue(slowQueryLog.slowest().stream().anyMatch(q -> q.parameters().equals("(String, Integer)")
+                || q.parameters().equals("(null, Long) x 3 lots")));
+    }
+}
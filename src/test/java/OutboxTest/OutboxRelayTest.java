@@ -0,0 +1,111 @@
+package com.paymybuddy.outbox;
+
+import com.paymybuddy.dao.OutboxDAO;
+import com.paymybuddy.model.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitaire pour l'{@link OutboxRelay}.
+ * Vérifie la publication par lots, l'acquittement et la conservation des événements en cas d'échec.
+ */
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxDAO outboxDAO;
+
+    @Mock
+    private OutboxEventSink notificationSink;
+
+    @Mock
+    private OutboxEventSink fraudSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxRelay = new OutboxRelay();
+        ReflectionTestUtils.setField(outboxRelay, "outboxDAO", outboxDAO);
+        ReflectionTestUtils.setField(outboxRelay, "sinks", List.of(notificationSink, fraudSink));
+        ReflectionTestUtils.setField(outboxRelay, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        outboxRelay.init();
+    }
+
+    /**
+     * Vérifie qu'un lot est publié à toutes les destinations puis acquitté.
+     */
+    @Test
+    void relayBatch_ShouldPublishToAllSinksAndAcknowledge() {
+        List<OutboxEvent> events = List.of(event(1), event(2));
+        when(outboxDAO.lockNextBatch(2)).thenReturn(events);
+
+        int published = outboxRelay.relayBatch();
+
+        assertEquals(2, published);
+        verify(notificationSink).publish(events);
+        verify(fraudSink).publish(events);
+        verify(outboxDAO).deleteByIds(List.of(1L, 2L));
+        verify(transactionManager).commit(any());
+    }
+
+    /**
+     * Vérifie que le relais enchaîne les lots tant qu'ils sont complets.
+     */
+    @Test
+    void relay_ShouldDrainUntilPartialBatch() {
+        when(outboxDAO.lockNextBatch(2)).thenReturn(List.of(event(1), event(2)), List.of(event(3)));
+
+        outboxRelay.relay();
+
+        verify(outboxDAO, times(2)).lockNextBatch(2);
+        verify(outboxDAO).deleteByIds(List.of(3L));
+    }
+
+    /**
+     * Vérifie qu'un échec de publication laisse le lot dans l'outbox (annulation, pas d'acquittement).
+     */
+    @Test
+    void relay_ShouldKeepEvents_WhenSinkFails() {
+        List<OutboxEvent> events = List.of(event(1));
+        when(outboxDAO.lockNextBatch(2)).thenReturn(events);
+        doThrow(new IllegalStateException("indisponible")).when(fraudSink).publish(events);
+
+        outboxRelay.relay();
+
+        verify(outboxDAO, never()).deleteByIds(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    /**
+     * Vérifie qu'une outbox vide ne déclenche aucune publication.
+     */
+    @Test
+    void relayBatch_ShouldDoNothing_WhenOutboxIsEmpty() {
+        when(outboxDAO.lockNextBatch(2)).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verifyNoInteractions(notificationSink, fraudSink);
+    }
+
+    private OutboxEvent event(long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventId(id);
+        event.setEventType(TransferEvent.EVENT_TYPE);
+        event.setPayload("{}");
+        return event;
+    }
+}
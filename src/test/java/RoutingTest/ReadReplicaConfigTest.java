@@ -0,0 +1,69 @@
+package com.paymybuddy.config;
+
+import com.paymybuddy.routing.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de la configuration du réplica selon {@code spring.jpa.open-in-view} : avec un EntityManager
+ * ouvert pour toute la requête, le routage par transaction ne tient plus et le démarrage doit échouer.
+ */
+class ReadReplicaConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withPropertyValues(
+                    "datasource.replica.enabled=true",
+                    "spring.datasource.url=jdbc:h2:mem:replica-config-primary;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "datasource.replica.url=jdbc:h2:mem:replica-config-replica;DB_CLOSE_DELAY=-1");
+
+    /**
+     * Vérifie que le routage est refusé avec open-in-view activé explicitement.
+     */
+    @Test
+    void openInView_ShouldFailStartup() {
+        runner.withPropertyValues("spring.jpa.open-in-view=true").run(context -> {
+            assertNotNull(context.getStartupFailure());
+            assertTrue(rootCause(context.getStartupFailure()).getMessage().contains("spring.jpa.open-in-view=false"),
+                    context.getStartupFailure().toString());
+        });
+    }
+
+    /**
+     * Vérifie que le routage est refusé avec la valeur par défaut de Spring Boot (open-in-view activé).
+     */
+    @Test
+    void openInViewDefault_ShouldFailStartup() {
+        runner.run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    /**
+     * Vérifie que, sans open-in-view, la source de données de l'application est la source de routage paresseuse.
+     */
+    @Test
+    void withoutOpenInView_ShouldRouteThroughLazyProxy() {
+        runner.withPropertyValues("spring.jpa.open-in-view=false").run(context -> {
+            assertNull(context.getStartupFailure());
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+            assertInstanceOf(ReadWriteRoutingDataSource.class, proxy.getTargetDataSource());
+        });
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,147 @@
+package com.paymybuddy.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test du routage lecture/écriture entre deux bases H2 distinctes, l'une jouant la base principale,
+ * l'autre le réplica. La réplication est simulée en recopiant le battement d'une base à l'autre.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        monitor = new ReplicaLagMonitor(primary.getDataSource(), replica.getDataSource(), 2000, clock::get);
+        DataSource dataSource = ReadWriteRoutingDataSource.lazy(
+                new ReadWriteRoutingDataSource(primary.getDataSource(), replica.getDataSource(), monitor));
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate template = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        template.execute("DROP ALL OBJECTS");
+        template.execute("CREATE TABLE replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_ms BIGINT NOT NULL)");
+        template.update("INSERT INTO replication_heartbeat (id, beat_ms) VALUES (1, 0)");
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return template;
+    }
+
+    private void replicate() {
+        replica.update("UPDATE replication_heartbeat SET beat_ms = ?",
+                primary.queryForObject("SELECT beat_ms FROM replication_heartbeat", Long.class));
+    }
+
+    /**
+     * Mesure un réplica à jour : le battement écrit par la première mesure lui parvient avant la seconde.
+     */
+    private void catchUp() {
+        monitor.probe();
+        replicate();
+        clock.addAndGet(1000);
+        monitor.probe();
+    }
+
+    private String node(TransactionTemplate template) {
+        return template.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    /**
+     * Vérifie qu'à jour, le réplica sert les transactions en lecture seule et elles seules.
+     */
+    @Test
+    void readOnlyTransactions_ShouldUseReplicaWhenCaughtUp() {
+        catchUp();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(0, monitor.getLagMs());
+        assertEquals("replica", node(readOnly));
+        assertEquals("primary", node(readWrite));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    /**
+     * Vérifie qu'avant la première mesure le réplica n'est pas utilisé.
+     */
+    @Test
+    void readOnlyTransactions_ShouldUsePrimaryBeforeFirstProbe() {
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", node(readOnly));
+    }
+
+    /**
+     * Vérifie le repli sur la base principale quand le réplica accumule du retard, puis le retour au réplica.
+     */
+    @Test
+    void readOnlyTransactions_ShouldFallBackToPrimaryWhenReplicaLags() {
+        catchUp();
+
+        clock.addAndGet(3000);
+        monitor.probe();
+
+        // Le dernier battement reçu date de 4 s : la mesure majore le retard réel
+        assertEquals(4000, monitor.getLagMs());
+        assertEquals("primary", node(readOnly));
+
+        replicate();
+        monitor.probe();
+        assertEquals("replica", node(readOnly));
+    }
+
+    /**
+     * Vérifie le repli sur la base principale quand le réplica est injoignable.
+     */
+    @Test
+    void readOnlyTransactions_ShouldFallBackToPrimaryWhenReplicaFails() {
+        catchUp();
+
+        replica.execute("DROP TABLE replication_heartbeat");
+        monitor.probe();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", node(readOnly));
+    }
+
+    /**
+     * Vérifie qu'un thread épinglé lit sur la base principale même si le réplica est à jour.
+     */
+    @Test
+    void readOnlyTransactions_ShouldUsePrimaryWhenThreadPinned() {
+        catchUp();
+
+        assertTrue(ReadWriteRoutingDataSource.pinToPrimary());
+        try {
+            assertFalse(ReadWriteRoutingDataSource.pinToPrimary());
+            assertEquals("primary", node(readOnly));
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+        }
+        assertEquals("replica", node(readOnly));
+    }
+}
@@ -0,0 +1,52 @@
+package com.paymybuddy.routing;
+
+import com.paymybuddy.dto.TransactionDTO;
+import com.paymybuddy.sse.TransferCommittedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de la période de lecture de ses propres écritures.
+ */
+public class ReadYourWritesTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000, clock::get);
+
+    /**
+     * Vérifie que l'expéditeur et le destinataire d'un transfert validé sont épinglés pendant la période.
+     */
+    @Test
+    void onTransferCommitted_ShouldPinBothUsersDuringWindow() {
+        tracker.onTransferCommitted(new TransferCommittedEvent(
+                new TransactionDTO(1, "alice@example.com", "alice", "bob@example.com", "bob", "Café", 3, LocalDateTime.now()), 97, 103));
+
+        clock.addAndGet(4_999_000_000L);
+        assertTrue(tracker.isPinned("alice@example.com"));
+        assertTrue(tracker.isPinned("bob@example.com"));
+        assertFalse(tracker.isPinned("carol@example.com"));
+
+        clock.addAndGet(1_000_000);
+        assertFalse(tracker.isPinned("alice@example.com"));
+    }
+
+    /**
+     * Vérifie que la purge n'oublie que les utilisateurs dont la période est terminée.
+     */
+    @Test
+    void purge_ShouldKeepUsersStillPinned() {
+        tracker.recordWrite("alice@example.com");
+        clock.addAndGet(3_000_000_000L);
+        tracker.recordWrite("bob@example.com");
+        clock.addAndGet(3_000_000_000L);
+
+        tracker.purge();
+
+        assertFalse(tracker.isPinned("alice@example.com"));
+        assertTrue(tracker.isPinned("bob@example.com"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.paymybuddy.schema;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test des migrations {@code db/migration} sur une base H2 vierge en mode MySQL,
+ * et de la lecture des plans {@code EXPLAIN} par {@link SchemaIndexCheck}.
+ */
+public class SchemaMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:migrations;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    /**
+     * Vérifie que les migrations s'appliquent sur une base vierge et créent la colonne solde
+     * ainsi que les index attendus par la vérification au démarrage. Le partitionnement (V3)
+     * est propre à MySQL et n'a pas d'effet ici.
+     */
+    @Test
+    void migrateCreatesSoldeColumnAndKeyIndexes() {
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .javaMigrations(new V3__PartitionTransactions())
+                .load()
+                .migrate();
+
+        assertTrue(result.success);
+        assertEquals("5", result.targetSchemaVersion);
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'USER' AND COLUMN_NAME = 'SOLDE'", Integer.class));
+
+        List<String> indexes = jdbc.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+        for (SchemaIndexCheck.KeyQuery query : SchemaIndexCheck.KEY_QUERIES) {
+            assertTrue(indexes.containsAll(query.expectedIndexes()), query.name() + " : " + indexes);
+        }
+
+        jdbc.update("INSERT INTO user (username, email, password) VALUES ('alice', 'alice@example.com', 'x')");
+        assertEquals(100.0, jdbc.queryForObject("SELECT solde FROM user", Double.class));
+    }
+
+    /**
+     * Vérifie qu'une base créée par {@code ddl-auto=update} avec les entités d'origine, marquée en version 1,
+     * reçoit les tables et index apparus depuis, dont {@code outbox_event}.
+     */
+    @Test
+    void migrateBaselinedDatabaseAddsLaterTables() {
+        // Schéma créé par Hibernate avant l'adoption des migrations : pas d'outbox ni de battement de réplication
+        jdbc.execute("CREATE TABLE user (user_id INT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, "
+                + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, solde DOUBLE NOT NULL)");
+        jdbc.execute("CREATE TABLE user_relations (relation_id INT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id_1 INT NOT NULL REFERENCES user(user_id), user_id_2 INT NOT NULL REFERENCES user(user_id), "
+                + "relationship_status VARCHAR(255) NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        jdbc.execute("CREATE TABLE transactions (transaction_id INT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id_sender INT NOT NULL REFERENCES user(user_id), user_id_receiver INT NOT NULL REFERENCES user(user_id), "
+                + "description VARCHAR(255), amount DOUBLE NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .javaMigrations(new V3__PartitionTransactions())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertTrue(result.success);
+        assertEquals("5", result.targetSchemaVersion);
+        assertEquals(List.of("2", "3", "4", "5"), result.migrations.stream().map(migration -> migration.version).toList());
+
+        List<String> indexes = jdbc.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+        for (SchemaIndexCheck.KeyQuery query : SchemaIndexCheck.KEY_QUERIES) {
+            assertTrue(indexes.containsAll(query.expectedIndexes()), query.name() + " : " + indexes);
+        }
+        jdbc.update("INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload) "
+                + "VALUES ('transaction', 1, 'TransferCompleted', '{}')");
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM replication_heartbeat", Integer.class));
+    }
+
+    /**
+     * Vérifie que seuls les index absents de {@code possible_keys} et {@code key} sont signalés.
+     */
+    @Test
+    void missingIndexesReadsMysqlExplainColumns() throws Exception {
+        SchemaIndexCheck.KeyQuery query = new SchemaIndexCheck.KeyQuery("history", "SELECT 1",
+                Set.of("idx_transactions_sender_date", "idx_transactions_receiver_date"));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet plan = statement.executeQuery("SELECT * FROM (VALUES "
+                    + "('IDX_TRANSACTIONS_SENDER_DATE,FK_SENDER', 'FK_SENDER'), "
+                    + "(NULL, 'idx_transactions_receiver_date')) AS plan(possible_keys, \"key\")")) {
+                assertEquals(Set.of(), SchemaIndexCheck.missingIndexes(query, plan));
+            }
+            try (ResultSet plan = statement.executeQuery("SELECT * FROM (VALUES "
+                    + "('fk_sender,fk_receiver', CAST(NULL AS VARCHAR))) AS plan(possible_keys, \"key\")")) {
+                assertEquals(Set.of("idx_transactions_receiver_date", "idx_transactions_sender_date"),
+                        SchemaIndexCheck.missingIndexes(query, plan));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.paymybuddy.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test du plan de maintenance des partitions mensuelles de {@link TransactionPartitionMaintainer}.
+ */
+public class TransactionPartitionMaintainerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    /**
+     * Vérifie qu'au premier passage, p_future est découpée du mois de la plus ancienne transaction
+     * jusqu'aux mois à venir.
+     */
+    @Test
+    void plan_ShouldSplitFutureFromOldestTransaction() {
+        List<String> statements = TransactionPartitionMaintainer.plan(List.of(), YearMonth.of(2026, 8), CURRENT, 2, 0, month -> true);
+
+        assertEquals(List.of("ALTER TABLE transactions REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p202608 VALUES LESS THAN (UNIX_TIMESTAMP('2026-09-01 00:00:00')), "
+                + "PARTITION p202609 VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')), "
+                + "PARTITION p202610 VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')), "
+                + "PARTITION p202611 VALUES LESS THAN (UNIX_TIMESTAMP('2026-12-01 00:00:00')), "
+                + "PARTITION p202612 VALUES LESS THAN (UNIX_TIMESTAMP('2027-01-01 00:00:00')), "
+                + "PARTITION p_future VALUES LESS THAN MAXVALUE)"), statements);
+    }
+
+    /**
+     * Vérifie que seuls les mois manquants sont ajoutés, et rien lorsque les partitions sont à jour.
+     */
+    @Test
+    void plan_ShouldOnlyAddMissingMonths() {
+        List<YearMonth> existing = List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11));
+
+        List<String> statements = TransactionPartitionMaintainer.plan(existing, null, CURRENT, 2, 0, month -> true);
+
+        assertEquals(1, statements.size());
+        assertTrue(statements.get(0).contains("INTO (PARTITION p202612 VALUES LESS THAN (UNIX_TIMESTAMP('2027-01-01 00:00:00')), "
+                + "PARTITION p_future"));
+        assertEquals(List.of(), TransactionPartitionMaintainer.plan(existing, null, YearMonth.of(2026, 9), 2, 0, month -> true));
+    }
+
+    /**
+     * Vérifie que les mois archivés au-delà de la rétention sont échangés avec une table d'archive puis supprimés,
+     * et que les mois non archivés restent dans la table.
+     */
+    @Test
+    void plan_ShouldDetachOnlyArchivedMonthsBeyondRetention() {
+        List<YearMonth> existing = List.of(YearMonth.of(2026, 6), YearMonth.of(2026, 7), YearMonth.of(2026, 8),
+                YearMonth.of(2026, 9), YearMonth.of(2026, 10), YearMonth.of(2026, 11));
+
+        List<String> statements = TransactionPartitionMaintainer.plan(existing, null, CURRENT, 1, 2,
+                month -> month.equals(YearMonth.of(2026, 7)));
+
+        assertEquals(List.of(
+                "CREATE TABLE transactions_archive_202607 LIKE transactions",
+                "ALTER TABLE transactions_archive_202607 REMOVE PARTITIONING",
+                "ALTER TABLE transactions EXCHANGE PARTITION p202607 WITH TABLE transactions_archive_202607",
+                "ALTER TABLE transactions DROP PARTITION p202607"), statements);
+    }
+
+    /**
+     * Vérifie qu'avec la rétention par défaut (0), aucun mois n'est détaché, même archivé.
+     */
+    @Test
+    void plan_ShouldKeepAllMonthsWithoutRetention() {
+        List<YearMonth> existing = List.of(YearMonth.of(2020, 1), YearMonth.of(2026, 10), YearMonth.of(2026, 11));
+
+        assertEquals(List.of(), TransactionPartitionMaintainer.plan(existing, null, CURRENT, 1, 0, month -> true));
+    }
+}
@@ -0,0 +1,74 @@
+package com.paymybuddy.config;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration de l'exposition des endpoints d'administration : refusés sur le port de
+ * l'application, lisibles seulement sur le port de management, sans remise à zéro par défaut.
+ */
+class ActuatorExposureTest {
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    private static int status(String method, int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Nested
+    @ActiveProfiles("test")
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "management.endpoints.web.exposure.include=health,slowqueries")
+    class SamePort {
+
+        @LocalServerPort
+        private int port;
+
+        /**
+         * Vérifie que, sans port de management, seule la santé reste accessible sur le port de l'application.
+         */
+        @Test
+        void actuator_ShouldOnlyExposeHealth() throws Exception {
+            assertEquals(200, status("GET", port, "/actuator/health"));
+            assertEquals(403, status("GET", port, "/actuator/slowqueries"));
+            assertEquals(403, status("DELETE", port, "/actuator/slowqueries"));
+        }
+    }
+
+    @Nested
+    @ActiveProfiles("test")
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"management.server.port=0", "management.endpoints.web.exposure.include=health,slowqueries"})
+    class ManagementPort {
+
+        @LocalServerPort
+        private int port;
+
+        @LocalManagementPort
+        private int managementPort;
+
+        /**
+         * Vérifie que les requêtes lentes sont lisibles sur le port de management, mais pas remises à zéro.
+         */
+        @Test
+        void slowQueries_ShouldBeReadOnlyOnManagementPort() throws Exception {
+            assertEquals(200, status("GET", managementPort, "/actuator/slowqueries"));
+            assertEquals(405, status("DELETE", managementPort, "/actuator/slowqueries"));
+            assertEquals(404, status("GET", port, "/actuator/slowqueries"));
+        }
+    }
+}
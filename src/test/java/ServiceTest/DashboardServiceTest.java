@@ -0,0 +1,134 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.dao.TransactionDAO;
+import com.paymybuddy.dao.UserDAO;
+import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.dto.DashboardDTO;
+import com.paymybuddy.exception.EmailNotFoundException;
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.model.User;
+import com.paymybuddy.model.UserRelations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitaire pour le {@link DashboardService}.
+ * Vérifie l'agrégation du solde, des relations et des transactions récentes
+ * à partir d'une seule résolution de l'utilisateur.
+ */
+public class DashboardServiceTest {
+
+    @Mock
+    private UserDAO userDAO;
+
+    @Mock
+    private TransactionDAO transactionDAO;
+
+    @Mock
+    private UserRelationsDAO userRelationsDAO;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardService dashboardService;
+
+    private User user;
+    private User friend;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dashboardService = new DashboardService();
+        ReflectionTestUtils.setField(dashboardService, "userDAO", userDAO);
+        ReflectionTestUtils.setField(dashboardService, "transactionDAO", transactionDAO);
+        ReflectionTestUtils.setField(dashboardService, "historyWindow", new HistoryWindow());
+        ReflectionTestUtils.setField(dashboardService, "userRelationsDAO", userRelationsDAO);
+        ReflectionTestUtils.setField(dashboardService, "transactionManager", transactionManager);
+        dashboardService.init();
+
+        user = new User();
+        user.setUserId(1);
+        user.setUsername("user");
+        user.setEmail("user@example.com");
+        user.setSolde(150.0);
+
+        friend = new User();
+        friend.setUserId(2);
+        friend.setUsername("friend");
+        friend.setEmail("friend@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    /**
+     * Vérifie que le tableau de bord regroupe solde, relations et transactions récentes,
+     * chaque lecture étant faite dans sa propre transaction.
+     */
+    @Test
+    void getDashboard_ShouldAggregateSoldeRelationsAndTransactions() {
+        UserRelations relation = new UserRelations();
+        relation.setUser1(user);
+        relation.setUser2(friend);
+
+        Transactions transaction = new Transactions();
+        transaction.setTransactionId(7);
+        transaction.setSender(user);
+        transaction.setReceiver(friend);
+        transaction.setDescription("Restaurant");
+        transaction.setAmount(25.0);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 1, 15, 12, 0));
+
+        when(userDAO.findByEmail("user@example.com")).thenReturn(user);
+        when(userRelationsDAO.getUserRelations(1)).thenReturn(List.of(relation));
+        when(transactionDAO.findRecentBySenderOrReceiver(eq(user), any(), eq(20))).thenReturn(List.of(transaction));
+
+        DashboardDTO dashboard = dashboardService.getDashboard("user@example.com", 20);
+
+        assertEquals("user", dashboard.username());
+        assertEquals(150.0, dashboard.solde());
+        assertEquals(List.of("friend@example.com"), dashboard.relations());
+        assertEquals(1, dashboard.transactions().size());
+        assertEquals(7, dashboard.transactions().get(0).transactionId());
+        assertEquals("friend", dashboard.transactions().get(0).receiverUsername());
+        verify(userDAO, times(1)).findByEmail("user@example.com");
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    /**
+     * Vérifie qu'une exception est levée si l'utilisateur n'existe pas, sans lancer de lecture.
+     */
+    @Test
+    void getDashboard_ShouldThrowException_WhenUserNotFound() {
+        when(userDAO.findByEmail("unknown@example.com")).thenReturn(null);
+
+        assertThrows(EmailNotFoundException.class,
+                () -> dashboardService.getDashboard("unknown@example.com", 20));
+        verifyNoInteractions(transactionDAO, userRelationsDAO);
+    }
+
+    /**
+     * Vérifie que l'erreur d'une lecture parallèle est relancée telle quelle.
+     */
+    @Test
+    void getDashboard_ShouldRethrowFailureOfParallelRead() {
+        when(userDAO.findByEmail("user@example.com")).thenReturn(user);
+        when(userRelationsDAO.getUserRelations(1)).thenThrow(new IllegalStateException("connexion perdue"));
+
+        assertThrows(IllegalStateException.class, () -> dashboardService.getDashboard("user@example.com", 20));
+    }
+}
@@ -2,6 +2,8 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.dao.UserDAO;
 import com.paymybuddy.model.User;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import com.paymybuddy.security.JwtTokenProvider;
 import com.paymybuddy.exception.InvalidLoginException;
 import org.junit.jupiter.api.BeforeEach;
@@ -124,4 +126,18 @@ public class LoginServiceTest {
         // Vérification que l'exception contient le bon message
         assertEquals("Email ou mot de passe invalide", thrown.getMessage());
     }
+
+    /**
+     * Test pour la méthode {@link LoginService#login(String, String)}.
+     * Vérifie qu'un mot de passe incorrect est renvoyé comme un échec, sans générer de token.
+     */
+    @Test
+    void login_ShouldReturnFailure_WhenPasswordIsIncorrect() {
+        when(passwordEncoder.matches(password, user.getPassword())).thenReturn(false);
+
+        Result<String> result = loginService.login(email, password);
+
+        assertEquals(new Result.Failure<String>(BusinessFailure.INVALID_LOGIN), result);
+        verifyNoInteractions(jwtTokenProvider);
+    }
 }
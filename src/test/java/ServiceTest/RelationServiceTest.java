@@ -2,10 +2,13 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.dao.UserDAO;
 import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.EmailNotFoundException;
 import com.paymybuddy.exception.SelfRelationException;
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserRelations;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -29,6 +32,9 @@ public class RelationServiceTest {
     @Mock
     private UserRelationsDAO userRelationsDAO;
 
+    @Mock
+    private UserVersions userVersions;
+
     private RelationService relationService;
 
     /**
@@ -42,6 +48,7 @@ public class RelationServiceTest {
         // Injection des mocks dans le service
         ReflectionTestUtils.setField(relationService, "userDAO", userDAO);
         ReflectionTestUtils.setField(relationService, "userRelationsDAO", userRelationsDAO);
+        ReflectionTestUtils.setField(relationService, "userVersions", userVersions);
     }
 
     /**
@@ -185,5 +192,27 @@ public class RelationServiceTest {
 
         // Vérification que l'élément a bien été sauvegardé
         verify(userRelationsDAO).save(any(UserRelations.class));
+        verify(userVersions).changed("user@example.com", "friend@example.com");
+    }
+
+    /**
+     * Test pour la méthode {@link RelationService#relate(String, String)}.
+     * Vérifie qu'une relation existante est renvoyée comme un échec, sans nouvelle sauvegarde.
+     */
+    @Test
+    void relate_ShouldReturnFailure_WhenRelationAlreadyExists() {
+        User user = new User();
+        user.setUserId(1);
+        User relationUser = new User();
+        relationUser.setUserId(2);
+
+        when(userDAO.findByEmail("user@example.com")).thenReturn(user);
+        when(userDAO.findByEmail("friend@example.com")).thenReturn(relationUser);
+        when(userRelationsDAO.findRelationByIds(1, 2)).thenReturn(new UserRelations());
+
+        Result<UserRelations> result = relationService.relate("user@example.com", "friend@example.com");
+
+        assertEquals(new Result.Failure<UserRelations>(BusinessFailure.RELATION_ALREADY_EXISTS), result);
+        verify(userRelationsDAO, never()).save(any());
     }
 }
@@ -1,18 +1,30 @@
 package com.paymybuddy.service;
 
+import com.paymybuddy.archive.ArchivedTransaction;
+import com.paymybuddy.archive.TransactionArchive;
+import com.paymybuddy.dao.OutboxDAO;
 import com.paymybuddy.dao.TransactionDAO;
 import com.paymybuddy.dao.UserDAO;
 import com.paymybuddy.dao.UserRelationsDAO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.EmailNotFoundException;
 import com.paymybuddy.exception.InvalidAmountException;
+import com.paymybuddy.exception.RelationNotFoundException;
 import com.paymybuddy.model.Transactions;
 import com.paymybuddy.model.User;
 import com.paymybuddy.model.UserRelations;
+import com.paymybuddy.outbox.TransferEvent;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import com.paymybuddy.sse.TransferCommittedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +46,18 @@ public class TransactionServiceTest {
     @Mock
     private UserRelationsDAO userRelationsDAO;
 
+    @Mock
+    private OutboxDAO outboxDAO;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private UserVersions userVersions;
+
     private TransactionService transactionService;
 
     /**
@@ -47,7 +71,12 @@ public class TransactionServiceTest {
         // Injection des mocks dans le service
         ReflectionTestUtils.setField(transactionService, "userDAO", userDAO);
         ReflectionTestUtils.setField(transactionService, "transactionDAO", transactionDAO);
+        ReflectionTestUtils.setField(transactionService, "historyWindow", new HistoryWindow());
+        ReflectionTestUtils.setField(transactionService, "transactionArchive", transactionArchive);
         ReflectionTestUtils.setField(transactionService, "userRelationsDAO", userRelationsDAO);
+        ReflectionTestUtils.setField(transactionService, "outboxDAO", outboxDAO);
+        ReflectionTestUtils.setField(transactionService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(transactionService, "userVersions", userVersions);
 
     }
 
@@ -73,7 +102,7 @@ public class TransactionServiceTest {
      */
     @Test
     void addTransaction_ShouldThrowEmailNotFoundException_WhenSenderNotFound() {
-        when(userDAO.findByEmail("sender@example.com")).thenReturn(null);
+        when(userDAO.findByEmailForUpdate("sender@example.com")).thenReturn(null);
 
         // Vérification que l'exception est levée pour un expéditeur introuvable
         assertThrows(EmailNotFoundException.class, () -> {
@@ -90,8 +119,8 @@ public class TransactionServiceTest {
         User sender = new User();
         sender.setEmail("sender@example.com");
 
-        when(userDAO.findByEmail("sender@example.com")).thenReturn(sender);
-        when(userDAO.findByEmail("receiver@example.com")).thenReturn(null);
+        when(userDAO.findByEmailForUpdate("sender@example.com")).thenReturn(sender);
+        when(userDAO.findByEmailForUpdate("receiver@example.com")).thenReturn(null);
 
         // Vérification que l'exception est levée pour un récepteur introuvable
         assertThrows(EmailNotFoundException.class, () -> {
@@ -115,13 +144,20 @@ public class TransactionServiceTest {
         receiver.setEmail("receiver@example.com");
         receiver.setSolde(50);
 
-        when(userDAO.findByEmail("sender@example.com")).thenReturn(sender);
-        when(userDAO.findByEmail("receiver@example.com")).thenReturn(receiver);
+        when(userDAO.findByEmailForUpdate("sender@example.com")).thenReturn(sender);
+        when(userDAO.findByEmailForUpdate("receiver@example.com")).thenReturn(receiver);
         when(userRelationsDAO.findRelationByIds(1, 2)).thenReturn(new UserRelations());
 
         Transactions result = transactionService.addTransaction("sender@example.com", "receiver@example.com", "Test Transaction", 100);
 
         verify(transactionDAO).save(any(Transactions.class));
+        verify(outboxDAO).append(eq(TransferEvent.AGGREGATE_TYPE), anyInt(), eq(TransferEvent.EVENT_TYPE), any(TransferEvent.class));
+
+        ArgumentCaptor<TransferCommittedEvent> event = ArgumentCaptor.forClass(TransferCommittedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(100, event.getValue().senderSolde());
+        assertEquals(150, event.getValue().receiverSolde());
+        verify(userVersions).changed("sender@example.com", "receiver@example.com");
 
         assertEquals(sender, result.getSender());
         assertEquals(receiver, result.getReceiver());
@@ -129,6 +165,85 @@ public class TransactionServiceTest {
         assertEquals(100, result.getAmount());
     }
 
+    /**
+     * Test pour la méthode {@link TransactionService#addTransaction(String, String, String, double)}.
+     * Vérifie que les deux utilisateurs sont verrouillés dans l'ordre de leurs emails, quel que soit le sens du transfert.
+     */
+    @Test
+    void addTransaction_ShouldLockUsersInEmailOrder() {
+        User alice = new User();
+        alice.setUserId(1);
+        alice.setEmail("alice@example.com");
+        alice.setSolde(200);
+
+        User bob = new User();
+        bob.setUserId(2);
+        bob.setEmail("bob@example.com");
+
+        when(userDAO.findByEmailForUpdate("alice@example.com")).thenReturn(alice);
+        when(userDAO.findByEmailForUpdate("bob@example.com")).thenReturn(bob);
+        when(userRelationsDAO.findRelationByIds(anyInt(), anyInt())).thenReturn(new UserRelations());
+
+        transactionService.addTransaction("bob@example.com", "alice@example.com", "Retour", 10);
+        transactionService.addTransaction("alice@example.com", "bob@example.com", "Aller", 10);
+
+        InOrder order = inOrder(userDAO);
+        order.verify(userDAO).findByEmailForUpdate("alice@example.com");
+        order.verify(userDAO).findByEmailForUpdate("bob@example.com");
+        order.verify(userDAO).findByEmailForUpdate("alice@example.com");
+        order.verify(userDAO).findByEmailForUpdate("bob@example.com");
+        verify(userDAO, never()).findByEmail(anyString());
+    }
+
+    /**
+     * Test pour la méthode {@link TransactionService#transfer(String, String, String, double)}.
+     * Vérifie qu'un solde insuffisant est renvoyé comme un échec, sans aucune écriture.
+     */
+    @Test
+    void transfer_ShouldReturnFailure_WhenSoldeInsufficient() {
+        User sender = new User();
+        sender.setUserId(1);
+        sender.setEmail("sender@example.com");
+        sender.setSolde(50);
+
+        User receiver = new User();
+        receiver.setUserId(2);
+        receiver.setEmail("receiver@example.com");
+
+        when(userDAO.findByEmailForUpdate("sender@example.com")).thenReturn(sender);
+        when(userDAO.findByEmailForUpdate("receiver@example.com")).thenReturn(receiver);
+        when(userRelationsDAO.findRelationByIds(1, 2)).thenReturn(new UserRelations());
+
+        Result<Transactions> result = transactionService.transfer("sender@example.com", "receiver@example.com", "Test Transaction", 100);
+
+        assertEquals(new Result.Failure<Transactions>(BusinessFailure.INSUFFICIENT_SOLDE), result);
+        assertEquals(50, sender.getSolde());
+        verifyNoInteractions(transactionDAO, outboxDAO, eventPublisher);
+    }
+
+    /**
+     * Test pour la méthode {@link TransactionService#addTransaction(String, String, String, double)}.
+     * Vérifie que l'exception levée pour un refus est l'instance préallouée, sans pile d'appel.
+     */
+    @Test
+    void addTransaction_ShouldThrowPreallocatedException_WhenRelationMissing() {
+        User sender = new User();
+        sender.setUserId(1);
+        User receiver = new User();
+        receiver.setUserId(2);
+        when(userDAO.findByEmailForUpdate("sender@example.com")).thenReturn(sender);
+        when(userDAO.findByEmailForUpdate("receiver@example.com")).thenReturn(receiver);
+
+        RelationNotFoundException first = assertThrows(RelationNotFoundException.class,
+                () -> transactionService.addTransaction("sender@example.com", "receiver@example.com", "Test Transaction", 10));
+        RelationNotFoundException second = assertThrows(RelationNotFoundException.class,
+                () -> transactionService.addTransaction("sender@example.com", "receiver@example.com", "Test Transaction", 10));
+
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals("Les utilisateurs ne sont pas en relation.", first.getMessage());
+    }
+
 
     /**
      * Test pour la méthode {@link TransactionService#getUserTransactions(String)}.
@@ -162,7 +277,7 @@ public class TransactionServiceTest {
         transaction2.setAmount(200);
 
         when(userDAO.findByEmail("user@example.com")).thenReturn(user);
-        when(transactionDAO.findBySenderOrReceiver(user)).thenReturn(List.of(transaction1, transaction2));
+        when(transactionDAO.findBySenderOrReceiver(eq(user), any())).thenReturn(List.of(transaction1, transaction2));
 
         List<Transactions> result = transactionService.getUserTransactions("user@example.com");
 
@@ -172,4 +287,56 @@ public class TransactionServiceTest {
         assertEquals(100, result.get(0).getAmount());
         assertEquals(200, result.get(1).getAmount());
     }
+
+    /**
+     * Test pour la méthode {@link TransactionService#getUserTransactions(String, LocalDate)}.
+     * Vérifie qu'une date antérieure à la période d'historique complète les transactions en base
+     * par celles de l'archive, sans doublon.
+     */
+    @Test
+    void getUserTransactions_ShouldMergeArchive_WhenFromPrecedesHistoryWindow() {
+        User user = new User();
+        user.setUserId(1);
+        user.setEmail("user@example.com");
+        User friend = new User();
+        friend.setUserId(2);
+
+        Transactions recent = new Transactions();
+        recent.setTransactionId(10);
+        recent.setSender(user);
+        recent.setReceiver(friend);
+
+        LocalDate from = LocalDate.now().minusYears(3);
+        LocalDateTime archivedAt = LocalDateTime.now().minusYears(2);
+        when(userDAO.findByEmail("user@example.com")).thenReturn(user);
+        when(transactionDAO.findBySenderOrReceiver(user, from.atStartOfDay())).thenReturn(List.of(recent));
+        when(transactionArchive.find(eq(1), eq(from.atStartOfDay()), any())).thenReturn(List.of(
+                new ArchivedTransaction(10, 1, 2, "en cours d'archivage", 5, archivedAt),
+                new ArchivedTransaction(3, 2, 1, "archivée", 7.5, archivedAt)));
+        when(userDAO.findByIds(any())).thenReturn(List.of(user, friend));
+
+        List<Transactions> result = transactionService.getUserTransactions("user@example.com", from);
+
+        assertEquals(2, result.size());
+        assertSame(recent, result.get(0));
+        assertEquals(3, result.get(1).getTransactionId());
+        assertSame(friend, result.get(1).getSender());
+        assertSame(user, result.get(1).getReceiver());
+        assertEquals(7.5, result.get(1).getAmount());
+    }
+
+    /**
+     * Vérifie que l'archive n'est pas lue lorsque la date est dans la période d'historique.
+     */
+    @Test
+    void getUserTransactions_ShouldNotReadArchive_WhenFromInHistoryWindow() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        when(userDAO.findByEmail("user@example.com")).thenReturn(user);
+
+        transactionService.getUserTransactions("user@example.com", LocalDate.now().minusDays(7));
+
+        verify(transactionDAO).findBySenderOrReceiver(user, LocalDate.now().minusDays(7).atStartOfDay());
+        verifyNoInteractions(transactionArchive);
+    }
 }
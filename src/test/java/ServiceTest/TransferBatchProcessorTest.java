@@ -0,0 +1,152 @@
+package com.paymybuddy.service;
+
+import com.paymybuddy.exception.SoldeInvalidException;
+import com.paymybuddy.model.Transactions;
+import com.paymybuddy.result.BusinessFailure;
+import com.paymybuddy.result.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitaire pour le {@link TransferBatchProcessor}.
+ * Vérifie le regroupement des transferts, l'isolation des échecs au sein d'un lot
+ * et le rejeu individuel lorsque le commit du lot échoue.
+ */
+public class TransferBatchProcessorTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferBatchProcessor processor;
+
+    /**
+     * Initialise le pipeline avec des dépendances simulées et démarre son thread.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        processor = new TransferBatchProcessor();
+        ReflectionTestUtils.setField(processor, "transactionService", transactionService);
+        ReflectionTestUtils.setField(processor, "transactionManager", transactionManager);
+        processor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.stop();
+    }
+
+    /**
+     * Vérifie qu'un transfert soumis est appliqué et que son futur est complété.
+     */
+    @Test
+    void submit_ShouldCompleteFuture_WhenTransferSucceeds() {
+        Transactions transaction = new Transactions();
+        when(transactionService.applyTransfer("a@example.com", "b@example.com", "Test", 10)).thenReturn(Result.success(transaction));
+
+        Result<Transactions> result = processor.transfer("a@example.com", "b@example.com", "Test", 10);
+
+        assertSame(transaction, result.orElseThrow());
+        verify(transactionManager).commit(any());
+    }
+
+    /**
+     * Vérifie qu'un transfert refusé ou en erreur échoue seul sans faire échouer le reste du lot.
+     */
+    @Test
+    void processBatch_ShouldIsolateFailingTransfer() {
+        Transactions first = new Transactions();
+        Transactions third = new Transactions();
+        when(transactionService.applyTransfer("a@example.com", "b@example.com", "1", 10)).thenReturn(Result.success(first));
+        when(transactionService.applyTransfer("c@example.com", "d@example.com", "2", 500))
+                .thenReturn(Result.failure(BusinessFailure.INSUFFICIENT_SOLDE));
+        when(transactionService.applyTransfer("e@example.com", "f@example.com", "3", 20))
+                .thenThrow(new IllegalStateException("contrainte violée"));
+        when(transactionService.applyTransfer("g@example.com", "h@example.com", "4", 30)).thenReturn(Result.success(third));
+
+        List<TransferBatchProcessor.PendingTransfer> batch = List.of(
+                pending("a@example.com", "b@example.com", "1", 10),
+                pending("c@example.com", "d@example.com", "2", 500),
+                pending("e@example.com", "f@example.com", "3", 20),
+                pending("g@example.com", "h@example.com", "4", 30));
+
+        processor.processBatch(batch);
+
+        assertSame(first, batch.get(0).result().join().orElseThrow());
+        assertEquals(new Result.Failure<Transactions>(BusinessFailure.INSUFFICIENT_SOLDE), batch.get(1).result().join());
+        CompletionException failure = assertThrows(CompletionException.class, () -> batch.get(2).result().join());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertSame(third, batch.get(3).result().join().orElseThrow());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionService, never()).transfer(any(), any(), any(), anyDouble());
+    }
+
+    /**
+     * Vérifie que les transferts sont rejoués un par un lorsque le commit du lot échoue.
+     */
+    @Test
+    void processBatch_ShouldReplayIndividually_WhenCommitFails() {
+        Transactions replayed = new Transactions();
+        when(transactionService.applyTransfer(any(), any(), any(), anyDouble())).thenReturn(Result.success(new Transactions()));
+        doThrow(new TransactionSystemException("commit impossible")).when(transactionManager).commit(any());
+        when(transactionService.transfer("a@example.com", "b@example.com", "1", 10)).thenReturn(Result.success(replayed));
+        when(transactionService.transfer("c@example.com", "d@example.com", "2", 20))
+                .thenThrow(new IllegalStateException("contrainte violée"));
+
+        List<TransferBatchProcessor.PendingTransfer> batch = List.of(
+                pending("a@example.com", "b@example.com", "1", 10),
+                pending("c@example.com", "d@example.com", "2", 20));
+
+        processor.processBatch(batch);
+
+        assertSame(replayed, batch.get(0).result().join().orElseThrow());
+        assertThrows(CompletionException.class, () -> batch.get(1).result().join());
+    }
+
+    /**
+     * Vérifie que le refus métier est renvoyé tel quel par {@link TransferBatchProcessor#transfer}.
+     */
+    @Test
+    void transfer_ShouldReturnBusinessFailure() {
+        when(transactionService.applyTransfer("a@example.com", "b@example.com", "Test", 1000))
+                .thenReturn(Result.failure(BusinessFailure.INSUFFICIENT_SOLDE));
+
+        Result<Transactions> result = processor.transfer("a@example.com", "b@example.com", "Test", 1000);
+
+        assertEquals(new Result.Failure<Transactions>(BusinessFailure.INSUFFICIENT_SOLDE), result);
+        assertThrows(SoldeInvalidException.class, result::orElseThrow);
+    }
+
+    /**
+     * Vérifie qu'une erreur technique est relancée telle quelle par {@link TransferBatchProcessor#transfer}.
+     */
+    @Test
+    void transfer_ShouldRethrowTechnicalException() {
+        when(transactionService.applyTransfer("a@example.com", "b@example.com", "Test", 10))
+                .thenThrow(new IllegalStateException("contrainte violée"));
+
+        assertThrows(IllegalStateException.class,
+                () -> processor.transfer("a@example.com", "b@example.com", "Test", 10));
+    }
+
+    private TransferBatchProcessor.PendingTransfer pending(String sender, String receiver, String description, double amount) {
+        return new TransferBatchProcessor.PendingTransfer(sender, receiver, description, amount, new CompletableFuture<>());
+    }
+}
@@ -2,6 +2,7 @@ package com.paymybuddy.service;
 
 import com.paymybuddy.dao.UserDAO;
 import com.paymybuddy.dto.UserDTO;
+import com.paymybuddy.etag.UserVersions;
 import com.paymybuddy.exception.EmailAlreadyExistsException;
 import com.paymybuddy.exception.UserNotFoundException;
 import com.paymybuddy.model.User;
@@ -29,6 +30,9 @@ public class UserServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserVersions userVersions;
+
     private UserService userService;
 
     /**
@@ -38,7 +42,7 @@ public class UserServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserService(userDAO);
+        userService = new UserService(userDAO, userVersions);
         // Injection du mock du password encoder dans le service
         ReflectionTestUtils.setField(userService, "passwordEncoder", passwordEncoder);
     }
@@ -167,5 +171,6 @@ public class UserServiceTest {
         verify(userDAO).findByEmail(currentUserEmail);
         verify(passwordEncoder).encode("newPassword123");
         verify(userDAO).save(any(User.class));
+        verify(userVersions).changed(currentUserEmail, "john@example.com");
     }
 }
@@ -0,0 +1,95 @@
+package com.paymybuddy.sse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test unitaire pour le {@link UserStreamRegistry}.
+ * Vérifie les bornes sur le nombre de flux et l'éviction des clients trop lents.
+ */
+public class UserStreamRegistryTest {
+
+    private UserStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new UserStreamRegistry();
+        ReflectionTestUtils.setField(registry, "maxStreams", 3);
+        ReflectionTestUtils.setField(registry, "maxStreamsPerUser", 2);
+        ReflectionTestUtils.setField(registry, "bufferSize", 2);
+        ReflectionTestUtils.setField(registry, "dispatcherThreads", 1);
+        registry.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+    }
+
+    /**
+     * Vérifie qu'aucun flux n'est ouvert au-delà de la limite de l'instance.
+     */
+    @Test
+    void open_ShouldReturnNull_WhenMaxStreamsReached() {
+        assertNotNull(registry.open("a@example.com"));
+        assertNotNull(registry.open("b@example.com"));
+        assertNotNull(registry.open("c@example.com"));
+
+        assertNull(registry.open("d@example.com"));
+        assertEquals(3, registry.getStreamCount());
+        assertFalse(registry.hasStreams("d@example.com"));
+    }
+
+    /**
+     * Vérifie que le plus ancien flux d'un utilisateur est fermé au-delà de la limite par utilisateur.
+     */
+    @Test
+    void open_ShouldEvictOldestStream_WhenTooManyStreamsForUser() {
+        registry.open("a@example.com");
+        registry.open("a@example.com");
+        registry.open("a@example.com");
+
+        assertEquals(2, registry.getStreamCount());
+        assertEquals(1, registry.getEvictedCount());
+        assertTrue(registry.hasStreams("a@example.com"));
+    }
+
+    /**
+     * Vérifie qu'un client dont le tampon déborde est évincé sans bloquer la publication.
+     */
+    @Test
+    void publish_ShouldEvictSlowConsumer_WhenBufferIsFull() throws InterruptedException {
+        registry.open("a@example.com");
+        registry.open("b@example.com");
+
+        // Occupe l'unique thread d'écriture pour simuler une connexion lente
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService dispatcher = (ExecutorService) ReflectionTestUtils.getField(registry, "dispatcher");
+        dispatcher.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        registry.publish("a@example.com", "solde", "{\"solde\":1.0}");
+        registry.publish("a@example.com", "solde", "{\"solde\":2.0}");
+        assertTrue(registry.hasStreams("a@example.com"));
+
+        registry.publish("a@example.com", "solde", "{\"solde\":3.0}");
+
+        assertFalse(registry.hasStreams("a@example.com"));
+        assertTrue(registry.hasStreams("b@example.com"));
+        assertEquals(1, registry.getStreamCount());
+        assertEquals(1, registry.getEvictedCount());
+        release.countDown();
+    }
+}
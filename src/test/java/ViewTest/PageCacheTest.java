@@ -0,0 +1,131 @@
+package com.paymybuddy.view;
+
+import com.paymybuddy.dto.UserDTO;
+import com.paymybuddy.model.User;
+import com.paymybuddy.security.JwtTokenProvider;
+import com.paymybuddy.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration du cache des pages HTML, à travers Tomcat et la chaîne de sécurité.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PageCacheTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PrerenderedViewResolver viewResolver;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Vérifie que les pages sans donnée utilisateur sont servies à l'identique depuis le cache,
+     * avec les URL empreintes des ressources et sans jeton CSRF figé.
+     */
+    @Test
+    void staticPage_ShouldBeServedFromPrerenderedBytes() throws Exception {
+        HttpResponse<String> first = get("/relations", token("static"));
+        HttpResponse<String> second = get("/relations", token("static-other"));
+
+        assertInstanceOf(PrerenderedView.class, viewResolver.resolveViewName("relations", Locale.ROOT));
+        assertEquals(200, first.statusCode());
+        assertEquals(first.body(), second.body());
+        assertTrue(first.headers().firstValue("Content-Type").orElse("").startsWith("text/html"));
+        assertTrue(first.body().matches("(?s).*href=\"/css/relations-[0-9a-f]{32}\\.css\".*"), first.body());
+        assertFalse(first.body().contains("_csrf"), first.body());
+    }
+
+    /**
+     * Vérifie que la vérification du token précède toujours la page mise en cache.
+     */
+    @Test
+    void protectedPage_ShouldRedirectWithoutToken() throws Exception {
+        get("/home", token("redirect"));
+
+        HttpResponse<String> response = get("/home", null);
+
+        assertEquals(302, response.statusCode());
+        assertTrue(response.headers().firstValue("Location").orElse("").endsWith("/connexion"));
+    }
+
+    /**
+     * Vérifie qu'une page rendue avec un message reste dynamique.
+     */
+    @Test
+    void pageWithModel_ShouldStayDynamic() throws Exception {
+        String jwt = token("relation");
+        get("/relations", jwt);
+
+        HttpResponse<String> response = client.send(request("/user/relation/add", jwt)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("email=" + URLEncoder.encode("absent@example.com", StandardCharsets.UTF_8)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Une erreur est survenue"), response.body());
+        assertFalse(get("/relations", jwt).body().contains("Une erreur est survenue"));
+    }
+
+    /**
+     * Vérifie que la page de profil est propre à chaque utilisateur et suit ses modifications.
+     */
+    @Test
+    void profilePage_ShouldFollowUserVersion() throws Exception {
+        String alice = token("alice");
+        String bob = token("bob");
+
+        assertTrue(get("/profil", alice).body().contains("value=\"alice\""));
+        assertTrue(get("/profil", bob).body().contains("value=\"bob\""));
+        assertTrue(get("/profil", alice).body().contains("value=\"alice\""));
+
+        userService.updateUser("alice@pages.test", new UserDTO("alice-renamed", "alice@pages.test", null));
+
+        String profile = get("/profil", alice).body();
+        assertTrue(profile.contains("value=\"alice-renamed\""), profile);
+        assertFalse(profile.contains("value=\"bob\""));
+    }
+
+    private String token(String username) {
+        String email = username + "@pages.test";
+        User user = userService.findUserByEmail(email);
+        if (user == null) {
+            user = userService.createUser(username, email, "password");
+        }
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    private HttpRequest.Builder request(String path, String jwt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (jwt != null) {
+            request.header("Cookie", "JWT=" + jwt);
+        }
+        return request;
+    }
+
+    private HttpResponse<String> get(String path, String jwt) throws Exception {
+        return client.send(request(path, jwt).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,83 @@
+package com.paymybuddy.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test d'intégration de la mise en température : toutes les étapes passent, le pool est rempli
+ * et l'instance n'est déclarée prête qu'après la mise en température.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"warmup.enabled=true", "warmup.max-duration=30s", "warmup.iterations-per-round=100",
+                "management.endpoint.health.probes.enabled=true"})
+@Import(WarmUpReadinessTest.ReadinessEvents.class)
+class WarmUpReadinessTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private ReadinessEvents readinessEvents;
+
+    /**
+     * Vérifie le bilan de la mise en température.
+     */
+    @Test
+    void warmUp_ShouldRunAllStepsAndFillPool() {
+        WarmUpRunner.Report report = warmUpRunner.getReport();
+
+        assertNotNull(report);
+        assertEquals(0, report.failures());
+        assertTrue(report.rounds() >= 5, report.toString());
+        assertTrue(report.connections() > 0, report.toString());
+    }
+
+    /**
+     * Vérifie que la disponibilité passe à ACCEPTING_TRAFFIC après la mise en température, et que la sonde la reflète.
+     */
+    @Test
+    void readiness_ShouldFlipOnlyAfterWarmUp() throws Exception {
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), readinessEvents.states);
+
+        HttpResponse<String> probe = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, probe.statusCode(), probe.body());
+        assertTrue(probe.body().contains("\"UP\""), probe.body());
+    }
+
+    /**
+     * Enregistre les changements de disponibilité publiés pendant le démarrage.
+     */
+    @TestConfiguration
+    static class ReadinessEvents {
+
+        final List<ReadinessState> states = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            states.add(event.getState());
+        }
+    }
+}
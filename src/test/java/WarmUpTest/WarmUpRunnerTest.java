@@ -0,0 +1,37 @@
+package com.paymybuddy.warmup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du critère de stabilisation de la mise en température.
+ */
+class WarmUpRunnerTest {
+
+    /**
+     * Vérifie que des tours encore en accélération ne sont pas considérés comme stables.
+     */
+    @Test
+    void isStable_ShouldBeFalse_WhileRoundsGetFaster() {
+        assertFalse(WarmUpRunner.isStable(List.of(900L, 400L, 200L, 100L), 3, 0.2));
+    }
+
+    /**
+     * Vérifie que seuls les derniers tours comptent, une fois leur durée resserrée autour de la médiane.
+     */
+    @Test
+    void isStable_ShouldBeTrue_WhenLastRoundsAreCloseToTheirMedian() {
+        assertTrue(WarmUpRunner.isStable(List.of(900L, 400L, 105L, 100L, 95L), 3, 0.2));
+    }
+
+    /**
+     * Vérifie qu'il faut au moins une fenêtre complète de tours.
+     */
+    @Test
+    void isStable_ShouldBeFalse_WithFewerRoundsThanWindow() {
+        assertFalse(WarmUpRunner.isStable(List.of(100L, 100L), 3, 0.2));
+    }
+}